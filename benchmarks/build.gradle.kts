@@ -0,0 +1,39 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+plugins {
+    id("configapi.common-conventions")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(projects.configapiCore)
+    jmhImplementation(projects.configapiFormatBinary)
+    jmhImplementation(projects.configapiFormatGson)
+    jmhImplementation(projects.configapiFormatJackson)
+    jmhImplementation(projects.configapiFormatProperties)
+    jmhImplementation(projects.configapiFormatYaml)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+
+    // Run a subset of the benchmarks with -PjmhIncludes=<regex>, e.g. -PjmhIncludes=FileFormatBenchmark
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+
+    // Enable profilers with -PjmhProfilers=<name>, e.g. -PjmhProfilers=gc to measure allocations per operation
+    providers.gradleProperty("jmhProfilers").orNull?.let { profilers.add(it) }
+}
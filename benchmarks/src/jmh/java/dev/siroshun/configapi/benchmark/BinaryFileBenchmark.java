@@ -0,0 +1,84 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.LongArray;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.format.binary.BinaryFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading large binary files that contain big primitive arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFileBenchmark {
+
+    @Param({"false", "true"})
+    private boolean memoryMapped;
+
+    @Param({"1000000"})
+    private int length;
+
+    private BinaryFormat format;
+    private Path filepath;
+
+    @Setup
+    public void setup() throws IOException {
+        this.format = this.memoryMapped ? BinaryFormat.MEMORY_MAPPED : BinaryFormat.DEFAULT;
+        this.filepath = Files.createTempFile("configapi-benchmark", ".dat");
+
+        var random = new Random(0);
+        var mapNode = MapNode.create();
+        mapNode.set("name", "snapshot");
+        mapNode.set("values", new LongArray(random.longs(this.length).toArray()));
+
+        BinaryFormat.DEFAULT.save(mapNode, this.filepath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.filepath);
+    }
+
+    @Benchmark
+    public Node<?> load() throws IOException {
+        return this.format.load(this.filepath);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.format.binary.BinaryFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading a few values from a large binary file with/without lazy decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryLazyLoadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean lazy;
+
+    @Param({"false", "true"})
+    private boolean memoryMapped;
+
+    private BinaryFormat format;
+    private Path filepath;
+
+    @Setup
+    public void setup() throws IOException {
+        this.format = BinaryFormat.builder().lazy(this.lazy).memoryMapped(this.memoryMapped).build();
+        this.filepath = Files.createTempFile("configapi-benchmark", ".dat");
+
+        var root = MapNode.create();
+        root.getOrCreateMap("server").set("port", 25565);
+
+        var entries = root.getOrCreateMap("entries");
+        for (int i = 0; i < 10_000; i++) {
+            var entry = Document.SMALL.create();
+            entry.set("id", i);
+            entries.set("entry-" + i, entry);
+        }
+
+        this.format.save(root, this.filepath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.filepath);
+    }
+
+    @Benchmark
+    public int readOneKey() throws IOException {
+        var root = (MapNode) this.format.load(this.filepath);
+        return root.getMap("server").getInteger("port");
+    }
+
+    @Benchmark
+    public int readAll() throws IOException {
+        var root = (MapNode) this.format.load(this.filepath);
+        int sum = 0;
+        for (var entry : root.getMap("entries").value().values()) {
+            sum += ((MapNode) entry).getInteger("id");
+        }
+        return sum;
+    }
+}
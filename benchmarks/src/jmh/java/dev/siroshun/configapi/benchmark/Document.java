@@ -0,0 +1,123 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The shapes of documents used by benchmarks.
+ */
+public enum Document {
+
+    /**
+     * A small document that has a few values of each type.
+     */
+    SMALL {
+        @Override
+        public @NotNull MapNode create(boolean flat) {
+            var mapNode = MapNode.create();
+            putScalars(mapNode, "", 0);
+
+            if (!flat) {
+                var list = mapNode.createList("list");
+                for (int i = 0; i < 5; i++) {
+                    list.add("element-" + i);
+                }
+                putScalars(mapNode.createMap("map"), "", 1);
+            }
+
+            return mapNode;
+        }
+    },
+
+    /**
+     * A wide document that has thousands of entries at the top level.
+     */
+    WIDE {
+        @Override
+        public @NotNull MapNode create(boolean flat) {
+            var mapNode = MapNode.create();
+
+            for (int i = 0; i < 1000; i++) {
+                putScalars(mapNode, "entry-" + i + "-", i);
+            }
+
+            return mapNode;
+        }
+    },
+
+    /**
+     * A deeply-nested document.
+     * <p>
+     * When creating a flat document, nested keys are joined with {@code .} as in typical properties files.
+     */
+    DEEP {
+        @Override
+        public @NotNull MapNode create(boolean flat) {
+            var root = MapNode.create();
+
+            if (flat) {
+                var prefix = new StringBuilder();
+                for (int depth = 0; depth < DEPTH; depth++) {
+                    prefix.append("level-").append(depth).append('.');
+                    putScalars(root, prefix.toString(), depth);
+                }
+            } else {
+                var current = root;
+                for (int depth = 0; depth < DEPTH; depth++) {
+                    putScalars(current, "", depth);
+                    var list = current.createList("list");
+                    for (int i = 0; i < 3; i++) {
+                        list.add(depth * 10 + i);
+                    }
+                    current = current.createMap("level-" + depth);
+                }
+            }
+
+            return root;
+        }
+    };
+
+    private static final int DEPTH = 32;
+
+    /**
+     * Creates a new document.
+     *
+     * @param flat {@code true} to create a document that only contains string-representable values at the top level
+     * @return a new document
+     */
+    public abstract @NotNull MapNode create(boolean flat);
+
+    /**
+     * Creates a new document that can contain nested {@link MapNode}s and {@link ListNode}s.
+     *
+     * @return a new document
+     */
+    public @NotNull MapNode create() {
+        return this.create(false);
+    }
+
+    private static void putScalars(@NotNull MapNode mapNode, @NotNull String prefix, int seed) {
+        mapNode.set(prefix + "string", "value-" + seed);
+        mapNode.set(prefix + "int", seed);
+        mapNode.set(prefix + "long", seed * 1_000_000_007L);
+        mapNode.set(prefix + "double", seed + 0.5);
+        mapNode.set(prefix + "boolean", seed % 2 == 0);
+    }
+}
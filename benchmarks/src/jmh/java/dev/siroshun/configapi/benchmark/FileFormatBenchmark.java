@@ -0,0 +1,105 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.file.FileFormat;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.format.binary.BinaryFormat;
+import dev.siroshun.configapi.format.gson.GsonFormat;
+import dev.siroshun.configapi.format.jackson.JacksonFormat;
+import dev.siroshun.configapi.format.properties.PropertiesFormat;
+import dev.siroshun.configapi.format.yaml.YamlFormat;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading and saving documents with each {@link FileFormat}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileFormatBenchmark {
+
+    @Param
+    private Format format;
+
+    @Param
+    private Document document;
+
+    private MapNode node;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() throws IOException {
+        this.node = this.document.create(this.format == Format.PROPERTIES);
+        this.bytes = this.format.save(this.node);
+    }
+
+    @Benchmark
+    public Node<?> load() throws IOException {
+        return this.format.load(this.bytes);
+    }
+
+    @Benchmark
+    public byte[] save() throws IOException {
+        return this.format.save(this.node);
+    }
+
+    public enum Format {
+        BINARY(BinaryFormat.DEFAULT),
+        YAML(YamlFormat.DEFAULT),
+        YAML_COMMENT_PROCESSING(YamlFormat.COMMENT_PROCESSING),
+        GSON(GsonFormat.DEFAULT),
+        JACKSON(JacksonFormat.DEFAULT),
+        PROPERTIES(PropertiesFormat.DEFAULT);
+
+        private final FileFormat<? super MapNode> fileFormat;
+
+        Format(@NotNull FileFormat<? super MapNode> fileFormat) {
+            this.fileFormat = fileFormat;
+        }
+
+        @NotNull Node<?> load(byte @NotNull [] bytes) throws IOException {
+            return (Node<?>) this.fileFormat.load(new ByteArrayInputStream(bytes));
+        }
+
+        byte @NotNull [] save(@NotNull MapNode node) throws IOException {
+            var output = new ByteArrayOutputStream();
+            this.fileFormat.save(node, output);
+            return output.toByteArray();
+        }
+    }
+}
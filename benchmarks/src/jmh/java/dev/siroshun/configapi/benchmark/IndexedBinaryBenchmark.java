@@ -0,0 +1,113 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.NumberValue;
+import dev.siroshun.configapi.format.binary.BinaryFormat;
+import dev.siroshun.configapi.format.binary.IndexedBinaryFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading a list of maps using {@link BinaryFormat} and {@link IndexedBinaryFormat}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexedBinaryBenchmark {
+
+    private static final int ENTRIES = 10_000;
+
+    @Param({"BINARY", "INDEXED"})
+    private Format format;
+
+    private Path filepath;
+
+    @Setup
+    public void setup() throws IOException {
+        this.filepath = Files.createTempFile("configapi-benchmark", ".dat");
+
+        var root = MapNode.create();
+        var entries = root.createList("entries");
+        for (int i = 0; i < ENTRIES; i++) {
+            var entry = Document.SMALL.create();
+            entry.set("id", i);
+            entries.add(entry);
+        }
+
+        switch (this.format) {
+            case BINARY -> BinaryFormat.DEFAULT.save(root, this.filepath);
+            case INDEXED -> IndexedBinaryFormat.DEFAULT.save(root, this.filepath);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.filepath);
+    }
+
+    @Benchmark
+    public int readOneValue() throws IOException {
+        return switch (this.format) {
+            case BINARY -> ((MapNode) BinaryFormat.DEFAULT.load(this.filepath)).getList("entries").asList(MapNode.class).get(ENTRIES / 2).getInteger("id");
+            case INDEXED -> IndexedBinaryFormat.DEFAULT.open(this.filepath).get("entries", ENTRIES / 2, "id") instanceof NumberValue id ? id.asInt() : 0;
+        };
+    }
+
+    @Benchmark
+    public long readAll() throws IOException {
+        MapNode root = switch (this.format) {
+            case BINARY -> (MapNode) BinaryFormat.DEFAULT.load(this.filepath);
+            case INDEXED -> IndexedBinaryFormat.DEFAULT.load(this.filepath);
+        };
+
+        long sum = 0;
+        for (var entry : root.getList("entries").asList(MapNode.class)) {
+            sum += entry.getInteger("id");
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long fileSize() throws IOException {
+        return Files.size(this.filepath);
+    }
+
+    public enum Format {
+        BINARY,
+        INDEXED
+    }
+}
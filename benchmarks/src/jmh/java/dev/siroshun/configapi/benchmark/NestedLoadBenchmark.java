@@ -0,0 +1,81 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading nested documents of different depths.
+ * <p>
+ * Each level has the same number of nodes, so the load time should grow linearly with {@link #depth}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestedLoadBenchmark {
+
+    @Param({"BINARY", "YAML", "GSON", "JACKSON"})
+    private FileFormatBenchmark.Format format;
+
+    @Param({"10", "20", "40"}) // SnakeYAML limits the nesting depth to 50 by default
+    private int depth;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() throws IOException {
+        var root = MapNode.create();
+        var current = root;
+
+        for (int level = 0; level < this.depth; level++) {
+            current.set("name", "level-" + level);
+            current.set("value", level);
+
+            var list = current.createList("list");
+            for (int i = 0; i < 10; i++) {
+                list.addMap().set("element", i);
+            }
+
+            current = current.createMap("child");
+        }
+
+        this.bytes = this.format.save(root);
+    }
+
+    @Benchmark
+    public Node<?> load() throws IOException {
+        return this.format.load(this.bytes);
+    }
+}
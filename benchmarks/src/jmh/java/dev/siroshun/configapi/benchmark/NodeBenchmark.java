@@ -0,0 +1,136 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building, reading and copying node trees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeBenchmark {
+
+    @Param
+    private Document document;
+
+    private MapNode node;
+    private MapNode frozen;
+    private Object[] keys;
+    private Object[] values;
+    private Map<Object, Object> plainObject;
+
+    @Setup
+    public void setup() {
+        this.node = this.document.create();
+
+        var map = this.node.value();
+        this.keys = map.keySet().toArray();
+        this.values = new Object[this.keys.length];
+
+        for (int i = 0; i < this.keys.length; i++) {
+            this.values[i] = toPlainObject(map.get(this.keys[i]));
+        }
+
+        this.plainObject = toPlainMap(this.node);
+        this.frozen = this.node.toFrozen();
+    }
+
+    @Benchmark
+    public MapNode set() {
+        var mapNode = MapNode.create();
+
+        for (int i = 0; i < this.keys.length; i++) {
+            mapNode.set(this.keys[i], this.values[i]);
+        }
+
+        return mapNode;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (var key : this.keys) {
+            blackhole.consume(this.node.get(key));
+        }
+    }
+
+    @Benchmark
+    public void getFrozen(Blackhole blackhole) {
+        for (var key : this.keys) {
+            blackhole.consume(this.frozen.get(key));
+        }
+    }
+
+    @Benchmark
+    public MapNode toFrozen() {
+        return this.node.toFrozen();
+    }
+
+    @Benchmark
+    public Node<?> fromObject() {
+        return Node.fromObject(this.plainObject);
+    }
+
+    @Benchmark
+    public MapNode copy() {
+        return this.node.copy();
+    }
+
+    private static @NotNull Map<Object, Object> toPlainMap(@NotNull MapNode mapNode) {
+        var map = new LinkedHashMap<>();
+        mapNode.value().forEach((key, value) -> map.put(key, toPlainObject(value)));
+        return map;
+    }
+
+    private static @Nullable Object toPlainObject(@NotNull Node<?> node) {
+        if (node instanceof MapNode mapNode) {
+            return toPlainMap(mapNode);
+        } else if (node instanceof ListNode listNode) {
+            List<Object> list = new ArrayList<>(listNode.size());
+            listNode.value().forEach(element -> list.add(toPlainObject(element)));
+            return list;
+        } else {
+            return node.value();
+        }
+    }
+}
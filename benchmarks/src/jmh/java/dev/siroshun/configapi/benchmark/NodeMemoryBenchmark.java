@@ -0,0 +1,85 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the memory footprint and copying of a large node tree.
+ * <p>
+ * Each operation builds a tree of about {@link #nodes} {@link MapNode}s and {@link ListNode}s that are all retained until the end of the operation,
+ * so the {@code gc.alloc.rate.norm} reported with {@code -PjmhProfilers=gc} is close to the retained size of the tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NodeMemoryBenchmark {
+
+    private static final int WIDTH = 1000;
+
+    @Param("1000000")
+    private int nodes;
+
+    private MapNode tree;
+
+    @Setup
+    public void setup() {
+        this.tree = this.buildTree();
+    }
+
+    @Benchmark
+    public MapNode buildTree() {
+        var root = MapNode.create();
+
+        for (int i = 0, lists = Math.max(this.nodes / WIDTH, 1); i < lists; i++) {
+            var list = root.createList("list-" + i);
+
+            for (int j = 0; j < WIDTH; j++) {
+                list.addMap().set("value", j);
+            }
+        }
+
+        return root;
+    }
+
+    @Benchmark
+    public MapNode copyTree() {
+        return this.tree.copy();
+    }
+
+    @Benchmark
+    public MapNode deepCopyTree() {
+        return this.tree.deepCopy();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.NodePath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the read path of {@link MapNode}.
+ * <p>
+ * These benchmarks are expected not to allocate objects.
+ * Run them with the GC profiler ({@code -PjmhIncludes=NodeReadBenchmark -PjmhProfilers=gc})
+ * and check that {@code gc.alloc.rate.norm} is (almost) 0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeReadBenchmark {
+
+    private static final NodePath MAP_INT = NodePath.parse("map.int");
+    private static final NodePath LIST_FIRST = NodePath.parse("list[0]");
+
+    @Param({"false", "true"})
+    private boolean frozen;
+
+    private MapNode node;
+
+    @Setup
+    public void setup() {
+        var node = Document.SMALL.create();
+        this.node = this.frozen ? node.toFrozen() : node;
+    }
+
+    @Benchmark
+    public void typedGetters(Blackhole blackhole) {
+        var node = this.node;
+        blackhole.consume(node.getString("string"));
+        blackhole.consume(node.getInteger("int"));
+        blackhole.consume(node.getLong("long"));
+        blackhole.consume(node.getDouble("double"));
+        blackhole.consume(node.getBoolean("boolean"));
+        blackhole.consume(node.getInteger("unknown", -1));
+    }
+
+    @Benchmark
+    public void nestedGetters(Blackhole blackhole) {
+        blackhole.consume(this.node.getMap("map").getInteger("int"));
+        blackhole.consume(this.node.getList("list").size());
+    }
+
+    @Benchmark
+    public void compiledPaths(Blackhole blackhole) {
+        blackhole.consume(this.node.get(MAP_INT));
+        blackhole.consume(this.node.get(LIST_FIRST));
+    }
+
+    @Benchmark
+    public int value() {
+        return this.node.value().size();
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        this.node.value().forEach((key, value) -> {
+            blackhole.consume(key);
+            blackhole.consume(value);
+        });
+    }
+}
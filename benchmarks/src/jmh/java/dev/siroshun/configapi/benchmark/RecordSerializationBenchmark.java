@@ -0,0 +1,97 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.benchmark;
+
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.serialization.annotation.CollectionType;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultInt;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultString;
+import dev.siroshun.configapi.core.serialization.annotation.MapType;
+import dev.siroshun.configapi.core.serialization.key.KeyGenerator;
+import dev.siroshun.configapi.core.serialization.record.RecordSerialization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks for serializing and deserializing records using {@link RecordSerialization}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordSerializationBenchmark {
+
+    private RecordSerialization<Config> serialization;
+    private Config config;
+    private MapNode mapNode;
+
+    @Setup
+    public void setup() {
+        this.serialization = RecordSerialization.create(Config.class, KeyGenerator.CAMEL_TO_KEBAB);
+        this.config = new Config(
+                "benchmark",
+                8080,
+                new Database("localhost", 5432, "user"),
+                IntStream.range(0, 50).mapToObj(i -> "element-" + i).toList(),
+                IntStream.range(0, 50).boxed().collect(Collectors.toMap(i -> "key-" + i, i -> new Database("host-" + i, i, "user-" + i)))
+        );
+        this.mapNode = this.serialization.serializer().serialize(this.config);
+    }
+
+    @Benchmark
+    public MapNode serialize() {
+        return this.serialization.serializer().serialize(this.config);
+    }
+
+    @Benchmark
+    public Config deserialize() {
+        return this.serialization.deserializer().deserialize(this.mapNode);
+    }
+
+    @Benchmark
+    public Config roundTrip() {
+        return this.serialization.deserializer().deserialize(this.serialization.serializer().serialize(this.config));
+    }
+
+    public record Config(@DefaultString("default") String name,
+                         @DefaultInt(25565) int port,
+                         Database database,
+                         @CollectionType(String.class) List<String> list,
+                         @MapType(key = String.class, value = Database.class) Map<String, Database> databases) {
+    }
+
+    public record Database(@DefaultString("localhost") String host,
+                           @DefaultInt(3306) int port,
+                           @DefaultString("root") String user) {
+    }
+}
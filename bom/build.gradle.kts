@@ -26,4 +26,5 @@ dependencies {
     api(projects.configapiFormatJackson)
     api(projects.configapiFormatProperties)
     api(projects.configapiFormatYaml)
+    api(projects.configapiProcessor)
 }
@@ -23,6 +23,10 @@ dependencies {
     testImplementation(projects.configapiTestSharedClasses)
 }
 
+tasks.test {
+    systemProperty("configapi.checkNodeOwnership", "true")
+}
+
 afterEvaluate {
     aggregator.JavadocAggregator.addProject(this)
 }
@@ -17,6 +17,7 @@
 package dev.siroshun.configapi.core.file;
 
 import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
@@ -30,6 +31,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Collection;
 import java.util.Objects;
 
 /**
@@ -76,6 +78,121 @@ public interface FileFormat<N extends Node<?>> {
         }
     }
 
+    /**
+     * Loads only the nodes that the specified {@link NodePath}s point to from a {@link Reader}.
+     * <p>
+     * This method reads the document using {@link #reader(Reader)}, and the parts that are not requested are skipped
+     * without converting them to {@link Node}s. See {@link NodeReader#readNode(Collection)} for the details of the returned node.
+     * <p>
+     * If the document is empty, this method returns the same node as {@link #load(Reader)}.
+     *
+     * @param reader a {@link Reader} to load a node
+     * @param paths  the {@link NodePath}s to load
+     * @return a loaded {@link Node} ({@link N}) that contains only the requested nodes
+     * @throws IOException if I/O error occurred
+     */
+    default @NotNull N load(@NotNull Reader reader, @NotNull Collection<NodePath> paths) throws IOException {
+        Objects.requireNonNull(paths);
+        try (var nodeReader = this.reader(reader)) {
+            return this.load(nodeReader, paths);
+        }
+    }
+
+    /**
+     * Loads only the nodes that the specified {@link NodePath}s point to from a file.
+     *
+     * @param filepath a filepath to load a node
+     * @param paths    the {@link NodePath}s to load
+     * @return a loaded {@link Node} ({@link N}) that contains only the requested nodes
+     * @throws IOException if I/O error occurred
+     * @see #load(Reader, Collection)
+     */
+    default @NotNull N load(@NotNull Path filepath, @NotNull Collection<NodePath> paths) throws IOException {
+        Objects.requireNonNull(filepath);
+        Objects.requireNonNull(paths);
+        try (var reader = Files.isRegularFile(filepath) ? Files.newBufferedReader(filepath, StandardCharsets.UTF_8) : Reader.nullReader()) {
+            return this.load(reader, paths);
+        }
+    }
+
+    /**
+     * Loads only the nodes that the specified {@link NodePath}s point to from a {@link InputStream}.
+     *
+     * @param input a {@link InputStream} to load a node
+     * @param paths the {@link NodePath}s to load
+     * @return a loaded {@link Node} ({@link N}) that contains only the requested nodes
+     * @throws IOException if I/O error occurred
+     * @see #load(Reader, Collection)
+     */
+    default @NotNull N load(@NotNull InputStream input, @NotNull Collection<NodePath> paths) throws IOException {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(paths);
+        try (var reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            return this.load(reader, paths);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull N load(@NotNull NodeReader reader, @NotNull Collection<NodePath> paths) throws IOException {
+        if (reader.next() == NodeReader.Event.END_DOCUMENT) {
+            return this.load(Reader.nullReader());
+        }
+        return (N) reader.readNode(paths);
+    }
+
+    /**
+     * Creates a {@link NodeReader} that reads a node from a {@link Reader}.
+     * <p>
+     * The returned {@link NodeReader} closes the given {@link Reader} when it is closed.
+     * <p>
+     * The default implementation of this method loads the whole node using {@link #load(Reader)},
+     * so the implementations that can parse the document incrementally should override this method.
+     *
+     * @param reader a {@link Reader} to read a node
+     * @return a {@link NodeReader} that reads a node from the given {@link Reader}
+     * @throws IOException if I/O error occurred
+     */
+    default @NotNull NodeReader reader(@NotNull Reader reader) throws IOException {
+        try (reader) {
+            return NodeReader.of(this.load(reader));
+        }
+    }
+
+    /**
+     * Creates a {@link NodeReader} that reads a node from a file.
+     * <p>
+     * If the file does not exist, the returned {@link NodeReader} reads an empty document.
+     *
+     * @param filepath a filepath to read a node
+     * @return a {@link NodeReader} that reads a node from the given file
+     * @throws IOException if I/O error occurred
+     */
+    default @NotNull NodeReader reader(@NotNull Path filepath) throws IOException {
+        Objects.requireNonNull(filepath);
+        var reader = Files.isRegularFile(filepath) ? Files.newBufferedReader(filepath, StandardCharsets.UTF_8) : Reader.nullReader();
+
+        try {
+            return this.reader(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a {@link NodeReader} that reads a node from a {@link InputStream}.
+     * <p>
+     * The returned {@link NodeReader} closes the given {@link InputStream} when it is closed.
+     *
+     * @param input a {@link InputStream} to read a node
+     * @return a {@link NodeReader} that reads a node from the given {@link InputStream}
+     * @throws IOException if I/O error occurred
+     */
+    default @NotNull NodeReader reader(@NotNull InputStream input) throws IOException {
+        Objects.requireNonNull(input);
+        return this.reader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
     /**
      * Saves a node to a {@link Writer}.
      *
@@ -117,4 +234,70 @@ public interface FileFormat<N extends Node<?>> {
         }
     }
 
+    /**
+     * Creates a {@link NodeWriter} that writes a node to a {@link Writer}.
+     * <p>
+     * The returned {@link NodeWriter} closes the given {@link Writer} when it is closed.
+     * <p>
+     * The default implementation of this method builds the whole node and saves it using {@link #save(Node, Writer)} when the {@link NodeWriter} is closed,
+     * so the implementations that can write the document incrementally should override this method.
+     *
+     * @param writer a {@link Writer} to write a node
+     * @return a {@link NodeWriter} that writes a node to the given {@link Writer}
+     * @throws IOException if I/O error occurred
+     */
+    default @NotNull NodeWriter writer(@NotNull Writer writer) throws IOException {
+        Objects.requireNonNull(writer);
+        return NodeWriter.tree(new NodeWriter.TreeTarget() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public void save(@NotNull Node<?> root) throws IOException {
+                FileFormat.this.save((N) root, writer);
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        });
+    }
+
+    /**
+     * Creates a {@link NodeWriter} that writes a node to a file.
+     *
+     * @param filepath a filepath to write a node
+     * @return a {@link NodeWriter} that writes a node to the given file
+     * @throws IOException if I/O error occurred
+     */
+    default @NotNull NodeWriter writer(@NotNull Path filepath) throws IOException {
+        var parent = filepath.getParent();
+
+        if (parent != null && !Files.isDirectory(parent)) {
+            Files.createDirectories(parent);
+        }
+
+        var writer = Files.newBufferedWriter(filepath, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        try {
+            return this.writer(writer);
+        } catch (IOException | RuntimeException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a {@link NodeWriter} that writes a node to a {@link OutputStream}.
+     * <p>
+     * The returned {@link NodeWriter} closes the given {@link OutputStream} when it is closed.
+     *
+     * @param output a {@link OutputStream} to write a node
+     * @return a {@link NodeWriter} that writes a node to the given {@link OutputStream}
+     * @throws IOException if I/O error occurred
+     */
+    default @NotNull NodeWriter writer(@NotNull OutputStream output) throws IOException {
+        Objects.requireNonNull(output);
+        return this.writer(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
 }
@@ -0,0 +1,175 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.file;
+
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
+import dev.siroshun.configapi.core.node.NullNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A tree of {@link NodePath} segments to read only the requested nodes from {@link NodeReader}.
+ */
+final class NodeProjection {
+
+    static @NotNull NodeProjection create(@NotNull Collection<NodePath> paths) {
+        var root = new NodeProjection();
+
+        for (var path : paths) {
+            var projection = root;
+
+            for (int i = 0, size = path.size(); i < size && !projection.whole; i++) {
+                projection = path.isIndex(i) ? projection.index((Integer) path.segment(i)) : projection.key(path.segment(i));
+            }
+
+            projection.whole = true;
+        }
+
+        return root;
+    }
+
+    private @Nullable Map<Object, NodeProjection> keys;
+    private @Nullable Map<Integer, NodeProjection> indexes;
+    private int lastIndex = -1;
+    private boolean whole; // the whole subtree is requested
+
+    private NodeProjection() {
+    }
+
+    /**
+     * Reads the {@link Node} that starts at the current event, materializing only the requested nodes.
+     *
+     * @param reader the {@link NodeReader} to read
+     * @return the read {@link Node}, or {@code null} if it contains none of the requested nodes
+     * @throws IOException if I/O error occurred or the document is broken
+     */
+    @Nullable Node<?> read(@NotNull NodeReader reader) throws IOException {
+        if (this.whole) {
+            return reader.readNode();
+        }
+
+        var event = reader.event();
+
+        if (event == NodeReader.Event.START_MAP) {
+            return this.readMap(reader);
+        } else if (event == NodeReader.Event.START_LIST) {
+            return this.readList(reader);
+        } else if (event == NodeReader.Event.VALUE) {
+            return null; // the requested paths go through a value, so they do not exist
+        } else {
+            throw new IllegalStateException("Cannot read a node at " + event);
+        }
+    }
+
+    private @Nullable MapNode readMap(@NotNull NodeReader reader) throws IOException {
+        if (this.keys == null) {
+            reader.skipChildren();
+            return null;
+        }
+
+        MapNode mapNode = null;
+        NodeReader.Event event;
+
+        while ((event = reader.next()) == NodeReader.Event.KEY) {
+            var key = reader.key();
+            var child = this.keys.get(key);
+            reader.next();
+
+            if (child == null) {
+                reader.skipChildren();
+                continue;
+            }
+
+            var node = child.read(reader);
+
+            if (node != null) {
+                if (mapNode == null) {
+                    mapNode = MapNode.create();
+                }
+                mapNode.setOwned(key, node);
+            }
+        }
+
+        if (event != NodeReader.Event.END_MAP) {
+            throw new IOException("Unexpected event in the map: " + event);
+        }
+
+        return mapNode;
+    }
+
+    private @Nullable ListNode readList(@NotNull NodeReader reader) throws IOException {
+        if (this.indexes == null) {
+            reader.skipChildren();
+            return null;
+        }
+
+        ListNode listNode = null;
+        int index = 0;
+        NodeReader.Event event;
+
+        while ((event = reader.next()) != NodeReader.Event.END_LIST) {
+            if (event == NodeReader.Event.END_DOCUMENT) {
+                throw new IOException("Unexpected end of the document");
+            }
+
+            var child = this.lastIndex < index ? null : this.indexes.get(index);
+            var node = child != null ? child.read(reader) : null;
+
+            if (node == null) {
+                reader.skipChildren();
+            } else {
+                if (listNode == null) {
+                    listNode = ListNode.create();
+                }
+
+                // the skipped elements are filled with NullNode.NULL to keep the indexes of the requested elements
+                while (listNode.size() < index) {
+                    listNode.add(NullNode.NULL);
+                }
+
+                listNode.addOwned(node);
+            }
+
+            index++;
+        }
+
+        return listNode;
+    }
+
+    private @NotNull NodeProjection key(@NotNull Object key) {
+        if (this.keys == null) {
+            this.keys = new HashMap<>();
+        }
+        return this.keys.computeIfAbsent(key, ignored -> new NodeProjection());
+    }
+
+    private @NotNull NodeProjection index(int index) {
+        if (this.indexes == null) {
+            this.indexes = new HashMap<>();
+        }
+        this.lastIndex = Math.max(this.lastIndex, index);
+        return this.indexes.computeIfAbsent(index, ignored -> new NodeProjection());
+    }
+}
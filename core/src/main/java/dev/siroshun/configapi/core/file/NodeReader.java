@@ -0,0 +1,255 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.file;
+
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A pull parser that reads a node from a file as a sequence of {@link Event}s, without creating the whole node tree.
+ * <p>
+ * The events mirror {@link dev.siroshun.configapi.core.node.visitor.NodeVisitor}:
+ * a {@link MapNode} is read as {@link Event#START_MAP}, pairs of {@link Event#KEY} and its value, and {@link Event#END_MAP},
+ * a {@link ListNode} is read as {@link Event#START_LIST}, its elements, and {@link Event#END_LIST},
+ * and other {@link Node}s are read as {@link Event#VALUE}.
+ * After the root node, {@link #next()} returns {@link Event#END_DOCUMENT}.
+ * <p>
+ * The part of the document can be skipped by {@link #skipChildren()}, or read as a {@link Node} by {@link #readNode()},
+ * so that huge documents can be filtered or transformed in constant memory.
+ * <p>
+ * Comments are not read by {@link NodeReader}s.
+ * <p>
+ * The instances of this interface are not thread-safe.
+ *
+ * @see FileFormat#reader(java.io.Reader)
+ */
+public interface NodeReader extends Closeable {
+
+    /**
+     * Creates a {@link NodeReader} that reads the given {@link Node}.
+     *
+     * @param node the {@link Node} to read
+     * @return a {@link NodeReader} that reads the given {@link Node}
+     */
+    static @NotNull NodeReader of(@NotNull Node<?> node) {
+        return new TreeNodeReader(Objects.requireNonNull(node));
+    }
+
+    /**
+     * Reads the next {@link Event}.
+     * <p>
+     * After {@link Event#END_DOCUMENT} is returned, this method always returns {@link Event#END_DOCUMENT}.
+     *
+     * @return the next {@link Event}
+     * @throws IOException if I/O error occurred or the document is broken
+     */
+    @NotNull Event next() throws IOException;
+
+    /**
+     * Gets the current {@link Event} that is returned by the last {@link #next()} call.
+     *
+     * @return the current {@link Event}
+     * @throws IllegalStateException if {@link #next()} has not been called yet
+     */
+    @NotNull Event event();
+
+    /**
+     * Gets the key of the current {@link Event#KEY}.
+     *
+     * @return the key of the current entry
+     * @throws IllegalStateException if the current event is not {@link Event#KEY}
+     */
+    @NotNull Object key();
+
+    /**
+     * Gets the {@link Node} of the current {@link Event#VALUE}.
+     * <p>
+     * The returned {@link Node} is not a {@link MapNode} or a {@link ListNode}.
+     *
+     * @return the {@link Node} of the current value
+     * @throws IllegalStateException if the current event is not {@link Event#VALUE}
+     */
+    @NotNull Node<?> value();
+
+    /**
+     * Gets the number of the {@link MapNode}s and {@link ListNode}s that are currently open.
+     * <p>
+     * {@link Event#START_MAP} and {@link Event#START_LIST} increase it, and {@link Event#END_MAP} and {@link Event#END_LIST} decrease it.
+     *
+     * @return the current depth
+     */
+    int depth();
+
+    /**
+     * Skips the {@link MapNode} or {@link ListNode} that starts at the current event.
+     * <p>
+     * If the current event is {@link Event#START_MAP} or {@link Event#START_LIST},
+     * this method reads the events until the corresponding {@link Event#END_MAP} or {@link Event#END_LIST}.
+     * Otherwise, this method does nothing.
+     *
+     * @throws IOException if I/O error occurred or the document is broken
+     */
+    default void skipChildren() throws IOException {
+        var event = this.event();
+
+        if (event != Event.START_MAP && event != Event.START_LIST) {
+            return;
+        }
+
+        int depth = 1;
+
+        while (depth != 0) {
+            switch (this.next()) {
+                case START_MAP, START_LIST -> depth++;
+                case END_MAP, END_LIST -> depth--;
+                case END_DOCUMENT -> throw new IOException("Unexpected end of the document");
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the {@link Node} that starts at the current event.
+     * <p>
+     * If the current event is {@link Event#START_MAP} or {@link Event#START_LIST},
+     * this method reads the events until the corresponding {@link Event#END_MAP} or {@link Event#END_LIST}
+     * and returns a new {@link MapNode} or {@link ListNode}.
+     * If the current event is {@link Event#VALUE}, this method returns {@link #value()}.
+     *
+     * @return the read {@link Node}
+     * @throws IOException           if I/O error occurred or the document is broken
+     * @throws IllegalStateException if the current event is not {@link Event#START_MAP}, {@link Event#START_LIST} or {@link Event#VALUE}
+     */
+    default @NotNull Node<?> readNode() throws IOException {
+        var event = this.event();
+
+        if (event == Event.VALUE) {
+            return this.value();
+        } else if (event == Event.START_MAP) {
+            var mapNode = MapNode.create();
+
+            while ((event = this.next()) == Event.KEY) {
+                var key = this.key();
+                this.next();
+                mapNode.setOwned(key, this.readNode());
+            }
+
+            if (event != Event.END_MAP) {
+                throw new IOException("Unexpected event in the map: " + event);
+            }
+
+            return mapNode;
+        } else if (event == Event.START_LIST) {
+            var listNode = ListNode.create();
+
+            while ((event = this.next()) != Event.END_LIST) {
+                if (event == Event.END_DOCUMENT) {
+                    throw new IOException("Unexpected end of the document");
+                }
+                listNode.addOwned(this.readNode());
+            }
+
+            return listNode;
+        } else {
+            throw new IllegalStateException("Cannot read a node at " + event);
+        }
+    }
+
+    /**
+     * Reads the {@link Node} that starts at the current event, but only materializes the nodes that the specified {@link NodePath}s point to.
+     * <p>
+     * The paths are resolved from the current node, and the returned {@link MapNode} or {@link ListNode} is sparse:
+     * it contains the requested nodes (with their whole subtrees) and the {@link MapNode}s and {@link ListNode}s on the way to them.
+     * The other parts of the document are skipped by {@link #skipChildren()}, so they are not converted to {@link Node}s.
+     * The paths that do not exist in the document are ignored.
+     * <p>
+     * To keep the indexes of the requested elements, the skipped elements before them are replaced with {@link dev.siroshun.configapi.core.node.NullNode#NULL}.
+     * <p>
+     * If the current event is {@link Event#VALUE}, this method returns {@link #value()}.
+     *
+     * @param paths the {@link NodePath}s to read
+     * @return the read {@link Node}
+     * @throws IOException           if I/O error occurred or the document is broken
+     * @throws IllegalStateException if the current event is not {@link Event#START_MAP}, {@link Event#START_LIST} or {@link Event#VALUE}
+     */
+    default @NotNull Node<?> readNode(@NotNull Collection<NodePath> paths) throws IOException {
+        var event = this.event();
+
+        if (event == Event.VALUE) {
+            return this.value();
+        }
+
+        var node = NodeProjection.create(paths).read(this);
+
+        if (node != null) {
+            return node;
+        }
+
+        return event == Event.START_MAP ? MapNode.create() : ListNode.create();
+    }
+
+    /**
+     * The events of {@link NodeReader}.
+     */
+    enum Event {
+
+        /**
+         * The start of a {@link MapNode}.
+         */
+        START_MAP,
+
+        /**
+         * The key of the entry in the {@link MapNode}, followed by the events of its value.
+         */
+        KEY,
+
+        /**
+         * The end of a {@link MapNode}.
+         */
+        END_MAP,
+
+        /**
+         * The start of a {@link ListNode}.
+         */
+        START_LIST,
+
+        /**
+         * The end of a {@link ListNode}.
+         */
+        END_LIST,
+
+        /**
+         * A {@link Node} that is not a {@link MapNode} or a {@link ListNode}.
+         */
+        VALUE,
+
+        /**
+         * The end of the document.
+         */
+        END_DOCUMENT
+
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.file;
+
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.visitor.NodeVisitor;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * A push-style writer that writes a node to a file from a sequence of calls, without creating the whole node tree.
+ * <p>
+ * The calls mirror {@link NodeReader.Event}s and {@link NodeVisitor}:
+ * a {@link MapNode} is written by {@link #beginMap(int)}, pairs of {@link #key(Object)} and its value, and {@link #endMap()},
+ * a {@link ListNode} is written by {@link #beginList(int)}, its elements, and {@link #endList()},
+ * and other {@link Node}s are written by {@link #value(Node)}.
+ * A whole {@link Node} including its children can be written by {@link #writeNode(Node)}.
+ * <p>
+ * The document is completed when the root node is written, and {@link #close()} closes the underlying output.
+ * Comments are not written by {@link NodeWriter}s.
+ * <p>
+ * The instances of this interface are not thread-safe.
+ *
+ * @see FileFormat#writer(java.io.Writer)
+ */
+public interface NodeWriter extends Closeable, Flushable {
+
+    /**
+     * A size that represents the number of entries/elements is not known when starting a {@link MapNode}/{@link ListNode}.
+     */
+    int UNKNOWN_SIZE = -1;
+
+    /**
+     * Creates a {@link NodeVisitor} that writes the visited {@link Node}s to the given {@link NodeWriter}.
+     * <p>
+     * The returned {@link NodeVisitor} can be passed to {@link Node#accept(NodeVisitor)},
+     * and {@link IOException}s thrown by the {@link NodeWriter} are wrapped in {@link UncheckedIOException}.
+     *
+     * @param writer the {@link NodeWriter} to write
+     * @return a {@link NodeVisitor} that writes the visited {@link Node}s to the given {@link NodeWriter}
+     */
+    static @NotNull NodeVisitor visitor(@NotNull NodeWriter writer) {
+        return new NodeWriterVisitor(Objects.requireNonNull(writer));
+    }
+
+    /**
+     * Creates a {@link NodeWriter} that builds the whole {@link Node} tree and passes it to the given {@link TreeTarget} when it is closed.
+     * <p>
+     * This is for the {@link FileFormat}s that cannot write the document incrementally.
+     * The returned {@link NodeWriter} closes the {@link TreeTarget} when it is closed,
+     * and throws {@link IOException} without saving anything if the document is incomplete.
+     *
+     * @param target the {@link TreeTarget} to save the written {@link Node}
+     * @return a {@link NodeWriter} that saves the written {@link Node} to the given {@link TreeTarget} when closing
+     */
+    static @NotNull NodeWriter tree(@NotNull TreeTarget target) {
+        return new TreeNodeWriter(Objects.requireNonNull(target));
+    }
+
+    /**
+     * Starts writing a {@link MapNode} whose number of entries is not known.
+     *
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred
+     */
+    @Contract(" -> this")
+    default @NotNull NodeWriter beginMap() throws IOException {
+        return this.beginMap(UNKNOWN_SIZE);
+    }
+
+    /**
+     * Starts writing a {@link MapNode}.
+     * <p>
+     * The size is a hint for the formats that write the number of entries before them.
+     * If the size is not {@link #UNKNOWN_SIZE}, exactly the same number of entries should be written before {@link #endMap()}.
+     *
+     * @param size the number of entries, or {@link #UNKNOWN_SIZE}
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred
+     */
+    @Contract("_ -> this")
+    @NotNull NodeWriter beginMap(int size) throws IOException;
+
+    /**
+     * Writes the key of the entry in the current {@link MapNode}.
+     * <p>
+     * The value of the entry should be written after this method.
+     *
+     * @param key the key of the entry
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred
+     */
+    @Contract("_ -> this")
+    @NotNull NodeWriter key(@NotNull Object key) throws IOException;
+
+    /**
+     * Ends writing the current {@link MapNode}.
+     *
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred
+     */
+    @Contract(" -> this")
+    @NotNull NodeWriter endMap() throws IOException;
+
+    /**
+     * Starts writing a {@link ListNode} whose number of elements is not known.
+     *
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred
+     */
+    @Contract(" -> this")
+    default @NotNull NodeWriter beginList() throws IOException {
+        return this.beginList(UNKNOWN_SIZE);
+    }
+
+    /**
+     * Starts writing a {@link ListNode}.
+     * <p>
+     * The size is a hint for the formats that write the number of elements before them.
+     * If the size is not {@link #UNKNOWN_SIZE}, exactly the same number of elements should be written before {@link #endList()}.
+     *
+     * @param size the number of elements, or {@link #UNKNOWN_SIZE}
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred
+     */
+    @Contract("_ -> this")
+    @NotNull NodeWriter beginList(int size) throws IOException;
+
+    /**
+     * Ends writing the current {@link ListNode}.
+     *
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred
+     */
+    @Contract(" -> this")
+    @NotNull NodeWriter endList() throws IOException;
+
+    /**
+     * Writes a {@link Node} that is not a {@link MapNode} or a {@link ListNode}.
+     * <p>
+     * If the given {@link Node} is a {@link MapNode}, a {@link ListNode} or a {@link CommentedNode},
+     * this method is the same as {@link #writeNode(Node)}.
+     *
+     * @param node the {@link Node} to write
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred or the {@link Node} is not supported
+     */
+    @Contract("_ -> this")
+    @NotNull NodeWriter value(@NotNull Node<?> node) throws IOException;
+
+    /**
+     * Writes the {@link Node} including its children.
+     * <p>
+     * {@link MapNode}s and {@link ListNode}s are written by {@link Node#accept(NodeVisitor)} with {@link #visitor(NodeWriter)},
+     * and other {@link Node}s are written by {@link #value(Node)}.
+     *
+     * @param node the {@link Node} to write
+     * @return this {@link NodeWriter}
+     * @throws IOException if I/O error occurred or the {@link Node} is not supported
+     */
+    @Contract("_ -> this")
+    default @NotNull NodeWriter writeNode(@NotNull Node<?> node) throws IOException {
+        if (node instanceof CommentedNode<?> commentedNode) {
+            node = commentedNode.node();
+        }
+
+        if (node instanceof MapNode || node instanceof ListNode) {
+            try {
+                node.accept(visitor(this));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return this;
+        }
+
+        return this.value(node);
+    }
+
+    /**
+     * A target to save the {@link Node} tree built by {@link #tree(TreeTarget)}.
+     */
+    @FunctionalInterface
+    interface TreeTarget extends Closeable {
+
+        /**
+         * Saves the written root {@link Node}.
+         * <p>
+         * This method is not called if no {@link Node} is written.
+         *
+         * @param root the written root {@link Node}
+         * @throws IOException if I/O error occurred or the {@link Node} is not supported
+         */
+        void save(@NotNull Node<?> root) throws IOException;
+
+        /**
+         * Closes this {@link TreeTarget} after saving the {@link Node}.
+         * <p>
+         * The default implementation does nothing.
+         *
+         * @throws IOException if I/O error occurred
+         */
+        @Override
+        default void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.file;
+
+import dev.siroshun.configapi.core.node.BooleanArray;
+import dev.siroshun.configapi.core.node.BooleanValue;
+import dev.siroshun.configapi.core.node.ByteArray;
+import dev.siroshun.configapi.core.node.ByteValue;
+import dev.siroshun.configapi.core.node.CharArray;
+import dev.siroshun.configapi.core.node.CharValue;
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.DoubleArray;
+import dev.siroshun.configapi.core.node.DoubleValue;
+import dev.siroshun.configapi.core.node.EnumValue;
+import dev.siroshun.configapi.core.node.FloatArray;
+import dev.siroshun.configapi.core.node.FloatValue;
+import dev.siroshun.configapi.core.node.IntArray;
+import dev.siroshun.configapi.core.node.IntValue;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.LongArray;
+import dev.siroshun.configapi.core.node.LongValue;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.ObjectNode;
+import dev.siroshun.configapi.core.node.ShortArray;
+import dev.siroshun.configapi.core.node.ShortValue;
+import dev.siroshun.configapi.core.node.StringValue;
+import dev.siroshun.configapi.core.node.visitor.NodeVisitor;
+import dev.siroshun.configapi.core.node.visitor.VisitResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link NodeVisitor} implementation that writes the visited {@link Node}s to {@link NodeWriter}.
+ */
+final class NodeWriterVisitor implements NodeVisitor {
+
+    private final NodeWriter writer;
+
+    NodeWriterVisitor(@NotNull NodeWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull StringValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull BooleanArray array) {
+        return this.value(array);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull BooleanValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull ByteArray array) {
+        return this.value(array);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull ByteValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull CharArray array) {
+        return this.value(array);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull CharValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull DoubleArray array) {
+        return this.value(array);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull DoubleValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull FloatArray array) {
+        return this.value(array);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull FloatValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull IntArray array) {
+        return this.value(array);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull IntValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull LongArray array) {
+        return this.value(array);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull LongValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull ShortArray array) {
+        return this.value(array);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull ShortValue value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull EnumValue<?> value) {
+        return this.value(value);
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull ObjectNode<?> node) {
+        return this.value(node);
+    }
+
+    @Override
+    public @NotNull VisitResult startList(@NotNull ListNode node) {
+        try {
+            this.writer.beginList(node.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return VisitResult.CONTINUE;
+    }
+
+    @Override
+    public @NotNull VisitResult visitElement(int index, @NotNull Node<?> node) {
+        return VisitResult.CONTINUE;
+    }
+
+    @Override
+    public @NotNull VisitResult endList(@NotNull ListNode node) {
+        try {
+            this.writer.endList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return VisitResult.CONTINUE;
+    }
+
+    @Override
+    public @NotNull VisitResult startMap(@NotNull MapNode node) {
+        try {
+            this.writer.beginMap(node.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return VisitResult.CONTINUE;
+    }
+
+    @Override
+    public @NotNull VisitResult visitEntry(int num, @NotNull Object key, @NotNull Node<?> node) {
+        try {
+            this.writer.key(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return VisitResult.CONTINUE;
+    }
+
+    @Override
+    public @NotNull VisitResult endMap(@NotNull MapNode node) {
+        try {
+            this.writer.endMap();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return VisitResult.CONTINUE;
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull CommentedNode<?> node) {
+        return VisitResult.CONTINUE;
+    }
+
+    @Override
+    public @NotNull VisitResult visit(@NotNull NullNode node) {
+        return this.value(node);
+    }
+
+    private @NotNull VisitResult value(@NotNull Node<?> node) {
+        try {
+            this.writer.value(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return VisitResult.CONTINUE;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.file;
+
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A {@link NodeReader} implementation that reads the events from the {@link Node} tree.
+ */
+final class TreeNodeReader implements NodeReader {
+
+    private final ArrayDeque<Iterator<?>> stack = new ArrayDeque<>(); // MapIterator for maps, Iterator of Node for lists
+    private @Nullable Node<?> pending;
+    private @Nullable Event event;
+    private @Nullable Object key;
+    private @Nullable Node<?> value;
+
+    TreeNodeReader(@NotNull Node<?> root) {
+        this.pending = root;
+    }
+
+    @Override
+    public @NotNull Event next() {
+        var pending = this.pending;
+
+        if (pending != null) {
+            this.pending = null;
+            return this.start(pending);
+        }
+
+        var iterator = this.stack.peek();
+
+        if (iterator == null) {
+            return this.event = Event.END_DOCUMENT;
+        }
+
+        if (!iterator.hasNext()) {
+            this.stack.pop();
+            return this.event = iterator instanceof MapIterator ? Event.END_MAP : Event.END_LIST;
+        }
+
+        if (iterator instanceof MapIterator mapIterator) {
+            var entry = mapIterator.next();
+            this.key = entry.getKey();
+            this.pending = entry.getValue();
+            return this.event = Event.KEY;
+        }
+
+        return this.start((Node<?>) iterator.next());
+    }
+
+    private @NotNull Event start(@NotNull Node<?> node) {
+        if (node instanceof CommentedNode<?> commentedNode) {
+            node = commentedNode.node();
+        }
+
+        if (node instanceof MapNode mapNode) {
+            this.stack.push(new MapIterator(mapNode.value().entrySet().iterator()));
+            return this.event = Event.START_MAP;
+        } else if (node instanceof ListNode listNode) {
+            this.stack.push(listNode.value().iterator());
+            return this.event = Event.START_LIST;
+        } else {
+            this.value = node;
+            return this.event = Event.VALUE;
+        }
+    }
+
+    @Override
+    public @NotNull Event event() {
+        if (this.event == null) {
+            throw new IllegalStateException("next() has not been called yet.");
+        }
+        return this.event;
+    }
+
+    @Override
+    public @NotNull Object key() {
+        if (this.event != Event.KEY || this.key == null) {
+            throw new IllegalStateException("The current event is not KEY: " + this.event);
+        }
+        return this.key;
+    }
+
+    @Override
+    public @NotNull Node<?> value() {
+        if (this.event != Event.VALUE || this.value == null) {
+            throw new IllegalStateException("The current event is not VALUE: " + this.event);
+        }
+        return this.value;
+    }
+
+    @Override
+    public int depth() {
+        return this.stack.size();
+    }
+
+    @Override
+    public void skipChildren() {
+        if (this.event == Event.START_MAP || this.event == Event.START_LIST) {
+            var iterator = this.stack.pop();
+            this.event = iterator instanceof MapIterator ? Event.END_MAP : Event.END_LIST;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.stack.clear();
+        this.pending = null;
+    }
+
+    private record MapIterator(@NotNull Iterator<? extends Map.Entry<Object, Node<?>>> entries) implements Iterator<Map.Entry<Object, Node<?>>> {
+
+        @Override
+        public boolean hasNext() {
+            return this.entries.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Object, Node<?>> next() {
+            return this.entries.next();
+        }
+    }
+}
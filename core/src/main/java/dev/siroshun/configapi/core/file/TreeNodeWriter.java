@@ -0,0 +1,137 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.file;
+
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+/**
+ * A {@link NodeWriter} implementation that builds the {@link Node} tree and saves it to the {@link NodeWriter.TreeTarget} when closing.
+ */
+final class TreeNodeWriter implements NodeWriter {
+
+    private final TreeTarget target;
+    private final ArrayDeque<Node<?>> stack = new ArrayDeque<>(); // MapNode or ListNode
+    private @Nullable Object key;
+    private @Nullable Node<?> root;
+    private boolean closed;
+
+    TreeNodeWriter(@NotNull TreeTarget target) {
+        this.target = target;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginMap(int size) {
+        var mapNode = MapNode.create();
+        this.add(mapNode);
+        this.stack.push(mapNode);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter key(@NotNull Object key) {
+        if (!(this.stack.peek() instanceof MapNode) || this.key != null) {
+            throw new IllegalStateException("Cannot write a key here.");
+        }
+        this.key = key;
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endMap() {
+        if (!(this.stack.peek() instanceof MapNode) || this.key != null) {
+            throw new IllegalStateException("Cannot end a map here.");
+        }
+        this.stack.pop();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginList(int size) {
+        var listNode = size == UNKNOWN_SIZE ? ListNode.create() : ListNode.create(size);
+        this.add(listNode);
+        this.stack.push(listNode);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endList() {
+        if (!(this.stack.peek() instanceof ListNode)) {
+            throw new IllegalStateException("Cannot end a list here.");
+        }
+        this.stack.pop();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter value(@NotNull Node<?> node) throws IOException {
+        if (node instanceof MapNode || node instanceof ListNode || node instanceof CommentedNode<?>) {
+            return this.writeNode(node);
+        }
+
+        this.add(node);
+        return this;
+    }
+
+    private void add(@NotNull Node<?> node) {
+        var parent = this.stack.peek();
+
+        if (parent instanceof MapNode mapNode) {
+            if (this.key == null) {
+                throw new IllegalStateException("key(Object) must be called before writing the value.");
+            }
+            mapNode.setOwned(this.key, node);
+            this.key = null;
+        } else if (parent instanceof ListNode listNode) {
+            listNode.addOwned(node);
+        } else if (this.root == null) {
+            this.root = node;
+        } else {
+            throw new IllegalStateException("The root node has already been written.");
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+
+        try (this.target) {
+            if (!this.stack.isEmpty()) {
+                throw new IOException("The document is incomplete.");
+            }
+
+            if (this.root != null) {
+                this.target.save(this.root);
+            }
+        }
+    }
+}
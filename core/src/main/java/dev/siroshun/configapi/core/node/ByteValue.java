@@ -27,6 +27,26 @@ import org.jetbrains.annotations.NotNull;
  */
 public record ByteValue(byte byteValue) implements NumberValue, StringRepresentable {
 
+    private static final ByteValue[] CACHE = new ByteValue[256];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new ByteValue((byte) (i - 128));
+        }
+    }
+
+    /**
+     * Gets the {@link ByteValue} of the given byte value.
+     * <p>
+     * All {@link ByteValue}s are cached, so this method always returns the same instance for the same value.
+     *
+     * @param value a byte value
+     * @return the {@link ByteValue} of the given value
+     */
+    public static @NotNull ByteValue fromByte(byte value) {
+        return CACHE[value + 128];
+    }
+
     @Override
     public @NotNull Byte value() {
         return this.byteValue;
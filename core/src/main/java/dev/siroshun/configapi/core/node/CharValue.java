@@ -27,6 +27,27 @@ import org.jetbrains.annotations.NotNull;
  */
 public record CharValue(char charValue) implements ValueNode<Character>, StringRepresentable {
 
+    private static final int CACHE_HIGH = 127;
+    private static final CharValue[] CACHE = new CharValue[CACHE_HIGH + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new CharValue((char) i);
+        }
+    }
+
+    /**
+     * Gets the {@link CharValue} of the given char value.
+     * <p>
+     * The {@link CharValue}s of ASCII characters (0 to 127) are cached, so this method returns the same instance for them.
+     *
+     * @param value a char value
+     * @return the {@link CharValue} of the given value
+     */
+    public static @NotNull CharValue fromChar(char value) {
+        return value <= CACHE_HIGH ? CACHE[value] : new CharValue(value);
+    }
+
     @Override
     public @NotNull Character value() {
         return this.charValue;
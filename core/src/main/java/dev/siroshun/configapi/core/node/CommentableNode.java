@@ -33,6 +33,8 @@ public sealed interface CommentableNode<T> extends Node<T> permits CommentedNode
      * Creates a {@link CommentableNode} with the specified {@link Comment}.
      * <p>
      * If {@code target} is a {@link CommentableNode}, set the specified {@link Comment} using {@link CommentableNode#setComment(Comment)}.
+     * If {@code target} is an immutable node ({@link PersistentMapNode}, {@link PersistentListNode}, or the node created by {@link MapNode#toFrozen()}),
+     * returns the new instance that has the specified {@link Comment}.
      * Otherwise, wrap the {@code target} in {@link CommentedNode} and attach the {@link Comment}.
      *
      * @param target  the {@link Node} to attach the comment to
@@ -40,8 +42,11 @@ public sealed interface CommentableNode<T> extends Node<T> permits CommentedNode
      * @param <T>     a type of object
      * @return the {@link CommentableNode}
      */
+    @SuppressWarnings("unchecked")
     static <T> @NotNull CommentableNode<T> withComment(@NotNull Node<T> target, @Nullable Comment comment) {
-        if (target instanceof CommentableNode<T> commentableNode) {
+        if (target instanceof ImmutableNode immutableNode) {
+            return (CommentableNode<T>) immutableNode.withComment(comment);
+        } else if (target instanceof CommentableNode<T> commentableNode) {
             commentableNode.setComment(comment);
             return commentableNode;
         } else {
@@ -0,0 +1,391 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Map} that keeps the insertion order of keys and is compact when it has a few entries.
+ * <p>
+ * Up to {@link #THRESHOLD} entries, the keys and values are stored in a single array ({@code [k0, v0, k1, v1, ...]})
+ * and looked up by scanning it, so there are no per-entry objects or hash tables.
+ * When the number of entries exceeds {@link #THRESHOLD}, the entries are moved to a {@link LinkedHashMap},
+ * and this map keeps using it even after the entries are removed.
+ * <p>
+ * This class does not allow {@code null} keys and values, because {@link MapNode} does not use them.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    static final int THRESHOLD = 8;
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] table; // null after moving to the LinkedHashMap
+    private @Nullable LinkedHashMap<K, V> large;
+    private int size;
+    private int modCount;
+    private @Nullable EntrySet entrySet;
+
+    CompactMap() {
+        this.table = EMPTY;
+    }
+
+    CompactMap(int expectedSize) {
+        if (THRESHOLD < expectedSize) {
+            this.large = new LinkedHashMap<>((int) (expectedSize / 0.75f) + 1);
+        } else {
+            this.table = expectedSize == 0 ? EMPTY : new Object[expectedSize * 2];
+        }
+    }
+
+    @Override
+    public int size() {
+        var large = this.large;
+        return large != null ? large.size() : this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        var large = this.large;
+
+        if (large != null) {
+            return large.get(key);
+        }
+
+        int index = this.indexOf(key);
+        return index != -1 ? this.valueAt(index) : null;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        var large = this.large;
+
+        if (large != null) {
+            return large.getOrDefault(key, defaultValue);
+        }
+
+        int index = this.indexOf(key);
+        return index != -1 ? this.valueAt(index) : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        var large = this.large;
+        return large != null ? large.containsKey(key) : this.indexOf(key) != -1;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        var large = this.large;
+
+        if (large != null) {
+            return large.containsValue(value);
+        }
+
+        var table = this.table;
+
+        for (int i = 1, end = this.size * 2; i < end; i += 2) {
+            if (table[i].equals(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        var large = this.large;
+
+        if (large != null) {
+            return large.put(key, value);
+        }
+
+        int index = this.indexOf(key);
+
+        if (index != -1) {
+            var previous = this.valueAt(index);
+            this.table[index * 2 + 1] = value;
+            return previous;
+        }
+
+        if (this.size == THRESHOLD) {
+            this.moveToLarge().put(key, value);
+            return null;
+        }
+
+        int slot = this.size * 2;
+
+        if (slot == this.table.length) {
+            this.table = Arrays.copyOf(this.table, Math.max(4, Math.min(this.table.length * 2, THRESHOLD * 2)));
+        }
+
+        this.table[slot] = key;
+        this.table[slot + 1] = value;
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        var large = this.large;
+
+        if (large != null) {
+            return large.remove(key);
+        }
+
+        int index = this.indexOf(key);
+
+        if (index == -1) {
+            return null;
+        }
+
+        var removed = this.valueAt(index);
+        this.removeAt(index);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        var large = this.large;
+
+        if (large != null) {
+            large.clear();
+        } else if (this.size != 0) {
+            Arrays.fill(this.table, 0, this.size * 2, null);
+            this.size = 0;
+            this.modCount++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        var large = this.large;
+
+        if (large != null) {
+            large.forEach(action);
+            return;
+        }
+
+        int modCount = this.modCount;
+        var table = this.table;
+
+        for (int i = 0, end = this.size * 2; i < end; i += 2) {
+            action.accept((K) table[i], (V) table[i + 1]);
+        }
+
+        if (modCount != this.modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        var entrySet = this.entrySet;
+
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+            this.entrySet = entrySet;
+        }
+
+        return entrySet;
+    }
+
+    private int indexOf(Object key) {
+        var table = this.table;
+
+        for (int i = 0, end = this.size * 2; i < end; i += 2) {
+            var k = table[i];
+            if (k == key || k.equals(key)) {
+                return i / 2;
+            }
+        }
+
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) this.table[index * 2 + 1];
+    }
+
+    private void removeAt(int index) {
+        int slot = index * 2;
+        int end = this.size * 2;
+        System.arraycopy(this.table, slot + 2, this.table, slot, end - slot - 2);
+        this.table[end - 2] = null;
+        this.table[end - 1] = null;
+        this.size--;
+        this.modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull LinkedHashMap<K, V> moveToLarge() {
+        var large = new LinkedHashMap<K, V>((int) (THRESHOLD * 2 / 0.75f) + 1);
+        var table = this.table;
+
+        for (int i = 0, end = this.size * 2; i < end; i += 2) {
+            large.put((K) table[i], (V) table[i + 1]);
+        }
+
+        this.large = large;
+        this.table = null;
+        this.size = 0;
+        this.modCount++;
+        return large;
+    }
+
+    // The returned set may be cached by the caller (e.g. Collections#unmodifiableMap), so it delegates to the LinkedHashMap after moving
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public @NotNull Iterator<Entry<K, V>> iterator() {
+            var large = CompactMap.this.large;
+            return large != null ? large.entrySet().iterator() : new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return CompactMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount = CompactMap.this.modCount;
+
+        @Override
+        public boolean hasNext() {
+            return this.next < CompactMap.this.size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Entry<K, V> next() {
+            this.checkModCount();
+
+            if (CompactMap.this.size <= this.next) {
+                throw new NoSuchElementException();
+            }
+
+            this.last = this.next++;
+            return new CompactEntry((K) CompactMap.this.table[this.last * 2], this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == -1) {
+                throw new IllegalStateException();
+            }
+
+            this.checkModCount();
+            CompactMap.this.removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.expectedModCount = CompactMap.this.modCount;
+        }
+
+        private void checkModCount() {
+            if (this.expectedModCount != CompactMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private final class CompactEntry implements Entry<K, V> {
+
+        private final K key;
+        private final int index;
+        private V value;
+
+        private CompactEntry(K key, int index) {
+            this.key = key;
+            this.index = index;
+            this.value = CompactMap.this.valueAt(index);
+        }
+
+        @Override
+        public K getKey() {
+            return this.key;
+        }
+
+        @Override
+        public V getValue() {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (CompactMap.this.table == null || CompactMap.this.size <= this.index || CompactMap.this.table[this.index * 2] != this.key) {
+                throw new ConcurrentModificationException();
+            }
+
+            CompactMap.this.table[this.index * 2 + 1] = Objects.requireNonNull(value);
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry && Objects.equals(this.key, entry.getKey()) && Objects.equals(this.value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.key) ^ Objects.hashCode(this.value);
+        }
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Deep copy, equality and hash code of node trees that process the large subtrees in parallel.
+ * <p>
+ * The trees that have fewer than {@link #SEQUENTIAL_THRESHOLD} nodes are processed sequentially in the current thread.
+ * For larger trees, each container counts the nodes of its children up to {@link #SEQUENTIAL_THRESHOLD},
+ * and forks the large children one by one and the small children in batches.
+ */
+final class DeepNodeOperations {
+
+    static final int SEQUENTIAL_THRESHOLD = 8192;
+
+    static @NotNull MapNode copy(@NotNull MapNode node, @NotNull ForkJoinPool pool) {
+        return isLarge(node, true) ? (MapNode) pool.invoke(ForkJoinTask.adapt(() -> parallelCopy(node))) : node.copy();
+    }
+
+    static @NotNull ListNode copy(@NotNull ListNode node, @NotNull ForkJoinPool pool) {
+        return isLarge(node, true) ? (ListNode) pool.invoke(ForkJoinTask.adapt(() -> parallelCopy(node))) : node.copy();
+    }
+
+    static boolean equals(@NotNull Node<?> a, @Nullable Node<?> b, @NotNull ForkJoinPool pool) {
+        if (a == b) {
+            return true;
+        } else if (b == null) {
+            return false;
+        }
+
+        return isLarge(a, false) ? pool.invoke(ForkJoinTask.adapt(() -> parallelEquals(a, b))) : sequentialEquals(a, b);
+    }
+
+    static int hashCode(@NotNull Node<?> node, @NotNull ForkJoinPool pool) {
+        return isLarge(node, false) ? pool.invoke(ForkJoinTask.adapt(() -> parallelHashCode(node))) : sequentialHashCode(node);
+    }
+
+    private static boolean isLarge(@NotNull Node<?> node, boolean skipImmutable) {
+        return SEQUENTIAL_THRESHOLD <= countNodes(node, SEQUENTIAL_THRESHOLD, skipImmutable);
+    }
+
+    private static int countNodes(@NotNull Node<?> node, int limit, boolean skipImmutable) {
+        if (node instanceof CommentedNode<?> commentedNode) {
+            return countNodes(commentedNode.node(), limit, skipImmutable);
+        } else if (skipImmutable && node instanceof ImmutableNode) {
+            return 1; // shared by the copy
+        }
+
+        int count = 1;
+
+        if (node instanceof MapNode mapNode) {
+            for (var child : mapNode.value().values()) {
+                count += countNodes(child, limit - count, skipImmutable);
+                if (limit <= count) {
+                    break;
+                }
+            }
+        } else if (node instanceof ListNode listNode) {
+            for (var child : listNode.value()) {
+                count += countNodes(child, limit - count, skipImmutable);
+                if (limit <= count) {
+                    break;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private static boolean sequentialEquals(@NotNull Node<?> a, @NotNull Node<?> b) {
+        if (a == b) {
+            return true;
+        } else if (a instanceof CommentedNode<?> commentedA) {
+            return b instanceof CommentedNode<?> commentedB
+                   && Objects.equals(commentedA.getCommentOrNull(), commentedB.getCommentOrNull())
+                   && sequentialEquals(commentedA.node(), commentedB.node());
+        } else if (a instanceof MapNode mapA) {
+            if (!(b instanceof MapNode mapB) || mapA.size() != mapB.size() || !Objects.equals(mapA.getCommentOrNull(), mapB.getCommentOrNull())) {
+                return false;
+            }
+
+            var valuesB = mapB.value();
+
+            for (var entry : mapA.value().entrySet()) {
+                var valueB = valuesB.get(entry.getKey());
+                if (valueB == null || !sequentialEquals(entry.getValue(), valueB)) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (a instanceof ListNode listA) {
+            if (!(b instanceof ListNode listB) || listA.size() != listB.size() || !Objects.equals(listA.getCommentOrNull(), listB.getCommentOrNull())) {
+                return false;
+            }
+
+            var elementsA = listA.value();
+            var elementsB = listB.value();
+
+            for (int i = 0, size = elementsA.size(); i < size; i++) {
+                if (!sequentialEquals(elementsA.get(i), elementsB.get(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (a instanceof NumberValue numberA) {
+            return b instanceof NumberValue numberB && numberEquals(numberA, numberB);
+        } else {
+            return a.equals(b);
+        }
+    }
+
+    private static int sequentialHashCode(@NotNull Node<?> node) {
+        if (node instanceof CommentedNode<?> commentedNode) {
+            return 31 * sequentialHashCode(commentedNode.node()) + Objects.hashCode(commentedNode.getCommentOrNull());
+        } else if (node instanceof MapNode mapNode) {
+            int hash = 0;
+
+            for (var entry : mapNode.value().entrySet()) {
+                hash += entry.getKey().hashCode() ^ sequentialHashCode(entry.getValue());
+            }
+
+            return 31 * hash + Objects.hashCode(mapNode.getCommentOrNull());
+        } else if (node instanceof ListNode listNode) {
+            var elements = listNode.value();
+            int hash = 1;
+
+            for (int i = 0, size = elements.size(); i < size; i++) {
+                hash = 31 * hash + sequentialHashCode(elements.get(i));
+            }
+
+            return 31 * hash + Objects.hashCode(listNode.getCommentOrNull());
+        } else if (node instanceof NumberValue number) {
+            return numberHashCode(number);
+        } else {
+            return node.hashCode();
+        }
+    }
+
+    // Integral numbers are equal to floating point numbers only if they represent exactly the same value, so that numberHashCode can be consistent with this.
+    // 0.0 and -0.0 are both equal to the integral 0, so they are also equal to each other to keep the equality transitive.
+    private static boolean numberEquals(@NotNull NumberValue a, @NotNull NumberValue b) {
+        boolean integralA = isIntegral(a);
+        boolean integralB = isIntegral(b);
+
+        if (integralA && integralB) {
+            return a.asLong() == b.asLong();
+        } else if (!integralA && !integralB) {
+            double doubleA = a.asDouble();
+            double doubleB = b.asDouble();
+            return doubleA == doubleB || Double.compare(doubleA, doubleB) == 0; // == for the zeros with different signs, compare for NaN
+        } else {
+            long integral = integralA ? a.asLong() : b.asLong();
+            double floating = integralA ? b.asDouble() : a.asDouble();
+            return isExactLong(floating) && (long) floating == integral;
+        }
+    }
+
+    private static int numberHashCode(@NotNull NumberValue number) {
+        if (isIntegral(number)) {
+            return Long.hashCode(number.asLong());
+        }
+
+        double value = number.asDouble();
+        // -0.0 is converted to 0L here, so it has the same hash code as 0.0 and the integral 0
+        return isExactLong(value) ? Long.hashCode((long) value) : Double.hashCode(value);
+    }
+
+    private static boolean isIntegral(@NotNull NumberValue number) {
+        return !(number instanceof FloatValue) && !(number instanceof DoubleValue);
+    }
+
+    private static boolean isExactLong(double value) {
+        return value == Math.rint(value) && -0x1p63 <= value && value < 0x1p63;
+    }
+
+    private static @NotNull Node<?> parallelCopy(@NotNull Node<?> node) {
+        if (node instanceof CommentedNode<?> commentedNode) {
+            return CommentableNode.withComment(parallelCopy(commentedNode.node()), commentedNode.getCommentOrNull());
+        } else if (node instanceof ImmutableNode) {
+            return NodeUtils.toNode(node);
+        } else if (node instanceof MapNode mapNode) {
+            var entries = mapNode.value();
+            var keys = new Object[entries.size()];
+            var children = new Node<?>[keys.length];
+            int index = 0;
+
+            for (var entry : entries.entrySet()) {
+                keys[index] = entry.getKey();
+                children[index++] = entry.getValue();
+            }
+
+            var copiedChildren = new Node<?>[children.length];
+            forEachChild(children, true, (i, large) -> copiedChildren[i] = large ? parallelCopy(children[i]) : NodeUtils.toNode(children[i]));
+
+            var copied = new CompactMap<Object, Node<?>>(keys.length);
+
+            for (int i = 0; i < keys.length; i++) {
+                copied.put(keys[i], copiedChildren[i]);
+            }
+
+            return new MapNodeImpl(copied, mapNode.getCommentOrNull());
+        } else if (node instanceof ListNode listNode) {
+            var children = listNode.value().toArray(Node<?>[]::new);
+            var copiedChildren = new Node<?>[children.length];
+            forEachChild(children, true, (i, large) -> copiedChildren[i] = large ? parallelCopy(children[i]) : NodeUtils.toNode(children[i]));
+            return new ListNodeImpl(new ArrayList<>(Arrays.asList(copiedChildren)), listNode.getCommentOrNull());
+        } else {
+            return NodeUtils.toNode(node);
+        }
+    }
+
+    private static boolean parallelEquals(@NotNull Node<?> a, @NotNull Node<?> b) {
+        while (a instanceof CommentedNode<?> commentedA) {
+            if (!(b instanceof CommentedNode<?> commentedB) || !Objects.equals(commentedA.getCommentOrNull(), commentedB.getCommentOrNull())) {
+                return false;
+            }
+            a = commentedA.node();
+            b = commentedB.node();
+        }
+
+        Node<?>[] childrenA;
+        Node<?>[] childrenB;
+
+        if (a instanceof MapNode mapA) {
+            if (!(b instanceof MapNode mapB) || mapA.size() != mapB.size() || !Objects.equals(mapA.getCommentOrNull(), mapB.getCommentOrNull())) {
+                return false;
+            }
+
+            var entriesA = mapA.value();
+            var entriesB = mapB.value();
+            childrenA = new Node<?>[entriesA.size()];
+            childrenB = new Node<?>[childrenA.length];
+            int index = 0;
+
+            for (var entry : entriesA.entrySet()) {
+                var valueB = entriesB.get(entry.getKey());
+                if (valueB == null) {
+                    return false;
+                }
+                childrenA[index] = entry.getValue();
+                childrenB[index++] = valueB;
+            }
+        } else if (a instanceof ListNode listA) {
+            if (!(b instanceof ListNode listB) || listA.size() != listB.size() || !Objects.equals(listA.getCommentOrNull(), listB.getCommentOrNull())) {
+                return false;
+            }
+
+            childrenA = listA.value().toArray(Node<?>[]::new);
+            childrenB = listB.value().toArray(Node<?>[]::new);
+        } else {
+            return sequentialEquals(a, b);
+        }
+
+        var results = new boolean[childrenA.length];
+        forEachChild(childrenA, false, (i, large) -> results[i] = large ? parallelEquals(childrenA[i], childrenB[i]) : sequentialEquals(childrenA[i], childrenB[i]));
+
+        for (var result : results) {
+            if (!result) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int parallelHashCode(@NotNull Node<?> node) {
+        if (node instanceof CommentedNode<?> commentedNode) {
+            return 31 * parallelHashCode(commentedNode.node()) + Objects.hashCode(commentedNode.getCommentOrNull());
+        } else if (node instanceof MapNode mapNode) {
+            var entries = mapNode.value();
+            var keys = new Object[entries.size()];
+            var children = new Node<?>[keys.length];
+            int index = 0;
+
+            for (var entry : entries.entrySet()) {
+                keys[index] = entry.getKey();
+                children[index++] = entry.getValue();
+            }
+
+            var hashes = new int[children.length];
+            forEachChild(children, false, (i, large) -> hashes[i] = large ? parallelHashCode(children[i]) : sequentialHashCode(children[i]));
+
+            int hash = 0;
+
+            for (int i = 0; i < keys.length; i++) {
+                hash += keys[i].hashCode() ^ hashes[i];
+            }
+
+            return 31 * hash + Objects.hashCode(mapNode.getCommentOrNull());
+        } else if (node instanceof ListNode listNode) {
+            var children = listNode.value().toArray(Node<?>[]::new);
+            var hashes = new int[children.length];
+            forEachChild(children, false, (i, large) -> hashes[i] = large ? parallelHashCode(children[i]) : sequentialHashCode(children[i]));
+
+            int hash = 1;
+
+            for (int childHash : hashes) {
+                hash = 31 * hash + childHash;
+            }
+
+            return 31 * hash + Objects.hashCode(listNode.getCommentOrNull());
+        } else {
+            return sequentialHashCode(node);
+        }
+    }
+
+    // Forks the large children one by one and the small children in batches of about SEQUENTIAL_THRESHOLD nodes, and runs the last batch in the current thread.
+    private static void forEachChild(@NotNull Node<?> @NotNull [] children, boolean skipImmutable, @NotNull ChildOperation operation) {
+        var tasks = new ArrayList<ForkJoinTask<?>>();
+        var batch = new int[children.length];
+        int batchSize = 0;
+        int batchNodes = 0;
+
+        for (int i = 0; i < children.length; i++) {
+            int count = countNodes(children[i], SEQUENTIAL_THRESHOLD, skipImmutable);
+
+            if (SEQUENTIAL_THRESHOLD <= count) {
+                int index = i;
+                tasks.add(ForkJoinTask.adapt(() -> operation.run(index, true)).fork());
+                continue;
+            }
+
+            batch[batchSize++] = i;
+            batchNodes += count;
+
+            if (SEQUENTIAL_THRESHOLD <= batchNodes) {
+                var indexes = Arrays.copyOf(batch, batchSize);
+                tasks.add(ForkJoinTask.adapt(() -> runAll(indexes, indexes.length, operation)).fork());
+                batchSize = 0;
+                batchNodes = 0;
+            }
+        }
+
+        runAll(batch, batchSize, operation);
+
+        for (int i = tasks.size() - 1; 0 <= i; i--) {
+            tasks.get(i).join();
+        }
+    }
+
+    private static void runAll(int @NotNull [] indexes, int size, @NotNull ChildOperation operation) {
+        for (int i = 0; i < size; i++) {
+            operation.run(indexes[i], false);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChildOperation {
+        void run(int index, boolean large);
+    }
+
+    private DeepNodeOperations() {
+        throw new UnsupportedOperationException();
+    }
+}
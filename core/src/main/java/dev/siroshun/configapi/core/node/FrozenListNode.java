@@ -0,0 +1,285 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.Comment;
+import dev.siroshun.configapi.core.node.visitor.NodeVisitor;
+import dev.siroshun.configapi.core.node.visitor.VisitResult;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+final class FrozenListNode implements ListNode, ImmutableNode {
+
+    static final FrozenListNode EMPTY = new FrozenListNode(new Node<?>[0], null);
+
+    static @NotNull FrozenListNode freeze(@NotNull ListNode source) {
+        var elements = source.value().toArray(Node<?>[]::new);
+
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = NodeUtils.toFrozenNode(elements[i]);
+        }
+
+        var comment = source.getCommentOrNull();
+        return elements.length == 0 && comment == null ? EMPTY : new FrozenListNode(elements, comment);
+    }
+
+    private final Node<?>[] elements;
+    private final @Nullable Comment comment;
+    private final List<Node<?>> view;
+
+    private FrozenListNode(Node<?> @NotNull [] elements, @Nullable Comment comment) {
+        this.elements = elements;
+        this.comment = comment;
+        this.view = Collections.unmodifiableList(Arrays.asList(elements));
+    }
+
+    @Override
+    public @NotNull @Unmodifiable List<Node<?>> value() {
+        return this.view;
+    }
+
+    @Override
+    public boolean hasValue() {
+        return true;
+    }
+
+    @Override
+    public <T> @NotNull @Unmodifiable List<T> asList(@NotNull Class<? extends T> elementClass) {
+        if (this.elements.length == 0) {
+            return Collections.emptyList();
+        }
+
+        Objects.requireNonNull(elementClass);
+
+        var result = new ArrayList<T>(this.elements.length);
+
+        for (var element : this.elements) {
+            var casted = ListNodeImpl.castIfPossible(element, elementClass);
+            if (casted != null) {
+                result.add(casted);
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public @NotNull Stream<Node<?>> stream() {
+        return Arrays.stream(this.elements);
+    }
+
+    @Override
+    public void add(@Nullable Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addOwned(@NotNull Node<?> node) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(@NotNull Collection<?> collection) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(@NotNull ListNode listNode) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull ListNode addList() {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull ListNode addList(int initialCapacity) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull MapNode addMap() {
+        throw unsupported();
+    }
+
+    @Override
+    public void clear() {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean contains(@Nullable Object object) {
+        return this.view.contains(Node.fromObject(object));
+    }
+
+    @Override
+    public @NotNull Node<?> get(int index) {
+        return this.elements[index];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.elements.length == 0;
+    }
+
+    @Override
+    public boolean remove(@Nullable Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean removeIf(@NotNull Predicate<? super Node<?>> predicate) {
+        throw unsupported();
+    }
+
+    @Override
+    public void replaceAll(@NotNull UnaryOperator<Node<?>> operator) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> set(int index, @Nullable Object object) {
+        throw unsupported();
+    }
+
+    @Override
+    public int size() {
+        return this.elements.length;
+    }
+
+    @Override
+    public void sort(@NotNull Comparator<? super Node<?>> comparator) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> remove(int index) {
+        throw unsupported();
+    }
+
+    @Contract(" -> new")
+    @Override
+    public @NotNull ListNode copy() {
+        return new ListNodeImpl(new ArrayList<>(this.view), this.comment);
+    }
+
+    @Override
+    public @NotNull @Unmodifiable ListNode asView() {
+        return this;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable ListNode toFrozen() {
+        return this;
+    }
+
+    @Override
+    public boolean hasComment() {
+        return this.comment != null;
+    }
+
+    @Override
+    public @NotNull Comment getComment() {
+        if (this.comment == null) {
+            throw new IllegalStateException("Comment is not set.");
+        }
+        return this.comment;
+    }
+
+    @Override
+    public void setComment(@Nullable Comment comment) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull FrozenListNode withComment(@Nullable Comment comment) {
+        if (this.comment == comment) {
+            return this;
+        }
+
+        return this.isEmpty() && comment == null ? EMPTY : new FrozenListNode(this.elements, comment);
+    }
+
+    @Override
+    public @NotNull VisitResult accept(@NotNull NodeVisitor visitor) {
+        switch (visitor.startList(this)) {
+            case SKIP -> {
+                return VisitResult.SKIP;
+            }
+            case STOP -> {
+                return VisitResult.STOP;
+            }
+        }
+
+        for (int i = 0; i < this.elements.length; i++) {
+            var node = this.elements[i];
+            var result = switch (visitor.visitElement(i, node)) {
+                case CONTINUE -> node.accept(visitor);
+                case BREAK -> VisitResult.BREAK;
+                case SKIP -> VisitResult.SKIP;
+                case STOP -> VisitResult.STOP;
+            };
+
+            if (result == VisitResult.BREAK) {
+                break;
+            } else if (result == VisitResult.STOP) {
+                return VisitResult.STOP;
+            }
+        }
+
+        return visitor.endList(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FrozenListNode other = (FrozenListNode) o;
+        return this.elements == other.elements && this.comment == other.comment; // Same as ListNodeImpl, assume they are different if they do not share the same elements.
+    }
+
+    @Override
+    public int hashCode() {
+        return this.view.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FrozenListNode{" +
+                "comment=" + this.comment +
+                ", backing=" + this.view +
+                '}';
+    }
+
+    private static @NotNull UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("This ListNode is frozen and cannot be modified, use ListNode#copy to create a mutable copy.");
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.Comment;
+import dev.siroshun.configapi.core.node.visitor.NodeVisitor;
+import dev.siroshun.configapi.core.node.visitor.VisitResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+final class FrozenMapNode implements MapNode, ImmutableNode {
+
+    static final FrozenMapNode EMPTY = create(new Object[0], new Node<?>[0], null);
+
+    static @NotNull FrozenMapNode freeze(@NotNull MapNode source) {
+        var map = source.value();
+        int size = map.size();
+        var keys = new Object[size];
+        var nodes = new Node<?>[size];
+
+        int index = 0;
+        for (var entry : map.entrySet()) {
+            keys[index] = entry.getKey();
+            nodes[index] = NodeUtils.toFrozenNode(entry.getValue());
+            index++;
+        }
+
+        var comment = source.getCommentOrNull();
+        return size == 0 && comment == null ? EMPTY : create(keys, nodes, comment);
+    }
+
+    private static @NotNull FrozenMapNode create(Object @NotNull [] keys, Node<?> @NotNull [] nodes, @Nullable Comment comment) {
+        int size = keys.length;
+        var hashes = new int[size];
+        // index + 1 of the entry, or 0 if the slot is empty; the load factor is kept at most 0.5
+        var table = new int[size == 0 ? 1 : Integer.highestOneBit(size * 2 - 1) << 1];
+        int mask = table.length - 1;
+
+        for (int i = 0; i < size; i++) {
+            int hash = hash(keys[i]);
+            hashes[i] = hash;
+
+            int slot = hash & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+
+        return new FrozenMapNode(keys, nodes, hashes, table, comment);
+    }
+
+    private static int hash(@NotNull Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private final Object[] keys;
+    private final Node<?>[] nodes;
+    private final int[] hashes;
+    private final int[] table;
+    private final @Nullable Comment comment;
+    private final MapView view = new MapView();
+
+    private FrozenMapNode(Object @NotNull [] keys, Node<?> @NotNull [] nodes, int @NotNull [] hashes, int @NotNull [] table, @Nullable Comment comment) {
+        this.keys = keys;
+        this.nodes = nodes;
+        this.hashes = hashes;
+        this.table = table;
+        this.comment = comment;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable Map<Object, Node<?>> value() {
+        return this.view;
+    }
+
+    @Override
+    public boolean hasValue() {
+        return true;
+    }
+
+    @Override
+    public @NotNull Node<?> getOrDefault(@NotNull Object key, @NotNull Node<?> defaultNode) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(defaultNode);
+        int index = this.indexOf(key);
+        return index != -1 ? this.nodes[index] : defaultNode;
+    }
+
+    @Override
+    public @NotNull Node<?> set(@NotNull Object key, @Nullable Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> setOwned(@NotNull Object key, @NotNull Node<?> node) {
+        throw unsupported();
+    }
+
+    @Override
+    public Node<?> setIfAbsent(@NotNull Object key, @NotNull Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public void putAll(@NotNull Map<?, ?> map) {
+        throw unsupported();
+    }
+
+    @Override
+    public void putAll(@NotNull MapNode mapNode) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> replace(@NotNull Object key, @Nullable Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> remove(@NotNull Object key) {
+        throw unsupported();
+    }
+
+    @Override
+    public void clear() {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean containsKey(@NotNull Object key) {
+        return this.indexOf(Objects.requireNonNull(key)) != -1;
+    }
+
+    @Override
+    public boolean containsValue(@NotNull Object value) {
+        if (Objects.requireNonNull(value) == NullNode.NULL) {
+            return false;
+        }
+
+        var node = Node.fromObject(value);
+
+        for (var element : this.nodes) {
+            if (element.equals(node)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.keys.length == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public @NotNull MapNode copy() {
+        var copied = new CompactMap<Object, Node<?>>(this.keys.length);
+
+        for (int i = 0; i < this.keys.length; i++) {
+            copied.put(this.keys[i], this.nodes[i]);
+        }
+
+        return new MapNodeImpl(copied, this.comment);
+    }
+
+    @Override
+    public @NotNull @Unmodifiable MapNode asView() {
+        return this;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable MapNode toFrozen() {
+        return this;
+    }
+
+    @Override
+    public @NotNull ListNode createList(@NotNull Object key) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull MapNode createMap(@NotNull Object key) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean hasComment() {
+        return this.comment != null;
+    }
+
+    @Override
+    public @NotNull Comment getComment() {
+        if (this.comment == null) {
+            throw new IllegalStateException("Comment is not set.");
+        }
+        return this.comment;
+    }
+
+    @Override
+    public void setComment(@Nullable Comment comment) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull FrozenMapNode withComment(@Nullable Comment comment) {
+        if (this.comment == comment) {
+            return this;
+        }
+
+        return this.isEmpty() && comment == null ? EMPTY : new FrozenMapNode(this.keys, this.nodes, this.hashes, this.table, comment);
+    }
+
+    @Override
+    public @NotNull VisitResult accept(@NotNull NodeVisitor visitor) {
+        switch (visitor.startMap(this)) {
+            case SKIP -> {
+                return VisitResult.SKIP;
+            }
+            case STOP -> {
+                return VisitResult.STOP;
+            }
+        }
+
+        for (int i = 0; i < this.keys.length; i++) {
+            var node = this.nodes[i];
+            var result = switch (visitor.visitEntry(i, this.keys[i], node)) {
+                case CONTINUE -> node.accept(visitor);
+                case BREAK -> VisitResult.BREAK;
+                case SKIP -> VisitResult.SKIP;
+                case STOP -> VisitResult.STOP;
+            };
+
+            if (result == VisitResult.BREAK) {
+                break;
+            } else if (result == VisitResult.STOP) {
+                return VisitResult.STOP;
+            }
+        }
+
+        return visitor.endMap(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FrozenMapNode other = (FrozenMapNode) o;
+        return this.keys == other.keys && this.comment == other.comment; // Same as MapNodeImpl, assume they are different if they do not share the same entries.
+    }
+
+    @Override
+    public int hashCode() {
+        return this.view.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FrozenMapNode{" +
+               "comment=" + this.comment +
+               ", backing=" + this.view +
+               '}';
+    }
+
+    private int indexOf(@NotNull Object key) {
+        int hash = hash(key);
+        int mask = this.table.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int index = this.table[slot] - 1;
+
+            if (index == -1) {
+                return -1;
+            }
+
+            if (this.hashes[index] == hash) {
+                var candidate = this.keys[index];
+                if (candidate == key || candidate.equals(key)) {
+                    return index;
+                }
+            }
+        }
+    }
+
+    private static @NotNull UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("This MapNode is frozen and cannot be modified, use MapNode#copy to create a mutable copy.");
+    }
+
+    private final class MapView extends AbstractMap<Object, Node<?>> {
+
+        @Override
+        public int size() {
+            return FrozenMapNode.this.keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && FrozenMapNode.this.indexOf(key) != -1;
+        }
+
+        @Override
+        public Node<?> get(Object key) {
+            if (key == null) {
+                return null;
+            }
+
+            int index = FrozenMapNode.this.indexOf(key);
+            return index != -1 ? FrozenMapNode.this.nodes[index] : null;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super Object, ? super Node<?>> action) {
+            var keys = FrozenMapNode.this.keys;
+            var nodes = FrozenMapNode.this.nodes;
+
+            for (int i = 0; i < keys.length; i++) {
+                action.accept(keys[i], nodes[i]);
+            }
+        }
+
+        @Override
+        public @NotNull Set<Entry<Object, Node<?>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public @NotNull Iterator<Entry<Object, Node<?>>> iterator() {
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.index < FrozenMapNode.this.keys.length;
+                        }
+
+                        @Override
+                        public Entry<Object, Node<?>> next() {
+                            if (!this.hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = this.index++;
+                            return Map.entry(FrozenMapNode.this.keys[current], FrozenMapNode.this.nodes[current]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return FrozenMapNode.this.keys.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A persistent (immutable) hash array mapped trie.
+ * <p>
+ * Each modification returns a new {@link HashTrie} that shares the unchanged nodes with the original one,
+ * so it copies only the path to the modified entry ({@code O(log32 n)}).
+ * <p>
+ * This class does not keep the order of the keys.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class HashTrie<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    @SuppressWarnings("rawtypes")
+    private static final HashTrie EMPTY = new HashTrie<>(BitmapNode.EMPTY, 0);
+
+    @SuppressWarnings("unchecked")
+    static <K, V> @NotNull HashTrie<K, V> empty() {
+        return EMPTY;
+    }
+
+    private final TrieNode root;
+    private final int size;
+
+    private HashTrie(@NotNull TrieNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable V get(@NotNull Object key) {
+        return (V) this.root.get(0, key.hashCode(), key);
+    }
+
+    @NotNull HashTrie<K, V> put(@NotNull K key, @NotNull V value) {
+        var added = new boolean[1];
+        var newRoot = this.root.put(0, key.hashCode(), key, value, added);
+        return newRoot == this.root ? this : new HashTrie<>(newRoot, added[0] ? this.size + 1 : this.size);
+    }
+
+    @NotNull HashTrie<K, V> remove(@NotNull Object key) {
+        var newRoot = this.root.remove(0, key.hashCode(), key);
+
+        if (newRoot == this.root) {
+            return this;
+        }
+
+        return newRoot != null ? new HashTrie<>(newRoot, this.size - 1) : empty();
+    }
+
+    private sealed interface TrieNode permits BitmapNode, CollisionNode {
+
+        @Nullable Object get(int shift, int hash, @NotNull Object key);
+
+        @NotNull TrieNode put(int shift, int hash, @NotNull Object key, @NotNull Object value, boolean @NotNull [] added);
+
+        /**
+         * Removes the key from this node.
+         *
+         * @return this node if the key is not found, a new node if removed, or {@code null} if the new node is empty
+         */
+        @Nullable TrieNode remove(int shift, int hash, @NotNull Object key);
+    }
+
+    /**
+     * A node that has up to 32 slots selected by 5 bits of the hash.
+     * <p>
+     * The array holds pairs of the key and the value for each used slot.
+     * If the key is {@code null}, the value is the {@link TrieNode} of the next level.
+     */
+    private static final class BitmapNode implements TrieNode {
+
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        private BitmapNode(int bitmap, Object @NotNull [] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        public @Nullable Object get(int shift, int hash, @NotNull Object key) {
+            int bit = bit(hash, shift);
+
+            if ((this.bitmap & bit) == 0) {
+                return null;
+            }
+
+            int index = this.index(bit);
+            var k = this.array[index];
+            var v = this.array[index + 1];
+
+            if (k == null) {
+                return ((TrieNode) v).get(shift + BITS, hash, key);
+            }
+
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        public @NotNull TrieNode put(int shift, int hash, @NotNull Object key, @NotNull Object value, boolean @NotNull [] added) {
+            int bit = bit(hash, shift);
+            int index = this.index(bit);
+
+            if ((this.bitmap & bit) == 0) {
+                var newArray = new Object[this.array.length + 2];
+                System.arraycopy(this.array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(this.array, index, newArray, index + 2, this.array.length - index);
+                added[0] = true;
+                return new BitmapNode(this.bitmap | bit, newArray);
+            }
+
+            var k = this.array[index];
+            var v = this.array[index + 1];
+
+            if (k == null) {
+                var child = (TrieNode) v;
+                var newChild = child.put(shift + BITS, hash, key, value, added);
+                return newChild == child ? this : this.with(index + 1, newChild);
+            }
+
+            if (key.equals(k)) {
+                return v == value ? this : this.with(index + 1, value);
+            }
+
+            added[0] = true;
+            var newArray = this.array.clone();
+            newArray[index] = null;
+            newArray[index + 1] = createNode(shift + BITS, k.hashCode(), k, v, hash, key, value);
+            return new BitmapNode(this.bitmap, newArray);
+        }
+
+        @Override
+        public @Nullable TrieNode remove(int shift, int hash, @NotNull Object key) {
+            int bit = bit(hash, shift);
+
+            if ((this.bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = this.index(bit);
+            var k = this.array[index];
+            var v = this.array[index + 1];
+
+            if (k == null) {
+                var child = (TrieNode) v;
+                var newChild = child.remove(shift + BITS, hash, key);
+
+                if (newChild == child) {
+                    return this;
+                } else if (newChild != null) {
+                    return this.with(index + 1, newChild);
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+
+            if (this.bitmap == bit) {
+                return null;
+            }
+
+            var newArray = new Object[this.array.length - 2];
+            System.arraycopy(this.array, 0, newArray, 0, index);
+            System.arraycopy(this.array, index + 2, newArray, index, this.array.length - index - 2);
+            return new BitmapNode(this.bitmap & ~bit, newArray);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(this.bitmap & (bit - 1)) * 2;
+        }
+
+        private @NotNull BitmapNode with(int index, @NotNull Object value) {
+            var newArray = this.array.clone();
+            newArray[index] = value;
+            return new BitmapNode(this.bitmap, newArray);
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+    }
+
+    /**
+     * A node that holds the keys that have the same hash.
+     */
+    private static final class CollisionNode implements TrieNode {
+
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object @NotNull [] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        public @Nullable Object get(int shift, int hash, @NotNull Object key) {
+            int index = this.indexOf(key);
+            return index != -1 ? this.array[index + 1] : null;
+        }
+
+        @Override
+        public @NotNull TrieNode put(int shift, int hash, @NotNull Object key, @NotNull Object value, boolean @NotNull [] added) {
+            if (hash != this.hash) {
+                // Move this node to the next level of a new BitmapNode, then put the new entry into it
+                var node = new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[]{null, this});
+                return node.put(shift, hash, key, value, added);
+            }
+
+            int index = this.indexOf(key);
+
+            if (index != -1) {
+                if (this.array[index + 1] == value) {
+                    return this;
+                }
+                var newArray = this.array.clone();
+                newArray[index + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+
+            var newArray = Arrays.copyOf(this.array, this.array.length + 2);
+            newArray[this.array.length] = key;
+            newArray[this.array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        public @Nullable TrieNode remove(int shift, int hash, @NotNull Object key) {
+            int index = this.indexOf(key);
+
+            if (index == -1) {
+                return this;
+            }
+
+            if (this.array.length == 2) {
+                return null;
+            }
+
+            var newArray = new Object[this.array.length - 2];
+            System.arraycopy(this.array, 0, newArray, 0, index);
+            System.arraycopy(this.array, index + 2, newArray, index, this.array.length - index - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        private int indexOf(@NotNull Object key) {
+            for (int i = 0; i < this.array.length; i += 2) {
+                if (key.equals(this.array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static @NotNull TrieNode createNode(int shift, int hash1, @NotNull Object key1, @NotNull Object value1,
+                                                int hash2, @NotNull Object key2, @NotNull Object value2) {
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+        }
+
+        var ignored = new boolean[1];
+        return BitmapNode.EMPTY
+                .put(shift, hash1, key1, value1, ignored)
+                .put(shift, hash2, key2, value2, ignored);
+    }
+}
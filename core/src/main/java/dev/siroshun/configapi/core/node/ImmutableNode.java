@@ -0,0 +1,39 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.Comment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A deeply immutable {@link MapNode} or {@link ListNode}.
+ * <p>
+ * These nodes are shared without copying by {@link Node#fromObject(Object)}, and replaced with mutable copies
+ * by {@link MapNode#getOrCreateMap(Object)} and {@link MapNode#getOrCreateList(Object)} of the mutable {@link MapNode}.
+ */
+sealed interface ImmutableNode permits PersistentMapNodeImpl, PersistentListNodeImpl, FrozenMapNode, FrozenListNode {
+
+    /**
+     * Returns the node that has the same value as this node and the specified {@link Comment}.
+     *
+     * @param comment the {@link Comment}, or {@code null} to remove the comment
+     * @return the node that has the specified {@link Comment}
+     */
+    @NotNull CommentableNode<?> withComment(@Nullable Comment comment);
+
+}
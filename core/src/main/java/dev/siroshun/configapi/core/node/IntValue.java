@@ -27,6 +27,28 @@ import org.jetbrains.annotations.NotNull;
  */
 public record IntValue(int intValue) implements NumberValue, StringRepresentable {
 
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+    private static final IntValue[] CACHE = new IntValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new IntValue(i + CACHE_LOW);
+        }
+    }
+
+    /**
+     * Gets the {@link IntValue} of the given int value.
+     * <p>
+     * The {@link IntValue}s of values from -128 to 127 are cached, so this method returns the same instance for them.
+     *
+     * @param value a int value
+     * @return the {@link IntValue} of the given value
+     */
+    public static @NotNull IntValue fromInt(int value) {
+        return CACHE_LOW <= value && value <= CACHE_HIGH ? CACHE[value - CACHE_LOW] : new IntValue(value);
+    }
+
     @Override
     public @NotNull Integer value() {
         return this.intValue;
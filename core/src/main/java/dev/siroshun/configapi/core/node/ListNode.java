@@ -27,7 +27,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
@@ -35,7 +36,7 @@ import java.util.stream.Stream;
 /**
  * A {@link Node} implementation that represents a {@link List} of {@link Node}s.
  */
-public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits ListNodeImpl {
+public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits ListNodeImpl, PersistentListNode, FrozenListNode {
 
     /**
      * An implementation {@link Class} of this interface.
@@ -49,7 +50,7 @@ public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits
      * @return a new {@link ListNode}
      */
     static @NotNull ListNode create() {
-        return new ListNodeImpl(new ArrayList<>(), false, new AtomicReference<>());
+        return new ListNodeImpl(new ArrayList<>(), null);
     }
 
     /**
@@ -59,7 +60,7 @@ public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits
      * @return a new {@link ListNode}
      */
     static @NotNull ListNode create(int initialCapacity) {
-        return new ListNodeImpl(new ArrayList<>(initialCapacity), false, new AtomicReference<>());
+        return new ListNodeImpl(new ArrayList<>(initialCapacity), null);
     }
 
     /**
@@ -79,7 +80,7 @@ public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits
             converted.add(Node.fromObject(element));
         }
 
-        return new ListNodeImpl(converted, false, new AtomicReference<>());
+        return new ListNodeImpl(converted, null);
     }
 
     /**
@@ -93,6 +94,21 @@ public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits
         return ListNodeImpl.EMPTY;
     }
 
+    /**
+     * Creates a new {@link ListNode} that uses the given {@link List} as its backing list without copying.
+     * <p>
+     * This method is intended for file format implementations that provide their own {@link List} implementation.
+     * The given {@link List} must be modifiable and must not contain {@code null} or {@link NullNode#NULL}.
+     * Also, it must not be modified by other than the returning {@link ListNode}.
+     *
+     * @param backing the {@link List} to use as the backing list
+     * @return a new {@link ListNode} that is backed by the given {@link List}
+     */
+    @ApiStatus.Internal
+    static @NotNull ListNode backedBy(@NotNull List<Node<?>> backing) {
+        return new ListNodeImpl(Objects.requireNonNull(backing), null);
+    }
+
     /**
      * Gets a {@link List} that this {@link ListNode} has.
      * <p>
@@ -131,6 +147,18 @@ public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits
      */
     void add(@Nullable Object value);
 
+    /**
+     * Adds the {@link Node} to this {@link ListNode} without copying it.
+     * <p>
+     * {@link #add(Object)} copies the given {@link MapNode} or {@link ListNode} using {@link Node#fromObject(Object)},
+     * but this method adds the given {@link Node} as it is, so this {@link ListNode} takes the ownership of it.
+     * See {@link MapNode#setOwned(Object, Node)} for the details.
+     *
+     * @param node the {@link Node} to add
+     * @throws IllegalStateException if the ownership check is enabled and the given {@link Node} cannot be attached without copying
+     */
+    void addOwned(@NotNull Node<?> node);
+
     /**
      * Adds new objects in the given {@link Collection} to this {@link ListNode}.
      *
@@ -189,6 +217,31 @@ public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits
      */
     @NotNull Node<?> get(int index);
 
+    /**
+     * Gets a {@link Node} that the specified {@link NodePath} points to.
+     * <p>
+     * This method does not create the views of the intermediate nodes.
+     *
+     * @param path the {@link NodePath} to resolve
+     * @return a {@link Node} that the specified {@link NodePath} points to, or {@link NullNode#NULL} if it does not exist
+     */
+    default @NotNull Node<?> get(@NotNull NodePath path) {
+        return path.resolve(this);
+    }
+
+    /**
+     * Gets {@link Node}s that the specified {@link NodePath}s point to.
+     * <p>
+     * The leading segments shared with the previous path are resolved only once,
+     * so sorting the paths makes the lookup faster.
+     *
+     * @param paths the {@link NodePath}s to resolve
+     * @return the {@link Node}s in the same order as the specified {@link NodePath}s, {@link NullNode#NULL} if the path does not exist
+     */
+    default @NotNull @Unmodifiable List<Node<?>> resolveAll(@NotNull List<NodePath> paths) {
+        return NodePath.resolveAll(this, paths);
+    }
+
     /**
      * Checks if this {@link ListNode} has no element.
      *
@@ -238,6 +291,23 @@ public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits
      */
     @NotNull Node<?> set(int index, @Nullable Object object);
 
+    /**
+     * Sets a {@link Node} to the position that the specified {@link NodePath} points to.
+     * <p>
+     * The missing intermediate {@link MapNode}s and {@link ListNode}s are created.
+     * The index of {@link ListNode} in the path must be less than or equal to its size, and the value is appended if the index is equal to the size.
+     *
+     * @param path  the {@link NodePath} to set
+     * @param value the value to set
+     * @return the {@link Node} to which the path points previously, or {@link NullNode#NULL} if it does not exist
+     * @throws IllegalArgumentException  if the path is {@link NodePath#root()} or starts with a key
+     * @throws IndexOutOfBoundsException if the index of {@link ListNode} in the path is greater than its size
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    default @NotNull Node<?> set(@NotNull NodePath path, @Nullable Object value) {
+        return path.set(this, value);
+    }
+
     /**
      * Returns the number of elements in this {@link ListNode}.
      *
@@ -262,15 +332,80 @@ public sealed interface ListNode extends CommentableNode<List<Node<?>>> permits
     @Contract("-> new")
     @NotNull ListNode copy();
 
+    /**
+     * Copies this {@link ListNode} and its elements deeply, using {@link ForkJoinPool#commonPool()} for large trees.
+     *
+     * @return a copied {@link ListNode}
+     * @see #deepCopy(ForkJoinPool)
+     */
+    @Contract("-> new")
+    default @NotNull ListNode deepCopy() {
+        return this.deepCopy(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Copies this {@link ListNode} and its elements deeply.
+     * <p>
+     * The returned {@link ListNode} is the same as the one returned by {@link #copy()},
+     * but the large subtrees are copied in parallel using the given {@link ForkJoinPool}.
+     * Small trees are copied sequentially in the current thread.
+     *
+     * @param pool the {@link ForkJoinPool} to copy large subtrees
+     * @return a copied {@link ListNode}
+     */
+    @Contract("_ -> new")
+    default @NotNull ListNode deepCopy(@NotNull ForkJoinPool pool) {
+        return DeepNodeOperations.copy(this, Objects.requireNonNull(pool));
+    }
+
+    /**
+     * Checks if this {@link ListNode} and the given {@link Node} have the same structure, values and comments.
+     * <p>
+     * Unlike {@link Object#equals(Object)}, this method compares {@link MapNode}s and {@link ListNode}s by their contents
+     * regardless of the implementations (mutable, persistent, or frozen), and {@link NumberValue}s by the numbers they represent
+     * (e.g. {@code IntValue(1)} equals to {@code LongValue(1)} and {@code DoubleValue(1.0)}).
+     * The entries of {@link MapNode}s are compared regardless of their order.
+     * <p>
+     * The large subtrees are compared in parallel using {@link ForkJoinPool#commonPool()}.
+     *
+     * @param other the {@link Node} to compare
+     * @return {@code true} if this {@link ListNode} deeply equals to the given {@link Node}, otherwise {@code false}
+     */
+    default boolean deepEquals(@Nullable Node<?> other) {
+        return DeepNodeOperations.equals(this, other, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calculates the hash code of this {@link ListNode} that is consistent with {@link #deepEquals(Node)}.
+     * <p>
+     * The large subtrees are processed in parallel using {@link ForkJoinPool#commonPool()}.
+     *
+     * @return the hash code calculated from the structure, values and comments of this {@link ListNode}
+     */
+    default int deepHashCode() {
+        return DeepNodeOperations.hashCode(this, ForkJoinPool.commonPool());
+    }
+
     /**
      * Gets a view of this {@link ListNode}.
      * <p>
      * The returning {@link ListNode} cannot be modified, but this {@link ListNode} can still be modified,
      * so the elements may be changed by other codes using this instance.
+     * <p>
+     * The view is cached, so this method returns the same instance every time and does not allocate on the hot path.
      *
      * @return a view of this {@link ListNode}
      */
-    @Contract("-> new")
     @NotNull @UnmodifiableView ListNode asView();
 
+    /**
+     * Creates a deeply immutable snapshot of this {@link ListNode}.
+     * <p>
+     * The returning {@link ListNode} holds the elements in an array, and {@link MapNode}s and {@link ListNode}s in this {@link ListNode} are also frozen.
+     * See {@link MapNode#toFrozen()} for the details.
+     *
+     * @return a frozen snapshot of this {@link ListNode}
+     */
+    @NotNull @Unmodifiable ListNode toFrozen();
+
 }
@@ -31,28 +31,37 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
-final class ListNodeImpl implements ListNode {
+final class ListNodeImpl implements ListNode, NodeOwnership.Ownable {
 
-    static final ListNodeImpl EMPTY = new ListNodeImpl(Collections.emptyList(), true, new AtomicReference<>());
+    static final ListNodeImpl EMPTY = new ListNodeImpl(Collections.emptyList(), true, null);
 
     private final List<Node<?>> backing;
     private final boolean view;
-    private final AtomicReference<@Nullable Comment> commentRef;
+    private final @Nullable ListNodeImpl source; // the node that holds the comment of this view
+    private volatile @Nullable Comment comment;
+    private boolean owned;
+    private @Nullable ListNodeImpl cachedView; // created lazily, a race only creates the equivalent view twice
+
+    ListNodeImpl(@NotNull List<Node<?>> backing, @Nullable Comment comment) {
+        this(backing, false, null);
+        if (comment != null) {
+            this.comment = comment;
+        }
+    }
 
-    ListNodeImpl(@NotNull List<Node<?>> backing, boolean view, @NotNull AtomicReference<Comment> commentRef) {
+    private ListNodeImpl(@NotNull List<Node<?>> backing, boolean view, @Nullable ListNodeImpl source) {
         this.backing = backing;
         this.view = view;
-        this.commentRef = commentRef;
+        this.source = source;
     }
 
     @Override
     public @NotNull @UnmodifiableView List<Node<?>> value() {
-        return this == EMPTY ? Collections.emptyList() : Collections.unmodifiableList(this.backing);
+        return this.viewNode().backing;
     }
 
     @Override
@@ -89,7 +98,23 @@ final class ListNodeImpl implements ListNode {
 
     @Override
     public void add(@Nullable Object value) {
-        this.backing.add(Node.fromObject(value));
+        var node = Node.fromObject(value);
+        this.backing.add(node);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.markOwned(node);
+        }
+    }
+
+    @Override
+    public void addOwned(@NotNull Node<?> node) {
+        Objects.requireNonNull(node);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.acquire(this, node);
+        }
+
+        this.backing.add(node);
     }
 
     @Override
@@ -99,7 +124,7 @@ final class ListNodeImpl implements ListNode {
         }
 
         for (var element : collection.toArray()) { // We need to create an array to prevent ConcurrentModificationException
-            this.backing.add(Node.fromObject(element));
+            this.add(element);
         }
     }
 
@@ -118,6 +143,11 @@ final class ListNodeImpl implements ListNode {
     public @NotNull ListNode addList() {
         var listNode = ListNode.create();
         this.backing.add(listNode);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.markOwned(listNode);
+        }
+
         return listNode;
     }
 
@@ -125,6 +155,11 @@ final class ListNodeImpl implements ListNode {
     public @NotNull ListNode addList(int initialCapacity) {
         var listNode = ListNode.create(initialCapacity);
         this.backing.add(listNode);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.markOwned(listNode);
+        }
+
         return listNode;
     }
 
@@ -132,11 +167,20 @@ final class ListNodeImpl implements ListNode {
     public @NotNull MapNode addMap() {
         var listNode = MapNode.create();
         this.backing.add(listNode);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.markOwned(listNode);
+        }
+
         return listNode;
     }
 
     @Override
     public void clear() {
+        if (NodeOwnership.CHECK) {
+            this.backing.forEach(NodeOwnership::release);
+        }
+
         this.backing.clear();
     }
 
@@ -162,17 +206,44 @@ final class ListNodeImpl implements ListNode {
 
     @Override
     public boolean removeIf(@NotNull Predicate<? super Node<?>> predicate) {
+        if (NodeOwnership.CHECK) {
+            return this.backing.removeIf(node -> {
+                if (predicate.test(node)) {
+                    NodeOwnership.release(node);
+                    return true;
+                }
+                return false;
+            });
+        }
+
         return this.backing.removeIf(predicate);
     }
 
     @Override
     public void replaceAll(@NotNull UnaryOperator<Node<?>> operator) {
-        this.backing.replaceAll(node -> Objects.requireNonNullElse(operator.apply(node), NullNode.NULL));
+        this.backing.replaceAll(node -> {
+            var replacement = Objects.requireNonNullElse(operator.apply(node), NullNode.NULL);
+
+            if (NodeOwnership.CHECK && replacement != node) {
+                NodeOwnership.markOwned(replacement);
+                NodeOwnership.release(node);
+            }
+
+            return replacement;
+        });
     }
 
     @Override
     public @NotNull Node<?> set(int index, @Nullable Object object) {
-        return this.backing.set(index, Node.fromObject(object));
+        var node = Node.fromObject(object);
+        var replaced = this.backing.set(index, node);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.markOwned(node);
+            NodeOwnership.release(replaced);
+        }
+
+        return replaced;
     }
 
     @Override
@@ -187,7 +258,13 @@ final class ListNodeImpl implements ListNode {
 
     @Override
     public @NotNull Node<?> remove(int index) {
-        return this.backing.remove(index);
+        var removed = this.backing.remove(index);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.release(removed);
+        }
+
+        return removed;
     }
 
     @Contract(" -> new")
@@ -205,27 +282,61 @@ final class ListNodeImpl implements ListNode {
                 copiedList.add(Node.fromObject(this.backing.get(i)));
             }
 
-            copied = new ListNodeImpl(copiedList, false, new AtomicReference<>());
+            copied = new ListNodeImpl(copiedList, null);
         }
 
-        copied.setComment(this.commentRef.get());
+        copied.setComment(this.comment());
         return copied;
     }
 
-    @Contract(" -> new")
     @Override
     public @NotNull @UnmodifiableView ListNode asView() {
-        return this == EMPTY ? EMPTY : new ListNodeImpl(Collections.unmodifiableList(this.backing), true, this.commentRef);
+        return this.viewNode();
+    }
+
+    private @NotNull ListNodeImpl viewNode() {
+        if (this.view) {
+            return this;
+        }
+
+        var view = this.cachedView;
+
+        if (view == null) {
+            view = new ListNodeImpl(Collections.unmodifiableList(this.backing), true, this);
+            this.cachedView = view;
+        }
+
+        return view;
+    }
+
+    @Override
+    public boolean view() {
+        return this.view;
+    }
+
+    @Override
+    public boolean owned() {
+        return this.owned;
+    }
+
+    @Override
+    public void owned(boolean owned) {
+        this.owned = owned;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable ListNode toFrozen() {
+        return FrozenListNode.freeze(this);
     }
 
     @Override
     public boolean hasComment() {
-        return this.commentRef.get() != null;
+        return this.comment() != null;
     }
 
     @Override
     public @NotNull Comment getComment() {
-        var comment = this.commentRef.get();
+        var comment = this.comment();
         if (comment == null) {
             throw new IllegalStateException("Comment is not set.");
         }
@@ -237,7 +348,12 @@ final class ListNodeImpl implements ListNode {
         if (this.view) {
             throw new UnsupportedOperationException("Cannot change the comment of this ListNode because this is view mode.");
         }
-        this.commentRef.set(comment);
+        this.comment = comment;
+    }
+
+    private @Nullable Comment comment() {
+        var source = this.source;
+        return source != null ? source.comment : this.comment;
     }
 
     @Override
@@ -286,12 +402,12 @@ final class ListNodeImpl implements ListNode {
     @Override
     public String toString() {
         return "ListNodeImpl{" +
-                "comment=" + this.commentRef.get() +
+                "comment=" + this.comment() +
                 ", backing=" + this.backing +
                 '}';
     }
 
-    private static <T> @Nullable T castIfPossible(@NotNull Node<?> node, @NotNull Class<? extends T> clazz) {
+    static <T> @Nullable T castIfPossible(@NotNull Node<?> node, @NotNull Class<? extends T> clazz) {
         if (node instanceof CommentedNode<?> commented) {
             return castIfPossible(commented.node(), clazz);
         }
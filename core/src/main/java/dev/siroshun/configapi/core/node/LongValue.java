@@ -27,6 +27,28 @@ import org.jetbrains.annotations.NotNull;
  */
 public record LongValue(long longValue) implements NumberValue, StringRepresentable {
 
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+    private static final LongValue[] CACHE = new LongValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new LongValue(i + CACHE_LOW);
+        }
+    }
+
+    /**
+     * Gets the {@link LongValue} of the given long value.
+     * <p>
+     * The {@link LongValue}s of values from -128 to 127 are cached, so this method returns the same instance for them.
+     *
+     * @param value a long value
+     * @return the {@link LongValue} of the given value
+     */
+    public static @NotNull LongValue fromLong(long value) {
+        return CACHE_LOW <= value && value <= CACHE_HIGH ? CACHE[(int) value - CACHE_LOW] : new LongValue(value);
+    }
+
     @Override
     public @NotNull Long value() {
         return this.longValue;
@@ -24,17 +24,19 @@ import org.jetbrains.annotations.Unmodifiable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A {@link Node} implementation that represents a {@link Map} ({@link Object} - {@link Node}).
  * <p>
- * The implementing class of this interface keeps the order of keys using {@link LinkedHashMap}.
+ * The implementing class of this interface keeps the insertion order of keys like {@link LinkedHashMap}.
+ * The small {@link MapNode}s store their entries in an array instead of a hash table to reduce memory usage.
  */
-public sealed interface MapNode extends CommentableNode<Map<Object, Node<?>>> permits MapNodeImpl {
+public sealed interface MapNode extends CommentableNode<Map<Object, Node<?>>> permits MapNodeImpl, PersistentMapNode, FrozenMapNode {
 
     /**
      * An implementation {@link Class} of this interface.
@@ -48,7 +50,7 @@ public sealed interface MapNode extends CommentableNode<Map<Object, Node<?>>> pe
      * @return a new {@link MapNode}
      */
     static @NotNull MapNode create() {
-        return new MapNodeImpl(new LinkedHashMap<>(), false, new AtomicReference<>());
+        return new MapNodeImpl(new CompactMap<>(), null);
     }
 
     /**
@@ -60,13 +62,13 @@ public sealed interface MapNode extends CommentableNode<Map<Object, Node<?>>> pe
     static @NotNull MapNode create(@NotNull Map<?, ?> map) {
         Objects.requireNonNull(map);
 
-        var converted = new LinkedHashMap<Object, Node<?>>(map.size(), 1.0f);
+        var converted = new CompactMap<Object, Node<?>>(map.size());
 
         for (var entry : map.entrySet()) {
             converted.put(entry.getKey(), Node.fromObject(entry.getValue()));
         }
 
-        return new MapNodeImpl(converted, false, new AtomicReference<>());
+        return new MapNodeImpl(converted, null);
     }
 
     /**
@@ -80,6 +82,21 @@ public sealed interface MapNode extends CommentableNode<Map<Object, Node<?>>> pe
         return MapNodeImpl.EMPTY;
     }
 
+    /**
+     * Creates a new {@link MapNode} that uses the given {@link Map} as its backing map without copying.
+     * <p>
+     * This method is intended for file format implementations that provide their own {@link Map} implementation.
+     * The given {@link Map} must be modifiable, must keep the order of keys, and must not contain {@code null} or {@link NullNode#NULL} as a value.
+     * Also, it must not be modified by other than the returning {@link MapNode}.
+     *
+     * @param backing the {@link Map} to use as the backing map
+     * @return a new {@link MapNode} that is backed by the given {@link Map}
+     */
+    @ApiStatus.Internal
+    static @NotNull MapNode backedBy(@NotNull Map<Object, Node<?>> backing) {
+        return new MapNodeImpl(Objects.requireNonNull(backing), null);
+    }
+
     @Override
     @UnknownNullability @UnmodifiableView Map<Object, Node<?>> value();
 
@@ -104,6 +121,31 @@ public sealed interface MapNode extends CommentableNode<Map<Object, Node<?>>> pe
      */
     @NotNull Node<?> getOrDefault(@NotNull Object key, @NotNull Node<?> defaultNode);
 
+    /**
+     * Gets a {@link Node} that the specified {@link NodePath} points to.
+     * <p>
+     * Unlike chaining {@link #getMap(Object)} and {@link #getList(Object)}, this method does not create the views of the intermediate nodes.
+     *
+     * @param path the {@link NodePath} to resolve
+     * @return a {@link Node} that the specified {@link NodePath} points to, or {@link NullNode#NULL} if it does not exist
+     */
+    default @NotNull Node<?> get(@NotNull NodePath path) {
+        return path.resolve(this);
+    }
+
+    /**
+     * Gets {@link Node}s that the specified {@link NodePath}s point to.
+     * <p>
+     * The leading segments shared with the previous path are resolved only once,
+     * so sorting the paths makes the lookup faster.
+     *
+     * @param paths the {@link NodePath}s to resolve
+     * @return the {@link Node}s in the same order as the specified {@link NodePath}s, {@link NullNode#NULL} if the path does not exist
+     */
+    default @NotNull @Unmodifiable List<Node<?>> resolveAll(@NotNull List<NodePath> paths) {
+        return NodePath.resolveAll(this, paths);
+    }
+
     /**
      * Sets a {@link Node} to the specified key.
      * <p>
@@ -116,6 +158,44 @@ public sealed interface MapNode extends CommentableNode<Map<Object, Node<?>>> pe
     @SuppressWarnings("UnusedReturnValue")
     @NotNull Node<?> set(@NotNull Object key, @Nullable Object value);
 
+    /**
+     * Sets a {@link Node} to the position that the specified {@link NodePath} points to.
+     * <p>
+     * The missing intermediate {@link MapNode}s and {@link ListNode}s are created.
+     * The index of {@link ListNode} in the path must be less than or equal to its size, and the value is appended if the index is equal to the size.
+     *
+     * @param path  the {@link NodePath} to set
+     * @param value the value to set, or {@code null} if removing the key
+     * @return the {@link Node} to which the path points previously, or {@link NullNode#NULL} if it does not exist
+     * @throws IllegalArgumentException  if the path is {@link NodePath#root()} or starts with an index
+     * @throws IndexOutOfBoundsException if the index of {@link ListNode} in the path is greater than its size
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    default @NotNull Node<?> set(@NotNull NodePath path, @Nullable Object value) {
+        return path.set(this, value);
+    }
+
+    /**
+     * Sets the {@link Node} to the specified key without copying it.
+     * <p>
+     * {@link #set(Object, Object)} copies the given {@link MapNode} or {@link ListNode} using {@link Node#fromObject(Object)},
+     * but this method attaches the given {@link Node} as it is, so this {@link MapNode} takes the ownership of it.
+     * After calling this method, the given {@link Node} should be modified only through this {@link MapNode},
+     * and it must not be attached to another node without copying.
+     * <p>
+     * If the system property {@code configapi.checkNodeOwnership} is {@code true} or assertions are enabled,
+     * this method checks that the given {@link Node} is not attached to another node (including {@link MapNode}s and {@link ListNode}s created by
+     * {@link #createMap(Object)} or {@link ListNode#addMap()}) and is not a view.
+     * Whether the given {@link Node} contains this {@link MapNode} is checked only when the system property is {@code true}.
+     *
+     * @param key  the key to set
+     * @param node the {@link Node} to set, or {@link NullNode#NULL} if removing the key
+     * @return the {@link Node} to which the specified key is mapped previously, or {@link NullNode#NULL} if the key is not mapped
+     * @throws IllegalStateException if the ownership check is enabled and the given {@link Node} cannot be attached without copying
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    @NotNull Node<?> setOwned(@NotNull Object key, @NotNull Node<?> node);
+
     /**
      * Sets a {@link Node} if this {@link MapNode} does not contain the specified key.
      *
@@ -200,16 +280,86 @@ public sealed interface MapNode extends CommentableNode<Map<Object, Node<?>>> pe
      */
     @NotNull MapNode copy();
 
+    /**
+     * Copies this {@link MapNode} and its entries deeply, using {@link ForkJoinPool#commonPool()} for large trees.
+     *
+     * @return a copied {@link MapNode}
+     * @see #deepCopy(ForkJoinPool)
+     */
+    default @NotNull MapNode deepCopy() {
+        return this.deepCopy(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Copies this {@link MapNode} and its entries deeply.
+     * <p>
+     * The returned {@link MapNode} is the same as the one returned by {@link #copy()},
+     * but the large subtrees are copied in parallel using the given {@link ForkJoinPool}.
+     * Small trees are copied sequentially in the current thread.
+     *
+     * @param pool the {@link ForkJoinPool} to copy large subtrees
+     * @return a copied {@link MapNode}
+     */
+    default @NotNull MapNode deepCopy(@NotNull ForkJoinPool pool) {
+        return DeepNodeOperations.copy(this, Objects.requireNonNull(pool));
+    }
+
+    /**
+     * Checks if this {@link MapNode} and the given {@link Node} have the same structure, values and comments.
+     * <p>
+     * Unlike {@link Object#equals(Object)}, this method compares {@link MapNode}s and {@link ListNode}s by their contents
+     * regardless of the implementations (mutable, persistent, or frozen), and {@link NumberValue}s by the numbers they represent
+     * (e.g. {@code IntValue(1)} equals to {@code LongValue(1)} and {@code DoubleValue(1.0)}).
+     * The entries of {@link MapNode}s are compared regardless of their order.
+     * <p>
+     * The large subtrees are compared in parallel using {@link ForkJoinPool#commonPool()}.
+     *
+     * @param other the {@link Node} to compare
+     * @return {@code true} if this {@link MapNode} deeply equals to the given {@link Node}, otherwise {@code false}
+     */
+    default boolean deepEquals(@Nullable Node<?> other) {
+        return DeepNodeOperations.equals(this, other, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calculates the hash code of this {@link MapNode} that is consistent with {@link #deepEquals(Node)}.
+     * <p>
+     * The large subtrees are processed in parallel using {@link ForkJoinPool#commonPool()}.
+     *
+     * @return the hash code calculated from the structure, values and comments of this {@link MapNode}
+     */
+    default int deepHashCode() {
+        return DeepNodeOperations.hashCode(this, ForkJoinPool.commonPool());
+    }
+
     /**
      * Gets a view of this {@link MapNode}.
      * <p>
      * The returning {@link MapNode} cannot be modified, but this {@link MapNode} can still be modified,
      * so the entries may be changed by other codes using this instance.
+     * <p>
+     * The view is cached, so this method returns the same instance every time and does not allocate on the hot path.
      *
      * @return a view of this {@link MapNode}
      */
     @NotNull @UnmodifiableView MapNode asView();
 
+    /**
+     * Creates a deeply immutable snapshot of this {@link MapNode} that is optimized for reading.
+     * <p>
+     * The returning {@link MapNode} holds the keys and the nodes in arrays with the open-addressing hash table,
+     * so {@link #get(Object)} and the helper methods such as {@link #getString(Object)} do not allocate objects.
+     * {@link MapNode}s and {@link ListNode}s in this {@link MapNode} are also frozen,
+     * and the returning {@link MapNode} can be shared between threads without synchronization.
+     * <p>
+     * The returning {@link MapNode} keeps the order of keys and the comment, and throws {@link UnsupportedOperationException} on modification.
+     * As with {@link PersistentMapNode}, it is not copied by {@link Node#fromObject(Object)}.
+     * If this {@link MapNode} is already frozen, this method returns this instance.
+     *
+     * @return a frozen snapshot of this {@link MapNode}
+     */
+    @NotNull @Unmodifiable MapNode toFrozen();
+
     /* --- Helper Methods --- */
 
     /**
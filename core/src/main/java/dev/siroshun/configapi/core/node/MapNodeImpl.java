@@ -28,25 +28,34 @@ import org.jetbrains.annotations.UnmodifiableView;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
 
-final class MapNodeImpl implements MapNode {
+final class MapNodeImpl implements MapNode, NodeOwnership.Ownable {
 
-    static final MapNodeImpl EMPTY = new MapNodeImpl(Collections.emptyMap(), true, new AtomicReference<>());
+    static final MapNodeImpl EMPTY = new MapNodeImpl(Collections.emptyMap(), true, null);
 
     private final Map<Object, Node<?>> backing;
     private final boolean view;
-    private final AtomicReference<@Nullable Comment> commentRef;
+    private final @Nullable MapNodeImpl source; // the node that holds the comment of this view
+    private volatile @Nullable Comment comment;
+    private boolean owned;
+    private @Nullable MapNodeImpl cachedView; // created lazily, a race only creates the equivalent view twice
+
+    MapNodeImpl(@NotNull Map<Object, Node<?>> backing, @Nullable Comment comment) {
+        this(backing, false, null);
+        if (comment != null) {
+            this.comment = comment;
+        }
+    }
 
-    MapNodeImpl(@NotNull Map<Object, Node<?>> backing, boolean view, @NotNull AtomicReference<Comment> commentRef) {
+    private MapNodeImpl(@NotNull Map<Object, Node<?>> backing, boolean view, @Nullable MapNodeImpl source) {
         this.backing = backing;
         this.view = view;
-        this.commentRef = commentRef;
+        this.source = source;
     }
 
     @Override
     public @UnknownNullability @UnmodifiableView Map<Object, Node<?>> value() {
-        return Collections.unmodifiableMap(this.backing);
+        return this.viewNode().backing;
     }
 
     @Override
@@ -65,14 +74,46 @@ final class MapNodeImpl implements MapNode {
     public @NotNull Node<?> set(@NotNull Object key, @Nullable Object value) {
         Objects.requireNonNull(key);
 
+        if (value == null || value == NullNode.NULL) {
+            return this.remove(key);
+        }
+
+        var node = Node.fromObject(value);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.markOwned(node);
+        }
+
+        return this.put(key, node);
+    }
+
+    @Override
+    public @NotNull Node<?> setOwned(@NotNull Object key, @NotNull Node<?> node) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(node);
+
+        if (node == NullNode.NULL) {
+            return this.remove(key);
+        }
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.acquire(this, node);
+        }
+
+        return this.put(key, node);
+    }
+
+    private @NotNull Node<?> put(@NotNull Object key, @NotNull Node<?> node) {
         Node<?> removed = this.backing.remove(key);
 
-        if (value != null && value != NullNode.NULL) {
-            if (removed instanceof CommentableNode<?> commentableNode) {
-                this.backing.put(key, CommentableNode.withComment(Node.fromObject(value), commentableNode.getCommentOrNull()));
-            } else {
-                this.backing.put(key, Node.fromObject(value));
-            }
+        if (removed instanceof CommentableNode<?> commentableNode) {
+            this.backing.put(key, CommentableNode.withComment(node, commentableNode.getCommentOrNull()));
+        } else {
+            this.backing.put(key, node);
+        }
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.release(removed);
         }
 
         return removed != null ? removed : NullNode.NULL;
@@ -82,7 +123,15 @@ final class MapNodeImpl implements MapNode {
     public Node<?> setIfAbsent(@NotNull Object key, @NotNull Object value) {
         Objects.requireNonNull(key);
         Objects.requireNonNull(value);
-        return this.backing.putIfAbsent(key, Node.fromObject(value));
+
+        var node = Node.fromObject(value);
+        var current = this.backing.putIfAbsent(key, node);
+
+        if (NodeOwnership.CHECK && current == null) {
+            NodeOwnership.markOwned(node);
+        }
+
+        return current;
     }
 
     @Override
@@ -112,17 +161,35 @@ final class MapNodeImpl implements MapNode {
         if (value == null || value == NullNode.NULL) {
             return this.remove(key);
         } else {
-            return Objects.requireNonNullElse(this.backing.replace(key, Node.fromObject(value)), NullNode.NULL);
+            var node = Node.fromObject(value);
+            var replaced = this.backing.replace(key, node);
+
+            if (NodeOwnership.CHECK && replaced != null) {
+                NodeOwnership.markOwned(node);
+                NodeOwnership.release(replaced);
+            }
+
+            return Objects.requireNonNullElse(replaced, NullNode.NULL);
         }
     }
 
     @Override
     public @NotNull Node<?> remove(@NotNull Object key) {
-        return Objects.requireNonNullElse(this.backing.remove(key), NullNode.NULL);
+        var removed = this.backing.remove(key);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.release(removed);
+        }
+
+        return Objects.requireNonNullElse(removed, NullNode.NULL);
     }
 
     @Override
     public void clear() {
+        if (NodeOwnership.CHECK) {
+            this.backing.values().forEach(NodeOwnership::release);
+        }
+
         this.backing.clear();
     }
 
@@ -153,37 +220,130 @@ final class MapNodeImpl implements MapNode {
     @Override
     public @NotNull MapNode copy() {
         var copied = MapNode.create(this.backing);
-        copied.setComment(this.commentRef.get());
+        copied.setComment(this.comment());
         return copied;
     }
 
     @Override
     public @NotNull @UnmodifiableView MapNode asView() {
-        return this == EMPTY ? EMPTY : new MapNodeImpl(Collections.unmodifiableMap(this.backing), true, this.commentRef);
+        return this.viewNode();
+    }
+
+    private @NotNull MapNodeImpl viewNode() {
+        if (this.view) {
+            return this;
+        }
+
+        var view = this.cachedView;
+
+        if (view == null) {
+            view = new MapNodeImpl(Collections.unmodifiableMap(this.backing), true, this);
+            this.cachedView = view;
+        }
+
+        return view;
+    }
+
+    @Override
+    public @NotNull ListNode getOrCreateList(@NotNull Object key) {
+        var current = this.backing.get(key);
+
+        if (!this.view && current instanceof ImmutableNode && current instanceof ListNode immutable) { // copy-on-write
+            var copied = immutable.copy();
+            this.backing.put(key, copied);
+
+            if (NodeOwnership.CHECK) {
+                NodeOwnership.markOwned(copied);
+            }
+
+            return copied;
+        }
+
+        if (this.view) { // do not expose the modifiable child from the view
+            var raw = current instanceof CommentedNode<?> commentedNode ? commentedNode.node() : current;
+            return raw instanceof ListNode node ? node.asView() : this.createList(key);
+        }
+
+        return MapNode.super.getOrCreateList(key);
+    }
+
+    @Override
+    public @NotNull MapNode getOrCreateMap(@NotNull Object key) {
+        var current = this.backing.get(key);
+
+        if (!this.view && current instanceof ImmutableNode && current instanceof MapNode immutable) { // copy-on-write
+            var copied = immutable.copy();
+            this.backing.put(key, copied);
+
+            if (NodeOwnership.CHECK) {
+                NodeOwnership.markOwned(copied);
+            }
+
+            return copied;
+        }
+
+        if (this.view) { // do not expose the modifiable child from the view
+            var raw = current instanceof CommentedNode<?> commentedNode ? commentedNode.node() : current;
+            return raw instanceof MapNode node ? node.asView() : this.createMap(key);
+        }
+
+        return MapNode.super.getOrCreateMap(key);
     }
 
     @Override
     public @NotNull ListNode createList(@NotNull Object key) {
         var newNode = ListNode.create();
-        this.backing.put(key, newNode);
+        var removed = this.backing.put(key, newNode);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.markOwned(newNode);
+            NodeOwnership.release(removed);
+        }
+
         return newNode;
     }
 
     @Override
     public @NotNull @Unmodifiable MapNode createMap(@NotNull Object key) {
         var newNode = MapNode.create();
-        this.backing.put(key, newNode);
+        var removed = this.backing.put(key, newNode);
+
+        if (NodeOwnership.CHECK) {
+            NodeOwnership.markOwned(newNode);
+            NodeOwnership.release(removed);
+        }
+
         return newNode;
     }
 
+    @Override
+    public boolean view() {
+        return this.view;
+    }
+
+    @Override
+    public boolean owned() {
+        return this.owned;
+    }
+
+    @Override
+    public void owned(boolean owned) {
+        this.owned = owned;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable MapNode toFrozen() {
+        return FrozenMapNode.freeze(this);
+    }
+
     @Override
     public boolean hasComment() {
-        return this.commentRef.get() != null;
+        return this.comment() != null;
     }
 
     @Override
     public @NotNull Comment getComment() {
-        var comment = this.commentRef.get();
+        var comment = this.comment();
         if (comment == null) {
             throw new IllegalStateException("Comment is not set.");
         }
@@ -195,7 +355,12 @@ final class MapNodeImpl implements MapNode {
         if (this.view) {
             throw new UnsupportedOperationException("Cannot change the comment of this ListNode because this is view mode.");
         }
-        this.commentRef.set(comment);
+        this.comment = comment;
+    }
+
+    private @Nullable Comment comment() {
+        var source = this.source;
+        return source != null ? source.comment : this.comment;
     }
 
     @Override
@@ -244,7 +409,7 @@ final class MapNodeImpl implements MapNode {
     @Override
     public String toString() {
         return "MapNodeImpl{" +
-               "comment=" + this.commentRef.get() +
+               "comment=" + this.comment() +
                ", backing=" + this.backing +
                '}';
     }
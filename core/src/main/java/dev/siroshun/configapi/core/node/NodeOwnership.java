@@ -0,0 +1,129 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+
+/**
+ * The debug check for {@link MapNode#setOwned(Object, Node)} and {@link ListNode#addOwned(Node)}.
+ * <p>
+ * When the check is enabled, mutable {@link MapNode}s and {@link ListNode}s are marked as owned when they are attached to the parent node,
+ * and attaching the owned node again without copying throws {@link IllegalStateException}.
+ * The check is enabled when the system property {@code configapi.checkNodeOwnership} is {@code true} or assertions are enabled for this package.
+ * <p>
+ * Checking whether the attached node contains the parent node walks the whole subtree,
+ * so it is only performed when the system property {@code configapi.checkNodeOwnership} is {@code true}.
+ */
+final class NodeOwnership {
+
+    static final boolean DEEP_CHECK = Boolean.getBoolean("configapi.checkNodeOwnership");
+    static final boolean CHECK = DEEP_CHECK || NodeOwnership.class.desiredAssertionStatus();
+
+    /**
+     * Marks the newly created {@link Node} as owned by the parent node.
+     *
+     * @param node the {@link Node} that is attached to the parent node
+     */
+    static void markOwned(@NotNull Node<?> node) {
+        if (unwrap(node) instanceof Ownable ownable) {
+            ownable.owned(true);
+        }
+    }
+
+    /**
+     * Checks that the {@link Node} can be attached to the parent node without copying, and marks it as owned.
+     *
+     * @param parent the parent node
+     * @param node   the {@link Node} to attach
+     * @throws IllegalStateException if the {@link Node} is already attached to another node, is a view, or contains the parent node
+     */
+    static void acquire(@NotNull Node<?> parent, @NotNull Node<?> node) {
+        if (!(unwrap(node) instanceof Ownable ownable)) {
+            return; // value nodes and persistent nodes can be shared
+        }
+
+        if (ownable.view()) {
+            throw new IllegalStateException("Cannot attach a view of the node without copying: " + node);
+        }
+
+        if (ownable.owned()) {
+            throw new IllegalStateException("The node is already attached to another node, use copy() to attach it: " + node);
+        }
+
+        if (ownable == parent || (DEEP_CHECK && contains(node, parent))) {
+            throw new IllegalStateException("Cannot attach the node to its descendant.");
+        }
+
+        ownable.owned(true);
+    }
+
+    /**
+     * Releases the {@link Node} that is removed from the parent node.
+     *
+     * @param node the removed {@link Node}
+     */
+    static void release(@Nullable Node<?> node) {
+        if (node != null && unwrap(node) instanceof Ownable ownable) {
+            ownable.owned(false);
+        }
+    }
+
+    private static @NotNull Node<?> unwrap(@NotNull Node<?> node) {
+        return node instanceof CommentedNode<?> commentedNode ? commentedNode.node() : node;
+    }
+
+    private static boolean contains(@NotNull Node<?> root, @NotNull Node<?> target) {
+        var queue = new ArrayDeque<Node<?>>();
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            var node = unwrap(queue.poll());
+
+            if (node == target) {
+                return true;
+            }
+
+            if (node instanceof MapNodeImpl mapNode) {
+                queue.addAll(mapNode.value().values());
+            } else if (node instanceof ListNodeImpl listNode) {
+                queue.addAll(listNode.value());
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * A mutable node that can be owned by the parent node.
+     */
+    sealed interface Ownable permits MapNodeImpl, ListNodeImpl {
+
+        boolean view();
+
+        boolean owned();
+
+        void owned(boolean owned);
+
+    }
+
+    private NodeOwnership() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A compiled path to a {@link Node} in the tree of {@link MapNode}s and {@link ListNode}s.
+ * <p>
+ * A path consists of segments, and each segment is either a key of {@link MapNode} or an index of {@link ListNode}.
+ * {@link NodePath} is immutable, so the parsed path can be stored in a constant and reused.
+ * Resolving a path by {@link MapNode#get(NodePath)} or {@link ListNode#get(NodePath)} does not create the view of the intermediate nodes,
+ * so looking up a value by the pre-compiled path does not allocate objects.
+ * <p>
+ * The string representation of the path is {@code a.b[3].c}:
+ *
+ * <ul>
+ *     <li>The keys are separated by {@code .}</li>
+ *     <li>The index of {@link ListNode} is enclosed in {@code [} and {@code ]}</li>
+ *     <li>The keys cannot contain {@code .}, {@code [}, and {@code ]}. To use such keys, or non-{@link String} keys, use {@link #of(Object...)} or {@link #child(Object)}</li>
+ * </ul>
+ */
+public final class NodePath {
+
+    private static final NodePath ROOT = new NodePath(new Object[0], new int[0]);
+
+    /**
+     * Gets the empty {@link NodePath} that points to the root node.
+     *
+     * @return the empty {@link NodePath}
+     */
+    public static @NotNull NodePath root() {
+        return ROOT;
+    }
+
+    /**
+     * Parses the path like {@code a.b[3].c}.
+     * <p>
+     * The empty {@link String} is parsed as {@link #root()}.
+     *
+     * @param path the path to parse
+     * @return the parsed {@link NodePath}
+     * @throws IllegalArgumentException if the path is invalid
+     */
+    public static @NotNull NodePath parse(@NotNull String path) {
+        int length = path.length();
+
+        if (length == 0) {
+            return ROOT;
+        }
+
+        var keys = new Object[4];
+        var indexes = new int[4];
+        int size = 0;
+        int position = 0;
+
+        while (true) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+
+            if (path.charAt(position) == '[') {
+                int close = path.indexOf(']', position + 1);
+
+                if (close == -1) {
+                    throw invalidPath(path, position, "'[' is not closed");
+                }
+
+                indexes[size++] = parseIndex(path, position + 1, close);
+                position = close + 1;
+            } else {
+                int end = position;
+
+                for (char c; end < length && (c = path.charAt(end)) != '.' && c != '['; end++) {
+                    if (c == ']') {
+                        throw invalidPath(path, end, "unexpected ']'");
+                    }
+                }
+
+                if (end == position) {
+                    throw invalidPath(path, position, "empty key");
+                }
+
+                keys[size++] = path.substring(position, end);
+                position = end;
+            }
+
+            if (position == length) {
+                break;
+            }
+
+            char next = path.charAt(position);
+
+            if (next == '.') {
+                if (++position == length || path.charAt(position) == '[') {
+                    throw invalidPath(path, position, "empty key");
+                }
+            } else if (next != '[') {
+                throw invalidPath(path, position, "expected '.' or '['");
+            }
+        }
+
+        return new NodePath(Arrays.copyOf(keys, size), Arrays.copyOf(indexes, size));
+    }
+
+    /**
+     * Creates a {@link NodePath} from the keys of {@link MapNode}s.
+     * <p>
+     * Unlike {@link #parse(String)}, the keys are used as they are, so they can contain {@code .} or be non-{@link String} objects.
+     *
+     * @param keys the keys of {@link MapNode}s
+     * @return a new {@link NodePath}
+     */
+    public static @NotNull NodePath of(@NotNull Object @NotNull ... keys) {
+        if (keys.length == 0) {
+            return ROOT;
+        }
+
+        var copied = new Object[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            copied[i] = Objects.requireNonNull(keys[i], "keys cannot contain null");
+        }
+
+        return new NodePath(copied, new int[keys.length]);
+    }
+
+    private static int parseIndex(@NotNull String path, int start, int end) {
+        if (start == end) {
+            throw invalidPath(path, start, "empty index");
+        }
+
+        long index = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+
+            if (c < '0' || '9' < c) {
+                throw invalidPath(path, i, "index must be a non-negative integer");
+            }
+
+            index = index * 10 + (c - '0');
+
+            if (Integer.MAX_VALUE < index) {
+                throw invalidPath(path, start, "index is too large");
+            }
+        }
+
+        return (int) index;
+    }
+
+    private static @NotNull IllegalArgumentException invalidPath(@NotNull String path, int position, @NotNull String reason) {
+        return new IllegalArgumentException("Invalid path '" + path + "' at " + position + ": " + reason);
+    }
+
+    private final Object[] keys; // null if the segment is an index
+    private final int[] indexes;
+    private int hash;
+
+    private NodePath(@Nullable Object @NotNull [] keys, int @NotNull [] indexes) {
+        this.keys = keys;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Creates a new {@link NodePath} that has the specified key of {@link MapNode} at the end.
+     *
+     * @param key the key of {@link MapNode}
+     * @return a new {@link NodePath}
+     */
+    @Contract("_ -> new")
+    public @NotNull NodePath child(@NotNull Object key) {
+        return this.append(Objects.requireNonNull(key), 0);
+    }
+
+    /**
+     * Creates a new {@link NodePath} that has the specified index of {@link ListNode} at the end.
+     *
+     * @param index the index of {@link ListNode}
+     * @return a new {@link NodePath}
+     * @throws IllegalArgumentException if the index is negative
+     */
+    @Contract("_ -> new")
+    public @NotNull NodePath index(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("index cannot be negative: " + index);
+        }
+        return this.append(null, index);
+    }
+
+    /**
+     * Gets the number of segments of this {@link NodePath}.
+     *
+     * @return the number of segments
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Checks if the segment at the specified position is an index of {@link ListNode}.
+     *
+     * @param position the position of the segment
+     * @return {@code true} if the segment is an index of {@link ListNode}, or {@code false} if it is a key of {@link MapNode}
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public boolean isIndex(int position) {
+        return this.keys[position] == null;
+    }
+
+    /**
+     * Gets the segment at the specified position.
+     * <p>
+     * If the segment is an index of {@link ListNode}, this method returns it as {@link Integer}.
+     *
+     * @param position the position of the segment
+     * @return the key of {@link MapNode} or the index of {@link ListNode}
+     * @throws IndexOutOfBoundsException if the position is out of range
+     * @see #isIndex(int)
+     */
+    public @NotNull Object segment(int position) {
+        var key = this.keys[position];
+        return key != null ? key : this.indexes[position];
+    }
+
+    /**
+     * Gets the {@link Node} that this path points to from the specified {@link Node}.
+     *
+     * @param root the {@link Node} to start from
+     * @return the {@link Node} that this path points to, or {@link NullNode#NULL} if it does not exist
+     */
+    @NotNull Node<?> resolve(@NotNull Node<?> root) {
+        var node = root;
+
+        for (int i = 0; i < this.keys.length && node != NullNode.NULL; i++) {
+            node = this.step(node, i);
+        }
+
+        return node;
+    }
+
+    /**
+     * Sets the value to the {@link Node} that this path points to from the specified {@link Node}.
+     * <p>
+     * The missing intermediate nodes are created. When the segment is a key, a new {@link MapNode} or {@link ListNode} is created
+     * in the same way as {@link MapNode#getOrCreateMap(Object)} and {@link MapNode#getOrCreateList(Object)}.
+     * When the segment is an index, it must be less than or equal to the size of {@link ListNode},
+     * and the new node is appended if the index is equal to the size.
+     *
+     * @param root  the {@link MapNode} or {@link ListNode} to start from
+     * @param value the value to set, or {@code null} to remove the key from {@link MapNode}
+     * @return the previous {@link Node}, or {@link NullNode#NULL} if it does not exist
+     */
+    @NotNull Node<?> set(@NotNull Node<?> root, @Nullable Object value) {
+        int last = this.keys.length - 1;
+
+        if (last < 0) {
+            throw new IllegalArgumentException("Cannot set the value to the root path.");
+        }
+
+        if (this.keys[0] != null ? !(root instanceof MapNode) : !(root instanceof ListNode)) {
+            throw new IllegalArgumentException("The path '" + this + "' cannot be resolved from " + root.getClass().getSimpleName());
+        }
+
+        var node = root;
+
+        for (int i = 0; i < last; i++) {
+            node = this.container(node, i, this.keys[i + 1] == null);
+        }
+
+        var key = this.keys[last];
+
+        if (key != null) {
+            return ((MapNode) node).set(key, value);
+        }
+
+        var list = (ListNode) node;
+        int index = this.indexes[last];
+
+        if (index == list.size()) {
+            list.add(value);
+            return NullNode.NULL;
+        }
+
+        return list.set(index, value);
+    }
+
+    /**
+     * Resolves the {@link NodePath}s from the specified {@link Node}.
+     * <p>
+     * When the path shares the leading segments with the previous path, the shared part is not resolved again.
+     *
+     * @param root  the {@link Node} to start from
+     * @param paths the {@link NodePath}s to resolve
+     * @return the resolved {@link Node}s in the same order as the given paths
+     */
+    static @NotNull @Unmodifiable List<Node<?>> resolveAll(@NotNull Node<?> root, @NotNull List<NodePath> paths) {
+        int count = paths.size();
+
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+
+        int maxDepth = 0;
+
+        for (int i = 0; i < count; i++) {
+            maxDepth = Math.max(maxDepth, paths.get(i).size());
+        }
+
+        var result = new Node<?>[count];
+        var trail = new Node<?>[maxDepth + 1]; // trail[n] is the node resolved by the first n segments of the previous path
+        trail[0] = root;
+        NodePath previous = null;
+
+        for (int i = 0; i < count; i++) {
+            var path = paths.get(i);
+            int depth = path.size();
+
+            for (int j = previous != null ? path.commonPrefixLength(previous) : 0; j < depth; j++) {
+                trail[j + 1] = trail[j] == NullNode.NULL ? NullNode.NULL : path.step(trail[j], j);
+            }
+
+            result[i] = trail[depth];
+            previous = path;
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    private @NotNull Node<?> step(@NotNull Node<?> node, int position) {
+        if (node instanceof CommentedNode<?> commentedNode) {
+            node = commentedNode.node();
+        }
+
+        var key = this.keys[position];
+
+        if (key != null) {
+            return node instanceof MapNode mapNode ? mapNode.get(key) : NullNode.NULL;
+        }
+
+        int index = this.indexes[position];
+        return node instanceof ListNode listNode && index < listNode.size() ? listNode.get(index) : NullNode.NULL;
+    }
+
+    private @NotNull Node<?> container(@NotNull Node<?> parent, int position, boolean list) {
+        var key = this.keys[position];
+
+        if (key != null) {
+            var mapNode = (MapNode) parent;
+            return list ? mapNode.getOrCreateList(key) : mapNode.getOrCreateMap(key);
+        }
+
+        var listNode = (ListNode) parent;
+        int index = this.indexes[position];
+
+        if (index == listNode.size()) {
+            return list ? listNode.addList() : listNode.addMap();
+        }
+
+        var current = listNode.get(index);
+
+        if (current instanceof CommentedNode<?> commentedNode) {
+            current = commentedNode.node();
+        }
+
+        if (!(current instanceof ImmutableNode) && (list ? current instanceof ListNode : current instanceof MapNode)) {
+            return current;
+        }
+
+        // replaces the value that is not a container, or copies the immutable container to modify it
+        if (list) {
+            var created = ListNode.create();
+            if (current instanceof ListNode immutable) {
+                created.addAll(immutable);
+            }
+            listNode.set(index, created);
+        } else {
+            var created = MapNode.create();
+            if (current instanceof MapNode immutable) {
+                created.putAll(immutable);
+            }
+            listNode.set(index, created);
+        }
+
+        return listNode.get(index);
+    }
+
+    private int commonPrefixLength(@NotNull NodePath other) {
+        int length = Math.min(this.keys.length, other.keys.length);
+
+        for (int i = 0; i < length; i++) {
+            if (this.indexes[i] != other.indexes[i] || !Objects.equals(this.keys[i], other.keys[i])) {
+                return i;
+            }
+        }
+
+        return length;
+    }
+
+    private @NotNull NodePath append(@Nullable Object key, int index) {
+        int size = this.keys.length;
+        var keys = Arrays.copyOf(this.keys, size + 1);
+        var indexes = Arrays.copyOf(this.indexes, size + 1);
+        keys[size] = key;
+        indexes[size] = index;
+        return new NodePath(keys, indexes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NodePath other = (NodePath) o;
+        return Arrays.equals(this.keys, other.keys) && Arrays.equals(this.indexes, other.indexes);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = this.hash;
+
+        if (hash == 0) {
+            hash = 31 * Arrays.hashCode(this.keys) + Arrays.hashCode(this.indexes);
+            this.hash = hash;
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder();
+
+        for (int i = 0; i < this.keys.length; i++) {
+            var key = this.keys[i];
+
+            if (key == null) {
+                builder.append('[').append(this.indexes[i]).append(']');
+            } else {
+                if (i != 0) {
+                    builder.append('.');
+                }
+                builder.append(key);
+            }
+        }
+
+        return builder.toString();
+    }
+}
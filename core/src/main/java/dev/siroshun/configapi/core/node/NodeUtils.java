@@ -34,6 +34,8 @@ final class NodeUtils {
         if (value instanceof Node<?>) {
             if (value instanceof ValueNode<?> valueNode) {
                 return valueNode;
+            } else if (value instanceof ImmutableNode) {
+                return (Node<?>) value; // immutable, so we can share it
             } else if (value instanceof ListNode listNode) {
                 return listNode.copy();
             } else if (value instanceof MapNode mapNode) {
@@ -56,7 +58,7 @@ final class NodeUtils {
         } else if (value instanceof Boolean bool) {
             return BooleanValue.fromBoolean(bool);
         } else if (value instanceof Character charValue) {
-            return new CharValue(charValue);
+            return CharValue.fromChar(charValue);
         } else if (value instanceof Enum enumValue) {
             return new EnumValue<>(enumValue);
         } else if (value instanceof Collection<?> collection) {
@@ -68,6 +70,34 @@ final class NodeUtils {
         }
     }
 
+    static @NotNull Node<?> toPersistentNode(@Nullable Object value) {
+        var node = value instanceof Node<?> ? (Node<?>) value : toNode(value);
+
+        if (node instanceof ImmutableNode) {
+            return node;
+        } else if (node instanceof MapNode mapNode) {
+            return PersistentMapNode.copyOf(mapNode);
+        } else if (node instanceof ListNode listNode) {
+            return PersistentListNode.copyOf(listNode);
+        } else if (node instanceof CommentedNode<?> commentedNode) {
+            return CommentableNode.withComment(toPersistentNode(commentedNode.node()), commentedNode.getCommentOrNull());
+        } else {
+            return toNode(node);
+        }
+    }
+
+    static @NotNull Node<?> toFrozenNode(@NotNull Node<?> node) {
+        if (node instanceof MapNode mapNode) {
+            return mapNode.toFrozen();
+        } else if (node instanceof ListNode listNode) {
+            return listNode.toFrozen();
+        } else if (node instanceof CommentedNode<?> commentedNode) {
+            return CommentableNode.withComment(toFrozenNode(commentedNode.node()), commentedNode.getCommentOrNull());
+        } else {
+            return node;
+        }
+    }
+
     private static @NotNull Node<?> fromArray(@NotNull Object value) {
         if (value instanceof int[] array) {
             return new IntArray(array);
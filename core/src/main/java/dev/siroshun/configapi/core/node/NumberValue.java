@@ -51,23 +51,23 @@ public sealed interface NumberValue extends ValueNode<Number>, Comparable<Number
      */
     static @NotNull NumberValue fromNumber(@Nullable Number value) {
         if (value instanceof Integer number) {
-            return number == 0 ? NumberValue.ZERO : new IntValue(number);
+            return number == 0 ? NumberValue.ZERO : IntValue.fromInt(number);
         } else if (value instanceof Long number) {
-            return number == 0 ? NumberValue.ZERO : new LongValue(number);
+            return number == 0 ? NumberValue.ZERO : LongValue.fromLong(number);
         } else if (value instanceof Float number) {
             return Float.compare(number, 0) == 0 ? NumberValue.ZERO : new FloatValue(number);
         } else if (value instanceof Double number) {
             return Double.compare(number, 0) == 0 ? NumberValue.ZERO : new DoubleValue(number);
         } else if (value instanceof Byte number) {
-            return number == 0 ? NumberValue.ZERO : new ByteValue(number);
+            return number == 0 ? NumberValue.ZERO : ByteValue.fromByte(number);
         } else if (value instanceof Short number) {
-            return number == 0 ? NumberValue.ZERO : new ShortValue(number);
+            return number == 0 ? NumberValue.ZERO : ShortValue.fromShort(number);
         } else if (value instanceof AtomicInteger number) {
             int v = number.get();
-            return v == 0 ? NumberValue.ZERO : new IntValue(v);
+            return v == 0 ? NumberValue.ZERO : IntValue.fromInt(v);
         } else if (value instanceof AtomicLong number) {
             long v = number.get();
-            return v == 0 ? NumberValue.ZERO : new LongValue(v);
+            return v == 0 ? NumberValue.ZERO : LongValue.fromLong(v);
         } else if (value == null) {
             return NumberValue.ZERO;
         } else {
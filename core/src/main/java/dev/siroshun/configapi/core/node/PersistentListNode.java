@@ -0,0 +1,109 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.Comment;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Objects;
+
+/**
+ * An immutable {@link ListNode} that supports cheap modified copies.
+ * <p>
+ * {@link PersistentListNode} cannot be modified by the methods of {@link ListNode} such as {@link #add(Object)},
+ * they throw {@link UnsupportedOperationException}. Instead, {@link #with(int, Object)} and {@link #plus(Object)}
+ * return a new {@link PersistentListNode} that shares the unchanged elements with this instance.
+ * <p>
+ * As with {@link PersistentMapNode}, the elements are converted to persistent nodes, and this node is not copied by {@link Node#fromObject(Object)}.
+ */
+public sealed interface PersistentListNode extends ListNode permits PersistentListNodeImpl {
+
+    /**
+     * Gets an empty {@link PersistentListNode}.
+     *
+     * @return an empty {@link PersistentListNode}
+     */
+    static @NotNull PersistentListNode empty() {
+        return PersistentListNodeImpl.EMPTY;
+    }
+
+    /**
+     * Creates a {@link PersistentListNode} that has the same elements and the comment as the given {@link ListNode}.
+     * <p>
+     * {@link MapNode}s and {@link ListNode}s in the given {@link ListNode} are converted to persistent nodes recursively.
+     * If the given {@link ListNode} is already a {@link PersistentListNode}, this method returns it as it is.
+     *
+     * @param listNode the {@link ListNode} to copy
+     * @return a {@link PersistentListNode} that has the same elements as the given {@link ListNode}
+     */
+    static @NotNull PersistentListNode copyOf(@NotNull ListNode listNode) {
+        Objects.requireNonNull(listNode);
+        return listNode instanceof PersistentListNode persistent ? persistent : PersistentListNodeImpl.copyOf(listNode);
+    }
+
+    /**
+     * Returns a {@link PersistentListNode} that the element at the specified index is replaced with the value.
+     *
+     * @param index the index of the element to replace
+     * @param value the value, converted using {@link Node#fromObject(Object)} and then converted to persistent nodes
+     * @return a new {@link PersistentListNode}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Contract(pure = true)
+    @NotNull PersistentListNode with(int index, @Nullable Object value);
+
+    /**
+     * Returns a {@link PersistentListNode} that the value is appended to.
+     *
+     * @param value the value, converted using {@link Node#fromObject(Object)} and then converted to persistent nodes
+     * @return a new {@link PersistentListNode}
+     */
+    @Contract(pure = true)
+    @NotNull PersistentListNode plus(@Nullable Object value);
+
+    /**
+     * Returns a {@link PersistentListNode} that has the specified comment.
+     *
+     * @param comment the comment, or {@code null} to remove the comment
+     * @return a new {@link PersistentListNode}, or this instance if the comment is not changed
+     */
+    @Contract(pure = true)
+    @NotNull PersistentListNode withComment(@Nullable Comment comment);
+
+    /**
+     * Creates a new mutable {@link ListNode} that has the same elements and the comment as this {@link PersistentListNode}.
+     * <p>
+     * The elements are not copied, so nested {@link PersistentMapNode}s and {@link PersistentListNode}s are shared.
+     *
+     * @return a new mutable {@link ListNode}
+     */
+    @Override
+    @Contract("-> new")
+    @NotNull ListNode copy();
+
+    /**
+     * Returns this instance because {@link PersistentListNode} is immutable.
+     *
+     * @return this instance
+     */
+    @Override
+    @Contract("-> this")
+    @NotNull @Unmodifiable PersistentListNode asView();
+}
@@ -0,0 +1,329 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.Comment;
+import dev.siroshun.configapi.core.node.visitor.NodeVisitor;
+import dev.siroshun.configapi.core.node.visitor.VisitResult;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+final class PersistentListNodeImpl implements PersistentListNode, ImmutableNode {
+
+    static final PersistentListNodeImpl EMPTY = new PersistentListNodeImpl(VectorTrie.empty(), null);
+
+    static @NotNull PersistentListNode copyOf(@NotNull ListNode listNode) {
+        VectorTrie<Node<?>> elements = VectorTrie.empty();
+
+        for (var node : listNode.value()) {
+            elements = elements.append(NodeUtils.toPersistentNode(node));
+        }
+
+        var comment = listNode.getCommentOrNull();
+        return elements.size() == 0 && comment == null ? EMPTY : new PersistentListNodeImpl(elements, comment);
+    }
+
+    private final VectorTrie<Node<?>> elements;
+    private final @Nullable Comment comment;
+    private @Nullable ListView view; // created lazily, a race only creates the equivalent view twice
+
+    private PersistentListNodeImpl(@NotNull VectorTrie<Node<?>> elements, @Nullable Comment comment) {
+        this.elements = elements;
+        this.comment = comment;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable List<Node<?>> value() {
+        var view = this.view;
+
+        if (view == null) {
+            view = new ListView();
+            this.view = view;
+        }
+
+        return view;
+    }
+
+    @Override
+    public boolean hasValue() {
+        return true;
+    }
+
+    @Override
+    public <T> @NotNull @Unmodifiable List<T> asList(@NotNull Class<? extends T> elementClass) {
+        if (this.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Objects.requireNonNull(elementClass);
+
+        var result = new ArrayList<T>(this.size());
+
+        for (var element : this.elements) {
+            var casted = ListNodeImpl.castIfPossible(element, elementClass);
+            if (casted != null) {
+                result.add(casted);
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public @NotNull Stream<Node<?>> stream() {
+        return this.value().stream();
+    }
+
+    @Override
+    public @NotNull PersistentListNodeImpl with(int index, @Nullable Object value) {
+        Objects.checkIndex(index, this.size());
+        return new PersistentListNodeImpl(this.elements.set(index, NodeUtils.toPersistentNode(value)), this.comment);
+    }
+
+    @Override
+    public @NotNull PersistentListNodeImpl plus(@Nullable Object value) {
+        return new PersistentListNodeImpl(this.elements.append(NodeUtils.toPersistentNode(value)), this.comment);
+    }
+
+    @Override
+    public @NotNull PersistentListNodeImpl withComment(@Nullable Comment comment) {
+        if (this.comment == comment) {
+            return this;
+        }
+
+        return this.isEmpty() && comment == null ? EMPTY : new PersistentListNodeImpl(this.elements, comment);
+    }
+
+    @Override
+    public void add(@Nullable Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addOwned(@NotNull Node<?> node) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(@NotNull Collection<?> collection) {
+        throw unsupported();
+    }
+
+    @Override
+    public void addAll(@NotNull ListNode listNode) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull ListNode addList() {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull ListNode addList(int initialCapacity) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull MapNode addMap() {
+        throw unsupported();
+    }
+
+    @Override
+    public void clear() {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean contains(@Nullable Object object) {
+        return this.value().contains(Node.fromObject(object));
+    }
+
+    @Override
+    public @NotNull Node<?> get(int index) {
+        Objects.checkIndex(index, this.size());
+        return this.elements.get(index);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.elements.size() == 0;
+    }
+
+    @Override
+    public boolean remove(@Nullable Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean removeIf(@NotNull Predicate<? super Node<?>> predicate) {
+        throw unsupported();
+    }
+
+    @Override
+    public void replaceAll(@NotNull UnaryOperator<Node<?>> operator) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> set(int index, @Nullable Object object) {
+        throw unsupported();
+    }
+
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    @Override
+    public void sort(@NotNull Comparator<? super Node<?>> comparator) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> remove(int index) {
+        throw unsupported();
+    }
+
+    @Contract(" -> new")
+    @Override
+    public @NotNull ListNode copy() {
+        var copied = new ArrayList<Node<?>>(Math.max(this.size(), 10));
+
+        for (var element : this.elements) {
+            copied.add(element);
+        }
+
+        return new ListNodeImpl(copied, this.comment);
+    }
+
+    @Override
+    public @NotNull @Unmodifiable PersistentListNode asView() {
+        return this;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable ListNode toFrozen() {
+        return FrozenListNode.freeze(this);
+    }
+
+    @Override
+    public boolean hasComment() {
+        return this.comment != null;
+    }
+
+    @Override
+    public @NotNull Comment getComment() {
+        if (this.comment == null) {
+            throw new IllegalStateException("Comment is not set.");
+        }
+        return this.comment;
+    }
+
+    @Override
+    public void setComment(@Nullable Comment comment) {
+        throw new UnsupportedOperationException("Cannot change the comment of PersistentListNode, use PersistentListNode#withComment instead.");
+    }
+
+    @Override
+    public @NotNull VisitResult accept(@NotNull NodeVisitor visitor) {
+        switch (visitor.startList(this)) {
+            case SKIP -> {
+                return VisitResult.SKIP;
+            }
+            case STOP -> {
+                return VisitResult.STOP;
+            }
+        }
+
+        int index = 0;
+        for (var node : this.elements) {
+            var result = switch (visitor.visitElement(index++, node)) {
+                case CONTINUE -> node.accept(visitor);
+                case BREAK -> VisitResult.BREAK;
+                case SKIP -> VisitResult.SKIP;
+                case STOP -> VisitResult.STOP;
+            };
+
+            if (result == VisitResult.BREAK) {
+                break;
+            } else if (result == VisitResult.STOP) {
+                return VisitResult.STOP;
+            }
+        }
+
+        return visitor.endList(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PersistentListNodeImpl other = (PersistentListNodeImpl) o;
+        return this.elements == other.elements && this.comment == other.comment; // Same as ListNodeImpl, assume they are different if they do not share the same elements.
+    }
+
+    @Override
+    public int hashCode() {
+        return this.value().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentListNodeImpl{" +
+                "comment=" + this.comment +
+                ", backing=" + this.value() +
+                '}';
+    }
+
+    private static @NotNull UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("PersistentListNode cannot be modified, use PersistentListNode#with or PersistentListNode#plus instead.");
+    }
+
+    private final class ListView extends AbstractList<Node<?>> implements RandomAccess {
+
+        @Override
+        public Node<?> get(int index) {
+            return PersistentListNodeImpl.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return PersistentListNodeImpl.this.size();
+        }
+
+        @Override
+        public @NotNull Iterator<Node<?>> iterator() {
+            return PersistentListNodeImpl.this.elements.iterator();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.Comment;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Objects;
+
+/**
+ * An immutable {@link MapNode} that supports cheap modified copies.
+ * <p>
+ * {@link PersistentMapNode} cannot be modified by the methods of {@link MapNode} such as {@link #set(Object, Object)},
+ * they throw {@link UnsupportedOperationException}. Instead, {@link #with(Object, Object)} and {@link #without(Object)}
+ * return a new {@link PersistentMapNode} that shares the unchanged entries with this instance,
+ * so modifying a large {@link PersistentMapNode} costs {@code O(log n)} instead of copying all entries.
+ * <p>
+ * The values in {@link PersistentMapNode} are also immutable: {@link MapNode}s and {@link ListNode}s are converted to
+ * {@link PersistentMapNode}s and {@link PersistentListNode}s when they are put (frozen nodes created by {@link MapNode#toFrozen()} are kept as they are).
+ * Because of this, {@link PersistentMapNode} and {@link PersistentListNode} are not copied by {@link Node#fromObject(Object)},
+ * and can be shared between trees and threads without copying.
+ * <p>
+ * As with {@link MapNode#create()}, this keeps the insertion order of keys.
+ */
+public sealed interface PersistentMapNode extends MapNode permits PersistentMapNodeImpl {
+
+    /**
+     * Gets an empty {@link PersistentMapNode}.
+     *
+     * @return an empty {@link PersistentMapNode}
+     */
+    static @NotNull PersistentMapNode empty() {
+        return PersistentMapNodeImpl.EMPTY;
+    }
+
+    /**
+     * Creates a {@link PersistentMapNode} that has the same entries and the comment as the given {@link MapNode}.
+     * <p>
+     * {@link MapNode}s and {@link ListNode}s in the given {@link MapNode} are converted to persistent nodes recursively.
+     * If the given {@link MapNode} is already a {@link PersistentMapNode}, this method returns it as it is.
+     *
+     * @param mapNode the {@link MapNode} to copy
+     * @return a {@link PersistentMapNode} that has the same entries as the given {@link MapNode}
+     */
+    static @NotNull PersistentMapNode copyOf(@NotNull MapNode mapNode) {
+        Objects.requireNonNull(mapNode);
+        return mapNode instanceof PersistentMapNode persistent ? persistent : PersistentMapNodeImpl.copyOf(mapNode);
+    }
+
+    /**
+     * Returns a {@link PersistentMapNode} that the specified value is mapped to the key.
+     * <p>
+     * If the value is {@code null} or {@link NullNode#NULL}, this method works as {@link #without(Object)}.
+     * If the key is already mapped to the {@link CommentableNode} that has the comment, the comment is kept as {@link MapNode#set(Object, Object)}.
+     * Also as {@link MapNode#set(Object, Object)}, the key that is already mapped is moved to the end of the insertion order.
+     *
+     * @param key   the key
+     * @param value the value, converted using {@link Node#fromObject(Object)} and then converted to persistent nodes
+     * @return a new {@link PersistentMapNode}, or this instance if nothing is changed
+     */
+    @Contract(pure = true)
+    @NotNull PersistentMapNode with(@NotNull Object key, @Nullable Object value);
+
+    /**
+     * Returns a {@link PersistentMapNode} that does not have the specified key.
+     *
+     * @param key the key to remove
+     * @return a new {@link PersistentMapNode}, or this instance if the key is not mapped
+     */
+    @Contract(pure = true)
+    @NotNull PersistentMapNode without(@NotNull Object key);
+
+    /**
+     * Returns a {@link PersistentMapNode} that has the specified comment.
+     *
+     * @param comment the comment, or {@code null} to remove the comment
+     * @return a new {@link PersistentMapNode}, or this instance if the comment is not changed
+     */
+    @Contract(pure = true)
+    @NotNull PersistentMapNode withComment(@Nullable Comment comment);
+
+    /**
+     * Creates a new mutable {@link MapNode} that has the same entries and the comment as this {@link PersistentMapNode}.
+     * <p>
+     * The values are not copied, so nested {@link PersistentMapNode}s and {@link PersistentListNode}s are shared.
+     * They are replaced with mutable copies when they are obtained by {@link MapNode#getOrCreateMap(Object)} or {@link MapNode#getOrCreateList(Object)}
+     * of the returned {@link MapNode}.
+     *
+     * @return a new mutable {@link MapNode}
+     */
+    @Override
+    @Contract("-> new")
+    @NotNull MapNode copy();
+
+    /**
+     * Returns this instance because {@link PersistentMapNode} is immutable.
+     *
+     * @return this instance
+     */
+    @Override
+    @Contract("-> this")
+    @NotNull @Unmodifiable PersistentMapNode asView();
+}
@@ -0,0 +1,422 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.Comment;
+import dev.siroshun.configapi.core.node.visitor.NodeVisitor;
+import dev.siroshun.configapi.core.node.visitor.VisitResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+final class PersistentMapNodeImpl implements PersistentMapNode, ImmutableNode {
+
+    static final PersistentMapNodeImpl EMPTY = new PersistentMapNodeImpl(HashTrie.empty(), VectorTrie.empty(), null);
+
+    private static final int COMPACTION_THRESHOLD = 32;
+
+    static @NotNull PersistentMapNode copyOf(@NotNull MapNode mapNode) {
+        PersistentMapNodeImpl result = EMPTY;
+
+        for (var entry : mapNode.value().entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+
+        return result.withComment(mapNode.getCommentOrNull());
+    }
+
+    // key -> index of the entry in this.entries
+    private final HashTrie<Object, Integer> slots;
+    // entries in the insertion order, removed entries are null until compaction
+    private final VectorTrie<Map.@Nullable Entry<Object, Node<?>>> entries;
+    private final @Nullable Comment comment;
+    private @Nullable MapView view; // created lazily, a race only creates the equivalent view twice
+
+    private PersistentMapNodeImpl(@NotNull HashTrie<Object, Integer> slots,
+                                  @NotNull VectorTrie<Map.@Nullable Entry<Object, Node<?>>> entries,
+                                  @Nullable Comment comment) {
+        this.slots = slots;
+        this.entries = entries;
+        this.comment = comment;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable Map<Object, Node<?>> value() {
+        var view = this.view;
+
+        if (view == null) {
+            view = new MapView();
+            this.view = view;
+        }
+
+        return view;
+    }
+
+    @Override
+    public boolean hasValue() {
+        return true;
+    }
+
+    @Override
+    public @NotNull Node<?> getOrDefault(@NotNull Object key, @NotNull Node<?> defaultNode) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(defaultNode);
+        var entry = this.entry(key);
+        return entry != null ? entry.getValue() : defaultNode;
+    }
+
+    @Override
+    public @NotNull PersistentMapNodeImpl with(@NotNull Object key, @Nullable Object value) {
+        Objects.requireNonNull(key);
+
+        if (value == null || value == NullNode.NULL) {
+            return this.without(key);
+        }
+
+        var node = NodeUtils.toPersistentNode(value);
+        var slot = this.slots.get(key);
+
+        if (slot == null) {
+            return new PersistentMapNodeImpl(this.slots.put(key, this.entries.size()), this.entries.append(Map.entry(key, node)), this.comment);
+        }
+
+        var current = Objects.requireNonNull(this.entries.get(slot)).getValue();
+
+        if (current instanceof CommentableNode<?> commentableNode) {
+            node = CommentableNode.withComment(node, commentableNode.getCommentOrNull());
+        }
+
+        int last = this.entries.size() - 1;
+
+        if (slot == last) {
+            return current == node ? this : new PersistentMapNodeImpl(this.slots, this.entries.set(slot, Map.entry(key, node)), this.comment);
+        }
+
+        // As with MapNode#set, the replaced key is moved to the end
+        var newSlots = this.slots.put(key, this.entries.size());
+        var newEntries = this.entries.set(slot, null).append(Map.entry(key, node));
+        int removed = newEntries.size() - newSlots.size();
+
+        if (COMPACTION_THRESHOLD < removed && newSlots.size() < removed) {
+            return compact(newEntries, this.comment);
+        }
+
+        return new PersistentMapNodeImpl(newSlots, newEntries, this.comment);
+    }
+
+    @Override
+    public @NotNull PersistentMapNodeImpl without(@NotNull Object key) {
+        Objects.requireNonNull(key);
+
+        var slot = this.slots.get(key);
+
+        if (slot == null) {
+            return this;
+        }
+
+        var newSlots = this.slots.remove(key);
+
+        if (newSlots.size() == 0) {
+            return this.comment == null ? EMPTY : new PersistentMapNodeImpl(newSlots, VectorTrie.empty(), this.comment);
+        }
+
+        var newEntries = this.entries.set(slot, null);
+        int removed = newEntries.size() - newSlots.size();
+
+        if (COMPACTION_THRESHOLD < removed && newSlots.size() < removed) {
+            return compact(newEntries, this.comment);
+        }
+
+        return new PersistentMapNodeImpl(newSlots, newEntries, this.comment);
+    }
+
+    @Override
+    public @NotNull PersistentMapNodeImpl withComment(@Nullable Comment comment) {
+        if (this.comment == comment) {
+            return this;
+        }
+
+        return this.isEmpty() && comment == null ? EMPTY : new PersistentMapNodeImpl(this.slots, this.entries, comment);
+    }
+
+    @Override
+    public @NotNull Node<?> set(@NotNull Object key, @Nullable Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> setOwned(@NotNull Object key, @NotNull Node<?> node) {
+        throw unsupported();
+    }
+
+    @Override
+    public Node<?> setIfAbsent(@NotNull Object key, @NotNull Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public void putAll(@NotNull Map<?, ?> map) {
+        throw unsupported();
+    }
+
+    @Override
+    public void putAll(@NotNull MapNode mapNode) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> replace(@NotNull Object key, @Nullable Object value) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull Node<?> remove(@NotNull Object key) {
+        throw unsupported();
+    }
+
+    @Override
+    public void clear() {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean containsKey(@NotNull Object key) {
+        return this.slots.get(Objects.requireNonNull(key)) != null;
+    }
+
+    @Override
+    public boolean containsValue(@NotNull Object value) {
+        if (Objects.requireNonNull(value) == NullNode.NULL) {
+            return false;
+        }
+
+        return this.value().containsValue(Node.fromObject(value));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.slots.size() == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.slots.size();
+    }
+
+    @Override
+    public @NotNull MapNode copy() {
+        var copied = new CompactMap<Object, Node<?>>(this.size());
+
+        for (var entry : this.entries) {
+            if (entry != null) {
+                copied.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return new MapNodeImpl(copied, this.comment);
+    }
+
+    @Override
+    public @NotNull @Unmodifiable PersistentMapNode asView() {
+        return this;
+    }
+
+    @Override
+    public @NotNull ListNode createList(@NotNull Object key) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull MapNode createMap(@NotNull Object key) {
+        throw unsupported();
+    }
+
+    @Override
+    public @NotNull @Unmodifiable MapNode toFrozen() {
+        return FrozenMapNode.freeze(this);
+    }
+
+    @Override
+    public boolean hasComment() {
+        return this.comment != null;
+    }
+
+    @Override
+    public @NotNull Comment getComment() {
+        if (this.comment == null) {
+            throw new IllegalStateException("Comment is not set.");
+        }
+        return this.comment;
+    }
+
+    @Override
+    public void setComment(@Nullable Comment comment) {
+        throw new UnsupportedOperationException("Cannot change the comment of PersistentMapNode, use PersistentMapNode#withComment instead.");
+    }
+
+    @Override
+    public @NotNull VisitResult accept(@NotNull NodeVisitor visitor) {
+        switch (visitor.startMap(this)) {
+            case SKIP -> {
+                return VisitResult.SKIP;
+            }
+            case STOP -> {
+                return VisitResult.STOP;
+            }
+        }
+
+        int index = 0;
+        for (var entry : this.entries) {
+            if (entry == null) {
+                continue;
+            }
+
+            var result = switch (visitor.visitEntry(index++, entry.getKey(), entry.getValue())) {
+                case CONTINUE -> entry.getValue().accept(visitor);
+                case BREAK -> VisitResult.BREAK;
+                case SKIP -> VisitResult.SKIP;
+                case STOP -> VisitResult.STOP;
+            };
+
+            if (result == VisitResult.BREAK) {
+                break;
+            } else if (result == VisitResult.STOP) {
+                return VisitResult.STOP;
+            }
+        }
+
+        return visitor.endMap(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PersistentMapNodeImpl other = (PersistentMapNodeImpl) o;
+        return this.entries == other.entries && this.comment == other.comment; // Same as MapNodeImpl, assume they are different if they do not share the same entries.
+    }
+
+    @Override
+    public int hashCode() {
+        return this.value().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentMapNodeImpl{" +
+               "comment=" + this.comment +
+               ", backing=" + this.value() +
+               '}';
+    }
+
+    private Map.@Nullable Entry<Object, Node<?>> entry(@NotNull Object key) {
+        var slot = this.slots.get(key);
+        return slot != null ? this.entries.get(slot) : null;
+    }
+
+    private static @NotNull PersistentMapNodeImpl compact(@NotNull VectorTrie<Map.@Nullable Entry<Object, Node<?>>> entries, @Nullable Comment comment) {
+        HashTrie<Object, Integer> newSlots = HashTrie.empty();
+        VectorTrie<Map.@Nullable Entry<Object, Node<?>>> newEntries = VectorTrie.empty();
+
+        for (var entry : entries) {
+            if (entry != null) {
+                newSlots = newSlots.put(entry.getKey(), newEntries.size());
+                newEntries = newEntries.append(entry);
+            }
+        }
+
+        return new PersistentMapNodeImpl(newSlots, newEntries, comment);
+    }
+
+    private static @NotNull UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("PersistentMapNode cannot be modified, use PersistentMapNode#with or PersistentMapNode#without instead.");
+    }
+
+    private final class MapView extends AbstractMap<Object, Node<?>> {
+
+        @Override
+        public int size() {
+            return PersistentMapNodeImpl.this.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && PersistentMapNodeImpl.this.containsKey(key);
+        }
+
+        @Override
+        public Node<?> get(Object key) {
+            if (key == null) {
+                return null;
+            }
+
+            var entry = PersistentMapNodeImpl.this.entry(key);
+            return entry != null ? entry.getValue() : null;
+        }
+
+        @Override
+        public @NotNull Set<Entry<Object, Node<?>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public @NotNull Iterator<Entry<Object, Node<?>>> iterator() {
+                    var iterator = PersistentMapNodeImpl.this.entries.iterator();
+                    return new Iterator<>() {
+                        private Entry<Object, Node<?>> next = this.advance();
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.next != null;
+                        }
+
+                        @Override
+                        public Entry<Object, Node<?>> next() {
+                            var current = this.next;
+                            if (current == null) {
+                                throw new NoSuchElementException();
+                            }
+                            this.next = this.advance();
+                            return current;
+                        }
+
+                        private @Nullable Entry<Object, Node<?>> advance() {
+                            while (iterator.hasNext()) {
+                                var entry = iterator.next();
+                                if (entry != null) {
+                                    return entry;
+                                }
+                            }
+                            return null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return PersistentMapNodeImpl.this.size();
+                }
+            };
+        }
+    }
+}
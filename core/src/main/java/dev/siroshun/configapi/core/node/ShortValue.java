@@ -27,6 +27,28 @@ import org.jetbrains.annotations.NotNull;
  */
 public record ShortValue(short shortValue) implements NumberValue, StringRepresentable {
 
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+    private static final ShortValue[] CACHE = new ShortValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new ShortValue((short) (i + CACHE_LOW));
+        }
+    }
+
+    /**
+     * Gets the {@link ShortValue} of the given short value.
+     * <p>
+     * The {@link ShortValue}s of values from -128 to 127 are cached, so this method returns the same instance for them.
+     *
+     * @param value a short value
+     * @return the {@link ShortValue} of the given value
+     */
+    public static @NotNull ShortValue fromShort(short value) {
+        return CACHE_LOW <= value && value <= CACHE_HIGH ? CACHE[value - CACHE_LOW] : new ShortValue(value);
+    }
+
     @Override
     public @NotNull Short value() {
         return this.shortValue;
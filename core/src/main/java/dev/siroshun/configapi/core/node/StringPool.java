@@ -0,0 +1,139 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A bounded pool to deduplicate {@link String}s and {@link StringValue}s.
+ * <p>
+ * Large documents often repeat the same keys and values (e.g. enum-like strings).
+ * Loading them through a {@link StringPool} makes the repeated strings share the same {@link String} and {@link StringValue} instance,
+ * so the loaded tree retains less memory.
+ * <p>
+ * The pool has a fixed number of slots and replaces the old entry when the slots for the hash are full,
+ * so it never grows beyond the capacity. Strings longer than {@link #MAX_LENGTH} are not pooled.
+ * <p>
+ * This class is thread-safe, and one pool can be shared by multiple formats and loads.
+ * Concurrent updates may drop entries, but a lookup never returns a different string.
+ */
+public final class StringPool {
+
+    /**
+     * The default capacity of the {@link StringPool}.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The maximum length of the {@link String} to pool.
+     */
+    public static final int MAX_LENGTH = 128;
+
+    private static final int PROBES = 4;
+
+    /**
+     * Creates a new {@link StringPool} with {@link #DEFAULT_CAPACITY}.
+     *
+     * @return a new {@link StringPool}
+     */
+    public static @NotNull StringPool create() {
+        return new StringPool(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@link StringPool} with the specified capacity.
+     * <p>
+     * The capacity is rounded up to a power of two.
+     *
+     * @param capacity the maximum number of the pooled strings
+     * @return a new {@link StringPool}
+     * @throws IllegalArgumentException if the capacity is not positive or too large
+     */
+    public static @NotNull StringPool create(int capacity) {
+        if (capacity <= 0 || (1 << 30) < capacity) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        return new StringPool(capacity);
+    }
+
+    private final StringValue[] table; // StringValue is immutable, so the entries can be read without synchronization
+    private final int mask;
+
+    private StringPool(int capacity) {
+        int size = Math.max(PROBES, Integer.highestOneBit(capacity - 1) << 1);
+        this.table = new StringValue[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Gets the pooled {@link String} that is equal to the specified {@link String}.
+     *
+     * @param value the {@link String}
+     * @return the pooled {@link String}, or the specified {@link String} if it is not pooled yet or too long
+     */
+    public @NotNull String intern(@NotNull String value) {
+        return this.stringValue(value).value();
+    }
+
+    /**
+     * Gets the pooled key if the specified key is a {@link String}.
+     *
+     * @param key the key of {@link MapNode}
+     * @return the pooled {@link String}, or the specified key if it is not a {@link String}
+     */
+    public @NotNull Object key(@NotNull Object key) {
+        return key instanceof String str ? this.intern(str) : key;
+    }
+
+    /**
+     * Gets the pooled {@link StringValue} that holds the specified {@link String}.
+     *
+     * @param value the {@link String}
+     * @return the pooled {@link StringValue}, or the new {@link StringValue} if the {@link String} is too long
+     */
+    public @NotNull StringValue stringValue(@NotNull String value) {
+        int length = value.length();
+
+        if (length == 0) {
+            return StringValue.EMPTY;
+        } else if (MAX_LENGTH < length) {
+            return new StringValue(value);
+        }
+
+        var table = this.table;
+        int hash = value.hashCode();
+        int start = (hash ^ (hash >>> 16)) & this.mask;
+        int free = -1;
+
+        for (int i = 0; i < PROBES; i++) {
+            int index = (start + i) & this.mask;
+            var entry = table[index];
+
+            if (entry == null) {
+                if (free == -1) {
+                    free = index;
+                }
+            } else if (entry.value().hashCode() == hash && entry.value().equals(value)) {
+                return entry;
+            }
+        }
+
+        var created = new StringValue(value);
+        table[free != -1 ? free : start] = created; // evicts the first entry when the slots are full
+        return created;
+    }
+}
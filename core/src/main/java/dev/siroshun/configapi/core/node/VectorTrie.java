@@ -0,0 +1,185 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A persistent (immutable) vector using 32-way trie with the tail.
+ * <p>
+ * Each modification returns a new {@link VectorTrie} that shares the unchanged nodes with the original one.
+ * {@link #get(int)} and {@link #set(int, Object)} are {@code O(log32 n)}, and {@link #append(Object)} is amortized {@code O(1)}.
+ *
+ * @param <E> the type of elements
+ */
+final class VectorTrie<E> implements Iterable<E> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    @SuppressWarnings("rawtypes")
+    private static final VectorTrie EMPTY = new VectorTrie<>(0, BITS, new Object[WIDTH], EMPTY_ARRAY);
+
+    @SuppressWarnings("unchecked")
+    static <E> @NotNull VectorTrie<E> empty() {
+        return EMPTY;
+    }
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private VectorTrie(int size, int shift, Object @NotNull [] root, Object @NotNull [] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    E get(int index) {
+        Objects.checkIndex(index, this.size);
+        return (E) this.leafFor(index)[index & MASK];
+    }
+
+    @NotNull VectorTrie<E> set(int index, E element) {
+        Objects.checkIndex(index, this.size);
+
+        if (this.tailOffset() <= index) {
+            var newTail = this.tail.clone();
+            newTail[index & MASK] = element;
+            return new VectorTrie<>(this.size, this.shift, this.root, newTail);
+        }
+
+        return new VectorTrie<>(this.size, this.shift, set(this.shift, this.root, index, element), this.tail);
+    }
+
+    @NotNull VectorTrie<E> append(E element) {
+        if (this.size - this.tailOffset() < WIDTH) {
+            var newTail = Arrays.copyOf(this.tail, this.tail.length + 1);
+            newTail[this.tail.length] = element;
+            return new VectorTrie<>(this.size + 1, this.shift, this.root, newTail);
+        }
+
+        Object[] newRoot;
+        int newShift = this.shift;
+
+        if ((this.size >>> BITS) > (1 << this.shift)) { // The root is full
+            newRoot = new Object[WIDTH];
+            newRoot[0] = this.root;
+            newRoot[1] = newPath(this.shift, this.tail);
+            newShift += BITS;
+        } else {
+            newRoot = this.pushTail(this.shift, this.root, this.tail);
+        }
+
+        return new VectorTrie<>(this.size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    @Override
+    public @NotNull Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf = EMPTY_ARRAY;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < VectorTrie.this.size;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                if ((this.index & MASK) == 0) {
+                    this.leaf = VectorTrie.this.leafFor(this.index);
+                }
+
+                return (E) this.leaf[this.index++ & MASK];
+            }
+        };
+    }
+
+    private int tailOffset() {
+        return this.size < WIDTH ? 0 : ((this.size - 1) >>> BITS) << BITS;
+    }
+
+    private Object @NotNull [] leafFor(int index) {
+        if (this.tailOffset() <= index) {
+            return this.tail;
+        }
+
+        var node = this.root;
+        for (int level = this.shift; 0 < level; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object @NotNull [] pushTail(int level, Object @NotNull [] parent, Object @NotNull [] tailNode) {
+        int subIndex = ((this.size - 1) >>> level) & MASK;
+        var result = parent.clone();
+
+        if (level == BITS) {
+            result[subIndex] = tailNode;
+        } else {
+            var child = (Object[]) parent[subIndex];
+            result[subIndex] = child != null ? this.pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+
+        return result;
+    }
+
+    private static Object @NotNull [] newPath(int level, Object @NotNull [] node) {
+        if (level == 0) {
+            return node;
+        }
+
+        var result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private static Object @NotNull [] set(int level, Object @NotNull [] node, int index, Object element) {
+        var result = node.clone();
+
+        if (level == 0) {
+            result[index & MASK] = element;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = set(level - BITS, (Object[]) node[subIndex], index, element);
+        }
+
+        return result;
+    }
+}
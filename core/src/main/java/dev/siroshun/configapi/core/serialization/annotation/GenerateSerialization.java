@@ -0,0 +1,38 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.serialization.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation for indicating that the serialization code of the annotated record should be generated at compile time.
+ * <p>
+ * When {@code configapi-processor} is configured as an annotation processor, it generates a class named
+ * {@code <RecordName>_Serialization} (nested class names are joined with {@code _}) in the same package.
+ * {@link dev.siroshun.configapi.core.serialization.record.RecordSerializer} and
+ * {@link dev.siroshun.configapi.core.serialization.record.RecordDeserializer} use the generated class instead of reflection
+ * when no custom serializers/deserializers and default record are specified.
+ * <p>
+ * If the generated class is not found, the record is serialized/deserialized through reflection as usual.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface GenerateSerialization {
+}
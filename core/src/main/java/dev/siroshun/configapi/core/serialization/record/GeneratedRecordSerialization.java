@@ -0,0 +1,50 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.serialization.record;
+
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An interface implemented by the classes that are generated for the records annotated with {@link GenerateSerialization}.
+ * <p>
+ * The generated class must have a public constructor that takes a {@link dev.siroshun.configapi.core.serialization.key.KeyGenerator}.
+ *
+ * @param <R> the type of the {@link Record}
+ */
+@ApiStatus.Internal
+public interface GeneratedRecordSerialization<R extends Record> {
+
+    /**
+     * Serializes the {@link Record} into the given {@link MapNode}.
+     *
+     * @param input  the {@link Record} to serialize
+     * @param target the {@link MapNode} to put serialized values
+     */
+    void serialize(@NotNull R input, @NotNull MapNode target);
+
+    /**
+     * Deserializes the {@link MapNode} to the {@link Record}.
+     *
+     * @param input the {@link MapNode} to deserialize
+     * @return the deserialized {@link Record}
+     */
+    @NotNull R deserialize(@NotNull MapNode input);
+
+}
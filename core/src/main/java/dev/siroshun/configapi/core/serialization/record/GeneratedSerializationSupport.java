@@ -0,0 +1,182 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.serialization.record;
+
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.EnumValue;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.StringValue;
+import dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization;
+import dev.siroshun.configapi.core.serialization.key.KeyGenerator;
+import dev.siroshun.configapi.core.serialization.registry.DeserializerRegistry;
+import dev.siroshun.configapi.core.serialization.registry.SerializerRegistry;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * A helper class used by the code that is generated for the records annotated with {@link GenerateSerialization}.
+ * <p>
+ * The generated code handles the components of the record directly, and uses this class for values that need
+ * the same conversion as {@link RecordSerializer}/{@link RecordDeserializer} (collections, maps, arrays, and non-generated records).
+ */
+@ApiStatus.Internal
+public final class GeneratedSerializationSupport {
+
+    /**
+     * Creates a new {@link GeneratedSerializationSupport}.
+     *
+     * @param keyGenerator the {@link KeyGenerator} to generate keys of records that are not generated
+     * @return a new {@link GeneratedSerializationSupport}
+     */
+    @Contract("_ -> new")
+    public static @NotNull GeneratedSerializationSupport create(@NotNull KeyGenerator keyGenerator) {
+        return new GeneratedSerializationSupport(keyGenerator);
+    }
+
+    /**
+     * Unwraps the {@link CommentedNode}.
+     *
+     * @param node the {@link Node} to unwrap
+     * @return the unwrapped {@link Node}
+     */
+    public static @NotNull Node<?> unwrap(@NotNull Node<?> node) {
+        while (node instanceof CommentedNode<?> commentedNode) {
+            node = commentedNode.node();
+        }
+        return node;
+    }
+
+    /**
+     * Converts the {@link Node} to the {@link Enum}.
+     *
+     * @param node      the {@link Node} to convert
+     * @param enumClass the class of the {@link Enum}
+     * @param <E>       the type of the {@link Enum}
+     * @return the {@link Enum} or {@code null} if the {@link Node} cannot be converted
+     */
+    public static <E extends Enum<E>> @Nullable E deserializeEnum(@NotNull Node<?> node, @NotNull Class<E> enumClass) {
+        if (node instanceof EnumValue<?> enumValue && enumClass.isInstance(enumValue.value())) {
+            return enumClass.cast(enumValue.value());
+        } else if (node instanceof StringValue stringValue) {
+            try {
+                return Enum.valueOf(enumClass, stringValue.value());
+            } catch (IllegalArgumentException ignored1) {
+                try {
+                    return Enum.valueOf(enumClass, stringValue.value().toUpperCase(Locale.ENGLISH));
+                } catch (IllegalArgumentException ignored2) {
+                    return null;
+                }
+            }
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the default {@link Record} of the specified class through reflection.
+     *
+     * @param recordClass the class of the {@link Record}
+     * @param <R>         the type of the {@link Record}
+     * @return the default {@link Record}
+     */
+    public static <R extends Record> @NotNull R createDefaultRecord(@NotNull Class<R> recordClass) {
+        return RecordDescriptor.of(recordClass).newDefaultInstance();
+    }
+
+    private final RecordSerializer<?> serializer;
+    private final RecordDeserializer<?> deserializer;
+
+    private GeneratedSerializationSupport(@NotNull KeyGenerator keyGenerator) {
+        this.serializer = new RecordSerializer<>(SerializerRegistry.empty(), keyGenerator);
+        this.deserializer = new RecordDeserializer<>(Record.class, DeserializerRegistry.empty(), keyGenerator, null);
+    }
+
+    /**
+     * Serializes the object in the same way as {@link RecordSerializer}.
+     *
+     * @param value the object to serialize
+     * @return the serialized {@link Node}, or {@code null} if the object should be skipped
+     */
+    public @Nullable Node<?> serializeValue(@NotNull Object value) {
+        return this.serializer.serializeValue(value);
+    }
+
+    /**
+     * Serializes the {@link Record} into the given {@link MapNode} in the same way as {@link RecordSerializer}.
+     *
+     * @param record the {@link Record} to serialize
+     * @param target the {@link MapNode} to put serialized values
+     */
+    public void serializeRecord(@NotNull Record record, @NotNull MapNode target) {
+        this.serializer.serializeRecord(record, target);
+    }
+
+    /**
+     * Deserializes the {@link Node} to the collection.
+     *
+     * @param node           the {@link Node} to deserialize
+     * @param collectionType the type of the collection
+     * @param elementType    the type of the elements
+     * @return the deserialized collection, or {@code null} if the {@link Node} is not a list
+     */
+    public @Nullable Object deserializeCollection(@NotNull Node<?> node, @NotNull Class<?> collectionType, @NotNull Class<?> elementType) {
+        return this.deserializer.deserializeCollection(node, collectionType, elementType);
+    }
+
+    /**
+     * Deserializes the {@link Node} to the map.
+     *
+     * @param node          the {@link Node} to deserialize
+     * @param keyType       the type of the keys
+     * @param valueType     the type of the values
+     * @param defaultMapKey the key of the default value, or {@code null}
+     * @return the deserialized map, or {@code null} if the {@link Node} is not a map
+     */
+    public @Nullable Object deserializeMap(@NotNull Node<?> node, @NotNull Class<?> keyType, @NotNull Class<?> valueType, @Nullable String defaultMapKey) {
+        return this.deserializer.deserializeMap(node, keyType, valueType, defaultMapKey);
+    }
+
+    /**
+     * Deserializes the {@link Node} to the array.
+     *
+     * @param node      the {@link Node} to deserialize
+     * @param arrayType the type of the array
+     * @return the deserialized array, or {@code null} if the {@link Node} cannot be converted
+     */
+    public @Nullable Object deserializeArray(@NotNull Node<?> node, @NotNull Class<?> arrayType) {
+        return this.deserializer.deserializeArray(node, arrayType);
+    }
+
+    /**
+     * Deserializes the {@link MapNode} to the {@link Record} in the same way as {@link RecordDeserializer}.
+     *
+     * @param input         the {@link MapNode} to deserialize
+     * @param recordClass   the class of the {@link Record}
+     * @param defaultRecord the {@link Supplier} of the default {@link Record}, or {@code null}
+     * @param <R>           the type of the {@link Record}
+     * @return the deserialized {@link Record}
+     */
+    public <R extends Record> @NotNull R deserializeRecord(@NotNull MapNode input, @NotNull Class<R> recordClass, @Nullable Supplier<? extends R> defaultRecord) {
+        return this.deserializer.deserializeRecord(input, recordClass, defaultRecord);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.serialization.record;
+
+import dev.siroshun.configapi.core.serialization.SerializationException;
+import dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization;
+import dev.siroshun.configapi.core.serialization.key.KeyGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+final class GeneratedSerializations {
+
+    static final String CLASS_NAME_SUFFIX = "_Serialization";
+
+    private static final ClassValue<Optional<Constructor<?>>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(findConstructor(type));
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    static <R extends Record> @Nullable GeneratedRecordSerialization<R> create(@NotNull Class<R> recordClass, @NotNull KeyGenerator keyGenerator) {
+        var constructor = CONSTRUCTORS.get(recordClass).orElse(null);
+
+        if (constructor == null) {
+            return null;
+        }
+
+        try {
+            return (GeneratedRecordSerialization<R>) constructor.newInstance(keyGenerator);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new SerializationException("Could not create " + constructor.getDeclaringClass().getName() + " instance.", e);
+        }
+    }
+
+    static @NotNull String getGeneratedClassName(@NotNull Class<?> recordClass) {
+        var packageName = recordClass.getPackageName();
+        var name = recordClass.getName();
+        var simpleName = packageName.isEmpty() ? name : name.substring(packageName.length() + 1);
+        return (packageName.isEmpty() ? "" : packageName + ".") + simpleName.replace('$', '_') + CLASS_NAME_SUFFIX;
+    }
+
+    private static @Nullable Constructor<?> findConstructor(@NotNull Class<?> recordClass) {
+        if (!recordClass.isRecord() || !recordClass.isAnnotationPresent(GenerateSerialization.class)) {
+            return null;
+        }
+
+        Class<?> generatedClass;
+
+        try {
+            generatedClass = Class.forName(getGeneratedClassName(recordClass), true, recordClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null; // the annotation processor is not configured
+        }
+
+        if (!GeneratedRecordSerialization.class.isAssignableFrom(generatedClass)) {
+            throw new SerializationException(generatedClass.getName() + " does not implement " + GeneratedRecordSerialization.class.getName());
+        }
+
+        try {
+            return generatedClass.getConstructor(KeyGenerator.class);
+        } catch (NoSuchMethodException e) {
+            throw new SerializationException(e);
+        }
+    }
+
+    private GeneratedSerializations() {
+        throw new UnsupportedOperationException();
+    }
+}
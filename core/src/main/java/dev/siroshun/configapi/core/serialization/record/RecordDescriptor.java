@@ -0,0 +1,265 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.serialization.record;
+
+import dev.siroshun.configapi.core.comment.SimpleComment;
+import dev.siroshun.configapi.core.serialization.SerializationException;
+import dev.siroshun.configapi.core.serialization.annotation.CollectionType;
+import dev.siroshun.configapi.core.serialization.annotation.Comment;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultMapKey;
+import dev.siroshun.configapi.core.serialization.annotation.Inline;
+import dev.siroshun.configapi.core.serialization.annotation.MapType;
+import dev.siroshun.configapi.core.serialization.key.Key;
+import dev.siroshun.configapi.core.serialization.key.KeyGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnknownNullability;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * A class that holds the reflective information of a {@link Record} class.
+ * <p>
+ * The information is computed once per class and cached by {@link #of(Class)},
+ * so that serializers/deserializers do not need to look up components, annotations, and the canonical constructor on every call.
+ *
+ * @param <R> the type of the {@link Record}
+ */
+final class RecordDescriptor<R extends Record> {
+
+    private static final ClassValue<RecordDescriptor<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected RecordDescriptor<?> computeValue(Class<?> type) {
+            return new RecordDescriptor<>(type.asSubclass(Record.class));
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    static <R extends Record> @NotNull RecordDescriptor<R> of(@NotNull Class<R> clazz) {
+        return (RecordDescriptor<R>) CACHE.get(clazz);
+    }
+
+    private final Class<R> recordClass;
+    private final Component[] components;
+    private final MethodHandle constructor;
+
+    private RecordDescriptor(@NotNull Class<R> recordClass) {
+        this.recordClass = recordClass;
+
+        var recordComponents = recordClass.getRecordComponents();
+        var types = new Class<?>[recordComponents.length];
+
+        this.components = new Component[recordComponents.length];
+
+        for (int i = 0; i < recordComponents.length; i++) {
+            this.components[i] = new Component(recordComponents[i]);
+            types[i] = recordComponents[i].getType();
+        }
+
+        this.constructor = createConstructorHandle(recordClass, types);
+    }
+
+    @NotNull Class<R> recordClass() {
+        return this.recordClass;
+    }
+
+    /**
+     * Gets the {@link Component}s of this record.
+     * <p>
+     * The returned array is shared, so it must not be modified.
+     *
+     * @return the {@link Component}s of this record
+     */
+    @NotNull Component @NotNull [] components() {
+        return this.components;
+    }
+
+    @NotNull R newInstance(@UnknownNullability Object @NotNull [] args) {
+        try {
+            return this.recordClass.cast(this.constructor.invokeExact(args));
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SerializationException("Could not create " + this.recordClass.getName() + " instance.", e);
+        }
+    }
+
+    @NotNull R newDefaultInstance() {
+        var args = new Object[this.components.length];
+
+        for (int i = 0; i < this.components.length; i++) {
+            args[i] = this.components[i].defaultValue(null);
+        }
+
+        return this.newInstance(args);
+    }
+
+    private static @NotNull MethodHandle createConstructorHandle(@NotNull Class<?> clazz, @NotNull Class<?> @NotNull [] types) {
+        MethodHandle handle;
+
+        try {
+            var constructor = clazz.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+            handle = MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new SerializationException(e);
+        }
+
+        return handle.asSpreader(Object[].class, types.length).asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    /**
+     * A class that holds the information of a {@link RecordComponent}.
+     */
+    static final class Component {
+
+        private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Record.class);
+
+        private final RecordComponent component;
+        private final Class<?> type;
+        private final MethodHandle accessor;
+        private final @Nullable String key;
+        private final @Nullable SimpleComment comment;
+        private final boolean inline;
+        private final @Nullable CollectionType collectionType;
+        private final @Nullable MapType mapType;
+        private final @Nullable DefaultMapKey defaultMapKey;
+        private volatile RecordUtils.DefaultValueFactory defaultValueFactory;
+
+        private Component(@NotNull RecordComponent component) {
+            this.component = component;
+            this.type = component.getType();
+            this.accessor = createAccessorHandle(component);
+
+            var keyAnnotation = component.getDeclaredAnnotation(Key.class);
+            this.key = keyAnnotation != null && !keyAnnotation.value().isEmpty() ? keyAnnotation.value() : null;
+
+            this.inline = component.isAnnotationPresent(Inline.class);
+            this.collectionType = component.getDeclaredAnnotation(CollectionType.class);
+            this.mapType = component.getDeclaredAnnotation(MapType.class);
+            this.defaultMapKey = component.getDeclaredAnnotation(DefaultMapKey.class);
+
+            var commentAnnotation = component.getDeclaredAnnotation(Comment.class);
+            this.comment = commentAnnotation != null ? SimpleComment.create(commentAnnotation.value(), commentAnnotation.type()) : null;
+        }
+
+        @NotNull RecordComponent component() {
+            return this.component;
+        }
+
+        @NotNull Class<?> type() {
+            return this.type;
+        }
+
+        @NotNull String name() {
+            return this.component.getName();
+        }
+
+        @NotNull String key(@NotNull KeyGenerator keyGenerator) {
+            return this.key != null ? this.key : keyGenerator.generate(this.component.getName());
+        }
+
+        /**
+         * Gets the value of this component in the given {@link Record}.
+         *
+         * @param record the {@link Record} to get the value
+         * @return the value of this component
+         */
+        @UnknownNullability Object value(@NotNull Record record) {
+            try {
+                return this.accessor.invokeExact(record);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SerializationException(
+                        "Failed to get the value (" + record.getClass().getName() + "#" + this.component.getName() + ")",
+                        e
+                );
+            }
+        }
+
+        /**
+         * Gets the {@link SimpleComment} that is created from {@link Comment} annotation.
+         * <p>
+         * Since {@link SimpleComment} is immutable, the returned instance is shared.
+         *
+         * @return the {@link SimpleComment} or {@code null} if this component is not annotated with {@link Comment}
+         */
+        @Nullable SimpleComment comment() {
+            return this.comment;
+        }
+
+        boolean inline() {
+            return this.inline;
+        }
+
+        @Nullable CollectionType collectionType() {
+            return this.collectionType;
+        }
+
+        @Nullable MapType mapType() {
+            return this.mapType;
+        }
+
+        @Nullable DefaultMapKey defaultMapKey() {
+            return this.defaultMapKey;
+        }
+
+        /**
+         * Gets the default value of this component.
+         * <p>
+         * If {@code defaultRecord} is not {@code null}, this method returns the value of this component in it.
+         * Otherwise, the default value is created from the annotations.
+         *
+         * @param defaultRecord the default {@link Record} or {@code null}
+         * @return the default value of this component
+         */
+        @Nullable Object defaultValue(@Nullable Record defaultRecord) {
+            if (defaultRecord != null) {
+                return this.value(defaultRecord);
+            }
+
+            var factory = this.defaultValueFactory;
+
+            if (factory == null) {
+                // The factory is created lazily because creating it may fail (e.g. @DefaultField points to the missing field),
+                // and it should only fail when the default value is actually needed.
+                factory = RecordUtils.createDefaultValueFactory(this.component);
+                this.defaultValueFactory = factory;
+            }
+
+            return factory.create();
+        }
+
+        private static @NotNull MethodHandle createAccessorHandle(@NotNull RecordComponent component) {
+            var accessor = component.getAccessor();
+
+            try {
+                accessor.setAccessible(true);
+                return MethodHandles.lookup().unreflect(accessor).asType(ACCESSOR_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new SerializationException(
+                        "Failed to get the accessor (" + component.getDeclaringRecord().getName() + "#" + component.getName() + ")",
+                        e
+                );
+            }
+        }
+    }
+}
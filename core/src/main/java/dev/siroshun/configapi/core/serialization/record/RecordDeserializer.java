@@ -35,10 +35,6 @@ import dev.siroshun.configapi.core.node.ShortArray;
 import dev.siroshun.configapi.core.node.StringValue;
 import dev.siroshun.configapi.core.serialization.Deserializer;
 import dev.siroshun.configapi.core.serialization.SerializationException;
-import dev.siroshun.configapi.core.serialization.annotation.CollectionType;
-import dev.siroshun.configapi.core.serialization.annotation.DefaultMapKey;
-import dev.siroshun.configapi.core.serialization.annotation.Inline;
-import dev.siroshun.configapi.core.serialization.annotation.MapType;
 import dev.siroshun.configapi.core.serialization.key.KeyGenerator;
 import dev.siroshun.configapi.core.serialization.registry.DeserializerRegistry;
 import org.jetbrains.annotations.ApiStatus;
@@ -47,13 +43,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.RecordComponent;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * A {@link Deserializer} implementation for deserializing {@link MapNode} to {@link Record} object.
@@ -142,6 +139,8 @@ public final class RecordDeserializer<R extends Record> implements Deserializer<
     private final DeserializerRegistry<Node<?>> deserializerRegistry;
     private final KeyGenerator keyGenerator;
     private final @Nullable R defaultRecord;
+    private final Map<Class<?>, RecordBinding> bindings = new ConcurrentHashMap<>();
+    private final @Nullable GeneratedRecordSerialization<? extends R> generated;
 
     RecordDeserializer(@NotNull Class<? extends R> recordClass,
                        @NotNull DeserializerRegistry<Node<?>> deserializerRegistry,
@@ -151,6 +150,8 @@ public final class RecordDeserializer<R extends Record> implements Deserializer<
         this.deserializerRegistry = deserializerRegistry;
         this.keyGenerator = keyGenerator;
         this.defaultRecord = defaultRecord;
+        this.generated = defaultRecord == null && deserializerRegistry == DeserializerRegistry.<Node<?>>empty() ?
+                GeneratedSerializations.create(recordClass, keyGenerator) : null;
     }
 
     /**
@@ -160,80 +161,113 @@ public final class RecordDeserializer<R extends Record> implements Deserializer<
      */
     @Override
     public @NotNull R deserialize(@NotNull MapNode input) throws SerializationException {
+        if (this.generated != null) {
+            return this.generated.deserialize(Objects.requireNonNull(input));
+        }
+
         return this.deserializeToRecord(this.recordClass, Objects.requireNonNull(input), () -> this.defaultRecord);
     }
 
     private <T extends Record> @NotNull T deserializeToRecord(@NotNull Class<T> clazz, @NotNull MapNode input,
                                                               @NotNull DefaultRecordSupplier<?> defaultRecordSupplier) {
-        var components = clazz.getRecordComponents();
-
-        var types = new Class<?>[components.length];
+        var binding = this.getBinding(clazz);
+        var components = binding.components;
         var args = new Object[components.length];
 
         for (int i = 0; i < components.length; i++) {
             var component = components[i];
+            var key = component.key;
 
-            var type = component.getType();
-            types[i] = type;
+            args[i] = switch (component.kind) {
+                case CUSTOM -> component.deserializer.deserialize(input.get(key));
+                case RECORD -> {
+                    MapNode source = component.descriptor.inline() ? input : input.getMap(key);
+                    yield this.deserializeToRecord(component.descriptor.type().asSubclass(Record.class), source, defaultRecordSupplier.defaultRecord(component.descriptor));
+                }
+                case COLLECTION -> this.processCollection(component.descriptor, input.get(key), defaultRecordSupplier.defaultValue(component.descriptor));
+                case MAP -> this.processMap(component.descriptor, input.get(key), defaultRecordSupplier.defaultValue(component.descriptor));
+                case ARRAY -> this.deserializeToArray(input.get(key), component.descriptor.type(), defaultRecordSupplier.defaultValue(component.descriptor));
+                case VALUE -> this.deserializeNode(input.get(key), component.descriptor.type(), defaultRecordSupplier.defaultValue(component.descriptor));
+            };
+        }
 
+        return clazz.cast(binding.descriptor.newInstance(args));
+    }
+
+    private @NotNull RecordBinding getBinding(@NotNull Class<? extends Record> clazz) {
+        var binding = this.bindings.get(clazz);
+
+        if (binding == null) {
+            binding = this.bindings.computeIfAbsent(clazz, this::createBinding);
+        }
+
+        return binding;
+    }
+
+    private @NotNull RecordBinding createBinding(@NotNull Class<?> clazz) {
+        var descriptor = RecordDescriptor.of(clazz.asSubclass(Record.class));
+        var components = descriptor.components();
+        var bindings = new ComponentBinding[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            var component = components[i];
+            var type = component.type();
             var deserializer = this.deserializerRegistry.get(type);
-            var key = RecordUtils.getKey(component, this.keyGenerator);
+
+            ComponentKind kind;
 
             if (deserializer != null) {
-                args[i] = deserializer.deserialize(input.get(key));
+                kind = ComponentKind.CUSTOM;
             } else if (type.isRecord()) {
-                MapNode source = component.isAnnotationPresent(Inline.class) ? input : input.getMap(key);
-                args[i] = this.deserializeToRecord(type.asSubclass(Record.class), source, defaultRecordSupplier.defaultRecord(component));
+                kind = ComponentKind.RECORD;
             } else if (CollectionUtils.isSupportedCollectionType(type)) {
-                args[i] = this.processCollection(component, input.get(key), defaultRecordSupplier.defaultValue(component));
+                kind = ComponentKind.COLLECTION;
             } else if (type == Map.class) {
-                args[i] = this.processMap(component, input.get(key), defaultRecordSupplier.defaultValue(component));
+                kind = ComponentKind.MAP;
             } else if (type.isArray()) {
-                args[i] = this.deserializeToArray(input.get(key), component.getType(), defaultRecordSupplier.defaultValue(component));
+                kind = ComponentKind.ARRAY;
             } else {
-                args[i] = this.deserializeNode(input.get(key), type, defaultRecordSupplier.defaultValue(component));
+                kind = ComponentKind.VALUE;
             }
+
+            bindings[i] = new ComponentBinding(component, component.key(this.keyGenerator), kind, deserializer);
         }
 
-        return RecordUtils.createRecord(clazz, types, args);
+        return new RecordBinding(descriptor, bindings);
     }
 
-    private @Nullable Object processCollection(@NotNull RecordComponent component, @NotNull Node<?> node, @NotNull DefaultValueSupplier<?> defaultCollectionSupplier) {
-        var annotation = component.getDeclaredAnnotation(CollectionType.class);
+    private @Nullable Object processCollection(@NotNull RecordDescriptor.Component component, @NotNull Node<?> node, @NotNull DefaultValueSupplier<?> defaultCollectionSupplier) {
+        var annotation = component.collectionType();
 
         if (annotation == null) {
-            throw new SerializationException("@CollectionType is not declared for " + component.getName());
+            throw new SerializationException("@CollectionType is not declared for " + component.name());
         }
 
         if (node instanceof ListNode listNode) {
-            return this.deserializeToCollection(listNode, component.getType(), annotation.value());
+            return this.deserializeToCollection(listNode, component.type(), annotation.value());
         } else {
             return defaultCollectionSupplier.get();
         }
     }
 
-    private @Nullable Object processMap(@NotNull RecordComponent component, @NotNull Node<?> node, @NotNull DefaultValueSupplier<?> defaultMapSupplier) {
-        var annotation = component.getDeclaredAnnotation(MapType.class);
+    private @Nullable Object processMap(@NotNull RecordDescriptor.Component component, @NotNull Node<?> node, @NotNull DefaultValueSupplier<?> defaultMapSupplier) {
+        var annotation = component.mapType();
 
         if (annotation == null) {
-            throw new SerializationException("@MapType is not declared for " + component.getName());
+            throw new SerializationException("@MapType is not declared for " + component.name());
         }
 
         var keyType = annotation.key();
         var valueType = annotation.value();
-        var defaultMapKey = component.getDeclaredAnnotation(DefaultMapKey.class);
+        var defaultMapKey = component.defaultMapKey();
 
         if (node instanceof MapNode mapNode) {
-            return this.deserializeToMap(mapNode, keyType, valueType, defaultMapKey);
+            return this.deserializeToMap(mapNode, keyType, valueType, defaultMapKey != null ? defaultMapKey.value() : null);
         } else {
             return defaultMapSupplier.get();
         }
     }
 
-    private @Nullable Object processArray(@NotNull RecordComponent component, @NotNull Node<?> node, @NotNull DefaultValueSupplier<?> defaultArraySupplier) {
-        return this.deserializeToArray(node, component.getType(), defaultArraySupplier);
-    }
-
     @SuppressWarnings("unchecked")
     private @Nullable Object deserializeNode(@NotNull Node<?> node, @NotNull Class<?> clazz, @NotNull DefaultValueSupplier<?> defaultValueSupplier) {
         if (node instanceof CommentedNode<?> commentedNode) {
@@ -296,14 +330,15 @@ public final class RecordDeserializer<R extends Record> implements Deserializer<
     private @NotNull Collection<?> deserializeToCollection(@NotNull ListNode node,
                                                            @NotNull Class<?> collectionType,
                                                            @NotNull Class<?> elementType) {
-        if (node.value().isEmpty()) {
+        if (node.isEmpty()) {
             return CollectionUtils.emptyCollection(collectionType);
         }
 
-        var originalList = node.value();
-        var collection = CollectionUtils.createCollection(collectionType, originalList.size());
+        int size = node.size();
+        var collection = CollectionUtils.createCollection(collectionType, size);
 
-        for (var elementNode : originalList) {
+        for (int i = 0; i < size; i++) {
+            var elementNode = node.get(i);
             var element = elementNode.value();
 
             if (element == null) {
@@ -322,26 +357,26 @@ public final class RecordDeserializer<R extends Record> implements Deserializer<
 
     private @NotNull Map<?, ?> deserializeToMap(@NotNull MapNode node,
                                                 @NotNull Class<?> keyType, @NotNull Class<?> valueType,
-                                                @Nullable DefaultMapKey defaultMapKey) {
-        if (node.value().isEmpty()) {
+                                                @Nullable String defaultMapKey) {
+        if (node.isEmpty()) {
             return Collections.emptyMap();
         }
 
-        var map = new HashMap<>(node.value().size(), 1.0f);
+        var map = new HashMap<>(node.size(), 1.0f);
 
-        for (var entry : node.value().entrySet()) {
-            var key = deserializeKey(entry.getKey(), keyType);
-            var value = deserializeNode(entry.getValue(), valueType, DefaultValueSupplier.nullSupplier());
+        node.value().forEach((rawKey, valueNode) -> { // Map#forEach does not wrap each entry unlike the entry set of the unmodifiable map
+            var key = deserializeKey(rawKey, keyType);
+            var value = deserializeNode(valueNode, valueType, DefaultValueSupplier.nullSupplier());
 
             if (key != null && value != null) {
                 map.put(key, value);
             }
-        }
+        });
 
-        if (keyType.equals(String.class) && defaultMapKey != null && !map.containsKey(defaultMapKey.value())) {
+        if (keyType.equals(String.class) && defaultMapKey != null && !map.containsKey(defaultMapKey)) {
             var defaultValue = this.deserializeNode(MapNode.empty(), valueType, DefaultValueSupplier.nullSupplier());
             if (defaultValue != null) {
-                map.put(defaultMapKey.value(), defaultValue);
+                map.put(defaultMapKey, defaultValue);
             }
         }
 
@@ -408,6 +443,23 @@ public final class RecordDeserializer<R extends Record> implements Deserializer<
         return null;
     }
 
+    @Nullable Object deserializeCollection(@NotNull Node<?> node, @NotNull Class<?> collectionType, @NotNull Class<?> elementType) {
+        return node instanceof ListNode listNode ? this.deserializeToCollection(listNode, collectionType, elementType) : null;
+    }
+
+    @Nullable Object deserializeMap(@NotNull Node<?> node, @NotNull Class<?> keyType, @NotNull Class<?> valueType, @Nullable String defaultMapKey) {
+        return node instanceof MapNode mapNode ? this.deserializeToMap(mapNode, keyType, valueType, defaultMapKey) : null;
+    }
+
+    @Nullable Object deserializeArray(@NotNull Node<?> node, @NotNull Class<?> arrayType) {
+        return this.deserializeToArray(node, arrayType, DefaultValueSupplier.nullSupplier());
+    }
+
+    <T extends Record> @NotNull T deserializeRecord(@NotNull MapNode input, @NotNull Class<T> clazz, @Nullable Supplier<? extends T> defaultRecord) {
+        DefaultRecordSupplier<T> defaultRecordSupplier = defaultRecord != null ? new CachingDefaultRecordSupplier<>(defaultRecord::get) : () -> null;
+        return this.deserializeToRecord(clazz, input, defaultRecordSupplier);
+    }
+
     /**
      * A {@link Builder} class for {@link RecordDeserializer}.
      *
@@ -503,6 +555,22 @@ public final class RecordDeserializer<R extends Record> implements Deserializer<
         }
     }
 
+    private enum ComponentKind {
+        CUSTOM,
+        RECORD,
+        COLLECTION,
+        MAP,
+        ARRAY,
+        VALUE
+    }
+
+    private record RecordBinding(@NotNull RecordDescriptor<?> descriptor, @NotNull ComponentBinding @NotNull [] components) {
+    }
+
+    private record ComponentBinding(@NotNull RecordDescriptor.Component descriptor, @NotNull String key,
+                                    @NotNull ComponentKind kind, @Nullable Deserializer<Node<?>, ?> deserializer) {
+    }
+
     private interface DefaultValueSupplier<T> {
 
         @SuppressWarnings("rawtypes")
@@ -528,13 +596,13 @@ public final class RecordDeserializer<R extends Record> implements Deserializer<
     private interface DefaultRecordSupplier<R extends Record> extends DefaultValueSupplier<R> {
 
         @SuppressWarnings("unchecked")
-        default <N> @NotNull DefaultValueSupplier<N> defaultValue(@NotNull RecordComponent component) {
-            return () -> (N) RecordUtils.getDefaultValue(component, this.get());
+        default <N> @NotNull DefaultValueSupplier<N> defaultValue(@NotNull RecordDescriptor.Component component) {
+            return () -> (N) component.defaultValue(this.get());
         }
 
         @SuppressWarnings("unchecked")
-        default <N extends Record> @NotNull DefaultRecordSupplier<N> defaultRecord(@NotNull RecordComponent component) {
-            return new CachingDefaultRecordSupplier<>(() -> (N) RecordUtils.getDefaultValue(component, this.get()));
+        default <N extends Record> @NotNull DefaultRecordSupplier<N> defaultRecord(@NotNull RecordDescriptor.Component component) {
+            return new CachingDefaultRecordSupplier<>(() -> (N) component.defaultValue(this.get()));
         }
     }
 
@@ -16,7 +16,6 @@
 
 package dev.siroshun.configapi.core.serialization.record;
 
-import dev.siroshun.configapi.core.comment.SimpleComment;
 import dev.siroshun.configapi.core.node.BooleanArray;
 import dev.siroshun.configapi.core.node.BooleanValue;
 import dev.siroshun.configapi.core.node.ByteArray;
@@ -37,17 +36,18 @@ import dev.siroshun.configapi.core.node.ShortArray;
 import dev.siroshun.configapi.core.node.StringValue;
 import dev.siroshun.configapi.core.serialization.SerializationException;
 import dev.siroshun.configapi.core.serialization.Serializer;
-import dev.siroshun.configapi.core.serialization.annotation.Comment;
-import dev.siroshun.configapi.core.serialization.annotation.Inline;
 import dev.siroshun.configapi.core.serialization.key.KeyGenerator;
 import dev.siroshun.configapi.core.serialization.registry.SerializerRegistry;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link Serializer} implementation for serializing {@link Record} object to {@link MapNode}.
@@ -99,10 +99,13 @@ public final class RecordSerializer<R extends Record> implements Serializer<R, M
 
     private final SerializerRegistry<Node<?>> serializerRegistry;
     private final KeyGenerator keyGenerator;
+    private final Map<Class<?>, String[]> keyCache = new ConcurrentHashMap<>();
+    private final @Nullable Map<Class<?>, Optional<GeneratedRecordSerialization<?>>> generatedCache;
 
     RecordSerializer(@NotNull SerializerRegistry<Node<?>> serializerRegistry, @NotNull KeyGenerator keyGenerator) {
         this.serializerRegistry = serializerRegistry;
         this.keyGenerator = keyGenerator;
+        this.generatedCache = serializerRegistry == SerializerRegistry.<Node<?>>empty() ? new ConcurrentHashMap<>() : null;
     }
 
     /**
@@ -132,46 +135,85 @@ public final class RecordSerializer<R extends Record> implements Serializer<R, M
         return mapNode;
     }
 
-    private void serializeRecord(@NotNull Record record, @NotNull MapNode target) {
-        var components = record.getClass().getRecordComponents();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void serializeRecord(@NotNull Record record, @NotNull MapNode target) {
+        if (this.generatedCache != null) {
+            GeneratedRecordSerialization generated = this.getGenerated(record.getClass());
+
+            if (generated != null) {
+                generated.serialize(record, target);
+                return;
+            }
+        }
+
+        var components = RecordDescriptor.of(record.getClass()).components();
+        var keys = this.getKeys(record.getClass(), components);
 
-        for (var component : components) {
-            var value = RecordUtils.getValue(component, record);
+        for (int i = 0; i < components.length; i++) {
+            var component = components[i];
+            var value = component.value(record);
 
             if (value == null) {
                 continue;
             }
 
-            var commentAnnotation = component.getDeclaredAnnotation(Comment.class);
-            var comment = commentAnnotation != null ? SimpleComment.create(commentAnnotation.value(), commentAnnotation.type()) : null;
+            var comment = component.comment();
 
-            if (component.getType().isRecord()) {
-                if (component.isAnnotationPresent(Inline.class)) {
+            if (component.type().isRecord()) {
+                if (component.inline()) {
                     this.serializeRecord((Record) value, target);
                 } else {
                     var mapNode = MapNode.create();
                     mapNode.setComment(comment);
                     this.serializeRecord((Record) value, mapNode);
-                    target.set(RecordUtils.getKey(component, this.keyGenerator), mapNode);
+                    target.set(keys[i], mapNode);
                 }
             } else {
                 var serialized = this.serializeValue(value);
 
                 if (serialized != null && serialized != NullNode.NULL) {
-                    target.set(RecordUtils.getKey(component, this.keyGenerator), comment != null ? CommentableNode.withComment(serialized, comment) : serialized);
+                    target.set(keys[i], comment != null ? CommentableNode.withComment(serialized, comment) : serialized);
                 }
             }
         }
     }
 
+    private @NotNull String @NotNull [] getKeys(@NotNull Class<? extends Record> clazz, @NotNull RecordDescriptor.Component @NotNull [] components) {
+        var keys = this.keyCache.get(clazz);
+
+        if (keys == null) {
+            var generated = new String[components.length];
+
+            for (int i = 0; i < components.length; i++) {
+                generated[i] = components[i].key(this.keyGenerator);
+            }
+
+            var previous = this.keyCache.putIfAbsent(clazz, generated);
+            keys = previous != null ? previous : generated;
+        }
+
+        return keys;
+    }
+
+    private @Nullable GeneratedRecordSerialization<?> getGenerated(@NotNull Class<? extends Record> clazz) {
+        var generated = this.generatedCache.get(clazz);
+
+        if (generated == null) {
+            generated = Optional.ofNullable(GeneratedSerializations.create(clazz, this.keyGenerator));
+            this.generatedCache.putIfAbsent(clazz, generated);
+        }
+
+        return generated.orElse(null);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private Node<?> serializeValue(@NotNull Object obj) {
+    @Nullable Node<?> serializeValue(@NotNull Object obj) {
         var clazz = obj.getClass();
 
         if (clazz == Boolean.class) {
             return BooleanValue.fromBoolean((Boolean) obj);
         } else if (clazz == Character.class) {
-            return new CharValue((Character) obj);
+            return CharValue.fromChar((Character) obj);
         } else if (clazz == String.class) {
             return StringValue.fromString((String) obj);
         } else if (Number.class.isAssignableFrom(clazz)) {
@@ -32,11 +32,8 @@ import dev.siroshun.configapi.core.serialization.annotation.DefaultNull;
 import dev.siroshun.configapi.core.serialization.annotation.DefaultShort;
 import dev.siroshun.configapi.core.serialization.annotation.DefaultString;
 import dev.siroshun.configapi.core.serialization.annotation.MapType;
-import dev.siroshun.configapi.core.serialization.key.Key;
-import dev.siroshun.configapi.core.serialization.key.KeyGenerator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.annotations.UnknownNullability;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
@@ -48,56 +45,42 @@ import java.util.Map;
 
 final class RecordUtils {
 
-    static @NotNull String getKey(@NotNull RecordComponent component, @NotNull KeyGenerator keyGenerator) {
-        var annotation = component.getDeclaredAnnotation(Key.class);
-
-        if (annotation != null && !annotation.value().isEmpty()) {
-            return annotation.value();
-        } else {
-            return keyGenerator.generate(component.getName());
-        }
-    }
-
-    static @UnknownNullability Object getValue(@NotNull RecordComponent component, @NotNull Record record) {
-        try {
-            var accessor = component.getAccessor();
-            accessor.setAccessible(true);
-            return accessor.invoke(record);
-        } catch (IllegalAccessException | InvocationTargetException cause) {
-            throw new SerializationException(
-                    "Failed to get the value (" + record.getClass().getName() + "#" + component.getName() + ")",
-                    cause
-            );
-        }
-    }
-
-    static @Nullable Object getDefaultValue(@NotNull RecordComponent component, @Nullable Record defaultRecord) {
-        if (defaultRecord != null) {
-            return RecordUtils.getValue(component, defaultRecord);
-        }
-
+    static @NotNull DefaultValueFactory createDefaultValueFactory(@NotNull RecordComponent component) {
+        var type = component.getType();
         var byFieldAnnotation = component.getDeclaredAnnotation(DefaultField.class);
 
         if (byFieldAnnotation != null) {
-            return getDefaultObjectFromField(component.getType(), byFieldAnnotation);
+            return getDefaultObjectFromField(type, byFieldAnnotation);
         }
 
         var byMethodAnnotation = component.getDeclaredAnnotation(DefaultMethod.class);
 
         if (byMethodAnnotation != null) {
-            return getDefaultObjectFromMethod(component.getType(), byMethodAnnotation);
+            return getDefaultObjectFromMethod(type, byMethodAnnotation);
         }
 
-        var byAnnotation = getDefaultValueByAnnotation(component.getType(), component);
+        if (type == Map.class) {
+            return createDefaultMap(component);
+        }
+
+        var byAnnotation = getDefaultValueByAnnotation(type, component);
 
         if (byAnnotation != null) {
-            return byAnnotation;
+            return () -> byAnnotation;
+        }
+
+        boolean defaultNull = component.isAnnotationPresent(DefaultNull.class);
+
+        if (!defaultNull && (type.isArray() || type.isRecord())) {
+            // Arrays and records may be mutable or contain mutable values, so create them each time.
+            return () -> createDefaultValue(type, false);
         }
 
-        return createDefaultValue(component.getType(), component.isAnnotationPresent(DefaultNull.class));
+        var defaultValue = createDefaultValue(type, defaultNull);
+        return () -> defaultValue;
     }
 
-    private static @Nullable Object getDefaultObjectFromField(@NotNull Class<?> clazz, @NotNull DefaultField annotation) {
+    private static @NotNull DefaultValueFactory getDefaultObjectFromField(@NotNull Class<?> clazz, @NotNull DefaultField annotation) {
         Field field;
 
         try {
@@ -107,22 +90,25 @@ final class RecordUtils {
         }
 
         field.setAccessible(true);
-        Object object;
-
-        try {
-            object = field.get(null);
-        } catch (IllegalAccessException e) {
-            throw new SerializationException(e);
-        }
 
-        if (object == null || clazz.isInstance(object)) {
-            return object;
-        } else {
-            throw new SerializationException("Type mismatch of @DefaultField: expected " + clazz + " but got " + object.getClass());
-        }
+        return () -> {
+            Object object;
+
+            try {
+                object = field.get(null);
+            } catch (IllegalAccessException e) {
+                throw new SerializationException(e);
+            }
+
+            if (object == null || clazz.isInstance(object)) {
+                return object;
+            } else {
+                throw new SerializationException("Type mismatch of @DefaultField: expected " + clazz + " but got " + object.getClass());
+            }
+        };
     }
 
-    private static @Nullable Object getDefaultObjectFromMethod(@NotNull Class<?> clazz, @NotNull DefaultMethod annotation) {
+    private static @NotNull DefaultValueFactory getDefaultObjectFromMethod(@NotNull Class<?> clazz, @NotNull DefaultMethod annotation) {
         Method method;
 
         try {
@@ -132,19 +118,22 @@ final class RecordUtils {
         }
 
         method.setAccessible(true);
-        Object object;
-
-        try {
-            object = method.invoke(null);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new SerializationException(e);
-        }
 
-        if (object == null || clazz.isInstance(object)) {
-            return object;
-        } else {
-            throw new SerializationException("Type mismatch of @DefaultMethod: expected " + clazz + " but got " + object.getClass());
-        }
+        return () -> {
+            Object object;
+
+            try {
+                object = method.invoke(null);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new SerializationException(e);
+            }
+
+            if (object == null || clazz.isInstance(object)) {
+                return object;
+            } else {
+                throw new SerializationException("Type mismatch of @DefaultMethod: expected " + clazz + " but got " + object.getClass());
+            }
+        };
     }
 
     private static Object getDefaultValueByAnnotation(@NotNull Class<?> clazz, @NotNull RecordComponent component) {
@@ -178,8 +167,6 @@ final class RecordUtils {
         } else if (Enum.class.isAssignableFrom(clazz)) {
             var annotation = component.getDeclaredAnnotation(DefaultEnum.class);
             return annotation != null ? Enum.valueOf(clazz.asSubclass(Enum.class), annotation.value()) : null;
-        } else if (clazz == Map.class) {
-            return createDefaultMap(component);
         } else {
             return null;
         }
@@ -233,45 +220,32 @@ final class RecordUtils {
         }
     }
 
-    private static Object createDefaultMap(@NotNull RecordComponent component) {
+    private static @NotNull DefaultValueFactory createDefaultMap(@NotNull RecordComponent component) {
         if (component.isAnnotationPresent(DefaultNull.class)) {
-            return null;
+            return () -> null;
         }
 
         var mapType = component.getDeclaredAnnotation(MapType.class);
         var defaultMapKey = component.getDeclaredAnnotation(DefaultMapKey.class);
 
         if (mapType == null || mapType.key() != String.class || defaultMapKey == null) {
-            return Collections.emptyMap();
+            return Collections::emptyMap;
         }
 
-        var defaultValue = createDefaultValue(mapType.value(), false);
-        return defaultValue != null ? Map.of(defaultMapKey.value(), defaultValue) : Collections.emptyMap();
+        return () -> {
+            var defaultValue = createDefaultValue(mapType.value(), false);
+            return defaultValue != null ? Map.of(defaultMapKey.value(), defaultValue) : Collections.emptyMap();
+        };
     }
 
     static @NotNull Record createDefaultRecord(@NotNull Class<?> clazz) {
-        var components = clazz.getRecordComponents();
-        var types = new Class<?>[components.length];
-        var args = new Object[components.length];
-
-        for (int i = 0; i < components.length; i++) {
-            var component = components[i];
-            types[i] = component.getType();
-            args[i] = getDefaultValue(component, null);
-        }
-
-        return createRecord(clazz.asSubclass(Record.class), types, args);
+        return RecordDescriptor.of(clazz.asSubclass(Record.class)).newDefaultInstance();
     }
 
-    static <R> @NotNull R createRecord(@NotNull Class<R> clazz, @NotNull Class<?> @NotNull [] types, Object @NotNull [] args) {
-        try {
-            var constructor = clazz.getDeclaredConstructor(types);
-            constructor.setAccessible(true);
-            return constructor.newInstance(args);
-        } catch (NoSuchMethodException e) {
-            throw new SerializationException(e);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            throw new SerializationException("Could not create " + clazz.getName() + " instance.", e);
-        }
+    @FunctionalInterface
+    interface DefaultValueFactory {
+
+        @Nullable Object create();
+
     }
 }
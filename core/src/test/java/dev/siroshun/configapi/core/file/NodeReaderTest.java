@@ -0,0 +1,277 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.file;
+
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
+import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.StringValue;
+import dev.siroshun.configapi.test.shared.util.NodeAssertion;
+import dev.siroshun.configapi.test.shared.util.NodeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static dev.siroshun.configapi.core.file.NodeReader.Event.END_DOCUMENT;
+import static dev.siroshun.configapi.core.file.NodeReader.Event.END_LIST;
+import static dev.siroshun.configapi.core.file.NodeReader.Event.END_MAP;
+import static dev.siroshun.configapi.core.file.NodeReader.Event.KEY;
+import static dev.siroshun.configapi.core.file.NodeReader.Event.START_LIST;
+import static dev.siroshun.configapi.core.file.NodeReader.Event.START_MAP;
+import static dev.siroshun.configapi.core.file.NodeReader.Event.VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NodeReaderTest {
+
+    @Test
+    void testEvents() throws IOException {
+        var events = new ArrayList<Object>();
+
+        try (var reader = NodeReader.of(NodeFactory.nestedMapNode())) {
+            assertThrows(IllegalStateException.class, reader::event);
+
+            NodeReader.Event event;
+            while ((event = reader.next()) != END_DOCUMENT) {
+                events.add(event);
+                if (event == KEY) {
+                    events.add(reader.key());
+                } else if (event == VALUE) {
+                    events.add(reader.value().value());
+                }
+            }
+
+            assertEquals(0, reader.depth());
+            assertEquals(END_DOCUMENT, reader.next());
+        }
+
+        assertEquals(List.of(
+                START_MAP,
+                KEY, "a", VALUE, "b",
+                KEY, "list", START_LIST, VALUE, 1, START_MAP, KEY, "c", VALUE, true, END_MAP, START_LIST, END_LIST, END_LIST,
+                KEY, "commented", VALUE, "value",
+                KEY, "map", START_MAP, KEY, "d", VALUE, 2.5, END_MAP,
+                END_MAP
+        ), events);
+    }
+
+    @Test
+    void testAccessors() throws IOException {
+        try (var reader = NodeReader.of(NodeFactory.nestedMapNode())) {
+            assertEquals(START_MAP, reader.next());
+            assertEquals(1, reader.depth());
+            assertThrows(IllegalStateException.class, reader::key);
+            assertThrows(IllegalStateException.class, reader::value);
+
+            assertEquals(KEY, reader.next());
+            assertThrows(IllegalStateException.class, reader::value);
+            assertEquals(VALUE, reader.next());
+            assertThrows(IllegalStateException.class, reader::key);
+            assertEquals(VALUE, reader.event());
+        }
+    }
+
+    @Test
+    void testSkipChildren() throws IOException {
+        try (var reader = NodeReader.of(NodeFactory.nestedMapNode())) {
+            reader.next();
+            reader.next();
+            reader.next();
+            reader.skipChildren(); // not a map or a list
+            assertEquals(VALUE, reader.event());
+
+            assertEquals(KEY, reader.next());
+            assertEquals(START_LIST, reader.next());
+            reader.skipChildren();
+            assertEquals(END_LIST, reader.event());
+            assertEquals(1, reader.depth());
+
+            assertEquals(KEY, reader.next());
+            assertEquals("commented", reader.key());
+        }
+    }
+
+    @Test
+    void testDefaultSkipChildren() throws IOException {
+        try (var reader = new EventOnlyReader(NodeReader.of(NodeFactory.nestedMapNode()))) {
+            reader.next();
+            reader.skipChildren();
+            assertEquals(END_MAP, reader.event());
+            assertEquals(END_DOCUMENT, reader.next());
+        }
+    }
+
+    @Test
+    void testReadNode() throws IOException {
+        var mapNode = NodeFactory.nestedMapNode();
+
+        try (var reader = NodeReader.of(mapNode)) {
+            assertThrows(IllegalStateException.class, reader::readNode);
+            reader.next();
+            NodeAssertion.assertEqualsIgnoringComments(mapNode, reader.readNode());
+            assertEquals(END_DOCUMENT, reader.next());
+            assertThrows(IllegalStateException.class, reader::readNode);
+        }
+
+        try (var reader = new EventOnlyReader(NodeReader.of(mapNode))) {
+            reader.next();
+            reader.next();
+            reader.next();
+            assertEquals(StringValue.fromString("b"), reader.readNode());
+            reader.next();
+            reader.next();
+            NodeAssertion.assertEquals(mapNode.getList("list"), reader.readNode());
+        }
+    }
+
+    @Test
+    void testReadValue() throws IOException {
+        try (var reader = NodeReader.of(NullNode.NULL)) {
+            assertEquals(VALUE, reader.next());
+            assertSame(NullNode.NULL, reader.readNode());
+            assertEquals(0, reader.depth());
+            assertEquals(END_DOCUMENT, reader.next());
+        }
+    }
+
+    @Test
+    void testDefaultFileFormatReader() throws IOException {
+        var format = new FileFormat<MapNode>() {
+            @Override
+            public MapNode load(Reader reader) {
+                return NodeFactory.nestedMapNode();
+            }
+
+            @Override
+            public void save(MapNode node, Writer writer) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        var source = new StringReader("");
+
+        try (var reader = format.reader(source)) {
+            reader.next();
+            NodeAssertion.assertEqualsIgnoringComments(NodeFactory.nestedMapNode(), reader.readNode());
+        }
+
+        assertThrows(IOException.class, source::read); // closed
+    }
+
+    @Test
+    void testReadNodeWithPaths() throws IOException {
+        try (var reader = NodeReader.of(NodeFactory.nestedMapNode())) {
+            reader.next();
+            var node = reader.readNode(Set.of(NodePath.parse("a"), NodePath.parse("list[1].c"), NodePath.parse("map.missing"), NodePath.parse("a.b")));
+            assertEquals(END_DOCUMENT, reader.next());
+
+            var expected = MapNode.create();
+            expected.set("a", "b");
+            var list = expected.createList("list");
+            list.add(NullNode.NULL);
+            list.addMap().set("c", true);
+
+            NodeAssertion.assertEquals(expected, node);
+        }
+
+        try (var reader = NodeReader.of(NodeFactory.nestedMapNode())) {
+            reader.next();
+            NodeAssertion.assertEqualsIgnoringComments(NodeFactory.nestedMapNode(), reader.readNode(Set.of(NodePath.root(), NodePath.parse("a"))));
+        }
+
+        try (var reader = NodeReader.of(NodeFactory.nestedMapNode())) {
+            reader.next();
+            NodeAssertion.assertEquals(MapNode.create(), reader.readNode(Set.of()));
+            assertEquals(END_DOCUMENT, reader.next());
+        }
+
+        try (var reader = NodeReader.of(NodeFactory.nestedMapNode().getList("list"))) {
+            reader.next();
+            var expected = ListNode.create();
+            expected.add(1);
+            NodeAssertion.assertEquals(expected, reader.readNode(Set.of(NodePath.root().index(0), NodePath.root().index(5))));
+        }
+
+        try (var reader = NodeReader.of(StringValue.fromString("value"))) {
+            reader.next();
+            assertEquals(StringValue.fromString("value"), reader.readNode(Set.of(NodePath.parse("a"))));
+        }
+    }
+
+    @Test
+    void testDefaultFileFormatProjectedLoad() throws IOException {
+        var format = new FileFormat<MapNode>() {
+            @Override
+            public MapNode load(Reader reader) {
+                return NodeFactory.nestedMapNode();
+            }
+
+            @Override
+            public void save(MapNode node, Writer writer) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        var expected = MapNode.create();
+        expected.createMap("map").set("d", 2.5);
+
+        NodeAssertion.assertEquals(expected, format.load(new StringReader(""), Set.of(NodePath.parse("map.d"))));
+    }
+
+    // A NodeReader that uses the default implementations of skipChildren and readNode
+    private record EventOnlyReader(NodeReader delegate) implements NodeReader {
+
+        @Override
+        public Event next() throws IOException {
+            return this.delegate.next();
+        }
+
+        @Override
+        public Event event() {
+            return this.delegate.event();
+        }
+
+        @Override
+        public Object key() {
+            return this.delegate.key();
+        }
+
+        @Override
+        public Node<?> value() {
+            return this.delegate.value();
+        }
+
+        @Override
+        public int depth() {
+            return this.delegate.depth();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.delegate.close();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.file;
+
+import dev.siroshun.configapi.core.comment.SimpleComment;
+import dev.siroshun.configapi.core.node.CommentableNode;
+import dev.siroshun.configapi.core.node.IntArray;
+import dev.siroshun.configapi.core.node.IntValue;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.StringValue;
+import dev.siroshun.configapi.test.shared.util.NodeAssertion;
+import dev.siroshun.configapi.test.shared.util.NodeFactory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NodeWriterTest {
+
+    @Test
+    void testVisitor() throws IOException {
+        var writer = new RecordingWriter();
+        writer.writeNode(NodeFactory.nestedMapNode());
+
+        assertEquals(List.of(
+                "beginMap(4)",
+                "key(a)", "b",
+                "key(list)", "beginList(3)", 1, "beginMap(1)", "key(c)", true, "endMap", "beginList(0)", "endList", "endList",
+                "key(commented)", "value",
+                "key(map)", "beginMap(1)", "key(d)", 2.5, "endMap",
+                "endMap"
+        ), writer.events);
+    }
+
+    @Test
+    void testWriteValue() throws IOException {
+        var writer = new RecordingWriter();
+        var array = new IntArray(new int[]{1, 2});
+
+        writer.writeNode(StringValue.fromString("a"));
+        writer.writeNode(CommentableNode.withComment(IntValue.fromInt(1), SimpleComment.create("comment")));
+        writer.writeNode(array);
+
+        assertEquals(List.of("a", 1, array.value()), writer.events);
+    }
+
+    @Test
+    void testRethrowIOException() {
+        var writer = new RecordingWriter() {
+            @Override
+            public @NotNull NodeWriter key(@NotNull Object key) throws IOException {
+                throw new IOException("test");
+            }
+        };
+
+        var exception = assertThrows(IOException.class, () -> writer.writeNode(NodeFactory.nestedMapNode()));
+        assertEquals("test", exception.getMessage());
+    }
+
+    @Test
+    void testDefaultFileFormatWriter() throws IOException {
+        var format = new SavingFormat();
+        var output = new StringWriter();
+
+        try (var writer = format.writer(output)) {
+            writer.beginMap().key("a").value(StringValue.fromString("b"))
+                    .key("list").beginList(2).value(IntValue.fromInt(1)).beginMap().key("c").value(IntValue.fromInt(2)).endMap().endList()
+                    .key("map").writeNode(NodeFactory.nestedMapNode())
+                    .endMap();
+            assertNull(format.saved); // saved when closing
+        }
+
+        var expected = MapNode.create();
+        expected.set("a", "b");
+        var list = expected.createList("list");
+        list.add(1);
+        list.addMap().set("c", 2);
+        expected.set("map", NodeFactory.nestedMapNode());
+
+        NodeAssertion.assertEqualsIgnoringComments(expected, format.saved);
+        assertSame(output, format.savedTo);
+    }
+
+    @Test
+    void testDefaultFileFormatWriterInvalidUsage() throws IOException {
+        var format = new SavingFormat();
+
+        try (var writer = format.writer(new StringWriter())) {
+            assertThrows(IllegalStateException.class, () -> writer.key("a"));
+            assertThrows(IllegalStateException.class, writer::endMap);
+            assertThrows(IllegalStateException.class, writer::endList);
+
+            writer.beginMap();
+            assertThrows(IllegalStateException.class, () -> writer.value(StringValue.fromString("a")));
+            assertThrows(IllegalStateException.class, writer::endList);
+            writer.key("a");
+            assertThrows(IllegalStateException.class, () -> writer.key("b"));
+            assertThrows(IllegalStateException.class, writer::endMap);
+            writer.value(StringValue.fromString("b"));
+            writer.endMap();
+
+            assertThrows(IllegalStateException.class, writer::beginMap);
+        }
+
+        assertThrows(IOException.class, () -> {
+            try (var writer = format.writer(new StringWriter())) {
+                writer.beginMap();
+            }
+        });
+    }
+
+    private static class RecordingWriter implements NodeWriter {
+
+        private final List<Object> events = new ArrayList<>();
+
+        @Override
+        public @NotNull NodeWriter beginMap(int size) {
+            this.events.add("beginMap(" + size + ")");
+            return this;
+        }
+
+        @Override
+        public @NotNull NodeWriter key(@NotNull Object key) throws IOException {
+            this.events.add("key(" + key + ")");
+            return this;
+        }
+
+        @Override
+        public @NotNull NodeWriter endMap() {
+            this.events.add("endMap");
+            return this;
+        }
+
+        @Override
+        public @NotNull NodeWriter beginList(int size) {
+            this.events.add("beginList(" + size + ")");
+            return this;
+        }
+
+        @Override
+        public @NotNull NodeWriter endList() {
+            this.events.add("endList");
+            return this;
+        }
+
+        @Override
+        public @NotNull NodeWriter value(@NotNull Node<?> node) {
+            this.events.add(node.value());
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class SavingFormat implements FileFormat<MapNode> {
+
+        private MapNode saved;
+        private Writer savedTo;
+
+        @Override
+        public @NotNull MapNode load(@NotNull Reader reader) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void save(@NotNull MapNode node, @NotNull Writer writer) {
+            this.saved = node;
+            this.savedTo = writer;
+        }
+    }
+}
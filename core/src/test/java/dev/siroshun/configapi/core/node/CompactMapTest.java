@@ -0,0 +1,177 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactMapTest {
+
+    @Test
+    void testPutAndRemove() {
+        var map = new CompactMap<String, Integer>();
+        var expected = new LinkedHashMap<String, Integer>();
+
+        for (int i = 0; i < CompactMap.THRESHOLD * 2; i++) {
+            assertNull(map.put("key-" + i, i));
+            expected.put("key-" + i, i);
+            assertMapEquals(expected, map);
+        }
+
+        assertEquals(0, map.put("key-0", 100));
+        expected.put("key-0", 100);
+        assertMapEquals(expected, map);
+
+        for (int i = CompactMap.THRESHOLD * 2 - 1; 0 <= i; i -= 2) {
+            assertEquals(expected.remove("key-" + i), map.remove("key-" + i));
+            assertMapEquals(expected, map);
+        }
+
+        assertNull(map.remove("unknown"));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertMapEquals(Map.of(), map);
+    }
+
+    @Test
+    void testSmallMap() {
+        var map = new CompactMap<String, Integer>(2);
+        map.put("c", 3);
+        map.put("a", 1);
+        map.put("b", 2);
+
+        assertEquals(List.of("c", "a", "b"), new ArrayList<>(map.keySet()));
+        assertEquals(List.of(3, 1, 2), new ArrayList<>(map.values()));
+        assertTrue(map.containsKey("a"));
+        assertFalse(map.containsKey("d"));
+        assertTrue(map.containsValue(2));
+        assertFalse(map.containsValue(4));
+        assertEquals(1, map.getOrDefault("a", 0));
+        assertEquals(0, map.getOrDefault("d", 0));
+
+        assertEquals(2, map.remove("b"));
+        map.put("b", 4);
+        assertEquals(List.of("c", "a", "b"), new ArrayList<>(map.keySet()));
+
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(NullPointerException.class, () -> map.put("d", null));
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        var map = new CompactMap<String, Integer>();
+        var expected = new LinkedHashMap<String, Integer>();
+
+        for (int i = 0; i < CompactMap.THRESHOLD + 1; i++) {
+            assertEquals(expected, map);
+            assertEquals(map, expected);
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals(expected.toString(), map.toString());
+
+            map.put("key-" + i, i);
+            expected.put("key-" + i, i);
+        }
+    }
+
+    @Test
+    void testIterator() {
+        var map = new CompactMap<String, Integer>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        var iterator = map.entrySet().iterator();
+        var entry = iterator.next();
+        assertEquals(Map.entry("a", 1), entry);
+        assertEquals(1, entry.setValue(10));
+        assertEquals(10, map.get("a"));
+
+        assertEquals(Map.entry("b", 2), iterator.next());
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+
+        assertEquals(Map.entry("c", 3), iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(Map.of("a", 10, "c", 3), map);
+
+        map.values().removeIf(value -> value == 3);
+        assertEquals(Map.of("a", 10), map);
+    }
+
+    @Test
+    void testConcurrentModification() {
+        var map = new CompactMap<String, Integer>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        var iterator = map.keySet().iterator();
+        iterator.next();
+        map.put("c", 3);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+    }
+
+    @Test
+    void testViewAfterGrowing() {
+        var map = new CompactMap<String, Integer>();
+        var view = Collections.unmodifiableMap(map);
+        var entrySet = view.entrySet();
+
+        map.put("key-0", 0);
+        assertEquals(1, entrySet.size());
+
+        for (int i = 1; i < CompactMap.THRESHOLD * 2; i++) {
+            map.put("key-" + i, i);
+        }
+
+        assertEquals(CompactMap.THRESHOLD * 2, entrySet.size());
+        assertEquals(CompactMap.THRESHOLD * 2, view.keySet().size());
+
+        int expected = 0;
+        for (var entry : entrySet) {
+            assertEquals(Map.entry("key-" + expected, expected), entry);
+            expected++;
+        }
+        assertEquals(CompactMap.THRESHOLD * 2, expected);
+    }
+
+    private static void assertMapEquals(Map<String, Integer> expected, Map<String, Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+
+        var forEach = new ArrayList<Map.Entry<String, Integer>>();
+        actual.forEach((key, value) -> forEach.add(Map.entry(key, value)));
+        assertEquals(new ArrayList<>(expected.entrySet()), forEach);
+
+        for (var entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+}
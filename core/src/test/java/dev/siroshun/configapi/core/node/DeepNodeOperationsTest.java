@@ -0,0 +1,215 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.SimpleComment;
+import dev.siroshun.configapi.test.shared.util.NodeAssertion;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeepNodeOperationsTest {
+
+    private static final SimpleComment COMMENT = SimpleComment.create("test");
+
+    @ParameterizedTest
+    @MethodSource("trees")
+    void testDeepCopy(@NotNull MapNode tree) {
+        var copied = tree.deepCopy();
+
+        assertNotSame(tree, copied);
+        NodeAssertion.assertEquals(tree.copy(), copied);
+        assertTrue(tree.deepEquals(copied));
+        assertTrue(copied.deepEquals(tree));
+        assertEquals(tree.deepHashCode(), copied.deepHashCode());
+
+        mapAt(copied, 0).set("added", true);
+        assertFalse(tree.deepEquals(copied));
+        assertFalse(mapAt(tree, 0).containsKey("added"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("trees")
+    void testDeepCopyWithPool(@NotNull MapNode tree) {
+        var pool = new ForkJoinPool(4);
+
+        try {
+            var copied = tree.deepCopy(pool);
+            NodeAssertion.assertEquals(tree.copy(), copied);
+
+            var copiedList = tree.getList("list").deepCopy(pool);
+            NodeAssertion.assertEquals(tree.getList("list").copy(), copiedList);
+            assertTrue(copiedList.deepEquals(tree.getList("list")));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("trees")
+    void testDeepEquals(@NotNull MapNode tree) {
+        assertTrue(tree.deepEquals(tree));
+        assertTrue(tree.deepEquals(PersistentMapNode.copyOf(tree)));
+        assertTrue(tree.deepEquals(tree.toFrozen()));
+        assertFalse(tree.deepEquals(null));
+        assertFalse(tree.deepEquals(tree.getList("list")));
+
+        assertEquals(tree.deepHashCode(), PersistentMapNode.copyOf(tree).deepHashCode());
+        assertEquals(tree.deepHashCode(), tree.toFrozen().deepHashCode());
+
+        var changedValue = tree.copy();
+        mapAt(changedValue, changedValue.getList("list").size() - 1).set("value", "changed");
+        assertFalse(tree.deepEquals(changedValue));
+        assertNotEquals(tree.deepHashCode(), changedValue.deepHashCode());
+
+        var changedComment = tree.copy();
+        mapAt(changedComment, 0).setComment(COMMENT);
+        assertFalse(tree.deepEquals(changedComment));
+        assertNotEquals(tree.deepHashCode(), changedComment.deepHashCode());
+
+        var removedKey = tree.copy();
+        removedKey.remove("commented");
+        removedKey.set("other", "value");
+        assertFalse(tree.deepEquals(removedKey));
+    }
+
+    @Test
+    void testEntryOrder() {
+        var a = MapNode.create();
+        a.set("a", 1);
+        a.set("b", 2);
+
+        var b = MapNode.create();
+        b.set("b", 2);
+        b.set("a", 1);
+
+        assertTrue(a.deepEquals(b));
+        assertEquals(a.deepHashCode(), b.deepHashCode());
+
+        var listA = ListNode.create(List.of(1, 2));
+        var listB = ListNode.create(List.of(2, 1));
+        assertFalse(listA.deepEquals(listB));
+    }
+
+    @Test
+    void testNumbers() {
+        assertNumberEquals(true, IntValue.fromInt(1), LongValue.fromLong(1));
+        assertNumberEquals(true, IntValue.fromInt(1), new DoubleValue(1.0));
+        assertNumberEquals(true, ByteValue.fromByte((byte) 1), new FloatValue(1.0f));
+        assertNumberEquals(true, new FloatValue(1.5f), new DoubleValue(1.5));
+        assertNumberEquals(false, IntValue.fromInt(1), new DoubleValue(1.5));
+        assertNumberEquals(false, LongValue.fromLong((1L << 53) + 1), new DoubleValue(0x1p53));
+        assertNumberEquals(false, new FloatValue(0.1f), new DoubleValue(0.1));
+        assertNumberEquals(false, IntValue.fromInt(1), StringValue.fromString("1"));
+    }
+
+    @Test
+    void testSignedZeros() {
+        assertNumberEquals(true, IntValue.fromInt(0), new DoubleValue(0.0));
+        assertNumberEquals(true, IntValue.fromInt(0), new DoubleValue(-0.0));
+        assertNumberEquals(true, new DoubleValue(0.0), new DoubleValue(-0.0));
+        assertNumberEquals(true, new FloatValue(-0.0f), new DoubleValue(0.0));
+        assertNumberEquals(true, new DoubleValue(Double.NaN), new DoubleValue(Double.NaN));
+    }
+
+    private static void assertNumberEquals(boolean expected, @NotNull Node<?> a, @NotNull Node<?> b) {
+        var mapA = MapNode.create();
+        mapA.set("number", a);
+
+        var mapB = MapNode.create();
+        mapB.set("number", b);
+
+        assertEquals(expected, mapA.deepEquals(mapB));
+        assertEquals(expected, mapB.deepEquals(mapA));
+
+        if (expected) {
+            assertEquals(mapA.deepHashCode(), mapB.deepHashCode());
+        }
+    }
+
+    @Test
+    void testImmutableNodes() {
+        var frozen = createTree(10).toFrozen();
+        var copied = frozen.deepCopy();
+
+        assertFalse(copied instanceof ImmutableNode);
+        NodeAssertion.assertEquals(frozen.copy(), copied);
+
+        var persistentChild = PersistentMapNode.copyOf(createTree(DeepNodeOperations.SEQUENTIAL_THRESHOLD));
+        var tree = MapNode.create();
+        tree.set("persistent", persistentChild);
+        tree.set("mutable", createTree(DeepNodeOperations.SEQUENTIAL_THRESHOLD));
+
+        var copiedTree = tree.deepCopy();
+        assertSame(persistentChild, copiedTree.get("persistent"));
+        assertNotSame(tree.get("mutable"), copiedTree.get("mutable"));
+        assertTrue(tree.deepEquals(copiedTree));
+    }
+
+    private static @NotNull MapNode mapAt(@NotNull MapNode tree, int index) {
+        return (MapNode) tree.getList("list").get(index);
+    }
+
+    private static @NotNull Stream<MapNode> trees() {
+        return Stream.of(
+            createTree(10),
+            createTree(DeepNodeOperations.SEQUENTIAL_THRESHOLD / 4),
+            createTree(DeepNodeOperations.SEQUENTIAL_THRESHOLD * 4)
+        );
+    }
+
+    private static @NotNull MapNode createTree(int size) {
+        var root = MapNode.create();
+        root.setComment(COMMENT);
+
+        var list = root.createList("list");
+
+        for (int i = 0; i < size; i++) {
+            var map = list.addMap();
+            map.set("value", i);
+            map.set("string", "value-" + i);
+
+            if (i % 100 == 0) {
+                map.set("nested", ListNode.create(List.of(i, i + 0.5, "nested")));
+            }
+        }
+
+        root.set("commented", CommentableNode.withComment(createNested(), COMMENT));
+        root.set("frozen", createNested().toFrozen());
+        root.set("array", new IntArray(new int[]{1, 2, 3}));
+        return root;
+    }
+
+    private static @NotNull MapNode createNested() {
+        var nested = MapNode.create();
+        nested.set("a", 1);
+        nested.createMap("b").set("c", List.of("d", "e"));
+        return nested;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.SimpleComment;
+import dev.siroshun.configapi.core.node.visitor.StringNodeVisitor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrozenNodeTest {
+
+    private static final SimpleComment COMMENT = SimpleComment.create("test");
+
+    @Test
+    void testToFrozen() {
+        var mapNode = createMapNode();
+        var frozen = mapNode.toFrozen();
+
+        assertEquals(mapNode.size(), frozen.size());
+        assertEquals(List.copyOf(mapNode.value().keySet()), List.copyOf(frozen.value().keySet()));
+        assertEquals("value", frozen.getString("string"));
+        assertEquals(100, frozen.getInteger("int"));
+        assertTrue(frozen.getBoolean("bool"));
+        assertEquals(NullNode.NULL, frozen.get("unknown"));
+        assertSame(COMMENT, frozen.getComment());
+        assertSame(COMMENT, assertInstanceOf(CommentedNode.class, frozen.get("commented")).getComment());
+
+        var child = frozen.getMap("map");
+        assertEquals("nested", child.getString("key"));
+        assertSame(child, child.toFrozen());
+
+        var list = frozen.getList("list");
+        assertEquals(List.of("a", "b"), list.asList(String.class));
+        assertEquals("c", ((MapNode) list.get(2)).getString("c"));
+        assertSame(list, list.toFrozen());
+
+        assertSame(frozen, frozen.toFrozen());
+        assertSame(frozen, frozen.asView());
+    }
+
+    @Test
+    void testSnapshot() {
+        var mapNode = createMapNode();
+        var frozen = mapNode.toFrozen();
+
+        mapNode.set("string", "modified");
+        mapNode.getOrCreateMap("map").set("key", "modified");
+        mapNode.getOrCreateList("list").add("d");
+
+        assertEquals("value", frozen.getString("string"));
+        assertEquals("nested", frozen.getMap("map").getString("key"));
+        assertEquals(3, frozen.getList("list").size());
+
+        var visitor = StringNodeVisitor.create();
+        frozen.accept(visitor);
+        var expected = StringNodeVisitor.create();
+        createMapNode().accept(expected);
+        assertEquals(expected.toString(), visitor.toString());
+    }
+
+    @Test
+    void testManyKeys() {
+        var expected = new LinkedHashMap<Object, Node<?>>();
+        var mapNode = MapNode.create();
+
+        for (int i = 0; i < 10000; i++) {
+            mapNode.set("key-" + i, i);
+            expected.put("key-" + i, new IntValue(i));
+        }
+
+        mapNode.set("Aa", 1); // "Aa" and "BB" have the same hash code
+        mapNode.set("BB", 2);
+        expected.put("Aa", new IntValue(1));
+        expected.put("BB", new IntValue(2));
+
+        var frozen = mapNode.toFrozen();
+        assertEquals(expected, frozen.value());
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(frozen.value().keySet()));
+
+        for (var entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), frozen.get(entry.getKey()));
+            assertTrue(frozen.containsKey(entry.getKey()));
+        }
+
+        assertFalse(frozen.containsKey("key-10000"));
+        assertTrue(frozen.containsValue(9999));
+    }
+
+    @Test
+    void testEmpty() {
+        var frozen = MapNode.create().toFrozen();
+        assertTrue(frozen.isEmpty());
+        assertEquals(NullNode.NULL, frozen.get("a"));
+        assertSame(frozen, MapNode.empty().toFrozen());
+        assertTrue(ListNode.create().toFrozen().isEmpty());
+    }
+
+    @Test
+    void testUnsupportedOperations() {
+        var frozen = createMapNode().toFrozen();
+        assertThrows(UnsupportedOperationException.class, () -> frozen.set("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.setOwned("a", StringValue.fromString("b")));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove("string"));
+        assertThrows(UnsupportedOperationException.class, frozen::clear);
+        assertThrows(UnsupportedOperationException.class, () -> frozen.getOrCreateMap("map").set("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.setComment(null));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.value().remove("string"));
+
+        var list = frozen.getList("list");
+        assertThrows(UnsupportedOperationException.class, () -> list.add("a"));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, "a"));
+        assertThrows(UnsupportedOperationException.class, () -> list.value().set(0, NullNode.NULL));
+    }
+
+    @Test
+    void testShareAndCopy() {
+        var frozen = createMapNode().toFrozen();
+
+        assertSame(frozen, Node.fromObject(frozen));
+
+        var parent = MapNode.create();
+        parent.set("frozen", frozen);
+        assertSame(frozen, parent.get("frozen"));
+
+        var mutable = parent.getOrCreateMap("frozen"); // copy-on-write
+        assertNotSame(frozen, mutable);
+        mutable.set("string", "modified");
+        assertEquals("value", frozen.getString("string"));
+        assertSame(COMMENT, mutable.getComment());
+        assertSame(frozen.get("map"), mutable.get("map"));
+
+        var withComment = CommentableNode.withComment(frozen, null);
+        assertFalse(withComment.hasComment());
+        assertTrue(frozen.hasComment());
+
+        var persistent = PersistentMapNode.empty().with("frozen", frozen);
+        assertSame(frozen, persistent.get("frozen"));
+        assertInstanceOf(FrozenMapNode.class, persistent.toFrozen());
+    }
+
+    @Test
+    void testConcurrentRead() throws Exception {
+        var frozen = createMapNode().toFrozen();
+        var executor = Executors.newFixedThreadPool(4);
+
+        try {
+            var futures = new ArrayList<Future<Boolean>>();
+
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 10000; j++) {
+                        if (!"value".equals(frozen.getString("string")) || frozen.getMap("map").getString("key").isEmpty()) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (var future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static MapNode createMapNode() {
+        var mapNode = MapNode.create();
+        mapNode.set("string", "value");
+        mapNode.set("int", 100);
+        mapNode.set("bool", true);
+        mapNode.set("commented", CommentableNode.withComment(StringValue.fromString("c"), COMMENT));
+        mapNode.getOrCreateMap("map").set("key", "nested");
+        var list = mapNode.getOrCreateList("list");
+        list.add("a");
+        list.add("b");
+        list.add(Map.of("c", "c"));
+        mapNode.setComment(COMMENT);
+        return mapNode;
+    }
+}
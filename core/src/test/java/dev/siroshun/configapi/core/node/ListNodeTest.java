@@ -18,6 +18,8 @@ package dev.siroshun.configapi.core.node;
 
 import dev.siroshun.configapi.test.shared.util.NodeAssertion;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -98,6 +100,22 @@ class ListNodeTest extends AbstractCommentableNodeTest<ListNode> {
                         },
                         (initial, modified) -> assertEquals(List.of(StringValue.fromString("a"), new IntValue(1), NullNode.NULL), modified.value())
                 ),
+                nodeTest(
+                        "ListNode#addOwned(Node)",
+                        ListNode.create(),
+                        node -> {
+                            var map = MapNode.create();
+                            node.addOwned(map);
+                            map.set("a", "b");
+                            node.addOwned(StringValue.fromString("c"));
+                            return node;
+                        },
+                        (initial, modified) -> {
+                            assertEquals(2, modified.size());
+                            assertEquals("b", ((MapNode) modified.get(0)).getString("a"));
+                            assertEquals(StringValue.fromString("c"), modified.get(1));
+                        }
+                ),
                 nodeTest(
                         "ListNode#addAll(Collection)",
                         ListNode.create(),
@@ -319,6 +337,9 @@ class ListNodeTest extends AbstractCommentableNodeTest<ListNode> {
                         ListNode::asView,
                         (initial, view) -> {
                             assertNotSame(initial, view);
+                            assertSame(view, initial.asView());
+                            assertSame(view, view.asView());
+                            assertSame(initial.value(), initial.value());
 
                             initial.add("d");
                             assertThrows(UnsupportedOperationException.class, () -> view.add("D"));
@@ -337,6 +358,24 @@ class ListNodeTest extends AbstractCommentableNodeTest<ListNode> {
         );
     }
 
+    @Test
+    void testOwnershipCheckOnReplaceAll() {
+        Assumptions.assumeTrue(NodeOwnership.CHECK);
+
+        var list = ListNode.create();
+        var replaced = list.addMap();
+        var kept = list.addMap();
+        var replacement = MapNode.create();
+
+        list.replaceAll(node -> node == replaced ? replacement : node);
+        assertSame(replacement, list.get(0));
+        assertSame(kept, list.get(1));
+
+        assertThrows(IllegalStateException.class, () -> MapNode.create().setOwned("node", replacement)); // owned by replaceAll
+        assertThrows(IllegalStateException.class, () -> MapNode.create().setOwned("node", kept));
+        assertDoesNotThrow(() -> MapNode.create().setOwned("node", replaced)); // released by replaceAll
+    }
+
     @Override
     protected ListNode cast(Node<?> node) {
         return Assertions.assertInstanceOf(ListNode.class, node);
@@ -16,6 +16,9 @@
 
 package dev.siroshun.configapi.core.node;
 
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -78,6 +81,15 @@ class MapNodeTest extends AbstractCommentableNodeTest<MapNode> {
                     assertEquals(StringValue.fromString("b"), node.get("a"));
                     assertNull(node.setIfAbsent("1", "2"));
                 }),
+                nodeTest("MapNode#setOwned(Object, Node)", MapNode.create(Map.of("a", "b")), node -> {
+                    var child = MapNode.create();
+                    assertEquals(StringValue.fromString("b"), node.setOwned("a", child));
+                    assertSame(child, node.get("a"));
+                    child.set("c", "d");
+                    assertEquals("d", node.getMap("a").getString("c"));
+                    assertSame(child, node.setOwned("a", NullNode.NULL));
+                    assertFalse(node.containsKey("a"));
+                }),
                 nodeTest(
                         "MapNode#putAll(Map)",
                         MapNode.create(Map.of("a", "b")),
@@ -170,6 +182,9 @@ class MapNodeTest extends AbstractCommentableNodeTest<MapNode> {
                         MapNode::asView,
                         (initial, view) -> {
                             assertNotSame(initial, view);
+                            assertSame(view, initial.asView());
+                            assertSame(view, view.asView());
+                            assertSame(initial.value(), initial.value());
 
                             initial.set("a", "A");
                             assertThrows(UnsupportedOperationException.class, () -> view.set("a", "1"));
@@ -212,6 +227,46 @@ class MapNodeTest extends AbstractCommentableNodeTest<MapNode> {
         );
     }
 
+    @Test
+    void testOwnershipCheck() {
+        Assumptions.assumeTrue(NodeOwnership.CHECK);
+
+        var root = MapNode.create();
+        var child = root.createMap("child");
+        var other = MapNode.create();
+
+        assertThrows(IllegalStateException.class, () -> other.setOwned("child", child)); // created by createMap
+        assertThrows(IllegalStateException.class, () -> other.setOwned("child", root.getMap("child"))); // view
+        assertThrows(IllegalStateException.class, () -> child.setOwned("self", child));
+
+        var owned = MapNode.create();
+        other.setOwned("owned", owned);
+        assertThrows(IllegalStateException.class, () -> root.setOwned("owned", owned));
+        assertThrows(IllegalStateException.class, () -> ListNode.create().addOwned(owned));
+
+        other.set("copied", owned);
+        assertNotSame(owned, other.get("copied"));
+
+        other.remove("owned");
+        assertDoesNotThrow(() -> root.setOwned("owned", owned)); // released by remove
+        assertSame(owned, root.get("owned"));
+
+        var persistent = PersistentMapNode.empty().with("a", "b");
+        other.setOwned("persistent", persistent);
+        assertDoesNotThrow(() -> root.setOwned("persistent", persistent)); // immutable nodes can be shared
+    }
+
+    @Test
+    void testOwnershipCycleCheck() {
+        Assumptions.assumeTrue(NodeOwnership.DEEP_CHECK);
+
+        var root = MapNode.create();
+        var child = root.createMap("child");
+
+        assertThrows(IllegalStateException.class, () -> child.setOwned("root", root));
+        assertThrows(IllegalStateException.class, () -> child.createList("list").addOwned(root));
+    }
+
     @Override
     protected MapNode cast(Node<?> node) {
         return (MapNode) node;
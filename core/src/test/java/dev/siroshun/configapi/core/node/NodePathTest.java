@@ -0,0 +1,185 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.SimpleComment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodePathTest {
+
+    @Test
+    void testParse() {
+        var path = NodePath.parse("a.b[3].c");
+        assertEquals(4, path.size());
+        assertEquals("a", path.segment(0));
+        assertEquals("b", path.segment(1));
+        assertTrue(path.isIndex(2));
+        assertEquals(3, path.segment(2));
+        assertFalse(path.isIndex(3));
+        assertEquals("c", path.segment(3));
+        assertEquals("a.b[3].c", path.toString());
+
+        assertEquals(NodePath.root().child("a").child("b").index(3).child("c"), path);
+        assertEquals(path.hashCode(), NodePath.parse("a.b[3].c").hashCode());
+        assertNotEquals(NodePath.parse("a.b.c"), NodePath.parse("a.b[0].c"));
+
+        assertSame(NodePath.root(), NodePath.parse(""));
+        assertEquals("[0][1]", NodePath.parse("[0][1]").toString());
+        assertEquals(NodePath.of("a.b", 1), NodePath.root().child("a.b").child(1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidPaths")
+    void testParseInvalidPath(String path) {
+        assertThrows(IllegalArgumentException.class, () -> NodePath.parse(path));
+    }
+
+    private static Stream<String> invalidPaths() {
+        return Stream.of(".", "a.", ".a", "a..b", "a.[0]", "a[", "a[]", "a[-1]", "a[x]", "a]", "a[0]b", "a[99999999999]");
+    }
+
+    @Test
+    void testGet() {
+        var root = createMapNode();
+
+        assertEquals("value", root.get(NodePath.parse("a.b[1].c")).value());
+        assertEquals("x", root.get(NodePath.parse("a.b[0]")).value());
+        assertEquals("commented", assertInstanceOf(CommentedNode.class, root.get(NodePath.parse("a.commented"))).node().value());
+        assertEquals("nested", root.get(NodePath.parse("a.commented-map.key")).value());
+        assertEquals(1, root.get(NodePath.of(1)).value());
+        assertSame(root, root.get(NodePath.root()));
+
+        assertSame(NullNode.NULL, root.get(NodePath.parse("a.b[2].c")));
+        assertSame(NullNode.NULL, root.get(NodePath.parse("a.b.c")));
+        assertSame(NullNode.NULL, root.get(NodePath.parse("a[0]")));
+        assertSame(NullNode.NULL, root.get(NodePath.parse("unknown.key")));
+
+        var b = (ListNode) root.get(NodePath.parse("a.b"));
+        assertEquals("value", b.get(NodePath.parse("[1].c")).value());
+    }
+
+    @Test
+    void testGetFromImmutableNodes() {
+        var path = NodePath.parse("a.b[1].c");
+        assertEquals("value", createMapNode().toFrozen().get(path).value());
+        assertEquals("value", PersistentMapNode.copyOf(createMapNode()).get(path).value());
+    }
+
+    @Test
+    void testSet() {
+        var root = MapNode.create();
+
+        assertSame(NullNode.NULL, root.set(NodePath.parse("a.b[0].c"), "value"));
+        assertEquals("value", root.getMap("a").getList("b").get(0) instanceof MapNode map ? map.getString("c") : null);
+
+        assertEquals("value", root.set(NodePath.parse("a.b[0].c"), "new").value());
+        assertEquals("new", root.get(NodePath.parse("a.b[0].c")).value());
+
+        root.set(NodePath.parse("a.b[1]"), "appended");
+        assertEquals("appended", root.get(NodePath.parse("a.b[1]")).value());
+
+        root.set(NodePath.parse("a.b[1].d"), 1); // replaces the string with a map
+        assertEquals(1, root.get(NodePath.parse("a.b[1].d")).value());
+
+        root.set(NodePath.parse("a.b[0].c"), null);
+        assertTrue(((MapNode) root.get(NodePath.parse("a.b[0]"))).isEmpty());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> root.set(NodePath.parse("a.b[3]"), "value"));
+        assertThrows(IllegalArgumentException.class, () -> root.set(NodePath.root(), "value"));
+        assertThrows(IllegalArgumentException.class, () -> root.set(NodePath.parse("[0]"), "value"));
+
+        var list = ListNode.create();
+        list.set(NodePath.parse("[0][0].a"), "value");
+        assertEquals("value", list.get(NodePath.parse("[0][0].a")).value());
+        assertThrows(IllegalArgumentException.class, () -> list.set(NodePath.parse("a"), "value"));
+    }
+
+    @Test
+    void testSetCopiesImmutableNodes() {
+        var root = MapNode.create();
+        var frozen = createMapNode().toFrozen();
+        root.set("frozen", frozen);
+        var list = root.createList("list");
+        list.add(PersistentMapNode.empty().with("a", "b"));
+
+        root.set(NodePath.parse("frozen.a.b[1].c"), "modified");
+        root.set(NodePath.parse("list[0].c"), "d");
+
+        assertEquals("modified", root.get(NodePath.parse("frozen.a.b[1].c")).value());
+        assertEquals("value", frozen.get(NodePath.parse("a.b[1].c")).value());
+        assertEquals("b", root.get(NodePath.parse("list[0].a")).value());
+        assertEquals("d", root.get(NodePath.parse("list[0].c")).value());
+    }
+
+    @Test
+    void testSetToView() {
+        var view = createMapNode().asView();
+        assertThrows(UnsupportedOperationException.class, () -> view.set(NodePath.parse("a.new"), "value"));
+    }
+
+    @Test
+    void testResolveAll() {
+        var root = createMapNode();
+        var paths = List.of(
+                NodePath.parse("a.b[0]"),
+                NodePath.parse("a.b[1].c"),
+                NodePath.parse("a.b"),
+                NodePath.parse("a.b[1].c"),
+                NodePath.parse("a.unknown.c"),
+                NodePath.parse("a.unknown"),
+                NodePath.root(),
+                NodePath.of(1)
+        );
+
+        var result = root.resolveAll(paths);
+
+        assertEquals(paths.size(), result.size());
+        for (int i = 0; i < paths.size(); i++) {
+            assertEquals(root.get(paths.get(i)), result.get(i), paths.get(i).toString());
+        }
+
+        assertTrue(root.resolveAll(List.of()).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> result.set(0, NullNode.NULL));
+    }
+
+    private static MapNode createMapNode() {
+        var root = MapNode.create();
+        var a = root.createMap("a");
+        var b = a.createList("b");
+        b.add("x");
+        b.addMap().set("c", "value");
+        a.set("commented", new CommentedNode<>(StringValue.fromString("commented"), SimpleComment.create("comment")));
+        var commentedMap = MapNode.create();
+        commentedMap.set("key", "nested");
+        a.set("commented-map", new CommentedNode<>(commentedMap, SimpleComment.create("comment")));
+        root.set(1, 1);
+        return root;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.SimpleComment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentListNodeTest {
+
+    private static final SimpleComment COMMENT = SimpleComment.create("test");
+
+    @Test
+    void testEmpty() {
+        var node = PersistentListNode.empty();
+        assertTrue(node.isEmpty());
+        assertEquals(0, node.size());
+        assertTrue(node.value().isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> node.get(0));
+    }
+
+    @Test
+    void testPlusAndWith() {
+        var empty = PersistentListNode.empty();
+        var a = empty.plus("a");
+        var ab = a.plus(1);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(List.of(StringValue.fromString("a")), a.value());
+        assertEquals(List.of(StringValue.fromString("a"), new IntValue(1)), ab.value());
+
+        var replaced = ab.with(0, "b");
+        assertEquals(List.of("a", "1"), ab.asList(String.class));
+        assertEquals(List.of("b", "1"), replaced.asList(String.class));
+        assertEquals(List.of(1), replaced.asList(Integer.class));
+        assertTrue(replaced.contains("b"));
+        assertFalse(replaced.contains("a"));
+        assertThrows(IndexOutOfBoundsException.class, () -> ab.with(2, "c"));
+    }
+
+    @Test
+    void testManyElements() {
+        for (int count : new int[]{10, 32, 33, 1024, 1025, 40000}) {
+            this.testManyElements(count);
+        }
+    }
+
+    private void testManyElements(int count) {
+        var expected = new ArrayList<Node<?>>();
+        var node = PersistentListNode.empty();
+
+        for (int i = 0; i < count; i++) {
+            node = node.plus(i);
+            expected.add(new IntValue(i));
+        }
+
+        var snapshot = node;
+
+        for (int i = 0; i < count; i += 7) {
+            node = node.with(i, -i);
+            expected.set(i, new IntValue(-i));
+        }
+
+        assertEquals(count, node.size());
+        assertEquals(expected, node.value());
+        assertInstanceOf(RandomAccess.class, node.value());
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected.get(i), node.get(i));
+            assertEquals(new IntValue(i), snapshot.get(i)); // the old version is not changed
+        }
+    }
+
+    @Test
+    void testStructuralSharing() {
+        var child = PersistentMapNode.empty().with("x", 1);
+        var node = PersistentListNode.empty().plus(child).plus(List.of("a"));
+
+        assertSame(child, node.get(0));
+        assertInstanceOf(PersistentListNode.class, node.get(1));
+        assertSame(node.get(1), node.plus("b").get(1));
+        assertSame(node.get(0), node.with(1, "c").get(0));
+    }
+
+    @Test
+    void testCopyOf() {
+        var listNode = ListNode.create();
+        listNode.add("a");
+        listNode.addMap().set("b", "B");
+        listNode.setComment(COMMENT);
+
+        var persistent = PersistentListNode.copyOf(listNode);
+        assertEquals(2, persistent.size());
+        assertSame(COMMENT, persistent.getComment());
+        assertInstanceOf(PersistentMapNode.class, persistent.get(1));
+        assertSame(persistent, PersistentListNode.copyOf(persistent));
+
+        listNode.add("c");
+        assertEquals(2, persistent.size());
+    }
+
+    @Test
+    void testUnsupportedOperations() {
+        var node = PersistentListNode.empty().plus("a");
+        assertThrows(UnsupportedOperationException.class, () -> node.add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> node.addAll(List.of("b")));
+        assertThrows(UnsupportedOperationException.class, node::addList);
+        assertThrows(UnsupportedOperationException.class, node::addMap);
+        assertThrows(UnsupportedOperationException.class, () -> node.set(0, "b"));
+        assertThrows(UnsupportedOperationException.class, () -> node.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> node.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> node.removeIf(n -> true));
+        assertThrows(UnsupportedOperationException.class, node::clear);
+        assertThrows(UnsupportedOperationException.class, () -> node.setComment(COMMENT));
+        assertThrows(UnsupportedOperationException.class, () -> node.value().add(NullNode.NULL));
+        assertEquals(1, node.size());
+    }
+
+    @Test
+    void testComment() {
+        var node = PersistentListNode.empty().plus("a");
+        var commented = CommentableNode.withComment(node, COMMENT);
+
+        assertNotSame(node, commented);
+        assertFalse(node.hasComment());
+        assertSame(COMMENT, commented.getComment());
+        assertSame(COMMENT, node.withComment(COMMENT).plus("b").getComment());
+    }
+
+    @Test
+    void testCopy() {
+        var child = PersistentMapNode.empty().with("x", 1);
+        var node = PersistentListNode.empty().plus("a").plus(child).withComment(COMMENT);
+
+        var copied = node.copy();
+        assertFalse(copied instanceof PersistentListNode);
+        assertEquals(node.value(), copied.value());
+        assertSame(COMMENT, copied.getComment());
+        assertSame(child, copied.get(1));
+
+        copied.add("b");
+        assertEquals(2, node.size());
+        assertSame(node, Node.fromObject(node));
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import dev.siroshun.configapi.core.comment.SimpleComment;
+import dev.siroshun.configapi.core.node.visitor.StringNodeVisitor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentMapNodeTest {
+
+    private static final SimpleComment COMMENT = SimpleComment.create("test");
+
+    @Test
+    void testEmpty() {
+        var node = PersistentMapNode.empty();
+        assertTrue(node.isEmpty());
+        assertEquals(0, node.size());
+        assertTrue(node.value().isEmpty());
+        assertFalse(node.hasComment());
+        assertSame(node, node.without("a"));
+    }
+
+    @Test
+    void testWith() {
+        var empty = PersistentMapNode.empty();
+        var a = empty.with("a", "A");
+        var ab = a.with("b", 1);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(Map.of("a", StringValue.fromString("A")), a.value());
+        assertEquals(Map.of("a", StringValue.fromString("A"), "b", new IntValue(1)), ab.value());
+        assertEquals(StringValue.fromString("A"), ab.get("a"));
+        assertEquals(NullNode.NULL, ab.get("c"));
+        assertTrue(ab.containsKey("b"));
+        assertTrue(ab.containsValue(1));
+
+        var replaced = ab.with("a", "B");
+        assertEquals(StringValue.fromString("A"), ab.get("a"));
+        assertEquals(StringValue.fromString("B"), replaced.get("a"));
+        assertEquals(List.of("b", "a"), List.copyOf(replaced.value().keySet())); // moves the replaced key to the end as MapNode#set
+
+        assertEquals(Map.of("b", new IntValue(1)), ab.with("a", null).value());
+        assertEquals(Map.of("b", new IntValue(1)), ab.with("a", NullNode.NULL).value());
+    }
+
+    @Test
+    void testWithout() {
+        var node = PersistentMapNode.empty().with("a", "A").with("b", "B").with("c", "C");
+        var removed = node.without("b");
+
+        assertEquals(3, node.size());
+        assertEquals(2, removed.size());
+        assertFalse(removed.containsKey("b"));
+        assertEquals(List.of("a", "c"), List.copyOf(removed.value().keySet()));
+        assertSame(removed, removed.without("b"));
+        assertTrue(removed.without("a").without("c").isEmpty());
+    }
+
+    @Test
+    void testInsertionOrder() {
+        var expected = new ArrayList<Integer>();
+        var node = PersistentMapNode.empty();
+
+        for (int i = 100; 0 < i; i--) {
+            node = node.with(i, i);
+            expected.add(i);
+        }
+
+        assertEquals(expected, List.copyOf(node.value().keySet()));
+
+        var expectedString = StringNodeVisitor.create();
+        node.copy().accept(expectedString);
+        var actualString = StringNodeVisitor.create();
+        node.accept(actualString);
+        assertEquals(expectedString.toString(), actualString.toString());
+    }
+
+    @Test
+    void testReplacedKeyOrder() {
+        var mapNode = MapNode.create();
+        var node = PersistentMapNode.empty();
+
+        for (var key : List.of("a", "b", "c", "a", "c", "b", "b")) {
+            mapNode.set(key, key.length());
+            node = node.with(key, key.length());
+            assertEquals(List.copyOf(mapNode.value().keySet()), List.copyOf(node.value().keySet()));
+        }
+
+        var last = node.with("b", 2);
+        assertEquals(List.of("a", "c", "b"), List.copyOf(last.value().keySet()));
+        assertSame(last, last.with("b", 2));
+
+        // replacing the same key repeatedly compacts the removed slots
+        for (int i = 0; i < 1000; i++) {
+            node = node.with("a", i).with("b", i);
+        }
+        assertEquals(List.of("c", "a", "b"), List.copyOf(node.value().keySet()));
+        assertEquals(new IntValue(999), node.get("a"));
+    }
+
+    @Test
+    void testManyKeys() {
+        for (int count : new int[]{10, 1000, 50000}) {
+            this.testManyKeys(count);
+        }
+    }
+
+    private void testManyKeys(int count) {
+        var expected = new LinkedHashMap<Object, Node<?>>();
+        var node = PersistentMapNode.empty();
+
+        for (int i = 0; i < count; i++) {
+            node = node.with("key-" + i, i);
+            expected.put("key-" + i, new IntValue(i));
+        }
+
+        for (int i = 0; i < count; i += 3) {
+            node = node.without("key-" + i);
+            expected.remove("key-" + i);
+        }
+
+        assertEquals(expected.size(), node.size());
+        assertEquals(expected, node.value());
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(node.value().keySet()));
+
+        for (var key : expected.keySet()) {
+            assertSame(expected.get(key).getClass(), node.get(key).getClass());
+            assertEquals(expected.get(key), node.get(key));
+        }
+    }
+
+    @Test
+    void testRemoveAndCompact() {
+        var node = PersistentMapNode.empty();
+
+        for (int i = 0; i < 200; i++) {
+            node = node.with(i, i);
+        }
+
+        for (int i = 0; i < 190; i++) {
+            node = node.without(i);
+        }
+
+        assertEquals(10, node.size());
+        assertEquals(List.of(190, 191, 192, 193, 194, 195, 196, 197, 198, 199), List.copyOf(node.value().keySet()));
+
+        node = node.with(0, 0);
+        assertEquals(0, node.getInteger(0));
+        assertEquals(11, node.size());
+    }
+
+    @Test
+    void testHashCollision() {
+        // "Aa" and "BB" have the same hash code
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        var node = PersistentMapNode.empty().with("Aa", 1).with("BB", 2).with("AaAa", 3).with("BBBB", 4);
+        assertEquals(4, node.size());
+        assertEquals(1, node.getInteger("Aa"));
+        assertEquals(2, node.getInteger("BB"));
+        assertEquals(3, node.getInteger("AaAa"));
+        assertEquals(4, node.getInteger("BBBB"));
+
+        var removed = node.without("Aa");
+        assertEquals(3, removed.size());
+        assertFalse(removed.containsKey("Aa"));
+        assertEquals(2, removed.getInteger("BB"));
+        assertEquals(1, node.getInteger("Aa"));
+    }
+
+    @Test
+    void testStructuralSharing() {
+        var child = PersistentMapNode.empty().with("x", 1);
+        var node = PersistentMapNode.empty().with("child", child).with("list", List.of("a", "b"));
+
+        assertSame(child, node.get("child"));
+        assertSame(node.get("child"), node.with("other", 1).get("child"));
+        assertSame(node.get("list"), node.with("other", 1).get("list"));
+        assertSame(node, node.with("list", node.get("list")));
+        assertEquals(List.of("list", "child"), List.copyOf(node.with("child", child).value().keySet()));
+    }
+
+    @Test
+    void testNestedNodesAreConverted() {
+        var mutableChild = MapNode.create();
+        mutableChild.set("a", List.of(1, 2));
+        mutableChild.setComment(COMMENT);
+
+        var node = PersistentMapNode.empty().with("child", mutableChild);
+        mutableChild.set("b", "B");
+
+        var child = assertInstanceOf(PersistentMapNode.class, node.get("child"));
+        assertEquals(1, child.size());
+        assertSame(COMMENT, child.getComment());
+        assertInstanceOf(PersistentListNode.class, child.get("a"));
+        assertInstanceOf(PersistentMapNode.class, node.with("map", Map.of("k", "v")).get("map"));
+    }
+
+    @Test
+    void testCopyOf() {
+        var mapNode = MapNode.create();
+        mapNode.set("a", "A");
+        mapNode.getOrCreateMap("b").set("c", "C");
+        mapNode.setComment(COMMENT);
+
+        var persistent = PersistentMapNode.copyOf(mapNode);
+        assertEquals(2, persistent.size());
+        assertEquals("A", persistent.getString("a"));
+        assertSame(COMMENT, persistent.getComment());
+        assertEquals("C", assertInstanceOf(PersistentMapNode.class, persistent.get("b")).getString("c"));
+        assertSame(persistent, PersistentMapNode.copyOf(persistent));
+    }
+
+    @Test
+    void testUnsupportedOperations() {
+        var node = PersistentMapNode.empty().with("a", "A");
+        assertThrows(UnsupportedOperationException.class, () -> node.set("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> node.setIfAbsent("b", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> node.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> node.replace("a", "b"));
+        assertThrows(UnsupportedOperationException.class, node::clear);
+        assertThrows(UnsupportedOperationException.class, () -> node.createMap("b"));
+        assertThrows(UnsupportedOperationException.class, () -> node.createList("b"));
+        assertThrows(UnsupportedOperationException.class, () -> node.getOrCreateMap("b"));
+        assertThrows(UnsupportedOperationException.class, () -> node.setComment(COMMENT));
+        assertThrows(UnsupportedOperationException.class, () -> node.value().put("b", NullNode.NULL));
+        assertEquals(1, node.size());
+    }
+
+    @Test
+    void testComment() {
+        var node = PersistentMapNode.empty().with("a", "A");
+        var commented = node.withComment(COMMENT);
+
+        assertFalse(node.hasComment());
+        assertSame(COMMENT, commented.getComment());
+        assertSame(commented, commented.withComment(COMMENT));
+        assertEquals(node.value(), commented.value());
+        assertNull(commented.withComment(null).getCommentOrNull());
+
+        var withComment = CommentableNode.withComment(node, COMMENT);
+        assertNotSame(node, withComment);
+        assertFalse(node.hasComment());
+        assertSame(COMMENT, withComment.getComment());
+
+        // keeps the comment of the replaced node
+        var parent = PersistentMapNode.empty().with("a", CommentableNode.withComment(StringValue.fromString("A"), COMMENT));
+        var replaced = parent.with("a", "B");
+        var commentedNode = assertInstanceOf(CommentedNode.class, replaced.get("a"));
+        assertSame(COMMENT, commentedNode.getComment());
+        assertEquals(StringValue.fromString("B"), commentedNode.node());
+    }
+
+    @Test
+    void testFromObjectSharesNode() {
+        var node = PersistentMapNode.empty().with("a", "A");
+        assertSame(node, Node.fromObject(node));
+
+        var parent = MapNode.create();
+        parent.set("child", node);
+        assertSame(node, parent.get("child"));
+    }
+
+    @Test
+    void testCopyOnWrite() {
+        var shared = PersistentMapNode.empty().with("a", "A").with("list", List.of("x"));
+        var mapNode = MapNode.create();
+        mapNode.set("child", shared);
+
+        var copied = mapNode.copy();
+        assertSame(shared, copied.get("child"));
+
+        var child = mapNode.getOrCreateMap("child");
+        assertNotSame(shared, child);
+        child.set("b", "B");
+        assertSame(child, mapNode.getOrCreateMap("child"));
+        assertEquals(3, mapNode.getMap("child").size());
+
+        var list = child.getOrCreateList("list");
+        list.add("y");
+        assertEquals(List.of("x", "y"), child.getList("list").asList(String.class));
+
+        assertSame(shared, copied.get("child"));
+        assertEquals(2, shared.size());
+        assertFalse(shared.containsKey("b"));
+        assertEquals(1, shared.getList("list").size());
+    }
+
+    @Test
+    void testCopy() {
+        var child = PersistentMapNode.empty().with("x", 1);
+        var node = PersistentMapNode.empty().with("a", "A").with("child", child).withComment(COMMENT);
+
+        var copied = node.copy();
+        assertFalse(copied instanceof PersistentMapNode);
+        assertEquals(node.value(), copied.value());
+        assertSame(COMMENT, copied.getComment());
+        assertSame(child, copied.get("child"));
+
+        copied.set("b", "B");
+        assertFalse(node.containsKey("b"));
+    }
+
+    @Test
+    void testAsView() {
+        var node = PersistentMapNode.empty().with("a", "A");
+        assertSame(node, node.asView());
+        assertSame(node, MapNode.create(Map.of("n", node)).getMap("n"));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.core.node;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StringPoolTest {
+
+    @Test
+    void testIntern() {
+        var pool = StringPool.create();
+        var first = new String("value");
+        var second = new String("value");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertSame(first, pool.key(second));
+        assertSame(pool.stringValue(first), pool.stringValue(second));
+        assertSame(first, pool.stringValue(second).value());
+
+        var key = new Object();
+        assertSame(key, pool.key(key));
+        assertSame(StringValue.EMPTY, pool.stringValue(""));
+    }
+
+    @Test
+    void testTooLongString() {
+        var pool = StringPool.create();
+        var value = "a".repeat(StringPool.MAX_LENGTH + 1);
+
+        assertNotSame(pool.stringValue(value), pool.stringValue(value));
+        assertEquals(value, pool.stringValue(value).value());
+    }
+
+    @Test
+    void testBounded() {
+        var pool = StringPool.create(16);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("value-" + i, pool.intern("value-" + i));
+        }
+
+        var value = new String("value");
+        assertSame(value, pool.intern(value));
+        assertSame(value, pool.intern(new String("value")));
+
+        assertThrows(IllegalArgumentException.class, () -> StringPool.create(0));
+        assertThrows(IllegalArgumentException.class, () -> StringPool.create(-1));
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        var pool = StringPool.create(64);
+
+        var executor = Executors.newFixedThreadPool(4);
+
+        try {
+            var futures = new ArrayList<Future<Boolean>>();
+
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        var value = "value-" + (i % 256);
+                        if (!value.equals(pool.stringValue(value).value())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (var future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -97,5 +97,39 @@ class ValueNodeTest extends AbstractNodeTest<ValueNode<?>> {
         void testNullForFromNumber() {
             assertSame(NumberValue.ZERO, NumberValue.fromNumber(null));
         }
+
+        @Test
+        void testCachedValues() {
+            for (int i = -128; i <= 127; i++) {
+                assertSame(IntValue.fromInt(i), IntValue.fromInt(i));
+                assertSame(LongValue.fromLong(i), LongValue.fromLong(i));
+                assertSame(ShortValue.fromShort((short) i), ShortValue.fromShort((short) i));
+                assertSame(ByteValue.fromByte((byte) i), ByteValue.fromByte((byte) i));
+                assertEquals(i, IntValue.fromInt(i).intValue());
+                assertEquals(i, LongValue.fromLong(i).longValue());
+                assertEquals(i, ShortValue.fromShort((short) i).shortValue());
+                assertEquals(i, ByteValue.fromByte((byte) i).byteValue());
+            }
+
+            assertSame(IntValue.fromInt(1), NumberValue.fromNumber(1));
+            assertSame(LongValue.fromLong(-1), NumberValue.fromNumber(-1L));
+            assertEquals(new IntValue(Integer.MAX_VALUE), IntValue.fromInt(Integer.MAX_VALUE));
+            assertEquals(new LongValue(Long.MIN_VALUE), LongValue.fromLong(Long.MIN_VALUE));
+            assertEquals(new ShortValue(Short.MAX_VALUE), ShortValue.fromShort(Short.MAX_VALUE));
+        }
+    }
+
+    @Nested
+    class CharValueTest {
+        @Test
+        void testCachedValues() {
+            for (char c = 0; c < 128; c++) {
+                assertSame(CharValue.fromChar(c), CharValue.fromChar(c));
+                assertEquals(c, CharValue.fromChar(c).charValue());
+            }
+
+            assertSame(CharValue.fromChar('a'), Node.fromObject('a'));
+            assertEquals(new CharValue('あ'), CharValue.fromChar('あ'));
+        }
     }
 }
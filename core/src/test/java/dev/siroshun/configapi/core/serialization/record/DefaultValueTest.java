@@ -407,6 +407,20 @@ class DefaultValueTest {
         }
     }
 
+    @Test
+    void testNotExistDefaultFieldIsNotUsed() {
+        var deserializer = RecordDeserializer.create(NotExistDefaultField.class);
+        var mapNode = MapNode.create();
+        mapNode.set("a", "value");
+
+        for (int i = 0; i < 2; i++) { // the second call uses the cached binding
+            Assertions.assertEquals(new NotExistDefaultField("value"), deserializer.deserialize(mapNode));
+        }
+
+        var ex = Assertions.assertThrows(SerializationException.class, () -> deserializer.deserialize(MapNode.empty()));
+        Assertions.assertInstanceOf(NoSuchFieldException.class, ex.getCause());
+    }
+
     private record NotExistDefaultField(
             @DefaultField(clazz = NotExistDefaultField.class, name = "DEFAULT_VALUE") String a
     ) {
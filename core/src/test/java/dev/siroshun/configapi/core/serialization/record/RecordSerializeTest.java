@@ -16,9 +16,13 @@
 
 package dev.siroshun.configapi.core.serialization.record;
 
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.serialization.SerializationException;
 import dev.siroshun.configapi.core.serialization.annotation.CollectionType;
 import dev.siroshun.configapi.core.serialization.annotation.MapType;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -41,6 +45,26 @@ class RecordSerializeTest {
         testCase.testDefaults();
     }
 
+    @Test
+    void testThrowingRecord() {
+        var serializeException = Assertions.assertThrows(SerializationException.class, () -> RecordSerializer.serializer().serialize(new ThrowingRecord("test")));
+        Assertions.assertInstanceOf(IllegalStateException.class, serializeException.getCause());
+
+        var mapNode = MapNode.create();
+        mapNode.set("value", "");
+        var deserializeException = Assertions.assertThrows(SerializationException.class, () -> RecordDeserializer.create(ThrowingRecord.class).deserialize(mapNode));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, deserializeException.getCause());
+    }
+
+    @Test
+    void testErrorThrowingRecord() {
+        Assertions.assertThrows(AssertionError.class, () -> RecordSerializer.serializer().serialize(new ErrorThrowingRecord("test")));
+
+        var mapNode = MapNode.create();
+        mapNode.set("value", "");
+        Assertions.assertThrows(AssertionError.class, () -> RecordDeserializer.create(ErrorThrowingRecord.class).deserialize(mapNode));
+    }
+
     private static @NotNull Stream<RecordTestCase<?>> testCases() {
         return Stream.of(
                 create(
@@ -230,4 +254,30 @@ class RecordSerializeTest {
 
     private record NestedRecord(StringPair pair1, StringPair pair2) {
     }
+
+    private record ThrowingRecord(String value) {
+        private ThrowingRecord {
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException();
+            }
+        }
+
+        @Override
+        public String value() {
+            throw new IllegalStateException();
+        }
+    }
+
+    private record ErrorThrowingRecord(String value) {
+        private ErrorThrowingRecord {
+            if (value.isEmpty()) {
+                throw new AssertionError();
+            }
+        }
+
+        @Override
+        public String value() {
+            throw new AssertionError();
+        }
+    }
 }
@@ -0,0 +1,318 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.node.BooleanArray;
+import dev.siroshun.configapi.core.node.BooleanValue;
+import dev.siroshun.configapi.core.node.ByteArray;
+import dev.siroshun.configapi.core.node.ByteValue;
+import dev.siroshun.configapi.core.node.CharArray;
+import dev.siroshun.configapi.core.node.CharValue;
+import dev.siroshun.configapi.core.node.DoubleArray;
+import dev.siroshun.configapi.core.node.DoubleValue;
+import dev.siroshun.configapi.core.node.FloatArray;
+import dev.siroshun.configapi.core.node.FloatValue;
+import dev.siroshun.configapi.core.node.IntArray;
+import dev.siroshun.configapi.core.node.IntValue;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.LongArray;
+import dev.siroshun.configapi.core.node.LongValue;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.ShortArray;
+import dev.siroshun.configapi.core.node.ShortValue;
+import dev.siroshun.configapi.core.node.StringPool;
+import dev.siroshun.configapi.core.node.StringValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.siroshun.configapi.format.binary.BinaryFormat.ARRAY;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.BOOLEAN;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.BYTE;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.CHAR;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.DATA_TYPE_MASK;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.DOUBLE;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLAG_COMPACT_NUMBERS;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLAG_SIZED;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLAG_UTF8;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLOAT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FORMAT_HEADER;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.INT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.KNOWN_FLAGS;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LENGTH_TYPE_BYTE;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LENGTH_TYPE_INT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LENGTH_TYPE_SHIFT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LENGTH_TYPE_SHORT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LONG;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAP;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.NULL;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.SHORT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.STRING;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.VALUE_TYPE_MASK;
+
+/**
+ * A class to read {@link Node}s from {@link BinaryInput}.
+ */
+final class BinaryDecoder {
+
+    private final BinaryInput in;
+    private final boolean lazy;
+    private final @Nullable StringPool stringPool;
+    private int flags;
+
+    BinaryDecoder(@NotNull BinaryInput in, boolean lazy, @Nullable StringPool stringPool) {
+        this(in, 0, lazy, stringPool);
+    }
+
+    private BinaryDecoder(@NotNull BinaryInput in, int flags, boolean lazy, @Nullable StringPool stringPool) {
+        this.in = in;
+        this.flags = flags;
+        this.lazy = lazy;
+        this.stringPool = stringPool;
+    }
+
+    @NotNull Node<?> readRoot() throws IOException {
+        int header = this.in.readUnsignedByte();
+
+        if (header == FORMAT_HEADER) {
+            int flags = this.in.readUnsignedByte();
+
+            if ((flags & ~KNOWN_FLAGS) != 0) {
+                throw new IOException("Unsupported flags: 0x" + Integer.toHexString(flags));
+            }
+
+            this.flags = flags;
+            header = this.in.readUnsignedByte();
+        }
+
+        return this.read(header);
+    }
+
+    /**
+     * Reads the entries of the {@link MapNode} that is lazily decoded.
+     *
+     * @param contents the contents of the {@link MapNode}
+     * @param flags    the flags of the format header
+     * @param entries    the number of entries
+     * @param stringPool the {@link StringPool} to deduplicate strings, or {@code null}
+     * @return the entries of the {@link MapNode}
+     * @throws IOException if the data is broken
+     */
+    static @NotNull Map<Object, Node<?>> readEntries(@NotNull ByteBuffer contents, int flags, int entries, @Nullable StringPool stringPool) throws IOException {
+        var input = BinaryInput.buffer(contents);
+        var decoder = new BinaryDecoder(input, flags, true, stringPool);
+        var map = new LinkedHashMap<Object, Node<?>>(Math.max(16, (int) (entries / 0.75f) + 1));
+
+        for (int i = 0; i < entries; i++) {
+            decoder.readEntry(map);
+        }
+
+        checkFullyRead(contents);
+        return map;
+    }
+
+    /**
+     * Reads the elements of the {@link ListNode} that is lazily decoded.
+     *
+     * @param contents   the contents of the {@link ListNode}
+     * @param flags      the flags of the format header
+     * @param length     the number of elements
+     * @param stringList {@code true} if the list only contains strings
+     * @param stringPool the {@link StringPool} to deduplicate strings, or {@code null}
+     * @return the elements of the {@link ListNode}
+     * @throws IOException if the data is broken
+     */
+    static @NotNull List<Node<?>> readElements(@NotNull ByteBuffer contents, int flags, int length, boolean stringList, @Nullable StringPool stringPool) throws IOException {
+        var input = BinaryInput.buffer(contents);
+        var decoder = new BinaryDecoder(input, flags, true, stringPool);
+        var list = new ArrayList<Node<?>>(length);
+
+        for (int i = 0; i < length; i++) {
+            list.add(stringList ? readStringValue(input, flags, stringPool) : decoder.read(input.readUnsignedByte()));
+        }
+
+        checkFullyRead(contents);
+        return list;
+    }
+
+    private @NotNull Node<?> read(int header) throws IOException {
+        var in = this.in;
+        int dataType = header & DATA_TYPE_MASK;
+
+        if (dataType == MAP) {
+            int entries = readLength(in, header);
+
+            if (this.isSized()) {
+                int size = this.readSize();
+                if (this.lazy) {
+                    return MapNode.backedBy(new LazyMap(this.readContents(size), this.flags, entries, this.stringPool));
+                }
+            }
+
+            MapNode mapNode = MapNode.create();
+            for (int i = 0; i < entries; i++) {
+                Object key = this.read(in.readUnsignedByte()).value();
+                Node<?> value = this.read(in.readUnsignedByte());
+                mapNode.setOwned(key, value);
+            }
+            return mapNode;
+        }
+
+        if (dataType == (ARRAY | NULL) || dataType == (ARRAY | STRING)) {
+            int length = readLength(in, header);
+            boolean stringList = dataType == (ARRAY | STRING);
+
+            if (this.isSized()) {
+                int size = this.readSize();
+                if (this.lazy) {
+                    return ListNode.backedBy(new LazyList(this.readContents(size), this.flags, length, stringList, this.stringPool));
+                }
+            }
+
+            ListNode listNode = ListNode.create(length);
+            for (int i = 0; i < length; i++) {
+                listNode.addOwned(stringList ? readStringValue(in, this.flags, this.stringPool) : this.read(in.readUnsignedByte()));
+            }
+            return listNode;
+        }
+
+        return readValue(in, header, this.flags, this.stringPool);
+    }
+
+    /**
+     * Reads the {@link dev.siroshun.configapi.core.node.ValueNode} or {@link dev.siroshun.configapi.core.node.ArrayNode}.
+     *
+     * @param in     the {@link BinaryInput} to read
+     * @param header the header of the node
+     * @param flags      the flags of the format header
+     * @param stringPool the {@link StringPool} to deduplicate strings, or {@code null}
+     * @return the read {@link Node}
+     * @throws IOException if the header is not a value node or a primitive array, or an I/O error occurred
+     */
+    static @NotNull Node<?> readValue(@NotNull BinaryInput in, int header, int flags, @Nullable StringPool stringPool) throws IOException {
+        int dataType = header & DATA_TYPE_MASK;
+        boolean compact = (flags & FLAG_COMPACT_NUMBERS) != 0;
+
+        if ((header & ARRAY) == ARRAY) {
+            int valueType = header & VALUE_TYPE_MASK;
+            int length = readLength(in, header);
+
+            return switch (valueType) {
+                case BOOLEAN -> new BooleanArray(in.readBooleans(length));
+                case BYTE -> new ByteArray(in.readBytes(length));
+                case CHAR -> new CharArray(in.readChars(length));
+                case DOUBLE -> new DoubleArray(in.readDoubles(length));
+                case FLOAT -> new FloatArray(in.readFloats(length));
+                case INT -> new IntArray(compact ? CompactArrays.readInts(in, length) : in.readInts(length));
+                case LONG -> new LongArray(compact ? CompactArrays.readLongs(in, length) : in.readLongs(length));
+                case SHORT -> new ShortArray(in.readShorts(length));
+                default -> throw new IOException("Unsupported array type: " + valueType);
+            };
+        }
+
+        return switch (dataType) {
+            case NULL -> NullNode.NULL;
+            case BOOLEAN -> BooleanValue.fromBoolean(in.readBoolean());
+            case BYTE -> ByteValue.fromByte(in.readByte());
+            case CHAR -> CharValue.fromChar(in.readChar());
+            case DOUBLE -> new DoubleValue(in.readDouble());
+            case FLOAT -> new FloatValue(in.readFloat());
+            case INT -> IntValue.fromInt(compact ? VarInt.unZigZag(in.readVarInt()) : in.readInt());
+            case LONG -> LongValue.fromLong(compact ? VarInt.unZigZag(in.readVarLong()) : in.readLong());
+            case SHORT -> ShortValue.fromShort(in.readShort());
+            case STRING -> readStringValue(in, flags, stringPool);
+            default -> throw new IOException("Unsupported data type: " + dataType);
+        };
+    }
+
+    static @NotNull StringValue readStringValue(@NotNull BinaryInput in, int flags, @Nullable StringPool stringPool) throws IOException {
+        var value = (flags & FLAG_UTF8) != 0 ? in.readString() : in.readUTF();
+        return stringPool != null ? stringPool.stringValue(value) : StringValue.fromString(value);
+    }
+
+    private void readEntry(@NotNull Map<Object, Node<?>> map) throws IOException {
+        Object key = this.read(this.in.readUnsignedByte()).value();
+        Node<?> value = this.read(this.in.readUnsignedByte());
+
+        if (key == null) {
+            throw new IOException("The key of the map cannot be null");
+        }
+
+        // Put the node directly instead of using MapNode#set, because it copies MapNode/ListNode and decodes them
+        if (value != NullNode.NULL) {
+            map.put(key, value);
+        } else {
+            map.remove(key);
+        }
+    }
+
+    static int readLength(@NotNull BinaryInput in, int header) throws IOException {
+        int lengthType = header >> LENGTH_TYPE_SHIFT;
+        return switch (lengthType) {
+            case LENGTH_TYPE_BYTE -> in.readUnsignedByte();
+            case LENGTH_TYPE_SHORT -> in.readUnsignedShort();
+            case LENGTH_TYPE_INT -> {
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException("Length cannot be negative (got " + length + ")");
+                }
+                yield length;
+            }
+            default -> {
+                if (lengthType < LENGTH_TYPE_BYTE) {
+                    yield lengthType;
+                } else {
+                    throw new IOException("Unsupported length type: " + lengthType);
+                }
+            }
+        };
+    }
+
+    private boolean isSized() {
+        return (this.flags & FLAG_SIZED) != 0;
+    }
+
+    private int readSize() throws IOException {
+        int size = this.in.readInt();
+        if (size < 0) {
+            throw new IOException("Size cannot be negative (got " + size + ")");
+        }
+        return size;
+    }
+
+    private @NotNull ByteBuffer readContents(int size) throws IOException {
+        if (this.in instanceof ByteBufferBinaryInput bufferInput) {
+            return bufferInput.slice(size);
+        } else {
+            return ByteBuffer.wrap(this.in.readBytes(size));
+        }
+    }
+
+    private static void checkFullyRead(@NotNull ByteBuffer contents) throws IOException {
+        if (contents.hasRemaining()) {
+            throw new IOException("The size of the contents does not match (" + contents.remaining() + " bytes remaining)");
+        }
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.node.ArrayNode;
+import dev.siroshun.configapi.core.node.BooleanArray;
+import dev.siroshun.configapi.core.node.BooleanValue;
+import dev.siroshun.configapi.core.node.ByteArray;
+import dev.siroshun.configapi.core.node.ByteValue;
+import dev.siroshun.configapi.core.node.CharArray;
+import dev.siroshun.configapi.core.node.CharValue;
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.DoubleArray;
+import dev.siroshun.configapi.core.node.DoubleValue;
+import dev.siroshun.configapi.core.node.FloatArray;
+import dev.siroshun.configapi.core.node.FloatValue;
+import dev.siroshun.configapi.core.node.IntArray;
+import dev.siroshun.configapi.core.node.IntValue;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.LongArray;
+import dev.siroshun.configapi.core.node.LongValue;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.ObjectNode;
+import dev.siroshun.configapi.core.node.ShortArray;
+import dev.siroshun.configapi.core.node.ShortValue;
+import dev.siroshun.configapi.core.node.StringValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.siroshun.configapi.format.binary.BinaryFormat.ARRAY;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.BOOLEAN;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.BYTE;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.CHAR;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.DOUBLE;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLAG_COMPACT_NUMBERS;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLAG_SIZED;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLAG_UTF8;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLOAT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FORMAT_HEADER;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.INT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LENGTH_TYPE_BYTE;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LENGTH_TYPE_INT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LENGTH_TYPE_SHIFT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LENGTH_TYPE_SHORT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.LONG;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAP;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAX_UNSIGNED_BYTE;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAX_UNSIGNED_SHORT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.NULL;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.SHORT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.STRING;
+
+/**
+ * A class to write {@link Node}s to {@link BinaryOutput}.
+ */
+final class BinaryEncoder {
+
+    private final BinaryOutput out;
+    private final int flags;
+    private final Map<Node<?>, Integer> contentSizes;
+
+    BinaryEncoder(@NotNull BinaryOutput out, int flags) {
+        this.out = out;
+        this.flags = flags;
+        this.contentSizes = (flags & FLAG_SIZED) != 0 ? new IdentityHashMap<>() : Map.of();
+    }
+
+    void writeRoot(@NotNull Node<?> node) throws IOException {
+        if (this.flags != 0) {
+            this.out.writeByte(FORMAT_HEADER);
+            this.out.writeByte(this.flags);
+        }
+
+        this.write(node);
+    }
+
+    void write(@NotNull Node<?> node) throws IOException {
+        if (writeValue(this.out, node, this.flags)) {
+            return;
+        }
+
+        var out = this.out;
+        var clazz = node.getClass();
+
+        if (node instanceof ListNode) {
+            List<Node<?>> list = ((ListNode) node).value();
+            List<StringValue> stringList = ((ListNode) node).asList(StringValue.class);
+            int size = list.size();
+
+            if (size == stringList.size()) {
+                writeArrayHeader(out, STRING, size);
+                this.writeContentSize(node);
+                for (int i = 0; i < size; i++) writeString(out, stringList.get(i).asString(), this.flags);
+            } else {
+                writeArrayHeader(out, NULL, size);
+                this.writeContentSize(node);
+                for (int i = 0; i < size; i++) this.write(list.get(i));
+            }
+        } else if (node instanceof MapNode) {
+            Map<Object, Node<?>> map = ((MapNode) node).value();
+            writeHeader(out, MAP, map.size());
+            this.writeContentSize(node);
+            for (Map.Entry<Object, Node<?>> entry : map.entrySet()) {
+                this.write(Node.fromObject(entry.getKey()));
+                this.write(entry.getValue());
+            }
+        } else if (clazz == CommentedNode.class) {
+            this.write(((CommentedNode<?>) node).node());
+        } else if (clazz == ObjectNode.class) {
+            Object obj = node.value();
+            throw new IOException("Unsupported object type:" + obj.getClass());
+        } else {
+            throw new IOException("Unsupported Node type: " + clazz);
+        }
+    }
+
+    /**
+     * Writes the {@link dev.siroshun.configapi.core.node.ValueNode} or {@link ArrayNode}.
+     *
+     * @param out   the {@link BinaryOutput} to write
+     * @param node  the {@link Node} to write
+     * @param flags the flags of the format header
+     * @return {@code true} if the node is written, or {@code false} if the node is not a value node or an array
+     * @throws IOException if an I/O error occurred
+     */
+    static boolean writeValue(@NotNull BinaryOutput out, @NotNull Node<?> node, int flags) throws IOException {
+        var clazz = node.getClass();
+
+        if (clazz == NullNode.class) {
+            out.writeByte(NULL);
+        } else if (clazz == BooleanValue.class) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(((BooleanValue) node).asBoolean());
+        } else if (clazz == ByteValue.class) {
+            out.writeByte(BYTE);
+            out.writeByte(((ByteValue) node).asByte());
+        } else if (clazz == CharValue.class) {
+            out.writeByte(CHAR);
+            out.writeChar(((CharValue) node).asChar());
+        } else if (clazz == DoubleValue.class) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((DoubleValue) node).asDouble());
+        } else if (clazz == FloatValue.class) {
+            out.writeByte(FLOAT);
+            out.writeFloat(((FloatValue) node).asFloat());
+        } else if (clazz == IntValue.class) {
+            out.writeByte(INT);
+            if ((flags & FLAG_COMPACT_NUMBERS) != 0) {
+                out.writeVarInt(VarInt.zigZag(((IntValue) node).asInt()));
+            } else {
+                out.writeInt(((IntValue) node).asInt());
+            }
+        } else if (clazz == LongValue.class) {
+            out.writeByte(LONG);
+            if ((flags & FLAG_COMPACT_NUMBERS) != 0) {
+                out.writeVarLong(VarInt.zigZag(((LongValue) node).asLong()));
+            } else {
+                out.writeLong(((LongValue) node).asLong());
+            }
+        } else if (clazz == ShortValue.class) {
+            out.writeByte(SHORT);
+            out.writeShort(((ShortValue) node).asShort());
+        } else if (clazz == StringValue.class) {
+            out.writeByte(STRING);
+            writeString(out, ((StringValue) node).asString(), flags);
+        } else if (ArrayNode.class.isAssignableFrom(clazz)) {
+            if (clazz == BooleanArray.class) {
+                boolean[] array = ((BooleanArray) node).value();
+                writeArrayHeader(out, BOOLEAN, array.length);
+                out.writeBooleans(array);
+            } else if (clazz == ByteArray.class) {
+                byte[] array = ((ByteArray) node).value();
+                writeArrayHeader(out, BYTE, array.length);
+                out.writeBytes(array);
+            } else if (clazz == CharArray.class) {
+                char[] array = ((CharArray) node).value();
+                writeArrayHeader(out, CHAR, array.length);
+                out.writeChars(array);
+            } else if (clazz == DoubleArray.class) {
+                double[] array = ((DoubleArray) node).value();
+                writeArrayHeader(out, DOUBLE, array.length);
+                out.writeDoubles(array);
+            } else if (clazz == FloatArray.class) {
+                float[] array = ((FloatArray) node).value();
+                writeArrayHeader(out, FLOAT, array.length);
+                out.writeFloats(array);
+            } else if (clazz == IntArray.class) {
+                int[] array = ((IntArray) node).value();
+                writeArrayHeader(out, INT, array.length);
+                if ((flags & FLAG_COMPACT_NUMBERS) != 0) {
+                    CompactArrays.write(out, array);
+                } else {
+                    out.writeInts(array);
+                }
+            } else if (clazz == LongArray.class) {
+                long[] array = ((LongArray) node).value();
+                writeArrayHeader(out, LONG, array.length);
+                if ((flags & FLAG_COMPACT_NUMBERS) != 0) {
+                    CompactArrays.write(out, array);
+                } else {
+                    out.writeLongs(array);
+                }
+            } else if (clazz == ShortArray.class) {
+                short[] array = ((ShortArray) node).value();
+                writeArrayHeader(out, SHORT, array.length);
+                out.writeShorts(array);
+            } else {
+                throw new IOException("Unknown array type: " + clazz);
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeString(@NotNull BinaryOutput out, @NotNull String str, int flags) throws IOException {
+        if ((flags & FLAG_UTF8) != 0) {
+            out.writeString(str);
+        } else {
+            out.writeUTF(str);
+        }
+    }
+
+    static void writeArrayHeader(@NotNull BinaryOutput out, byte valueType, int length) throws IOException {
+        writeHeader(out, valueType | ARRAY, length);
+    }
+
+    static void writeHeader(@NotNull BinaryOutput out, int dataType, int length) throws IOException {
+        if (length < LENGTH_TYPE_BYTE) {
+            out.writeByte((length << LENGTH_TYPE_SHIFT) | dataType);
+        } else if (length <= MAX_UNSIGNED_BYTE) {
+            out.writeByte((LENGTH_TYPE_BYTE << LENGTH_TYPE_SHIFT) | dataType);
+            out.writeByte(length);
+        } else if (length <= MAX_UNSIGNED_SHORT) {
+            out.writeByte((LENGTH_TYPE_SHORT << LENGTH_TYPE_SHIFT) | dataType);
+            out.writeShort(length);
+        } else {
+            out.writeByte((LENGTH_TYPE_INT << LENGTH_TYPE_SHIFT) | dataType);
+            out.writeInt(length);
+        }
+    }
+
+    private void writeContentSize(@NotNull Node<?> structure) throws IOException {
+        if ((this.flags & FLAG_SIZED) != 0) {
+            this.out.writeInt(this.contentSize(structure));
+        }
+    }
+
+    /**
+     * Calculates the number of bytes of the elements/entries in the {@link ListNode} or {@link MapNode}.
+     * <p>
+     * The calculated sizes are cached, so each node in the tree is visited only once even if the tree is deeply nested.
+     *
+     * @param structure the {@link ListNode} or {@link MapNode}
+     * @return the number of bytes of the contents
+     * @throws IOException if the tree contains unsupported nodes, or the size is too large
+     */
+    private int contentSize(@NotNull Node<?> structure) throws IOException {
+        var cached = this.contentSizes.get(structure);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        long size = 0;
+
+        if (structure instanceof ListNode listNode) {
+            List<Node<?>> list = listNode.value();
+            List<StringValue> stringList = listNode.asList(StringValue.class);
+
+            if (list.size() == stringList.size()) {
+                for (var value : stringList) size += stringSize(value.asString(), this.flags);
+            } else {
+                for (var element : list) size += this.nodeSize(element);
+            }
+        } else if (structure instanceof MapNode mapNode) {
+            for (var entry : mapNode.value().entrySet()) {
+                size += this.nodeSize(Node.fromObject(entry.getKey())) + this.nodeSize(entry.getValue());
+            }
+        }
+
+        if (Integer.MAX_VALUE < size) {
+            throw new IOException("The node is too large to write its size: " + size + " bytes");
+        }
+
+        this.contentSizes.put(structure, (int) size);
+        return (int) size;
+    }
+
+    private long nodeSize(@NotNull Node<?> node) throws IOException {
+        long valueSize = valueSize(node, this.flags);
+
+        if (0 <= valueSize) {
+            return valueSize;
+        }
+
+        var clazz = node.getClass();
+
+        if (node instanceof ListNode) {
+            return headerSize(((ListNode) node).size()) + Integer.BYTES + this.contentSize(node);
+        } else if (node instanceof MapNode) {
+            return headerSize(((MapNode) node).size()) + Integer.BYTES + this.contentSize(node);
+        } else if (clazz == CommentedNode.class) {
+            return this.nodeSize(((CommentedNode<?>) node).node());
+        } else {
+            throw new IOException("Unsupported Node type: " + clazz);
+        }
+    }
+
+    /**
+     * Calculates the number of bytes of the {@link dev.siroshun.configapi.core.node.ValueNode} or {@link ArrayNode}.
+     *
+     * @param node  the {@link Node} to calculate
+     * @param flags the flags of the format header
+     * @return the number of bytes, or {@code -1} if the node is not a value node or an array
+     */
+    static long valueSize(@NotNull Node<?> node, int flags) {
+        var clazz = node.getClass();
+
+        if (clazz == NullNode.class) {
+            return 1;
+        } else if (clazz == BooleanValue.class || clazz == ByteValue.class) {
+            return 1 + Byte.BYTES;
+        } else if (clazz == CharValue.class || clazz == ShortValue.class) {
+            return 1 + Short.BYTES;
+        } else if (clazz == IntValue.class && (flags & FLAG_COMPACT_NUMBERS) != 0) {
+            return 1 + VarInt.size(VarInt.zigZag(((IntValue) node).asInt()));
+        } else if (clazz == LongValue.class && (flags & FLAG_COMPACT_NUMBERS) != 0) {
+            return 1 + VarInt.size(VarInt.zigZag(((LongValue) node).asLong()));
+        } else if (clazz == IntValue.class || clazz == FloatValue.class) {
+            return 1 + Integer.BYTES;
+        } else if (clazz == LongValue.class || clazz == DoubleValue.class) {
+            return 1 + Long.BYTES;
+        } else if (clazz == StringValue.class) {
+            return 1 + stringSize(((StringValue) node).asString(), flags);
+        } else if (clazz == BooleanArray.class) {
+            return arraySize(((BooleanArray) node).value().length, Byte.BYTES);
+        } else if (clazz == ByteArray.class) {
+            return arraySize(((ByteArray) node).value().length, Byte.BYTES);
+        } else if (clazz == CharArray.class) {
+            return arraySize(((CharArray) node).value().length, Character.BYTES);
+        } else if (clazz == ShortArray.class) {
+            return arraySize(((ShortArray) node).value().length, Short.BYTES);
+        } else if (clazz == IntArray.class && (flags & FLAG_COMPACT_NUMBERS) != 0) {
+            int[] array = ((IntArray) node).value();
+            return headerSize(array.length) + CompactArrays.size(array);
+        } else if (clazz == IntArray.class) {
+            return arraySize(((IntArray) node).value().length, Integer.BYTES);
+        } else if (clazz == FloatArray.class) {
+            return arraySize(((FloatArray) node).value().length, Float.BYTES);
+        } else if (clazz == LongArray.class && (flags & FLAG_COMPACT_NUMBERS) != 0) {
+            long[] array = ((LongArray) node).value();
+            return headerSize(array.length) + CompactArrays.size(array);
+        } else if (clazz == LongArray.class) {
+            return arraySize(((LongArray) node).value().length, Long.BYTES);
+        } else if (clazz == DoubleArray.class) {
+            return arraySize(((DoubleArray) node).value().length, Double.BYTES);
+        } else {
+            return -1;
+        }
+    }
+
+    private static long stringSize(@NotNull String str, int flags) {
+        if ((flags & FLAG_UTF8) != 0) {
+            int length = UTF8.length(str);
+            return VarInt.size(length) + length;
+        } else {
+            return Short.BYTES + ModifiedUTF8.length(str);
+        }
+    }
+
+    private static long arraySize(int length, int elementSize) {
+        return headerSize(length) + (long) length * elementSize;
+    }
+
+    static int headerSize(int length) {
+        if (length < LENGTH_TYPE_BYTE) {
+            return 1;
+        } else if (length <= MAX_UNSIGNED_BYTE) {
+            return 1 + Byte.BYTES;
+        } else if (length <= MAX_UNSIGNED_SHORT) {
+            return 1 + Short.BYTES;
+        } else {
+            return 1 + Integer.BYTES;
+        }
+    }
+}
@@ -17,47 +17,32 @@
 package dev.siroshun.configapi.format.binary;
 
 import dev.siroshun.configapi.core.file.FileFormat;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.file.NodeWriter;
 import dev.siroshun.configapi.core.node.ArrayNode;
-import dev.siroshun.configapi.core.node.BooleanArray;
-import dev.siroshun.configapi.core.node.BooleanValue;
-import dev.siroshun.configapi.core.node.ByteArray;
-import dev.siroshun.configapi.core.node.ByteValue;
-import dev.siroshun.configapi.core.node.CharArray;
-import dev.siroshun.configapi.core.node.CharValue;
 import dev.siroshun.configapi.core.node.CommentedNode;
-import dev.siroshun.configapi.core.node.DoubleArray;
-import dev.siroshun.configapi.core.node.DoubleValue;
 import dev.siroshun.configapi.core.node.EnumValue;
-import dev.siroshun.configapi.core.node.FloatArray;
-import dev.siroshun.configapi.core.node.FloatValue;
-import dev.siroshun.configapi.core.node.IntArray;
-import dev.siroshun.configapi.core.node.IntValue;
 import dev.siroshun.configapi.core.node.ListNode;
-import dev.siroshun.configapi.core.node.LongArray;
-import dev.siroshun.configapi.core.node.LongValue;
 import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
 import dev.siroshun.configapi.core.node.NullNode;
-import dev.siroshun.configapi.core.node.ObjectNode;
-import dev.siroshun.configapi.core.node.ShortArray;
-import dev.siroshun.configapi.core.node.ShortValue;
-import dev.siroshun.configapi.core.node.StringValue;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.core.node.ValueNode;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.DataInput;
-import java.io.DataInputStream;
-import java.io.DataOutput;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
 import java.util.Objects;
 
 /**
@@ -79,7 +64,23 @@ public final class BinaryFormat implements FileFormat<Node<?>> {
     /**
      * An instance of {@link BinaryFormat}.
      */
-    public static final BinaryFormat DEFAULT = new BinaryFormat();
+    public static final BinaryFormat DEFAULT = new BinaryFormat.Builder().build();
+
+    /**
+     * An instance of {@link BinaryFormat} that loads files using memory-mapped I/O.
+     *
+     * @see Builder#memoryMapped(boolean)
+     */
+    public static final BinaryFormat MEMORY_MAPPED = new BinaryFormat.Builder().memoryMapped(true).build();
+
+    /**
+     * Creates a new {@link BinaryFormat.Builder}.
+     *
+     * @return a new {@link BinaryFormat.Builder}
+     */
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
 
     /*
       Each node is always given a header.
@@ -145,23 +146,64 @@ public final class BinaryFormat implements FileFormat<Node<?>> {
       Additionally, ListNode and MapNode can be nested.
       This is because the length value is used as the number of elements (entries) and writes/reads that number of them.
 
-      Based on these specifications, DataInput/DataOutput methods are called.
-      Therefore, the actual data representation depends on their implementation and format.
+      All values are written in big-endian in the same representation as DataInput/DataOutput.
+      Primitive arrays are read/written in bulk by BinaryInput/BinaryOutput.
+
+      Optionally, the data can start with a format header that enables additional features:
+
+        [0x0e][flags][header][node data]
+
+      0x0e is not used as a data type of the root node, so the data without the format header can be read as before.
+      The flags are a bit set of the following values, and unknown flags are rejected when reading:
+
+        0x01 - SIZED: ListNode (including String list) and MapNode have the size of their contents in bytes as int after the length data.
+
+                        ListNode: [header](length data)[size][header][element data]...
+                        MapNode:  [header](length data)[size][header][key data][value data]...
+
+                      This allows skipping subtrees without decoding them, and is used for lazy decoding.
+
+        0x02 - UTF8:  Strings (StringValue and the elements of String list) are written in the standard UTF-8
+                      with the length in bytes as unsigned varint (LEB128), instead of the modified UTF-8 of DataOutput.
+
+                        String: [varint length][UTF-8 bytes]
+
+                      This removes the limit of 65535 bytes per string.
+
+        0x04 - COMPACT_NUMBERS: IntValue and LongValue are written as ZigZag-encoded unsigned varints (LEB128).
+                                IntArray and LongArray have a byte that represents the encoding of the elements after the length data:
+
+                                  0 - RAW:    Fixed-length big-endian values, same as without this flag
+                                  1 - ZIGZAG: ZigZag-encoded varints
+                                  2 - DELTA:  ZigZag-encoded varints of the differences from the previous element (the first is from 0)
+
+                                  IntArray/LongArray: [header](length data)[encoding][element data]...
+
+                                The encoding that makes the array smallest is chosen when writing.
      */
 
     /*
       Value Types: 0x00 ~ 0x0f
      */
-    private static final byte NULL = 0x00;
-    private static final byte BOOLEAN = 0x01;
-    private static final byte BYTE = 0x02;
-    private static final byte DOUBLE = 0x03;
-    private static final byte FLOAT = 0x04;
-    private static final byte INT = 0x05;
-    private static final byte LONG = 0x06;
-    private static final byte SHORT = 0x07;
-    private static final byte STRING = 0x08;
-    private static final byte CHAR = 0x09;
+    static final byte NULL = 0x00;
+    static final byte BOOLEAN = 0x01;
+    static final byte BYTE = 0x02;
+    static final byte DOUBLE = 0x03;
+    static final byte FLOAT = 0x04;
+    static final byte INT = 0x05;
+    static final byte LONG = 0x06;
+    static final byte SHORT = 0x07;
+    static final byte STRING = 0x08;
+    static final byte CHAR = 0x09;
+
+    /*
+      Format header: 0x0e (not used as a value type)
+     */
+    static final byte FORMAT_HEADER = 0x0e;
+    static final int FLAG_SIZED = 0x01;
+    static final int FLAG_UTF8 = 0x02;
+    static final int FLAG_COMPACT_NUMBERS = 0x04;
+    static final int KNOWN_FLAGS = FLAG_SIZED | FLAG_UTF8 | FLAG_COMPACT_NUMBERS;
 
     // 0x0f cannot be used as a value type because there is no difference between Array + 0x0f and Map
     @Deprecated
@@ -175,8 +217,8 @@ public final class BinaryFormat implements FileFormat<Node<?>> {
           String List: 0x18
         Map: 0x1f
      */
-    private static final byte ARRAY = 0x10;
-    private static final byte MAP = 0x1f;
+    static final byte ARRAY = 0x10;
+    static final byte MAP = 0x1f;
 
     /*
       Length Types:
@@ -185,38 +227,126 @@ public final class BinaryFormat implements FileFormat<Node<?>> {
         6: The length is represented as short
         7: The length is represented as int
      */
-    private static final byte LENGTH_TYPE_BYTE = 5;
-    private static final byte LENGTH_TYPE_SHORT = 6;
-    private static final byte LENGTH_TYPE_INT = 7;
+    static final byte LENGTH_TYPE_BYTE = 5;
+    static final byte LENGTH_TYPE_SHORT = 6;
+    static final byte LENGTH_TYPE_INT = 7;
 
     /*
       The values to access each field.
      */
-    private static final byte VALUE_TYPE_MASK = 0x0f;
-    private static final byte DATA_TYPE_MASK = 0x1f;
-    private static final byte LENGTH_TYPE_SHIFT = 5;
-
-    private static final int MAX_UNSIGNED_BYTE = 0xff;
-    private static final int MAX_UNSIGNED_SHORT = 0xffff;
-
-    private BinaryFormat() {
+    static final byte VALUE_TYPE_MASK = 0x0f;
+    static final byte DATA_TYPE_MASK = 0x1f;
+    static final byte LENGTH_TYPE_SHIFT = 5;
+
+    static final int MAX_UNSIGNED_BYTE = 0xff;
+    static final int MAX_UNSIGNED_SHORT = 0xffff;
+
+    private final boolean memoryMapped;
+    private final boolean lazy;
+    private final int flags;
+    private final @Nullable StringPool stringPool;
+
+    private BinaryFormat(boolean memoryMapped, boolean lazy, boolean utf8Strings, boolean compactNumbers, @Nullable StringPool stringPool) {
+        this.memoryMapped = memoryMapped;
+        this.lazy = lazy;
+        this.stringPool = stringPool;
+        this.flags = (lazy ? FLAG_SIZED : 0) | (utf8Strings ? FLAG_UTF8 : 0) | (compactNumbers ? FLAG_COMPACT_NUMBERS : 0);
     }
 
     @Override
     public @NotNull Node<?> load(@NotNull Path filepath) throws IOException {
         Objects.requireNonNull(filepath);
-        if (Files.isRegularFile(filepath)) {
-            try (InputStream in = Files.newInputStream(filepath)) {
-                return this.load(in);
-            }
-        } else {
+        if (!Files.isRegularFile(filepath)) {
             return NullNode.NULL;
         }
+
+        if (this.memoryMapped) {
+            try (var channel = FileChannel.open(filepath, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size <= Integer.MAX_VALUE) { // MappedByteBuffer cannot map more than 2 GiB at once
+                    return this.read(BinaryInput.buffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)));
+                }
+            }
+        }
+
+        try (InputStream in = Files.newInputStream(filepath)) {
+            return this.read(BinaryInput.stream(in, true));
+        }
     }
 
     @Override
     public @NotNull Node<?> load(@NotNull InputStream input) throws IOException {
-        return read(new DataInputStream(Objects.requireNonNull(input)));
+        // Do not read ahead, the given stream may contain data after the node
+        return this.read(BinaryInput.stream(Objects.requireNonNull(input), false));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the data is written by the lazy {@link BinaryFormat}, the contents of the {@link MapNode}s and {@link ListNode}s
+     * that are not requested are skipped using their sizes, without decoding them.
+     */
+    @Override
+    public @NotNull Node<?> load(@NotNull Path filepath, @NotNull Collection<NodePath> paths) throws IOException {
+        Objects.requireNonNull(paths);
+        try (var reader = this.reader(filepath)) {
+            reader.next();
+            return reader.readNode(paths);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the data is written by the lazy {@link BinaryFormat}, the contents of the {@link MapNode}s and {@link ListNode}s
+     * that are not requested are skipped using their sizes, without decoding them.
+     * Like {@link #load(InputStream)}, this method does not close the given {@link InputStream}.
+     */
+    @Override
+    public @NotNull Node<?> load(@NotNull InputStream input, @NotNull Collection<NodePath> paths) throws IOException {
+        Objects.requireNonNull(paths);
+        // Do not read ahead, the given stream may contain data after the node
+        var reader = new BinaryNodeReader(BinaryInput.stream(Objects.requireNonNull(input), false), null, this.stringPool);
+        reader.next();
+        return reader.readNode(paths);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeReader} decodes the binary data incrementally.
+     * If the data is written by the lazy {@link BinaryFormat}, {@link NodeReader#skipChildren()} skips the contents without decoding them.
+     */
+    @Override
+    public @NotNull NodeReader reader(@NotNull Path filepath) throws IOException {
+        Objects.requireNonNull(filepath);
+        if (!Files.isRegularFile(filepath)) {
+            return NodeReader.of(NullNode.NULL);
+        }
+
+        if (this.memoryMapped) {
+            try (var channel = FileChannel.open(filepath, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size <= Integer.MAX_VALUE) { // MappedByteBuffer cannot map more than 2 GiB at once
+                    return new BinaryNodeReader(BinaryInput.buffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)), null, this.stringPool);
+                }
+            }
+        }
+
+        InputStream in = Files.newInputStream(filepath);
+        return new BinaryNodeReader(BinaryInput.stream(in, true), in, this.stringPool);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeReader} decodes the binary data incrementally.
+     * If the data is written by the lazy {@link BinaryFormat}, {@link NodeReader#skipChildren()} skips the contents without decoding them.
+     */
+    @Override
+    public @NotNull NodeReader reader(@NotNull InputStream input) {
+        // Do not read ahead, the given stream may contain data after the node
+        return new BinaryNodeReader(BinaryInput.stream(Objects.requireNonNull(input), false), input, this.stringPool);
     }
 
     @Override
@@ -234,7 +364,42 @@ public final class BinaryFormat implements FileFormat<Node<?>> {
 
     @Override
     public void save(@NotNull Node<?> node, @NotNull OutputStream output) throws IOException {
-        write(node, new DataOutputStream(Objects.requireNonNull(output)));
+        Objects.requireNonNull(node);
+        var out = new BinaryOutput(Objects.requireNonNull(output));
+        new BinaryEncoder(out, this.flags).writeRoot(node);
+        out.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeWriter} encodes the nodes incrementally.
+     * The contents of a {@link MapNode} or {@link ListNode} are written directly only when its size is given
+     * and this {@link BinaryFormat} is not lazy; otherwise, they are buffered until the end of it.
+     * {@link ListNode}s are always written as the list of any nodes.
+     */
+    @Override
+    public @NotNull NodeWriter writer(@NotNull Path filepath) throws IOException {
+        var parent = filepath.getParent();
+
+        if (parent != null && !Files.isDirectory(parent)) {
+            Files.createDirectories(parent);
+        }
+
+        return new BinaryNodeWriter(Files.newOutputStream(filepath), this.flags);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeWriter} encodes the nodes incrementally.
+     * The contents of a {@link MapNode} or {@link ListNode} are written directly only when its size is given
+     * and this {@link BinaryFormat} is not lazy; otherwise, they are buffered until the end of it.
+     * {@link ListNode}s are always written as the list of any nodes.
+     */
+    @Override
+    public @NotNull NodeWriter writer(@NotNull OutputStream output) {
+        return new BinaryNodeWriter(Objects.requireNonNull(output), this.flags);
     }
 
     /**
@@ -255,238 +420,154 @@ public final class BinaryFormat implements FileFormat<Node<?>> {
      */
     @Override
     @Deprecated
-    public void save(@NotNull Node<?> node, @NotNull Writer writer) {
+    public @NotNull NodeReader reader(@NotNull Reader reader) {
         throw new UnsupportedOperationException();
     }
 
-    private static void write(@NotNull Node<?> node, @NotNull DataOutput out) throws IOException {
-        var clazz = node.getClass();
-
-        if (clazz == NullNode.class) {
-            out.writeByte(NULL);
-        } else if (clazz == BooleanValue.class) {
-            out.writeByte(BOOLEAN);
-            out.writeBoolean(((BooleanValue) node).asBoolean());
-        } else if (clazz == ByteValue.class) {
-            out.writeByte(BYTE);
-            out.writeByte(((ByteValue) node).asByte());
-        } else if (clazz == CharValue.class) {
-            out.writeByte(CHAR);
-            out.writeChar(((CharValue) node).asChar());
-        } else if (clazz == DoubleValue.class) {
-            out.writeByte(DOUBLE);
-            out.writeDouble(((DoubleValue) node).asDouble());
-        } else if (clazz == FloatValue.class) {
-            out.writeByte(FLOAT);
-            out.writeFloat(((FloatValue) node).asFloat());
-        } else if (clazz == IntValue.class) {
-            out.writeByte(INT);
-            out.writeInt(((IntValue) node).asInt());
-        } else if (clazz == LongValue.class) {
-            out.writeByte(LONG);
-            out.writeLong(((LongValue) node).asLong());
-        } else if (clazz == ShortValue.class) {
-            out.writeByte(SHORT);
-            out.writeShort(((ShortValue) node).asShort());
-        } else if (clazz == StringValue.class) {
-            out.writeByte(STRING);
-            out.writeUTF(((StringValue) node).asString());
-        } else if (ArrayNode.class.isAssignableFrom(clazz)) {
-            if (clazz == BooleanArray.class) {
-                boolean[] array = ((BooleanArray) node).value();
-                writeArrayHeader(out, BOOLEAN, array.length);
-                for (boolean val : array) out.writeBoolean(val);
-            } else if (clazz == ByteArray.class) {
-                byte[] array = ((ByteArray) node).value();
-                writeArrayHeader(out, BYTE, array.length);
-                for (byte val : array) out.writeByte(val);
-            } else if (clazz == CharArray.class) {
-                char[] array = ((CharArray) node).value();
-                writeArrayHeader(out, CHAR, array.length);
-                for (char val : array) out.writeChar(val);
-            } else if (clazz == DoubleArray.class) {
-                double[] array = ((DoubleArray) node).value();
-                writeArrayHeader(out, DOUBLE, array.length);
-                for (double val : array) out.writeDouble(val);
-            } else if (clazz == FloatArray.class) {
-                float[] array = ((FloatArray) node).value();
-                writeArrayHeader(out, FLOAT, array.length);
-                for (float val : array) out.writeFloat(val);
-            } else if (clazz == IntArray.class) {
-                int[] array = ((IntArray) node).value();
-                writeArrayHeader(out, INT, array.length);
-                for (int val : array) out.writeInt(val);
-            } else if (clazz == LongArray.class) {
-                long[] array = ((LongArray) node).value();
-                writeArrayHeader(out, LONG, array.length);
-                for (long val : array) out.writeLong(val);
-            } else if (clazz == ShortArray.class) {
-                short[] array = ((ShortArray) node).value();
-                writeArrayHeader(out, SHORT, array.length);
-                for (short val : array) out.writeShort(val);
-            } else {
-                throw new IOException("Unknown array type: " + clazz);
-            }
-        } else if (clazz == ListNode.IMPLEMENTATION_CLASS) {
-            List<Node<?>> list = ((ListNode) node).value();
-            List<StringValue> stringList = ((ListNode) node).asList(StringValue.class);
-            int size = list.size();
-
-            if (size == stringList.size()) {
-                writeArrayHeader(out, STRING, size);
-                for (int i = 0; i < size; i++) out.writeUTF(stringList.get(i).asString());
-            } else {
-                writeArrayHeader(out, NULL, size);
-                for (int i = 0; i < size; i++) write(list.get(i), out);
-            }
-        } else if (clazz == MapNode.IMPLEMENTATION_CLASS) {
-            Map<Object, Node<?>> map = ((MapNode) node).value();
-            writeMapHeader(out, map.size());
-            for (Map.Entry<Object, Node<?>> entry : map.entrySet()) {
-                write(Node.fromObject(entry.getKey()), out);
-                write(entry.getValue(), out);
-            }
-        } else if (clazz == CommentedNode.class) {
-            write(((CommentedNode<?>) node).node(), out);
-        } else if (clazz == ObjectNode.class) {
-            Object obj = node.value();
-            throw new IOException("Unsupported object type:" + obj.getClass());
-        } else {
-            throw new IOException("Unsupported Node type: " + clazz);
-        }
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated Not supported
+     */
+    @Override
+    @Deprecated
+    public void save(@NotNull Node<?> node, @NotNull Writer writer) {
+        throw new UnsupportedOperationException();
     }
 
-    private static void writeArrayHeader(@NotNull DataOutput out, byte valueType, int length) throws IOException {
-        writeHeader(out, valueType | ARRAY, length);
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated Not supported
+     */
+    @Override
+    @Deprecated
+    public @NotNull NodeWriter writer(@NotNull Writer writer) {
+        throw new UnsupportedOperationException();
     }
 
-    private static void writeMapHeader(@NotNull DataOutput out, int entries) throws IOException {
-        writeHeader(out, MAP, entries);
+    private @NotNull Node<?> read(@NotNull BinaryInput in) throws IOException {
+        return new BinaryDecoder(in, this.lazy, this.stringPool).readRoot();
     }
 
-    private static void writeHeader(@NotNull DataOutput out, int dataType, int length) throws IOException {
-        if (length < LENGTH_TYPE_BYTE) {
-            out.writeByte((length << LENGTH_TYPE_SHIFT) | dataType);
-        } else if (length <= MAX_UNSIGNED_BYTE) {
-            out.writeByte((LENGTH_TYPE_BYTE << LENGTH_TYPE_SHIFT) | dataType);
-            out.writeByte(length);
-        } else if (length <= MAX_UNSIGNED_SHORT) {
-            out.writeByte((LENGTH_TYPE_SHORT << LENGTH_TYPE_SHIFT) | dataType);
-            out.writeShort(length);
-        } else {
-            out.writeByte((LENGTH_TYPE_INT << LENGTH_TYPE_SHIFT) | dataType);
-            out.writeInt(length);
+    /**
+     * A builder of {@link BinaryFormat}.
+     */
+    public static final class Builder {
+
+        private boolean memoryMapped;
+        private boolean lazy;
+        private boolean utf8Strings;
+        private boolean compactNumbers;
+        private @Nullable StringPool stringPool;
+
+        private Builder() {
         }
-    }
 
-    private static @NotNull Node<?> read(@NotNull DataInput in) throws IOException {
-        int header = in.readUnsignedByte();
-        int dataType = header & DATA_TYPE_MASK;
-
-        if (dataType == MAP) {
-            int entries = readLength(in, header);
-            MapNode mapNode = MapNode.create();
-            for (int i = 0; i < entries; i++) {
-                Object key = read(in).value();
-                Node<?> value = read(in);
-                mapNode.set(key, value);
-            }
-            return mapNode;
+        /**
+         * Sets whether to load files using memory-mapped I/O.
+         * <p>
+         * When enabled, {@link BinaryFormat#load(Path)} maps the file into memory and decodes nodes directly from it,
+         * instead of copying the file contents through the stream buffer.
+         * This is efficient for large files that contain big primitive arrays.
+         * <p>
+         * Files larger than 2 GiB are loaded using the stream as well as when this option is disabled.
+         * Loading from {@link InputStream} is not affected by this option.
+         *
+         * @param memoryMapped {@code true} to use memory-mapped I/O for loading files
+         * @return this {@link Builder} instance
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder memoryMapped(boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+            return this;
         }
 
-        if ((header & ARRAY) == ARRAY) {
-            int valueType = header & VALUE_TYPE_MASK;
-            int length = readLength(in, header);
+        /**
+         * Sets whether to decode {@link MapNode}s and {@link ListNode}s lazily.
+         * <p>
+         * When enabled, {@link BinaryFormat} saves nodes with the size of each {@link MapNode}/{@link ListNode}.
+         * When loading such data, the entries/elements of {@link MapNode}s and {@link ListNode}s are not decoded
+         * until they are accessed, and untouched subtrees are skipped without decoding.
+         * This is efficient when reading a few values from a large file.
+         * <p>
+         * The data saved by this {@link BinaryFormat} can be loaded by {@link BinaryFormat}s regardless of this option,
+         * but cannot be loaded by older versions of this library.
+         * The data without sizes is always decoded eagerly.
+         * <p>
+         * If the data is broken, the lazily decoded nodes throw {@link java.io.UncheckedIOException} when they are accessed.
+         * When combined with {@link #memoryMapped(boolean)}, the file must not be modified while the loaded nodes are in use.
+         *
+         * @param lazy {@code true} to decode nodes lazily and save nodes with their sizes
+         * @return this {@link Builder} instance
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder lazy(boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
 
-            return switch (valueType) {
-                case NULL -> {
-                    ListNode listNode = ListNode.create(length);
-                    for (int i = 0; i < length; i++) listNode.add(read(in));
-                    yield listNode;
-                }
-                case BOOLEAN -> {
-                    boolean[] array = new boolean[length];
-                    for (int i = 0; i < length; i++) array[i] = in.readBoolean();
-                    yield new BooleanArray(array);
-                }
-                case BYTE -> {
-                    byte[] array = new byte[length];
-                    for (int i = 0; i < length; i++) array[i] = in.readByte();
-                    yield new ByteArray(array);
-                }
-                case CHAR -> {
-                    char[] array = new char[length];
-                    for (int i = 0; i < length; i++) array[i] = in.readChar();
-                    yield new CharArray(array);
-                }
-                case DOUBLE -> {
-                    double[] array = new double[length];
-                    for (int i = 0; i < length; i++) array[i] = in.readDouble();
-                    yield new DoubleArray(array);
-                }
-                case FLOAT -> {
-                    float[] array = new float[length];
-                    for (int i = 0; i < length; i++) array[i] = in.readFloat();
-                    yield new FloatArray(array);
-                }
-                case INT -> {
-                    int[] array = new int[length];
-                    for (int i = 0; i < length; i++) array[i] = in.readInt();
-                    yield new IntArray(array);
-                }
-                case LONG -> {
-                    long[] array = new long[length];
-                    for (int i = 0; i < length; i++) array[i] = in.readLong();
-                    yield new LongArray(array);
-                }
-                case SHORT -> {
-                    short[] array = new short[length];
-                    for (int i = 0; i < length; i++) array[i] = in.readShort();
-                    yield new ShortArray(array);
-                }
-                case STRING -> {
-                    ListNode listNode = ListNode.create(length);
-                    for (int i = 0; i < length; i++) listNode.add(in.readUTF());
-                    yield listNode;
-                }
-                default -> throw new IOException("Unsupported array type: " + valueType);
-            };
+        /**
+         * Sets whether to save strings in the standard UTF-8 with the varint length prefix.
+         * <p>
+         * By default, strings are saved in the modified UTF-8 that is used by {@link java.io.DataOutput#writeUTF(String)},
+         * so a string cannot be longer than 65535 bytes when encoded.
+         * When enabled, strings of any length can be saved, and they are encoded/decoded faster.
+         * <p>
+         * The data saved by this {@link BinaryFormat} can be loaded by {@link BinaryFormat}s regardless of this option,
+         * but cannot be loaded by older versions of this library.
+         *
+         * @param utf8Strings {@code true} to save strings in the standard UTF-8
+         * @return this {@link Builder} instance
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder utf8Strings(boolean utf8Strings) {
+            this.utf8Strings = utf8Strings;
+            return this;
         }
 
-        return switch (dataType) {
-            case NULL -> NullNode.NULL;
-            case BOOLEAN -> BooleanValue.fromBoolean(in.readBoolean());
-            case BYTE -> new ByteValue(in.readByte());
-            case CHAR -> new CharValue(in.readChar());
-            case DOUBLE -> new DoubleValue(in.readDouble());
-            case FLOAT -> new FloatValue(in.readFloat());
-            case INT -> new IntValue(in.readInt());
-            case LONG -> new LongValue(in.readLong());
-            case SHORT -> new ShortValue(in.readShort());
-            case STRING -> StringValue.fromString(in.readUTF());
-            default -> throw new IOException("Unsupported data type: " + dataType);
-        };
-    }
+        /**
+         * Sets whether to save integers in the compact representation.
+         * <p>
+         * When enabled, {@link dev.siroshun.configapi.core.node.IntValue} and {@link dev.siroshun.configapi.core.node.LongValue}
+         * are saved as variable-length integers, so small values (including small negative values) take fewer bytes.
+         * {@link dev.siroshun.configapi.core.node.IntArray} and {@link dev.siroshun.configapi.core.node.LongArray} are also saved
+         * as variable-length integers, or as the differences between adjacent elements when it is smaller (e.g. sorted IDs or timestamps).
+         * <p>
+         * The data saved by this {@link BinaryFormat} can be loaded by {@link BinaryFormat}s regardless of this option,
+         * but cannot be loaded by older versions of this library.
+         *
+         * @param compactNumbers {@code true} to save integers in the compact representation
+         * @return this {@link Builder} instance
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder compactNumbers(boolean compactNumbers) {
+            this.compactNumbers = compactNumbers;
+            return this;
+        }
 
-    private static int readLength(@NotNull DataInput in, int header) throws IOException {
-        int lengthType = header >> LENGTH_TYPE_SHIFT;
-        return switch (lengthType) {
-            case LENGTH_TYPE_BYTE -> in.readUnsignedByte();
-            case LENGTH_TYPE_SHORT -> in.readUnsignedShort();
-            case LENGTH_TYPE_INT -> {
-                int length = in.readInt();
-                if (length < 0) {
-                    throw new IOException("Length cannot be negative (got " + length + ")");
-                }
-                yield length;
-            }
-            default -> {
-                if (lengthType < LENGTH_TYPE_BYTE) {
-                    yield lengthType;
-                } else {
-                    throw new IOException("Unsupported length type: " + lengthType);
-                }
-            }
-        };
+        /**
+         * Sets the {@link StringPool} to deduplicate the keys and string values of loaded nodes.
+         * <p>
+         * When {@link #lazy(boolean)} is enabled, the strings are deduplicated when the nodes are decoded.
+         * Passing {@code null} to not deduplicate strings (default).
+         *
+         * @param stringPool the {@link StringPool}, or {@code null} to not deduplicate strings
+         * @return this {@link Builder} instance
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder stringPool(@Nullable StringPool stringPool) {
+            this.stringPool = stringPool;
+            return this;
+        }
+
+        /**
+         * Builds {@link BinaryFormat}.
+         *
+         * @return a created {@link BinaryFormat}
+         */
+        public @NotNull BinaryFormat build() {
+            return new BinaryFormat(this.memoryMapped, this.lazy, this.utf8Strings, this.compactNumbers, this.stringPool);
+        }
     }
 }
@@ -0,0 +1,142 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A reader of the big-endian data that is compatible with {@link java.io.DataInput}.
+ * <p>
+ * In addition to the methods of {@link java.io.DataInput}, this interface has methods to read primitive arrays in bulk.
+ */
+sealed interface BinaryInput permits StreamBinaryInput, ByteBufferBinaryInput {
+
+    /**
+     * Creates a {@link BinaryInput} that reads the data from the {@link InputStream}.
+     *
+     * @param in        the {@link InputStream} to read
+     * @param readAhead whether to read more bytes than requested, should be {@code false} if the stream is given by the user
+     * @return a new {@link BinaryInput}
+     */
+    static @NotNull BinaryInput stream(@NotNull InputStream in, boolean readAhead) {
+        return new StreamBinaryInput(in, readAhead);
+    }
+
+    /**
+     * Creates a {@link BinaryInput} that reads the data from the {@link ByteBuffer}.
+     * <p>
+     * The data is read from the current position of the {@link ByteBuffer}, and the position will be changed.
+     *
+     * @param buffer the {@link ByteBuffer} to read
+     * @return a new {@link BinaryInput}
+     */
+    static @NotNull BinaryInput buffer(@NotNull ByteBuffer buffer) {
+        return new ByteBufferBinaryInput(buffer);
+    }
+
+    int readUnsignedByte() throws IOException;
+
+    byte readByte() throws IOException;
+
+    boolean readBoolean() throws IOException;
+
+    short readShort() throws IOException;
+
+    int readUnsignedShort() throws IOException;
+
+    char readChar() throws IOException;
+
+    int readInt() throws IOException;
+
+    long readLong() throws IOException;
+
+    float readFloat() throws IOException;
+
+    double readDouble() throws IOException;
+
+    @NotNull String readUTF() throws IOException;
+
+    /**
+     * Reads the unsigned varint that is written by {@link BinaryOutput#writeVarInt(int)}.
+     *
+     * @return the read value
+     * @throws IOException if the varint is too long, or I/O error occurred
+     */
+    default int readVarInt() throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = this.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("The varint is too long");
+    }
+
+    /**
+     * Reads the unsigned varint that is written by {@link BinaryOutput#writeVarLong(long)}.
+     *
+     * @return the read value
+     * @throws IOException if the varint is too long, or I/O error occurred
+     */
+    default long readVarLong() throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = this.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("The varint is too long");
+    }
+
+    /**
+     * Reads the string in the standard UTF-8 with the varint length prefix that is written by {@link BinaryOutput#writeString(String)}.
+     *
+     * @return the read string
+     * @throws IOException if I/O error occurred
+     */
+    @NotNull String readString() throws IOException;
+
+    boolean @NotNull [] readBooleans(int length) throws IOException;
+
+    byte @NotNull [] readBytes(int length) throws IOException;
+
+    char @NotNull [] readChars(int length) throws IOException;
+
+    short @NotNull [] readShorts(int length) throws IOException;
+
+    int @NotNull [] readInts(int length) throws IOException;
+
+    long @NotNull [] readLongs(int length) throws IOException;
+
+    float @NotNull [] readFloats(int length) throws IOException;
+
+    double @NotNull [] readDoubles(int length) throws IOException;
+}
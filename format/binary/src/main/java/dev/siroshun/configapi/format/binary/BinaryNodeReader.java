@@ -0,0 +1,255 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.StringPool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+import static dev.siroshun.configapi.format.binary.BinaryFormat.ARRAY;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.DATA_TYPE_MASK;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLAG_SIZED;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FORMAT_HEADER;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.KNOWN_FLAGS;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAP;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.NULL;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.STRING;
+
+/**
+ * A {@link NodeReader} implementation that reads the binary data from {@link BinaryInput}.
+ * <p>
+ * If the data has the size of {@link dev.siroshun.configapi.core.node.MapNode}s and {@link dev.siroshun.configapi.core.node.ListNode}s
+ * (the SIZED flag), {@link #skipChildren()} skips their contents without decoding them.
+ */
+final class BinaryNodeReader implements NodeReader {
+
+    private static final int SKIP_CHUNK_SIZE = 8192;
+
+    private final BinaryInput in;
+    private final @Nullable Closeable resource;
+    private final @Nullable StringPool stringPool;
+    private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+    private int flags;
+    private @Nullable Event event;
+    private @Nullable Object key;
+    private @Nullable Node<?> value;
+
+    BinaryNodeReader(@NotNull BinaryInput in, @Nullable Closeable resource, @Nullable StringPool stringPool) {
+        this.in = in;
+        this.resource = resource;
+        this.stringPool = stringPool;
+    }
+
+    @Override
+    public @NotNull Event next() throws IOException {
+        if (this.event == Event.END_DOCUMENT) {
+            return Event.END_DOCUMENT;
+        }
+
+        if (this.event == null) {
+            return this.event = this.readRoot();
+        }
+
+        var frame = this.stack.peek();
+
+        if (frame == null) { // the root node has been read
+            return this.event = Event.END_DOCUMENT;
+        }
+
+        if (frame.map && frame.expectingKey) {
+            if (frame.remaining == 0) {
+                this.stack.pop();
+                return this.event = Event.END_MAP;
+            }
+
+            frame.remaining--;
+            frame.expectingKey = false;
+            return this.event = this.readKey();
+        }
+
+        if (frame.map) {
+            frame.expectingKey = true;
+            return this.event = this.read(this.in.readUnsignedByte());
+        }
+
+        if (frame.remaining == 0) {
+            this.stack.pop();
+            return this.event = Event.END_LIST;
+        }
+
+        frame.remaining--;
+
+        if (frame.stringList) {
+            this.value = BinaryDecoder.readStringValue(this.in, this.flags, this.stringPool);
+            return this.event = Event.VALUE;
+        }
+
+        return this.event = this.read(this.in.readUnsignedByte());
+    }
+
+    private @NotNull Event readRoot() throws IOException {
+        int header = this.in.readUnsignedByte();
+
+        if (header == FORMAT_HEADER) {
+            int flags = this.in.readUnsignedByte();
+
+            if ((flags & ~KNOWN_FLAGS) != 0) {
+                throw new IOException("Unsupported flags: 0x" + Integer.toHexString(flags));
+            }
+
+            this.flags = flags;
+            header = this.in.readUnsignedByte();
+        }
+
+        return this.read(header);
+    }
+
+    private @NotNull Event read(int header) throws IOException {
+        int dataType = header & DATA_TYPE_MASK;
+
+        if (dataType == MAP) {
+            int entries = BinaryDecoder.readLength(this.in, header);
+            this.stack.push(new Frame(true, false, entries, this.readSize()));
+            return Event.START_MAP;
+        }
+
+        if (dataType == (ARRAY | NULL) || dataType == (ARRAY | STRING)) {
+            int length = BinaryDecoder.readLength(this.in, header);
+            this.stack.push(new Frame(false, dataType == (ARRAY | STRING), length, this.readSize()));
+            return Event.START_LIST;
+        }
+
+        this.value = BinaryDecoder.readValue(this.in, header, this.flags, this.stringPool);
+        return Event.VALUE;
+    }
+
+    private @NotNull Event readKey() throws IOException {
+        int header = this.in.readUnsignedByte();
+        int dataType = header & DATA_TYPE_MASK;
+
+        if (dataType == MAP || dataType == (ARRAY | NULL) || dataType == (ARRAY | STRING)) {
+            throw new IOException("The key of the map must not be a map or a list");
+        }
+
+        var key = BinaryDecoder.readValue(this.in, header, this.flags, this.stringPool).value();
+
+        if (key == null) {
+            throw new IOException("The key of the map cannot be null");
+        }
+
+        this.key = key;
+        return Event.KEY;
+    }
+
+    private int readSize() throws IOException {
+        if ((this.flags & FLAG_SIZED) == 0) {
+            return -1;
+        }
+
+        int size = this.in.readInt();
+        if (size < 0) {
+            throw new IOException("Size cannot be negative (got " + size + ")");
+        }
+        return size;
+    }
+
+    @Override
+    public @NotNull Event event() {
+        if (this.event == null) {
+            throw new IllegalStateException("next() has not been called yet.");
+        }
+        return this.event;
+    }
+
+    @Override
+    public @NotNull Object key() {
+        if (this.event != Event.KEY || this.key == null) {
+            throw new IllegalStateException("The current event is not KEY: " + this.event);
+        }
+        return this.key;
+    }
+
+    @Override
+    public @NotNull Node<?> value() {
+        if (this.event != Event.VALUE || this.value == null) {
+            throw new IllegalStateException("The current event is not VALUE: " + this.event);
+        }
+        return this.value;
+    }
+
+    @Override
+    public int depth() {
+        return this.stack.size();
+    }
+
+    @Override
+    public void skipChildren() throws IOException {
+        var event = this.event();
+
+        if (event != Event.START_MAP && event != Event.START_LIST) {
+            return;
+        }
+
+        var frame = this.stack.peek();
+
+        if (frame == null || frame.size == -1) {
+            NodeReader.super.skipChildren();
+            return;
+        }
+
+        if (this.in instanceof ByteBufferBinaryInput bufferInput) {
+            bufferInput.slice(frame.size);
+        } else {
+            for (int remaining = frame.size; 0 < remaining; remaining -= SKIP_CHUNK_SIZE) {
+                this.in.readBytes(Math.min(remaining, SKIP_CHUNK_SIZE));
+            }
+        }
+
+        this.stack.pop();
+        this.event = event == Event.START_MAP ? Event.END_MAP : Event.END_LIST;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.resource != null) {
+            this.resource.close();
+        }
+    }
+
+    private static final class Frame {
+
+        private final boolean map;
+        private final boolean stringList;
+        private final int size; // -1 if the data does not have the size
+        private int remaining;
+        private boolean expectingKey;
+
+        private Frame(boolean map, boolean stringList, int remaining, int size) {
+            this.map = map;
+            this.stringList = stringList;
+            this.remaining = remaining;
+            this.size = size;
+            this.expectingKey = map;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.file.NodeWriter;
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+
+import static dev.siroshun.configapi.format.binary.BinaryFormat.ARRAY;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FLAG_SIZED;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.FORMAT_HEADER;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAP;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.NULL;
+
+/**
+ * A {@link NodeWriter} implementation that writes the binary data to {@link BinaryOutput}.
+ * <p>
+ * The binary format has the number of entries/elements before them,
+ * so {@link MapNode}s and {@link ListNode}s are written directly only when their size is given to {@link #beginMap(int)}/{@link #beginList(int)}.
+ * Otherwise, or if the data has the size of the contents in bytes (the SIZED flag),
+ * their contents are encoded into a buffer and written when they end.
+ */
+final class BinaryNodeWriter implements NodeWriter {
+
+    private final OutputStream output;
+    private final BinaryOutput out;
+    private final int flags;
+    private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+    private boolean started;
+    private boolean finished;
+
+    BinaryNodeWriter(@NotNull OutputStream output, int flags) {
+        this.output = output;
+        this.out = new BinaryOutput(output);
+        this.flags = flags;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginMap(int size) throws IOException {
+        this.begin(MAP, size);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter key(@NotNull Object key) throws IOException {
+        var frame = this.stack.peek();
+
+        if (frame == null || frame.dataType != MAP || !frame.expectingKey) {
+            throw new IllegalStateException("Cannot write a key here.");
+        }
+
+        if (!BinaryEncoder.writeValue(frame.out, Node.fromObject(key), this.flags)) {
+            throw new IOException("Unsupported key type: " + key.getClass());
+        }
+
+        frame.count++;
+        frame.expectingKey = false;
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endMap() throws IOException {
+        var frame = this.stack.peek();
+
+        if (frame == null || frame.dataType != MAP || !frame.expectingKey) {
+            throw new IllegalStateException("Cannot end a map here.");
+        }
+
+        this.end(frame);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginList(int size) throws IOException {
+        this.begin(ARRAY | NULL, size);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endList() throws IOException {
+        var frame = this.stack.peek();
+
+        if (frame == null || frame.dataType == MAP) {
+            throw new IllegalStateException("Cannot end a list here.");
+        }
+
+        this.end(frame);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter value(@NotNull Node<?> node) throws IOException {
+        if (node instanceof MapNode || node instanceof ListNode || node instanceof CommentedNode<?>) {
+            return this.writeNode(node);
+        }
+
+        this.beforeNode();
+
+        if (!BinaryEncoder.writeValue(this.currentOutput(), node, this.flags)) {
+            throw new IOException("Unsupported Node type: " + node.getClass());
+        }
+
+        this.afterNode();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter writeNode(@NotNull Node<?> node) throws IOException {
+        if (node instanceof CommentedNode<?> commentedNode) {
+            node = commentedNode.node();
+        }
+
+        if (!(node instanceof MapNode) && !(node instanceof ListNode)) {
+            return this.value(node);
+        }
+
+        // The whole node is available, so BinaryEncoder can write it (and calculate its size) without buffering
+        this.beforeNode();
+        new BinaryEncoder(this.currentOutput(), this.flags).write(node);
+        this.afterNode();
+        return this;
+    }
+
+    private void begin(int dataType, int size) throws IOException {
+        if (size < 0 && size != UNKNOWN_SIZE) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+
+        this.beforeNode();
+
+        Frame frame;
+
+        if (size != UNKNOWN_SIZE && (this.flags & FLAG_SIZED) == 0) {
+            var out = this.currentOutput();
+            BinaryEncoder.writeHeader(out, dataType, size);
+            frame = new Frame(dataType, size, out, null);
+        } else {
+            var buffer = new ByteArrayOutputStream();
+            frame = new Frame(dataType, size, new BinaryOutput(buffer), buffer);
+        }
+
+        this.stack.push(frame);
+    }
+
+    private void end(@NotNull Frame frame) throws IOException {
+        if (frame.size != UNKNOWN_SIZE && frame.size != frame.count) {
+            throw new IOException("The number of entries/elements does not match the size (expected: " + frame.size + ", actual: " + frame.count + ")");
+        }
+
+        this.stack.pop();
+
+        if (frame.buffer != null) {
+            frame.out.flush();
+
+            var contents = frame.buffer.toByteArray();
+            var out = this.currentOutput();
+
+            BinaryEncoder.writeHeader(out, frame.dataType, frame.count);
+
+            if ((this.flags & FLAG_SIZED) != 0) {
+                out.writeInt(contents.length);
+            }
+
+            out.writeBytes(contents);
+        }
+
+        this.afterNode();
+    }
+
+    private void beforeNode() throws IOException {
+        if (this.finished) {
+            throw new IllegalStateException("The root node has already been written.");
+        }
+
+        if (!this.started) {
+            this.started = true;
+
+            if (this.flags != 0) {
+                this.out.writeByte(FORMAT_HEADER);
+                this.out.writeByte(this.flags);
+            }
+        }
+
+        var frame = this.stack.peek();
+
+        if (frame == null) {
+            return;
+        }
+
+        if (frame.dataType == MAP) {
+            if (frame.expectingKey) {
+                throw new IllegalStateException("key(Object) must be called before writing the value.");
+            }
+        } else {
+            frame.count++;
+        }
+    }
+
+    private void afterNode() {
+        var frame = this.stack.peek();
+
+        if (frame == null) {
+            this.finished = true;
+        } else if (frame.dataType == MAP) {
+            frame.expectingKey = true;
+        }
+    }
+
+    private @NotNull BinaryOutput currentOutput() {
+        var frame = this.stack.peek();
+        return frame != null ? frame.out : this.out;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (this.output) {
+            if (this.started && !this.finished) {
+                throw new IOException("The document is incomplete.");
+            }
+            this.out.flush();
+        }
+    }
+
+    private static final class Frame {
+
+        private final int dataType;
+        private final int size; // UNKNOWN_SIZE if not given
+        private final BinaryOutput out;
+        private final @Nullable ByteArrayOutputStream buffer; // null if the contents are written directly
+        private int count;
+        private boolean expectingKey;
+
+        private Frame(int dataType, int size, @NotNull BinaryOutput out, @Nullable ByteArrayOutputStream buffer) {
+            this.dataType = dataType;
+            this.size = size;
+            this.out = out;
+            this.buffer = buffer;
+            this.expectingKey = dataType == MAP;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A buffered writer of the big-endian data that is compatible with {@link java.io.DataOutput}.
+ * <p>
+ * The written data is not passed to the underlying {@link OutputStream} until {@link #flush()} is called.
+ */
+final class BinaryOutput {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle CHAR = MethodHandles.byteArrayViewVarHandle(char[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteBuffer byteBuffer = ByteBuffer.wrap(this.buffer); // big-endian by default
+    private int position;
+
+    BinaryOutput(@NotNull OutputStream out) {
+        this.out = out;
+    }
+
+    void writeByte(int value) throws IOException {
+        this.ensure(1);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        this.writeByte(value ? 1 : 0);
+    }
+
+    void writeShort(int value) throws IOException {
+        this.ensure(Short.BYTES);
+        SHORT.set(this.buffer, this.position, (short) value);
+        this.position += Short.BYTES;
+    }
+
+    void writeChar(int value) throws IOException {
+        this.ensure(Character.BYTES);
+        CHAR.set(this.buffer, this.position, (char) value);
+        this.position += Character.BYTES;
+    }
+
+    void writeInt(int value) throws IOException {
+        this.ensure(Integer.BYTES);
+        INT.set(this.buffer, this.position, value);
+        this.position += Integer.BYTES;
+    }
+
+    void writeLong(long value) throws IOException {
+        this.ensure(Long.BYTES);
+        LONG.set(this.buffer, this.position, value);
+        this.position += Long.BYTES;
+    }
+
+    void writeFloat(float value) throws IOException {
+        this.writeInt(Float.floatToIntBits(value));
+    }
+
+    void writeDouble(double value) throws IOException {
+        this.writeLong(Double.doubleToLongBits(value));
+    }
+
+    void writeUTF(@NotNull String str) throws IOException {
+        int utfLength = ModifiedUTF8.length(str);
+
+        if (ModifiedUTF8.MAX_LENGTH < utfLength) {
+            throw new UTFDataFormatException("encoded string too long: " + utfLength + " bytes");
+        }
+
+        this.writeShort(utfLength);
+
+        if (BUFFER_SIZE < utfLength) {
+            var bytes = new byte[utfLength];
+            ModifiedUTF8.encode(str, bytes, 0);
+            this.flushBuffer();
+            this.out.write(bytes);
+        } else {
+            this.ensure(utfLength);
+            this.position = ModifiedUTF8.encode(str, this.buffer, this.position);
+        }
+    }
+
+    void writeVarInt(int value) throws IOException {
+        this.ensure(VarInt.MAX_INT_SIZE);
+        while ((value & ~0x7f) != 0) {
+            this.buffer[this.position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    void writeVarLong(long value) throws IOException {
+        this.ensure(VarInt.MAX_LONG_SIZE);
+        while ((value & ~0x7fL) != 0) {
+            this.buffer[this.position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    void writeString(@NotNull String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        this.writeVarInt(bytes.length);
+        this.writeBytes(bytes);
+    }
+
+    void writeBooleans(boolean @NotNull [] array) throws IOException {
+        int index = 0;
+
+        while (index < array.length) {
+            int count = this.reserve(array.length - index, 1);
+            for (int i = 0; i < count; i++) {
+                this.buffer[this.position++] = (byte) (array[index++] ? 1 : 0);
+            }
+        }
+    }
+
+    void writeBytes(byte @NotNull [] array) throws IOException {
+        if (array.length <= BUFFER_SIZE - this.position) {
+            System.arraycopy(array, 0, this.buffer, this.position, array.length);
+            this.position += array.length;
+        } else {
+            this.flushBuffer();
+            this.out.write(array);
+        }
+    }
+
+    void writeChars(char @NotNull [] array) throws IOException {
+        int index = 0;
+
+        while (index < array.length) {
+            int count = this.reserve(array.length - index, Character.BYTES);
+            this.byteBuffer.position(this.position).asCharBuffer().put(array, index, count);
+            this.position += count * Character.BYTES;
+            index += count;
+        }
+    }
+
+    void writeShorts(short @NotNull [] array) throws IOException {
+        int index = 0;
+
+        while (index < array.length) {
+            int count = this.reserve(array.length - index, Short.BYTES);
+            this.byteBuffer.position(this.position).asShortBuffer().put(array, index, count);
+            this.position += count * Short.BYTES;
+            index += count;
+        }
+    }
+
+    void writeInts(int @NotNull [] array) throws IOException {
+        int index = 0;
+
+        while (index < array.length) {
+            int count = this.reserve(array.length - index, Integer.BYTES);
+            this.byteBuffer.position(this.position).asIntBuffer().put(array, index, count);
+            this.position += count * Integer.BYTES;
+            index += count;
+        }
+    }
+
+    void writeLongs(long @NotNull [] array) throws IOException {
+        int index = 0;
+
+        while (index < array.length) {
+            int count = this.reserve(array.length - index, Long.BYTES);
+            this.byteBuffer.position(this.position).asLongBuffer().put(array, index, count);
+            this.position += count * Long.BYTES;
+            index += count;
+        }
+    }
+
+    void writeFloats(float @NotNull [] array) throws IOException {
+        int index = 0;
+
+        while (index < array.length) {
+            int count = this.reserve(array.length - index, Float.BYTES);
+            // FloatBuffer#put writes raw bits, so canonicalize NaNs to keep the same output as DataOutput#writeFloat
+            for (int i = 0; i < count; i++) {
+                INT.set(this.buffer, this.position, Float.floatToIntBits(array[index++]));
+                this.position += Float.BYTES;
+            }
+        }
+    }
+
+    void writeDoubles(double @NotNull [] array) throws IOException {
+        int index = 0;
+
+        while (index < array.length) {
+            int count = this.reserve(array.length - index, Double.BYTES);
+            // DoubleBuffer#put writes raw bits, so canonicalize NaNs to keep the same output as DataOutput#writeDouble
+            for (int i = 0; i < count; i++) {
+                LONG.set(this.buffer, this.position, Double.doubleToLongBits(array[index++]));
+                this.position += Double.BYTES;
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered data to the underlying {@link OutputStream} and flushes it.
+     *
+     * @throws IOException if an I/O error occurred
+     */
+    void flush() throws IOException {
+        this.flushBuffer();
+        this.out.flush();
+    }
+
+    private void ensure(int size) throws IOException {
+        if (BUFFER_SIZE - this.position < size) {
+            this.flushBuffer();
+        }
+    }
+
+    private int reserve(int elements, int elementSize) throws IOException {
+        if (BUFFER_SIZE - this.position < elementSize) {
+            this.flushBuffer();
+        }
+        return Math.min(elements, (BUFFER_SIZE - this.position) / elementSize);
+    }
+
+    private void flushBuffer() throws IOException {
+        if (0 < this.position) {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link BinaryInput} that reads the data directly from {@link ByteBuffer}, such as {@link java.nio.MappedByteBuffer}.
+ * <p>
+ * Primitive arrays are copied from the {@link ByteBuffer} to the heap at once, without the intermediate buffer.
+ */
+final class ByteBufferBinaryInput implements BinaryInput {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferBinaryInput(@NotNull ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return this.readByte() & 0xff;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        this.require(1);
+        return this.buffer.get();
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return this.readByte() != 0;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        this.require(Short.BYTES);
+        return this.buffer.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return this.readShort() & 0xffff;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        this.require(Character.BYTES);
+        return this.buffer.getChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        this.require(Integer.BYTES);
+        return this.buffer.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        this.require(Long.BYTES);
+        return this.buffer.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(this.readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(this.readLong());
+    }
+
+    @Override
+    public @NotNull String readUTF() throws IOException {
+        int length = this.readUnsignedShort();
+        this.require(length);
+
+        if (this.buffer.hasArray()) {
+            int offset = this.buffer.arrayOffset() + this.buffer.position();
+            this.buffer.position(this.buffer.position() + length);
+            return ModifiedUTF8.decode(this.buffer.array(), offset, length);
+        } else {
+            var bytes = new byte[length];
+            this.buffer.get(bytes);
+            return ModifiedUTF8.decode(bytes, 0, length);
+        }
+    }
+
+    @Override
+    public @NotNull String readString() throws IOException {
+        int length = this.readVarInt();
+
+        if (length < 0) {
+            throw new IOException("Length cannot be negative (got " + length + ")");
+        }
+
+        this.require(length);
+
+        if (this.buffer.hasArray()) {
+            int offset = this.buffer.arrayOffset() + this.buffer.position();
+            this.buffer.position(this.buffer.position() + length);
+            return new String(this.buffer.array(), offset, length, StandardCharsets.UTF_8);
+        } else {
+            var bytes = new byte[length];
+            this.buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public boolean @NotNull [] readBooleans(int length) throws IOException {
+        this.require(length);
+
+        var array = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = this.buffer.get() != 0;
+        }
+
+        return array;
+    }
+
+    @Override
+    public byte @NotNull [] readBytes(int length) throws IOException {
+        this.require(length);
+        var array = new byte[length];
+        this.buffer.get(array);
+        return array;
+    }
+
+    @Override
+    public char @NotNull [] readChars(int length) throws IOException {
+        this.require((long) length * Character.BYTES);
+        var array = new char[length];
+        this.buffer.asCharBuffer().get(array);
+        this.skip(length * Character.BYTES);
+        return array;
+    }
+
+    @Override
+    public short @NotNull [] readShorts(int length) throws IOException {
+        this.require((long) length * Short.BYTES);
+        var array = new short[length];
+        this.buffer.asShortBuffer().get(array);
+        this.skip(length * Short.BYTES);
+        return array;
+    }
+
+    @Override
+    public int @NotNull [] readInts(int length) throws IOException {
+        this.require((long) length * Integer.BYTES);
+        var array = new int[length];
+        this.buffer.asIntBuffer().get(array);
+        this.skip(length * Integer.BYTES);
+        return array;
+    }
+
+    @Override
+    public long @NotNull [] readLongs(int length) throws IOException {
+        this.require((long) length * Long.BYTES);
+        var array = new long[length];
+        this.buffer.asLongBuffer().get(array);
+        this.skip(length * Long.BYTES);
+        return array;
+    }
+
+    @Override
+    public float @NotNull [] readFloats(int length) throws IOException {
+        this.require((long) length * Float.BYTES);
+        var array = new float[length];
+        this.buffer.asFloatBuffer().get(array);
+        this.skip(length * Float.BYTES);
+        return array;
+    }
+
+    @Override
+    public double @NotNull [] readDoubles(int length) throws IOException {
+        this.require((long) length * Double.BYTES);
+        var array = new double[length];
+        this.buffer.asDoubleBuffer().get(array);
+        this.skip(length * Double.BYTES);
+        return array;
+    }
+
+    /**
+     * Gets the current position of the {@link ByteBuffer}.
+     *
+     * @return the current position
+     */
+    int position() {
+        return this.buffer.position();
+    }
+
+    /**
+     * Moves to the specified position of the {@link ByteBuffer}.
+     *
+     * @param position the new position
+     * @throws IOException if the position is out of the {@link ByteBuffer}
+     */
+    void position(int position) throws IOException {
+        if (position < 0 || this.buffer.limit() < position) {
+            throw new EOFException("The position is out of range: " + position);
+        }
+        this.buffer.position(position);
+    }
+
+    /**
+     * Gets the next {@code size} bytes as a new {@link ByteBuffer} that shares the content with the source {@link ByteBuffer}.
+     *
+     * @param size the number of bytes
+     * @return a new {@link ByteBuffer}
+     * @throws IOException if there are not enough bytes
+     */
+    @NotNull ByteBuffer slice(int size) throws IOException {
+        this.require(size);
+        var slice = this.buffer.slice(this.buffer.position(), size);
+        this.skip(size);
+        return slice;
+    }
+
+    private void require(long size) throws IOException {
+        if (this.buffer.remaining() < size) {
+            throw new EOFException();
+        }
+    }
+
+    private void skip(int size) {
+        this.buffer.position(this.buffer.position() + size);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Reads/writes {@code int[]} and {@code long[]} in the compact representation.
+ * <p>
+ * The array is written with a byte that represents how the elements are encoded, followed by the elements:
+ *
+ * <ul>
+ *     <li>{@link #RAW}: fixed-length big-endian values, same as the default representation</li>
+ *     <li>{@link #ZIGZAG}: ZigZag-encoded varints, for small values</li>
+ *     <li>{@link #DELTA}: ZigZag-encoded varints of the differences from the previous element, for sorted or monotonic values</li>
+ * </ul>
+ * <p>
+ * The encoding that makes the array smallest is chosen when writing.
+ */
+final class CompactArrays {
+
+    static final int RAW = 0;
+    static final int ZIGZAG = 1;
+    static final int DELTA = 2;
+
+    static long size(int @NotNull [] array) {
+        return 1 + Math.min((long) array.length * Integer.BYTES, Math.min(zigZagSize(array), deltaSize(array)));
+    }
+
+    static long size(long @NotNull [] array) {
+        return 1 + Math.min((long) array.length * Long.BYTES, Math.min(zigZagSize(array), deltaSize(array)));
+    }
+
+    static void write(@NotNull BinaryOutput out, int @NotNull [] array) throws IOException {
+        long raw = (long) array.length * Integer.BYTES;
+        long zigZag = zigZagSize(array);
+        long delta = deltaSize(array);
+
+        if (raw <= zigZag && raw <= delta) {
+            out.writeByte(RAW);
+            out.writeInts(array);
+        } else if (zigZag <= delta) {
+            out.writeByte(ZIGZAG);
+            for (int value : array) out.writeVarInt(VarInt.zigZag(value));
+        } else {
+            out.writeByte(DELTA);
+            int previous = 0;
+            for (int value : array) {
+                out.writeVarInt(VarInt.zigZag(value - previous));
+                previous = value;
+            }
+        }
+    }
+
+    static void write(@NotNull BinaryOutput out, long @NotNull [] array) throws IOException {
+        long raw = (long) array.length * Long.BYTES;
+        long zigZag = zigZagSize(array);
+        long delta = deltaSize(array);
+
+        if (raw <= zigZag && raw <= delta) {
+            out.writeByte(RAW);
+            out.writeLongs(array);
+        } else if (zigZag <= delta) {
+            out.writeByte(ZIGZAG);
+            for (long value : array) out.writeVarLong(VarInt.zigZag(value));
+        } else {
+            out.writeByte(DELTA);
+            long previous = 0;
+            for (long value : array) {
+                out.writeVarLong(VarInt.zigZag(value - previous));
+                previous = value;
+            }
+        }
+    }
+
+    static int @NotNull [] readInts(@NotNull BinaryInput in, int length) throws IOException {
+        int encoding = in.readUnsignedByte();
+
+        if (encoding == RAW) {
+            return in.readInts(length);
+        }
+
+        if (encoding != ZIGZAG && encoding != DELTA) {
+            throw new IOException("Unsupported array encoding: " + encoding);
+        }
+
+        var array = new int[length];
+        int previous = 0;
+
+        for (int i = 0; i < length; i++) {
+            int value = VarInt.unZigZag(in.readVarInt());
+            array[i] = encoding == DELTA ? (previous += value) : value;
+        }
+
+        return array;
+    }
+
+    static long @NotNull [] readLongs(@NotNull BinaryInput in, int length) throws IOException {
+        int encoding = in.readUnsignedByte();
+
+        if (encoding == RAW) {
+            return in.readLongs(length);
+        }
+
+        if (encoding != ZIGZAG && encoding != DELTA) {
+            throw new IOException("Unsupported array encoding: " + encoding);
+        }
+
+        var array = new long[length];
+        long previous = 0;
+
+        for (int i = 0; i < length; i++) {
+            long value = VarInt.unZigZag(in.readVarLong());
+            array[i] = encoding == DELTA ? (previous += value) : value;
+        }
+
+        return array;
+    }
+
+    private static long zigZagSize(int @NotNull [] array) {
+        long size = 0;
+        for (int value : array) size += VarInt.size(VarInt.zigZag(value));
+        return size;
+    }
+
+    private static long deltaSize(int @NotNull [] array) {
+        long size = 0;
+        int previous = 0;
+        for (int value : array) {
+            size += VarInt.size(VarInt.zigZag(value - previous));
+            previous = value;
+        }
+        return size;
+    }
+
+    private static long zigZagSize(long @NotNull [] array) {
+        long size = 0;
+        for (long value : array) size += VarInt.size(VarInt.zigZag(value));
+        return size;
+    }
+
+    private static long deltaSize(long @NotNull [] array) {
+        long size = 0;
+        long previous = 0;
+        for (long value : array) {
+            size += VarInt.size(VarInt.zigZag(value - previous));
+            previous = value;
+        }
+        return size;
+    }
+
+    private CompactArrays() {
+        throw new UnsupportedOperationException();
+    }
+}
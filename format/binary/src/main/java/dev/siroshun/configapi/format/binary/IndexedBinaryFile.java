@@ -0,0 +1,123 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
+import dev.siroshun.configapi.core.node.NullNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A class to read values from the data of {@link IndexedBinaryFormat} by random access.
+ * <p>
+ * Only the dictionary is decoded when opening, and {@link #get(Object...)} decodes the requested node only,
+ * using the offset index of {@link MapNode}s and {@link ListNode}s.
+ * <p>
+ * This class is thread-safe, and the instance can be obtained by {@link IndexedBinaryFormat#open(java.nio.file.Path)}
+ * or {@link IndexedBinaryFormat#open(byte[])}.
+ */
+public final class IndexedBinaryFile {
+
+    private final IndexedDecoder decoder;
+
+    IndexedBinaryFile(@NotNull IndexedDecoder decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * Gets the {@link Node} at the specified path.
+     * <p>
+     * Each element of the path is a key of the {@link MapNode}, or an {@link Integer} index of the {@link ListNode}.
+     * If the path is empty, this method returns the root {@link MapNode}.
+     * <p>
+     * The returned {@link Node} is decoded with its children, and is not affected by other calls of this method.
+     *
+     * @param path the keys of {@link MapNode}s or the indices of {@link ListNode}s
+     * @return the {@link Node} at the path, or {@link NullNode#NULL} if not found
+     * @throws IOException if the data is broken
+     */
+    public @NotNull Node<?> get(@NotNull Object @NotNull ... path) throws IOException {
+        Objects.requireNonNull(path);
+        for (Object key : path) {
+            Objects.requireNonNull(key);
+        }
+        return this.decoder.read(path);
+    }
+
+    /**
+     * Decodes the entire data as {@link MapNode}.
+     *
+     * @return the root {@link MapNode}
+     * @throws IOException if the data is broken
+     */
+    public @NotNull MapNode root() throws IOException {
+        return this.decoder.readRoot();
+    }
+
+    /**
+     * Decodes only the nodes that the specified {@link NodePath}s point to, like {@link IndexedBinaryFormat#load(java.nio.file.Path, Collection)}.
+     * <p>
+     * The values of the root {@link MapNode} that the paths go through are found by the offset index and decoded,
+     * and the other values are not decoded.
+     *
+     * @param paths the {@link NodePath}s to decode
+     * @return the sparse root {@link MapNode} that contains only the requested nodes
+     * @throws IOException if the data is broken
+     */
+    @NotNull MapNode read(@NotNull Collection<NodePath> paths) throws IOException {
+        var sparse = MapNode.create();
+
+        for (var path : paths) {
+            if (path.size() == 0) {
+                return this.root();
+            }
+
+            var key = path.segment(0);
+
+            if (path.isIndex(0) || sparse.containsKey(key)) {
+                continue;
+            }
+
+            var node = this.decoder.read(new Object[]{key});
+
+            if (node != NullNode.NULL) { // MapNode does not hold NullNode.NULL as the value
+                sparse.setOwned(key, node);
+            }
+        }
+
+        try (var reader = NodeReader.of(sparse)) {
+            reader.next();
+            return (MapNode) reader.readNode(paths);
+        }
+    }
+
+    /**
+     * Gets the number of keys in the dictionary.
+     *
+     * @return the number of unique keys of all {@link MapNode}s
+     */
+    public int keyCount() {
+        return this.decoder.keyCount();
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.file.FileFormat;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.file.NodeWriter;
+import dev.siroshun.configapi.core.node.ArrayNode;
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.EnumValue;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
+import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.ValueNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A {@link FileFormat} implementation that loading/saving {@link MapNode} from/to indexed binary format.
+ * <p>
+ * Unlike {@link BinaryFormat}, the keys of {@link MapNode}s are stored once in the dictionary,
+ * and {@link MapNode}s and {@link ListNode}s have the offset index of their values.
+ * This reduces the size of the data that contains many maps with the same keys (e.g. the list of maps),
+ * and allows reading a single value without decoding others by {@link IndexedBinaryFile}.
+ * <p>
+ * Supported {@link Node}s:
+ *
+ * <ul>
+ *     <li>{@link ValueNode}s excluding {@link EnumValue}</li>
+ *     <li>{@link ArrayNode}, {@link ListNode} and {@link MapNode}</li>
+ *     <li>{@link NullNode}</li>
+ *     <li>{@link CommentedNode} - The comment will be dropped</li>
+ * </ul>
+ * <p>
+ * For specifications of this format, please see the comments in the source code.
+ */
+public final class IndexedBinaryFormat implements FileFormat<MapNode> {
+
+    /**
+     * An instance of {@link IndexedBinaryFormat}.
+     */
+    public static final IndexedBinaryFormat DEFAULT = new IndexedBinaryFormat();
+
+    /*
+      The data consists of the file header, the dictionary, and the root MapNode:
+
+        [magic][version][body size][dictionary][root node]
+
+      The magic is "CAPI" in ASCII (0x43415049), and the version is a byte (currently 1).
+      The body size is the number of bytes of the dictionary and the root node as int,
+      so that the data can be read from the stream without reading more than needed.
+
+      The dictionary contains all keys of MapNodes in the data without duplicates:
+
+        [count (int)][key node]...
+
+      Each key is written as a value node of BinaryFormat, and is referenced by its index (key id) in the dictionary.
+
+      Value nodes and primitive arrays are written in the same way as BinaryFormat.
+      ListNode and MapNode have the offset index after the length data:
+
+        ListNode: [header](length data)[index type][offset]...[header][element data]...
+        MapNode:  [header](length data)[index type][key id][offset]...[header][value data]...
+
+      The offset is the position of the value relative to the end of the index.
+      The index of MapNode is sorted by key id to find a key by binary search,
+      and the values are written in the order of the entries in the MapNode.
+
+      To keep the index small, the key ids and the offsets are written using the minimum required unsigned type
+      (byte, short, or int) for each ListNode/MapNode. The index type is a byte that represents their sizes in bytes:
+
+        | Key id size | Offset size |
+        |    0000     |    0000     |
+
+      The key id size of ListNode is always 0.
+
+      All values are written in big-endian, and all positions are limited to the range of int.
+     */
+
+    static final int MAGIC = 0x43415049;
+    static final int VERSION = 1;
+
+    static final int INDEX_TYPE_SHIFT = 4;
+    static final int INDEX_TYPE_MASK = 0x0f;
+
+    private IndexedBinaryFormat() {
+    }
+
+    @Override
+    public @NotNull MapNode load(@NotNull Path filepath) throws IOException {
+        Objects.requireNonNull(filepath);
+        if (!Files.isRegularFile(filepath)) {
+            return MapNode.create();
+        }
+
+        try (InputStream in = Files.newInputStream(filepath)) {
+            return this.load(in);
+        }
+    }
+
+    @Override
+    public @NotNull MapNode load(@NotNull InputStream input) throws IOException {
+        var in = BinaryInput.stream(Objects.requireNonNull(input), false);
+        int bodySize = readFileHeader(in);
+        return IndexedDecoder.create(ByteBuffer.wrap(in.readBytes(bodySize))).readRoot();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is opened by {@link #open(Path)}, and only the values of the root {@link MapNode} that the paths go through are decoded.
+     */
+    @Override
+    public @NotNull MapNode load(@NotNull Path filepath, @NotNull Collection<NodePath> paths) throws IOException {
+        Objects.requireNonNull(filepath);
+        Objects.requireNonNull(paths);
+        if (!Files.isRegularFile(filepath)) {
+            return MapNode.create();
+        }
+
+        return this.open(filepath).read(paths);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the values of the root {@link MapNode} that the paths go through are decoded.
+     * Like {@link #load(InputStream)}, this method does not close the given {@link InputStream}.
+     */
+    @Override
+    public @NotNull MapNode load(@NotNull InputStream input, @NotNull Collection<NodePath> paths) throws IOException {
+        Objects.requireNonNull(paths);
+        var in = BinaryInput.stream(Objects.requireNonNull(input), false);
+        int bodySize = readFileHeader(in);
+        return new IndexedBinaryFile(IndexedDecoder.create(ByteBuffer.wrap(in.readBytes(bodySize)))).read(paths);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeReader} reads the {@link MapNode} that is loaded using {@link #load(Path)}.
+     */
+    @Override
+    public @NotNull NodeReader reader(@NotNull Path filepath) throws IOException {
+        return NodeReader.of(this.load(filepath));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeReader} reads the {@link MapNode} that is loaded using {@link #load(InputStream)},
+     * and the given {@link InputStream} is closed before this method returns.
+     */
+    @Override
+    public @NotNull NodeReader reader(@NotNull InputStream input) throws IOException {
+        try (input) {
+            return NodeReader.of(this.load(input));
+        }
+    }
+
+    @Override
+    public void save(@NotNull MapNode node, @NotNull Path filepath) throws IOException {
+        var parent = filepath.getParent();
+
+        if (parent != null && !Files.isDirectory(parent)) {
+            Files.createDirectories(parent);
+        }
+
+        try (OutputStream out = Files.newOutputStream(filepath)) {
+            this.save(node, out);
+        }
+    }
+
+    @Override
+    public void save(@NotNull MapNode node, @NotNull OutputStream output) throws IOException {
+        Objects.requireNonNull(node);
+        var out = new BinaryOutput(Objects.requireNonNull(output));
+        new IndexedEncoder(out).write(node);
+        out.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The index of this format needs the whole {@link MapNode}, so the returned {@link NodeWriter} builds it
+     * and saves it using {@link #save(MapNode, Path)} when closing.
+     * The file is not created or truncated until then.
+     */
+    @Override
+    public @NotNull NodeWriter writer(@NotNull Path filepath) {
+        Objects.requireNonNull(filepath);
+        return NodeWriter.tree(root -> this.save(toMapNode(root), filepath));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The index of this format needs the whole {@link MapNode}, so the returned {@link NodeWriter} builds it
+     * and saves it using {@link #save(MapNode, OutputStream)} when closing.
+     */
+    @Override
+    public @NotNull NodeWriter writer(@NotNull OutputStream output) {
+        Objects.requireNonNull(output);
+        return NodeWriter.tree(new NodeWriter.TreeTarget() {
+            @Override
+            public void save(@NotNull Node<?> root) throws IOException {
+                IndexedBinaryFormat.this.save(toMapNode(root), output);
+            }
+
+            @Override
+            public void close() throws IOException {
+                output.close();
+            }
+        });
+    }
+
+    /**
+     * Opens the indexed binary file to read values without decoding the entire file.
+     * <p>
+     * The file is mapped into memory, so it must not be modified while the returned {@link IndexedBinaryFile} is in use.
+     *
+     * @param filepath a filepath to open
+     * @return a {@link IndexedBinaryFile}
+     * @throws IOException if the file does not exist, the file is larger than 2 GiB, the data is not in this format, or I/O error occurred
+     */
+    public @NotNull IndexedBinaryFile open(@NotNull Path filepath) throws IOException {
+        Objects.requireNonNull(filepath);
+        try (var channel = FileChannel.open(filepath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (Integer.MAX_VALUE < size) {
+                throw new IOException("The file is too large to open: " + size + " bytes");
+            }
+            return this.open(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Opens the data in the indexed binary format to read values without decoding the entire data.
+     * <p>
+     * The given array is not copied, so it must not be modified while the returned {@link IndexedBinaryFile} is in use.
+     *
+     * @param data the data to open
+     * @return a {@link IndexedBinaryFile}
+     * @throws IOException if the data is not in this format
+     */
+    public @NotNull IndexedBinaryFile open(byte @NotNull [] data) throws IOException {
+        return this.open(ByteBuffer.wrap(Objects.requireNonNull(data)));
+    }
+
+    private @NotNull IndexedBinaryFile open(@NotNull ByteBuffer data) throws IOException {
+        int bodySize = readFileHeader(BinaryInput.buffer(data));
+        if (data.remaining() < bodySize) {
+            throw new IOException("The data is truncated (expected " + bodySize + " bytes, but got " + data.remaining() + " bytes)");
+        }
+        return new IndexedBinaryFile(IndexedDecoder.create(data.slice(data.position(), bodySize)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated Not supported
+     */
+    @Override
+    @Deprecated
+    public @NotNull MapNode load(@NotNull Reader reader) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated Not supported
+     */
+    @Override
+    @Deprecated
+    public @NotNull NodeReader reader(@NotNull Reader reader) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated Not supported
+     */
+    @Override
+    @Deprecated
+    public void save(@NotNull MapNode node, @NotNull Writer writer) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated Not supported
+     */
+    @Override
+    @Deprecated
+    public @NotNull NodeWriter writer(@NotNull Writer writer) {
+        throw new UnsupportedOperationException();
+    }
+
+    private static @NotNull MapNode toMapNode(@NotNull Node<?> root) throws IOException {
+        if (root instanceof CommentedNode<?> commentedNode) {
+            root = commentedNode.node();
+        }
+
+        if (root instanceof MapNode mapNode) {
+            return mapNode;
+        }
+
+        throw new IOException("The root node must be a MapNode: " + root);
+    }
+
+    private static int readFileHeader(@NotNull BinaryInput in) throws IOException {
+        int magic = in.readInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not an indexed binary data (magic: 0x" + Integer.toHexString(magic) + ")");
+        }
+
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version: " + version);
+        }
+
+        int bodySize = in.readInt();
+        if (bodySize < 0) {
+            throw new IOException("Size cannot be negative (got " + bodySize + ")");
+        }
+        return bodySize;
+    }
+}
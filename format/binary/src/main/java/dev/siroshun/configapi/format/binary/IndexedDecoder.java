@@ -0,0 +1,285 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NullNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static dev.siroshun.configapi.format.binary.BinaryFormat.ARRAY;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.DATA_TYPE_MASK;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAP;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.NULL;
+import static dev.siroshun.configapi.format.binary.IndexedBinaryFormat.INDEX_TYPE_MASK;
+import static dev.siroshun.configapi.format.binary.IndexedBinaryFormat.INDEX_TYPE_SHIFT;
+
+/**
+ * A class to read {@link Node}s from the body of {@link IndexedBinaryFormat}.
+ * <p>
+ * This class reads the nodes at the specified positions, so it can read any node without decoding others.
+ * The {@link ByteBuffer} is not modified, and this class can be used from multiple threads.
+ */
+final class IndexedDecoder {
+
+    /**
+     * Reads the dictionary and creates a new {@link IndexedDecoder}.
+     *
+     * @param body the body of {@link IndexedBinaryFormat}, starting with the dictionary
+     * @return a new {@link IndexedDecoder}
+     * @throws IOException if the dictionary is broken
+     */
+    static @NotNull IndexedDecoder create(@NotNull ByteBuffer body) throws IOException {
+        var in = new ByteBufferBinaryInput(body.duplicate());
+        int count = in.readInt();
+
+        if (count < 0) {
+            throw new IOException("The number of keys cannot be negative (got " + count + ")");
+        }
+
+        var keys = new Object[count];
+        var keyIds = new HashMap<Object, Integer>(Math.max(16, (int) (count / 0.75f) + 1));
+
+        for (int i = 0; i < count; i++) {
+            Object key = BinaryDecoder.readValue(in, in.readUnsignedByte(), 0, null).value();
+            if (key == null) {
+                throw new IOException("The key of the map cannot be null");
+            }
+            keys[i] = key;
+            keyIds.put(key, i);
+        }
+
+        return new IndexedDecoder(body, keys, keyIds, in.position());
+    }
+
+    private final ByteBuffer body;
+    private final Object[] keys;
+    private final Map<Object, Integer> keyIds;
+    private final int rootPosition;
+
+    private IndexedDecoder(@NotNull ByteBuffer body, @NotNull Object @NotNull [] keys, @NotNull Map<Object, Integer> keyIds, int rootPosition) {
+        this.body = body;
+        this.keys = keys;
+        this.keyIds = keyIds;
+        this.rootPosition = rootPosition;
+    }
+
+    int keyCount() {
+        return this.keys.length;
+    }
+
+    @NotNull MapNode readRoot() throws IOException {
+        var in = this.input(this.rootPosition);
+        var root = this.read(in, in.readUnsignedByte());
+
+        if (root instanceof MapNode mapNode) {
+            return mapNode;
+        } else {
+            throw new IOException("The root node is not a MapNode");
+        }
+    }
+
+    /**
+     * Reads the {@link Node} at the specified path.
+     *
+     * @param path the keys of {@link MapNode}s or the indices of {@link ListNode}s
+     * @return the {@link Node} at the path, or {@link NullNode#NULL} if not found
+     * @throws IOException if the data is broken
+     */
+    @NotNull Node<?> read(@NotNull Object @NotNull [] path) throws IOException {
+        var in = this.input(this.rootPosition);
+        int header = in.readUnsignedByte();
+
+        for (Object key : path) {
+            int position = this.find(in, header, key);
+
+            if (position < 0) {
+                return NullNode.NULL;
+            }
+
+            in.position(position);
+            header = in.readUnsignedByte();
+        }
+
+        return this.read(in, header);
+    }
+
+    /**
+     * Finds the position of the value that is mapped to the key in the {@link MapNode}, or the element in the {@link ListNode}.
+     *
+     * @param in     the {@link ByteBufferBinaryInput} positioned after the header
+     * @param header the header of the node
+     * @param key    the key of the {@link MapNode} or the index of the {@link ListNode}
+     * @return the position of the found value, or {@code -1} if not found
+     * @throws IOException if the data is broken
+     */
+    private int find(@NotNull ByteBufferBinaryInput in, int header, @NotNull Object key) throws IOException {
+        int dataType = header & DATA_TYPE_MASK;
+
+        if (dataType == MAP) {
+            Integer keyId = this.keyIds.get(key);
+
+            if (keyId == null) {
+                return -1;
+            }
+
+            int entries = BinaryDecoder.readLength(in, header);
+            int indexType = in.readUnsignedByte();
+            int keyIdSize = indexFieldSize(indexType >> INDEX_TYPE_SHIFT);
+            int offsetSize = indexFieldSize(indexType & INDEX_TYPE_MASK);
+            int entrySize = keyIdSize + offsetSize;
+            int indexStart = in.position();
+            int valuesStart = this.checkedAdd(indexStart, (long) entries * entrySize);
+
+            int low = 0;
+            int high = entries - 1;
+
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int entry = indexStart + mid * entrySize;
+                int id = this.readIndexField(entry, keyIdSize);
+
+                if (id < keyId) {
+                    low = mid + 1;
+                } else if (keyId < id) {
+                    high = mid - 1;
+                } else {
+                    return this.checkedAdd(valuesStart, this.readIndexField(entry + keyIdSize, offsetSize));
+                }
+            }
+
+            return -1;
+        } else if (dataType == (ARRAY | NULL)) {
+            if (!(key instanceof Integer index)) {
+                return -1;
+            }
+
+            int length = BinaryDecoder.readLength(in, header);
+            int offsetSize = indexFieldSize(in.readUnsignedByte() & INDEX_TYPE_MASK);
+
+            if (index < 0 || length <= index) {
+                return -1;
+            }
+
+            int indexStart = in.position();
+            int valuesStart = this.checkedAdd(indexStart, (long) length * offsetSize);
+            return this.checkedAdd(valuesStart, this.readIndexField(indexStart + index * offsetSize, offsetSize));
+        } else {
+            return -1;
+        }
+    }
+
+    private @NotNull Node<?> read(@NotNull ByteBufferBinaryInput in, int header) throws IOException {
+        int dataType = header & DATA_TYPE_MASK;
+
+        if (dataType == MAP) {
+            int entries = BinaryDecoder.readLength(in, header);
+            int indexType = in.readUnsignedByte();
+            int keyIdSize = indexFieldSize(indexType >> INDEX_TYPE_SHIFT);
+            int offsetSize = indexFieldSize(indexType & INDEX_TYPE_MASK);
+            int indexStart = in.position();
+            int valuesStart = this.checkedAdd(indexStart, (long) entries * (keyIdSize + offsetSize));
+
+            // offset (high 32 bits) and key id (low 32 bits), sort them to restore the order of the entries
+            long[] index = new long[entries];
+            for (int i = 0, entry = indexStart; i < entries; i++, entry += keyIdSize + offsetSize) {
+                int keyId = this.readIndexField(entry, keyIdSize);
+                if (this.keys.length <= keyId) {
+                    throw new IOException("Unknown key id: " + keyId);
+                }
+                index[i] = ((long) this.readIndexField(entry + keyIdSize, offsetSize) << 32) | keyId;
+            }
+
+            Arrays.sort(index);
+
+            var map = new LinkedHashMap<Object, Node<?>>(Math.max(16, (int) (entries / 0.75f) + 1));
+
+            for (long entry : index) {
+                in.position(this.checkedAdd(valuesStart, (int) (entry >>> 32)));
+                var value = this.read(in, in.readUnsignedByte());
+                if (value != NullNode.NULL) {
+                    map.put(this.keys[(int) entry], value);
+                }
+            }
+
+            // Use the map directly instead of MapNode#set, because it copies MapNode/ListNode
+            return MapNode.backedBy(map);
+        } else if (dataType == (ARRAY | NULL)) {
+            int length = BinaryDecoder.readLength(in, header);
+            int offsetSize = indexFieldSize(in.readUnsignedByte() & INDEX_TYPE_MASK);
+            int indexStart = in.position();
+            int valuesStart = this.checkedAdd(indexStart, (long) length * offsetSize);
+
+            var list = new ArrayList<Node<?>>(length);
+
+            for (int i = 0; i < length; i++) {
+                in.position(this.checkedAdd(valuesStart, this.readIndexField(indexStart + i * offsetSize, offsetSize)));
+                list.add(this.read(in, in.readUnsignedByte()));
+            }
+
+            return ListNode.backedBy(list);
+        } else {
+            return BinaryDecoder.readValue(in, header, 0, null);
+        }
+    }
+
+    private @NotNull ByteBufferBinaryInput input(int position) throws IOException {
+        var in = new ByteBufferBinaryInput(this.body.duplicate());
+        in.position(position);
+        return in;
+    }
+
+    private int readIndexField(int position, int size) throws IOException {
+        int value = switch (size) {
+            case Byte.BYTES -> Byte.toUnsignedInt(this.body.get(position));
+            case Short.BYTES -> Short.toUnsignedInt(this.body.getShort(position));
+            default -> this.body.getInt(position);
+        };
+
+        if (value < 0) {
+            throw new IOException("The index value cannot be negative (got " + value + ")");
+        }
+
+        return value;
+    }
+
+    private static int indexFieldSize(int size) throws IOException {
+        if (size != Byte.BYTES && size != Short.BYTES && size != Integer.BYTES) {
+            throw new IOException("Unsupported index field size: " + size);
+        }
+        return size;
+    }
+
+    private int checkedAdd(int position, long offset) throws IOException {
+        long result = position + offset;
+
+        if (offset < 0 || this.body.limit() < result) {
+            throw new IOException("The offset is out of range: " + offset);
+        }
+
+        return (int) result;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.node.ArrayNode;
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAP;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAX_UNSIGNED_BYTE;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.MAX_UNSIGNED_SHORT;
+import static dev.siroshun.configapi.format.binary.BinaryFormat.NULL;
+import static dev.siroshun.configapi.format.binary.IndexedBinaryFormat.INDEX_TYPE_SHIFT;
+import static dev.siroshun.configapi.format.binary.IndexedBinaryFormat.MAGIC;
+import static dev.siroshun.configapi.format.binary.IndexedBinaryFormat.VERSION;
+
+/**
+ * A class to write {@link MapNode} to {@link BinaryOutput} in the format of {@link IndexedBinaryFormat}.
+ * <p>
+ * The offsets of the values must be known before writing them, so the sizes of nodes are calculated first.
+ * The keys of the dictionary are also collected at the same time.
+ */
+final class IndexedEncoder {
+
+    private final BinaryOutput out;
+    private final Map<Node<?>, Integer> sizes = new IdentityHashMap<>();
+    private final Map<Object, Integer> keyIds = new HashMap<>();
+    private final List<Node<?>> keys = new ArrayList<>();
+
+    IndexedEncoder(@NotNull BinaryOutput out) {
+        this.out = out;
+    }
+
+    void write(@NotNull MapNode root) throws IOException {
+        long dictionarySize = Integer.BYTES;
+        long rootSize = this.size(root);
+
+        for (var key : this.keys) {
+            dictionarySize += BinaryEncoder.valueSize(key, 0);
+        }
+
+        long bodySize = dictionarySize + rootSize;
+
+        if (Integer.MAX_VALUE < bodySize) {
+            throw new IOException("The node is too large to write: " + bodySize + " bytes");
+        }
+
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+        this.out.writeInt((int) bodySize);
+
+        this.out.writeInt(this.keys.size());
+        for (var key : this.keys) {
+            BinaryEncoder.writeValue(this.out, key, 0);
+        }
+
+        this.write((Node<?>) root);
+    }
+
+    private void write(@NotNull Node<?> node) throws IOException {
+        if (BinaryEncoder.writeValue(this.out, node, 0)) {
+            return;
+        }
+
+        var out = this.out;
+        var clazz = node.getClass();
+
+        if (node instanceof ListNode) {
+            List<Node<?>> list = ((ListNode) node).value();
+            int size = list.size();
+
+            BinaryEncoder.writeArrayHeader(out, NULL, size);
+
+            int[] offsets = new int[size];
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                offsets[i] = offset;
+                offset += this.size(list.get(i));
+            }
+
+            int offsetSize = indexFieldSize(size == 0 ? 0 : offsets[size - 1]);
+            out.writeByte(offsetSize);
+            for (int value : offsets) writeIndexField(out, value, offsetSize);
+
+            for (int i = 0; i < size; i++) this.write(list.get(i));
+        } else if (node instanceof MapNode) {
+            Map<Object, Node<?>> map = ((MapNode) node).value();
+            BinaryEncoder.writeHeader(out, MAP, map.size());
+
+            // key id (high 32 bits) and offset (low 32 bits), both are not negative, so sorting them sorts by key id
+            long[] index = new long[map.size()];
+            int i = 0;
+            int offset = 0;
+            int maxKeyId = 0;
+            int lastOffset = 0;
+            for (Map.Entry<Object, Node<?>> entry : map.entrySet()) {
+                int keyId = this.keyIds.get(entry.getKey());
+                index[i++] = ((long) keyId << 32) | offset;
+                maxKeyId = Math.max(maxKeyId, keyId);
+                lastOffset = offset;
+                offset += this.size(entry.getValue());
+            }
+
+            Arrays.sort(index);
+
+            int keyIdSize = indexFieldSize(maxKeyId);
+            int offsetSize = indexFieldSize(lastOffset);
+            out.writeByte((keyIdSize << INDEX_TYPE_SHIFT) | offsetSize);
+
+            for (long entry : index) {
+                writeIndexField(out, (int) (entry >>> 32), keyIdSize);
+                writeIndexField(out, (int) entry, offsetSize);
+            }
+
+            for (Node<?> value : map.values()) this.write(value);
+        } else if (clazz == CommentedNode.class) {
+            this.write(((CommentedNode<?>) node).node());
+        } else {
+            throw new IOException("Unsupported Node type: " + clazz);
+        }
+    }
+
+    /**
+     * Calculates the number of bytes of the {@link Node}, and collects the keys of {@link MapNode}s.
+     * <p>
+     * The calculated sizes of {@link ListNode}s and {@link MapNode}s are cached, so they are calculated only once while writing.
+     *
+     * @param node the {@link Node} to calculate
+     * @return the number of bytes of the {@link Node}
+     * @throws IOException if the tree contains unsupported nodes, or the size is too large
+     */
+    private int size(@NotNull Node<?> node) throws IOException {
+        long valueSize = BinaryEncoder.valueSize(node, 0);
+
+        if (0 <= valueSize) {
+            return checkSize(valueSize);
+        }
+
+        var clazz = node.getClass();
+
+        if (clazz == CommentedNode.class) {
+            return this.size(((CommentedNode<?>) node).node());
+        }
+
+        var cached = this.sizes.get(node);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        long size;
+
+        if (node instanceof ListNode) {
+            List<Node<?>> list = ((ListNode) node).value();
+            long contentSize = 0;
+            long lastOffset = 0;
+            for (var element : list) {
+                lastOffset = contentSize;
+                contentSize += this.size(element);
+            }
+            int offsetSize = indexFieldSize(checkSize(lastOffset));
+            size = BinaryEncoder.headerSize(list.size()) + 1 + (long) list.size() * offsetSize + contentSize;
+        } else if (node instanceof MapNode) {
+            Map<Object, Node<?>> map = ((MapNode) node).value();
+            long contentSize = 0;
+            long lastOffset = 0;
+            int maxKeyId = 0;
+            for (var entry : map.entrySet()) {
+                maxKeyId = Math.max(maxKeyId, this.registerKey(entry.getKey()));
+                lastOffset = contentSize;
+                contentSize += this.size(entry.getValue());
+            }
+            int entrySize = indexFieldSize(maxKeyId) + indexFieldSize(checkSize(lastOffset));
+            size = BinaryEncoder.headerSize(map.size()) + 1 + (long) map.size() * entrySize + contentSize;
+        } else {
+            throw new IOException("Unsupported Node type: " + clazz);
+        }
+
+        int result = checkSize(size);
+        this.sizes.put(node, result);
+        return result;
+    }
+
+    private int registerKey(@NotNull Object key) throws IOException {
+        var keyId = this.keyIds.get(key);
+
+        if (keyId != null) {
+            return keyId;
+        }
+
+        var keyNode = Node.fromObject(key);
+
+        if (keyNode instanceof ArrayNode<?> || BinaryEncoder.valueSize(keyNode, 0) < 0) {
+            throw new IOException("Unsupported key type: " + key.getClass());
+        }
+
+        int newId = this.keys.size();
+        this.keyIds.put(key, newId);
+        this.keys.add(keyNode);
+        return newId;
+    }
+
+    private static int indexFieldSize(int maxValue) {
+        if (maxValue <= MAX_UNSIGNED_BYTE) {
+            return Byte.BYTES;
+        } else if (maxValue <= MAX_UNSIGNED_SHORT) {
+            return Short.BYTES;
+        } else {
+            return Integer.BYTES;
+        }
+    }
+
+    private static void writeIndexField(@NotNull BinaryOutput out, int value, int size) throws IOException {
+        switch (size) {
+            case Byte.BYTES -> out.writeByte(value);
+            case Short.BYTES -> out.writeShort(value);
+            default -> out.writeInt(value);
+        }
+    }
+
+    private static int checkSize(long size) throws IOException {
+        if (Integer.MAX_VALUE < size) {
+            throw new IOException("The node is too large to write: " + size + " bytes");
+        }
+        return (int) size;
+    }
+}
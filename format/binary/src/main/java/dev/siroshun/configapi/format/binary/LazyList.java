@@ -0,0 +1,225 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.StringPool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link List} that decodes its elements from the binary data on first access.
+ * <p>
+ * Only the elements of this list are decoded at once; nested {@link dev.siroshun.configapi.core.node.MapNode}s
+ * and {@link dev.siroshun.configapi.core.node.ListNode}s are also decoded lazily.
+ * If the data is broken, the methods of this class throw {@link UncheckedIOException}.
+ */
+final class LazyList extends AbstractList<Node<?>> implements RandomAccess {
+
+    private final int flags;
+    private final int length;
+    private final boolean stringList;
+    private final @Nullable StringPool stringPool;
+    private @Nullable ByteBuffer contents;
+    private volatile List<Node<?>> delegate;
+
+    LazyList(@NotNull ByteBuffer contents, int flags, int length, boolean stringList, @Nullable StringPool stringPool) {
+        this.contents = contents;
+        this.flags = flags;
+        this.length = length;
+        this.stringList = stringList;
+        this.stringPool = stringPool;
+    }
+
+    private @NotNull List<Node<?>> delegate() {
+        var delegate = this.delegate;
+        return delegate != null ? delegate : this.decode();
+    }
+
+    private synchronized @NotNull List<Node<?>> decode() {
+        if (this.delegate == null) {
+            try {
+                this.delegate = BinaryDecoder.readElements(this.contents, this.flags, this.length, this.stringList, this.stringPool);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.contents = null;
+        }
+        return this.delegate;
+    }
+
+    @Override
+    public int size() {
+        var delegate = this.delegate;
+        return delegate != null ? delegate.size() : this.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public Node<?> get(int index) {
+        return this.delegate().get(index);
+    }
+
+    @Override
+    public Node<?> set(int index, Node<?> element) {
+        return this.delegate().set(index, element);
+    }
+
+    @Override
+    public boolean add(Node<?> element) {
+        return this.delegate().add(element);
+    }
+
+    @Override
+    public void add(int index, Node<?> element) {
+        this.delegate().add(index, element);
+    }
+
+    @Override
+    public boolean addAll(@NotNull Collection<? extends Node<?>> collection) {
+        return this.delegate().addAll(collection);
+    }
+
+    @Override
+    public boolean addAll(int index, @NotNull Collection<? extends Node<?>> collection) {
+        return this.delegate().addAll(index, collection);
+    }
+
+    @Override
+    public Node<?> remove(int index) {
+        return this.delegate().remove(index);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return this.delegate().remove(o);
+    }
+
+    @Override
+    public boolean removeAll(@NotNull Collection<?> collection) {
+        return this.delegate().removeAll(collection);
+    }
+
+    @Override
+    public boolean retainAll(@NotNull Collection<?> collection) {
+        return this.delegate().retainAll(collection);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Node<?>> filter) {
+        return this.delegate().removeIf(filter);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<Node<?>> operator) {
+        this.delegate().replaceAll(operator);
+    }
+
+    @Override
+    public void sort(Comparator<? super Node<?>> comparator) {
+        this.delegate().sort(comparator);
+    }
+
+    @Override
+    public void clear() {
+        this.delegate().clear();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return this.delegate().contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return this.delegate().indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return this.delegate().lastIndexOf(o);
+    }
+
+    @Override
+    public @NotNull Iterator<Node<?>> iterator() {
+        return this.delegate().iterator();
+    }
+
+    @Override
+    public @NotNull ListIterator<Node<?>> listIterator() {
+        return this.delegate().listIterator();
+    }
+
+    @Override
+    public @NotNull ListIterator<Node<?>> listIterator(int index) {
+        return this.delegate().listIterator(index);
+    }
+
+    @Override
+    public @NotNull List<Node<?>> subList(int fromIndex, int toIndex) {
+        return this.delegate().subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Node<?>> action) {
+        this.delegate().forEach(action);
+    }
+
+    @Override
+    public Object @NotNull [] toArray() {
+        return this.delegate().toArray();
+    }
+
+    @Override
+    public <T> T @NotNull [] toArray(T @NotNull [] array) {
+        return this.delegate().toArray(array);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || this.delegate().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.delegate().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        var delegate = this.delegate;
+        return delegate != null ? delegate.toString() : "LazyList{length=" + this.length + "}";
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.StringPool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A {@link Map} that decodes its entries from the binary data on first access.
+ * <p>
+ * Only the entries of this map are decoded at once; nested {@link dev.siroshun.configapi.core.node.MapNode}s
+ * and {@link dev.siroshun.configapi.core.node.ListNode}s are also decoded lazily.
+ * If the data is broken, the methods of this class throw {@link UncheckedIOException}.
+ */
+final class LazyMap extends AbstractMap<Object, Node<?>> {
+
+    private final int flags;
+    private final int entries;
+    private final @Nullable StringPool stringPool;
+    private @Nullable ByteBuffer contents;
+    private volatile Map<Object, Node<?>> delegate;
+
+    LazyMap(@NotNull ByteBuffer contents, int flags, int entries, @Nullable StringPool stringPool) {
+        this.contents = contents;
+        this.flags = flags;
+        this.entries = entries;
+        this.stringPool = stringPool;
+    }
+
+    private @NotNull Map<Object, Node<?>> delegate() {
+        var delegate = this.delegate;
+        return delegate != null ? delegate : this.decode();
+    }
+
+    private synchronized @NotNull Map<Object, Node<?>> decode() {
+        if (this.delegate == null) {
+            try {
+                this.delegate = BinaryDecoder.readEntries(this.contents, this.flags, this.entries, this.stringPool);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.contents = null;
+        }
+        return this.delegate;
+    }
+
+    @Override
+    public int size() {
+        // the stored count includes null values and duplicate keys that are dropped when decoding
+        return this.entries == 0 ? 0 : this.delegate().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.entries == 0 || this.delegate().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.delegate().containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return this.delegate().containsValue(value);
+    }
+
+    @Override
+    public Node<?> get(Object key) {
+        return this.delegate().get(key);
+    }
+
+    @Override
+    public Node<?> getOrDefault(Object key, Node<?> defaultValue) {
+        return this.delegate().getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public Node<?> put(Object key, Node<?> value) {
+        return this.delegate().put(key, value);
+    }
+
+    @Override
+    public Node<?> putIfAbsent(Object key, Node<?> value) {
+        return this.delegate().putIfAbsent(key, value);
+    }
+
+    @Override
+    public void putAll(@NotNull Map<?, ? extends Node<?>> map) {
+        this.delegate().putAll(map);
+    }
+
+    @Override
+    public Node<?> remove(Object key) {
+        return this.delegate().remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return this.delegate().remove(key, value);
+    }
+
+    @Override
+    public Node<?> replace(Object key, Node<?> value) {
+        return this.delegate().replace(key, value);
+    }
+
+    @Override
+    public boolean replace(Object key, Node<?> oldValue, Node<?> newValue) {
+        return this.delegate().replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super Object, ? super Node<?>, ? extends Node<?>> function) {
+        this.delegate().replaceAll(function);
+    }
+
+    @Override
+    public Node<?> computeIfAbsent(Object key, @NotNull Function<? super Object, ? extends Node<?>> mappingFunction) {
+        return this.delegate().computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Node<?> computeIfPresent(Object key, @NotNull BiFunction<? super Object, ? super Node<?>, ? extends Node<?>> remappingFunction) {
+        return this.delegate().computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Node<?> compute(Object key, @NotNull BiFunction<? super Object, ? super Node<?>, ? extends Node<?>> remappingFunction) {
+        return this.delegate().compute(key, remappingFunction);
+    }
+
+    @Override
+    public Node<?> merge(Object key, @NotNull Node<?> value, @NotNull BiFunction<? super Node<?>, ? super Node<?>, ? extends Node<?>> remappingFunction) {
+        return this.delegate().merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void clear() {
+        this.delegate().clear();
+    }
+
+    @Override
+    public @NotNull Set<Object> keySet() {
+        return this.delegate().keySet();
+    }
+
+    @Override
+    public @NotNull Collection<Node<?>> values() {
+        return this.delegate().values();
+    }
+
+    @Override
+    public @NotNull Set<Entry<Object, Node<?>>> entrySet() {
+        return this.delegate().entrySet();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super Object, ? super Node<?>> action) {
+        this.delegate().forEach(action);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || this.delegate().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.delegate().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        var delegate = this.delegate;
+        return delegate != null ? delegate.toString() : "LazyMap{entries=" + this.entries + "}";
+    }
+}
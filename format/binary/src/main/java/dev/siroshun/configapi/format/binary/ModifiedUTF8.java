@@ -0,0 +1,156 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes/decodes strings in modified UTF-8 that is used by {@link java.io.DataInput#readUTF()} and {@link java.io.DataOutput#writeUTF(String)}.
+ */
+final class ModifiedUTF8 {
+
+    /**
+     * The maximum number of bytes of the encoded string.
+     */
+    static final int MAX_LENGTH = 0xffff;
+
+    /**
+     * Calculates the number of bytes of the encoded string.
+     *
+     * @param str the string to encode
+     * @return the number of bytes of the encoded string
+     */
+    static int length(@NotNull String str) {
+        int length = str.length();
+        int utfLength = length;
+
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c == 0 || 0x80 <= c) {
+                utfLength += 0x800 <= c ? 2 : 1;
+            }
+        }
+
+        return utfLength;
+    }
+
+    /**
+     * Encodes the string to the byte array.
+     *
+     * @param str    the string to encode
+     * @param bytes  the byte array to write to, must have enough space ({@link #length(String)})
+     * @param offset the offset of the byte array
+     * @return the offset after the encoded string
+     */
+    static int encode(@NotNull String str, byte @NotNull [] bytes, int offset) {
+        int length = str.length();
+        int index = offset;
+
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+
+            if (c != 0 && c < 0x80) {
+                bytes[index++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[index++] = (byte) (0xC0 | ((c >> 6) & 0x1F));
+                bytes[index++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                bytes[index++] = (byte) (0xE0 | ((c >> 12) & 0x0F));
+                bytes[index++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[index++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Decodes the string from the byte array.
+     *
+     * @param bytes  the byte array to read from
+     * @param offset the offset of the encoded string
+     * @param length the number of bytes of the encoded string
+     * @return the decoded string
+     * @throws UTFDataFormatException if the bytes are not valid modified UTF-8
+     */
+    static @NotNull String decode(byte @NotNull [] bytes, int offset, int length) throws UTFDataFormatException {
+        int end = offset + length;
+        int index = offset;
+
+        while (index < end && 0 < bytes[index]) { // fast path for ASCII characters (excluding \u0000)
+            index++;
+        }
+
+        if (index == end) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+        var chars = new char[length];
+        int count = 0;
+
+        for (int i = offset; i < index; i++) {
+            chars[count++] = (char) bytes[i];
+        }
+
+        while (index < end) {
+            int c = bytes[index] & 0xff;
+
+            switch (c >> 4) {
+                case 0, 1, 2, 3, 4, 5, 6, 7 -> {
+                    // 0xxxxxxx
+                    index++;
+                    chars[count++] = (char) c;
+                }
+                case 12, 13 -> {
+                    // 110x xxxx   10xx xxxx
+                    index += 2;
+                    if (end < index) {
+                        throw new UTFDataFormatException("malformed input: partial character at end");
+                    }
+                    int c2 = bytes[index - 1];
+                    if ((c2 & 0xC0) != 0x80) {
+                        throw new UTFDataFormatException("malformed input around byte " + (index - offset - 1));
+                    }
+                    chars[count++] = (char) (((c & 0x1F) << 6) | (c2 & 0x3F));
+                }
+                case 14 -> {
+                    // 1110 xxxx  10xx xxxx  10xx xxxx
+                    index += 3;
+                    if (end < index) {
+                        throw new UTFDataFormatException("malformed input: partial character at end");
+                    }
+                    int c2 = bytes[index - 2];
+                    int c3 = bytes[index - 1];
+                    if (((c2 & 0xC0) != 0x80) || ((c3 & 0xC0) != 0x80)) {
+                        throw new UTFDataFormatException("malformed input around byte " + (index - offset - 1));
+                    }
+                    chars[count++] = (char) (((c & 0x0F) << 12) | ((c2 & 0x3F) << 6) | (c3 & 0x3F));
+                }
+                default -> throw new UTFDataFormatException("malformed input around byte " + (index - offset));
+            }
+        }
+
+        return new String(chars, 0, count);
+    }
+
+    private ModifiedUTF8() {
+        throw new UnsupportedOperationException();
+    }
+}
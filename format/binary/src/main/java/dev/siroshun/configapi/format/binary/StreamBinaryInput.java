@@ -0,0 +1,334 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link BinaryInput} that reads the data from {@link InputStream} through the internal buffer.
+ * <p>
+ * If {@code readAhead} is {@code false}, this class never reads more bytes than requested from the underlying {@link InputStream},
+ * so the stream can be used after reading a node as well as {@link java.io.DataInputStream}.
+ */
+final class StreamBinaryInput implements BinaryInput {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle CHAR = MethodHandles.byteArrayViewVarHandle(char[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final InputStream in;
+    private final boolean readAhead;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteBuffer byteBuffer = ByteBuffer.wrap(this.buffer); // big-endian by default
+    private int position;
+    private int limit;
+
+    StreamBinaryInput(@NotNull InputStream in, boolean readAhead) {
+        this.in = in;
+        this.readAhead = readAhead;
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        this.require(1);
+        return this.buffer[this.position++] & 0xff;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        this.require(1);
+        return this.buffer[this.position++];
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return this.readByte() != 0;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        this.require(Short.BYTES);
+        short value = (short) SHORT.get(this.buffer, this.position);
+        this.position += Short.BYTES;
+        return value;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return this.readShort() & 0xffff;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        this.require(Character.BYTES);
+        char value = (char) CHAR.get(this.buffer, this.position);
+        this.position += Character.BYTES;
+        return value;
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        this.require(Integer.BYTES);
+        int value = (int) INT.get(this.buffer, this.position);
+        this.position += Integer.BYTES;
+        return value;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        this.require(Long.BYTES);
+        long value = (long) LONG.get(this.buffer, this.position);
+        this.position += Long.BYTES;
+        return value;
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(this.readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(this.readLong());
+    }
+
+    @Override
+    public @NotNull String readUTF() throws IOException {
+        int length = this.readUnsignedShort();
+
+        byte[] bytes;
+        int offset;
+
+        if (length <= BUFFER_SIZE) {
+            this.require(length);
+            bytes = this.buffer;
+            offset = this.position;
+            this.position += length;
+        } else {
+            bytes = this.readBytes(length);
+            offset = 0;
+        }
+
+        return ModifiedUTF8.decode(bytes, offset, length);
+    }
+
+    @Override
+    public @NotNull String readString() throws IOException {
+        int length = this.readVarInt();
+
+        if (length < 0) {
+            throw new IOException("Length cannot be negative (got " + length + ")");
+        }
+
+        if (length <= BUFFER_SIZE) {
+            this.require(length);
+            var str = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+            return str;
+        } else {
+            return new String(this.readBytes(length), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public boolean @NotNull [] readBooleans(int length) throws IOException {
+        var array = new boolean[length];
+        int index = 0;
+
+        while (index < length) {
+            int count = this.fillAtLeastOne(length - index);
+            for (int i = 0; i < count; i++) {
+                array[index++] = this.buffer[this.position++] != 0;
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public byte @NotNull [] readBytes(int length) throws IOException {
+        var array = new byte[length];
+        int buffered = Math.min(this.limit - this.position, length);
+
+        System.arraycopy(this.buffer, this.position, array, 0, buffered);
+        this.position += buffered;
+
+        if (buffered < length && this.in.readNBytes(array, buffered, length - buffered) != length - buffered) {
+            throw new EOFException();
+        }
+
+        return array;
+    }
+
+    @Override
+    public char @NotNull [] readChars(int length) throws IOException {
+        var array = new char[length];
+        int index = 0;
+
+        while (index < length) {
+            int count = this.fillElements(length - index, Character.BYTES);
+            this.byteBuffer.position(this.position).asCharBuffer().get(array, index, count);
+            this.position += count * Character.BYTES;
+            index += count;
+        }
+
+        return array;
+    }
+
+    @Override
+    public short @NotNull [] readShorts(int length) throws IOException {
+        var array = new short[length];
+        int index = 0;
+
+        while (index < length) {
+            int count = this.fillElements(length - index, Short.BYTES);
+            this.byteBuffer.position(this.position).asShortBuffer().get(array, index, count);
+            this.position += count * Short.BYTES;
+            index += count;
+        }
+
+        return array;
+    }
+
+    @Override
+    public int @NotNull [] readInts(int length) throws IOException {
+        var array = new int[length];
+        int index = 0;
+
+        while (index < length) {
+            int count = this.fillElements(length - index, Integer.BYTES);
+            this.byteBuffer.position(this.position).asIntBuffer().get(array, index, count);
+            this.position += count * Integer.BYTES;
+            index += count;
+        }
+
+        return array;
+    }
+
+    @Override
+    public long @NotNull [] readLongs(int length) throws IOException {
+        var array = new long[length];
+        int index = 0;
+
+        while (index < length) {
+            int count = this.fillElements(length - index, Long.BYTES);
+            this.byteBuffer.position(this.position).asLongBuffer().get(array, index, count);
+            this.position += count * Long.BYTES;
+            index += count;
+        }
+
+        return array;
+    }
+
+    @Override
+    public float @NotNull [] readFloats(int length) throws IOException {
+        var array = new float[length];
+        int index = 0;
+
+        while (index < length) {
+            int count = this.fillElements(length - index, Float.BYTES);
+            this.byteBuffer.position(this.position).asFloatBuffer().get(array, index, count);
+            this.position += count * Float.BYTES;
+            index += count;
+        }
+
+        return array;
+    }
+
+    @Override
+    public double @NotNull [] readDoubles(int length) throws IOException {
+        var array = new double[length];
+        int index = 0;
+
+        while (index < length) {
+            int count = this.fillElements(length - index, Double.BYTES);
+            this.byteBuffer.position(this.position).asDoubleBuffer().get(array, index, count);
+            this.position += count * Double.BYTES;
+            index += count;
+        }
+
+        return array;
+    }
+
+    /**
+     * Makes at least {@code size} bytes available in the buffer.
+     *
+     * @param size the number of bytes, must be less than or equal to {@link #BUFFER_SIZE}
+     * @throws IOException if the stream reached the end or an I/O error occurred
+     */
+    private void require(int size) throws IOException {
+        if (this.limit - this.position < size) {
+            this.fill(size);
+        }
+    }
+
+    /**
+     * Makes as many whole elements as possible (up to {@code elements}) available in the buffer.
+     *
+     * @param elements    the number of remaining elements
+     * @param elementSize the size of an element in bytes
+     * @return the number of elements available in the buffer
+     * @throws IOException if the stream reached the end or an I/O error occurred
+     */
+    private int fillElements(int elements, int elementSize) throws IOException {
+        int required = (int) Math.min((long) elements * elementSize, BUFFER_SIZE / elementSize * elementSize);
+        this.require(required);
+        return Math.min(elements, (this.limit - this.position) / elementSize);
+    }
+
+    private int fillAtLeastOne(int elements) throws IOException {
+        if (this.position == this.limit) {
+            this.fill(Math.min(elements, BUFFER_SIZE));
+        }
+        return Math.min(elements, this.limit - this.position);
+    }
+
+    private void fill(int size) throws IOException {
+        int remaining = this.limit - this.position;
+
+        if (0 < remaining) {
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+        }
+
+        this.position = 0;
+        this.limit = remaining;
+
+        while (this.limit < size) {
+            int read = this.readAhead ?
+                    this.in.read(this.buffer, this.limit, BUFFER_SIZE - this.limit) :
+                    this.in.read(this.buffer, this.limit, size - this.limit);
+
+            if (read < 0) {
+                throw new EOFException();
+            }
+
+            this.limit += read;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Utilities for strings encoded in the standard UTF-8 with the varint length prefix.
+ * <p>
+ * The strings are encoded/decoded by {@link String#getBytes(java.nio.charset.Charset)} and
+ * {@link String#String(byte[], int, int, java.nio.charset.Charset)}, so this class only calculates sizes.
+ */
+final class UTF8 {
+
+    /**
+     * Calculates the number of bytes of the string encoded by {@link String#getBytes(java.nio.charset.Charset)}.
+     * <p>
+     * Unpaired surrogates are counted as 1 byte, because they are replaced with {@code ?}.
+     *
+     * @param str the string to encode
+     * @return the number of bytes of the encoded string
+     */
+    static int length(@NotNull String str) {
+        int length = str.length();
+        int utfLength = length;
+
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+
+            if (c < 0x80) {
+                continue;
+            }
+
+            if (c < 0x800) {
+                utfLength += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                utfLength += 2; // 4 bytes for 2 chars
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                utfLength += 2;
+            }
+        }
+
+        return utfLength;
+    }
+
+    private UTF8() {
+        throw new UnsupportedOperationException();
+    }
+}
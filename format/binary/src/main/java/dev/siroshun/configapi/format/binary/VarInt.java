@@ -0,0 +1,100 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+/**
+ * Utilities for variable-length integers (LEB128).
+ * <p>
+ * Each byte holds 7 bits of the value from the least significant group,
+ * and the most significant bit of the byte indicates that more bytes follow.
+ */
+final class VarInt {
+
+    /**
+     * The maximum number of bytes of the encoded int.
+     */
+    static final int MAX_INT_SIZE = 5;
+
+    /**
+     * The maximum number of bytes of the encoded long.
+     */
+    static final int MAX_LONG_SIZE = 10;
+
+    /**
+     * Calculates the number of bytes of the unsigned varint.
+     *
+     * @param value the value to encode, treated as unsigned
+     * @return the number of bytes of the encoded value
+     */
+    static int size(int value) {
+        return Math.max(1, (Integer.SIZE - Integer.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    /**
+     * Calculates the number of bytes of the unsigned varint.
+     *
+     * @param value the value to encode, treated as unsigned
+     * @return the number of bytes of the encoded value
+     */
+    static int size(long value) {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    /**
+     * Encodes the signed value with ZigZag encoding, so that small negative values become small unsigned values.
+     *
+     * @param value the value to encode
+     * @return the encoded value
+     */
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Encodes the signed value with ZigZag encoding, so that small negative values become small unsigned values.
+     *
+     * @param value the value to encode
+     * @return the encoded value
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decodes the value encoded by {@link #zigZag(int)}.
+     *
+     * @param value the encoded value
+     * @return the decoded value
+     */
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decodes the value encoded by {@link #zigZag(long)}.
+     *
+     * @param value the encoded value
+     * @return the decoded value
+     */
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private VarInt() {
+        throw new UnsupportedOperationException();
+    }
+}
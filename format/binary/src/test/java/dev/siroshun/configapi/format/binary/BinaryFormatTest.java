@@ -16,6 +16,8 @@
 
 package dev.siroshun.configapi.format.binary;
 
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.file.NodeWriter;
 import dev.siroshun.configapi.core.node.BooleanArray;
 import dev.siroshun.configapi.core.node.BooleanValue;
 import dev.siroshun.configapi.core.node.ByteArray;
@@ -35,21 +37,36 @@ import dev.siroshun.configapi.core.node.LongArray;
 import dev.siroshun.configapi.core.node.LongValue;
 import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
 import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.PersistentMapNode;
 import dev.siroshun.configapi.core.node.ShortArray;
 import dev.siroshun.configapi.core.node.ShortValue;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.core.node.StringValue;
 import dev.siroshun.configapi.test.shared.file.BasicFileFormatTest;
 import dev.siroshun.configapi.test.shared.util.NodeAssertion;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.stream.DoubleStream;
@@ -61,7 +78,18 @@ class BinaryFormatTest extends BasicFileFormatTest<Node<?>, BinaryFormat> {
 
     @Override
     protected Stream<BinaryFormat> fileFormats() {
-        return Stream.of(BinaryFormat.DEFAULT);
+        return Stream.of(
+                BinaryFormat.DEFAULT,
+                BinaryFormat.MEMORY_MAPPED,
+                BinaryFormat.builder().lazy(true).build(),
+                BinaryFormat.builder().lazy(true).memoryMapped(true).build(),
+                BinaryFormat.builder().utf8Strings(true).build(),
+                BinaryFormat.builder().utf8Strings(true).lazy(true).memoryMapped(true).build(),
+                BinaryFormat.builder().compactNumbers(true).build(),
+                BinaryFormat.builder().compactNumbers(true).utf8Strings(true).lazy(true).memoryMapped(true).build(),
+                BinaryFormat.builder().stringPool(StringPool.create()).build(),
+                BinaryFormat.builder().stringPool(StringPool.create()).utf8Strings(true).lazy(true).build()
+        );
     }
 
     @Override
@@ -84,6 +112,12 @@ class BinaryFormatTest extends BasicFileFormatTest<Node<?>, BinaryFormat> {
         return ioType != Reader.class && ioType != Writer.class;
     }
 
+    private static byte @NotNull [] save(@NotNull BinaryFormat format, @NotNull Node<?> node) throws IOException {
+        var out = new ByteArrayOutputStream();
+        format.save(node, out);
+        return out.toByteArray();
+    }
+
     static class ValueNodeTest {
 
         @ParameterizedTest
@@ -212,4 +246,740 @@ class BinaryFormatTest extends BasicFileFormatTest<Node<?>, BinaryFormat> {
             }
         }
     }
+
+    static class RoundTripTest {
+
+        private static final int LARGE_LENGTH = 100_000; // larger than the internal buffer
+        private static final int NUMBER_LENGTH = 10_000;
+
+        @ParameterizedTest
+        @MethodSource("testCases")
+        void testStream(TestCase testCase) throws IOException {
+            var format = testCase.format;
+            var node = testCase.node;
+            var bytes = save(format, node);
+            NodeAssertion.assertEquals(node, format.load(new ByteArrayInputStream(bytes)));
+            NodeAssertion.assertEquals(node, BinaryFormat.DEFAULT.load(new ByteArrayInputStream(bytes)));
+            NodeAssertion.assertEquals(node, format.load(new ByteArrayInputStream(save(BinaryFormat.DEFAULT, node))));
+        }
+
+        @ParameterizedTest
+        @MethodSource("testCases")
+        void testFile(TestCase testCase, @TempDir Path directory) throws IOException {
+            var format = testCase.format;
+            var node = testCase.node;
+            var filepath = directory.resolve("test.dat");
+            format.save(node, filepath);
+
+            NodeAssertion.assertEquals(node, format.load(filepath));
+            NodeAssertion.assertEquals(node, BinaryFormat.DEFAULT.load(filepath));
+            NodeAssertion.assertEquals(node, BinaryFormat.MEMORY_MAPPED.load(filepath));
+        }
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testDoesNotReadAhead(BinaryFormat format) throws IOException {
+            assertDoesNotReadAhead(format, nodes().toList());
+        }
+
+        private static Stream<TestCase> testCases() {
+            var nodes = nodes().toList();
+            return formats().flatMap(format -> nodes.stream().map(node -> new TestCase(format, node)));
+        }
+
+        private static Stream<BinaryFormat> formats() {
+            return new BinaryFormatTest().fileFormats();
+        }
+
+        private static Stream<Node<?>> nodes() {
+            return Stream.of(largeNodes(), nestedNodes(), stringNodes(), numberNodes()).flatMap(Function.identity());
+        }
+
+        private static Stream<Node<?>> largeNodes() {
+            var random = new Random(0);
+
+            var booleans = new boolean[LARGE_LENGTH];
+            var bytes = new byte[LARGE_LENGTH];
+            var chars = new char[LARGE_LENGTH];
+            var floats = new float[LARGE_LENGTH];
+            var shorts = new short[LARGE_LENGTH];
+
+            random.nextBytes(bytes);
+
+            for (int i = 0; i < LARGE_LENGTH; i++) {
+                booleans[i] = random.nextBoolean();
+                chars[i] = (char) random.nextInt(Character.MAX_VALUE + 1);
+                floats[i] = random.nextFloat();
+                shorts[i] = (short) random.nextInt();
+            }
+
+            var mixedList = ListNode.create();
+            mixedList.add(new LongArray(random.longs(LARGE_LENGTH).toArray()));
+            mixedList.add("a".repeat(65535));
+            mixedList.add("あ".repeat(65535 / 3));
+            mixedList.add("\u0000".repeat(100));
+            mixedList.add(new IntArray(random.ints(LARGE_LENGTH).toArray()));
+
+            var stringList = ListNode.create();
+            for (int i = 0; i < LARGE_LENGTH; i++) {
+                stringList.add("value-" + i + (i % 2 == 0 ? "" : "あ"));
+            }
+
+            var mapNode = MapNode.create();
+            mapNode.set("list", mixedList);
+            mapNode.set("strings", stringList);
+
+            return Stream.of(
+                    new BooleanArray(booleans),
+                    new ByteArray(bytes),
+                    new CharArray(chars),
+                    new DoubleArray(random.doubles(LARGE_LENGTH).toArray()),
+                    new FloatArray(floats),
+                    new IntArray(random.ints(LARGE_LENGTH).toArray()),
+                    new LongArray(random.longs(LARGE_LENGTH).toArray()),
+                    new ShortArray(shorts),
+                    mapNode
+            );
+        }
+
+        private static Stream<Node<?>> nestedNodes() {
+            var nested = MapNode.create();
+            var current = nested;
+            for (int i = 0; i < 100; i++) {
+                current.set("value", i);
+                current.getOrCreateList("list").add(MapNode.create());
+                current = current.getOrCreateMap("child");
+            }
+
+            var wide = MapNode.create();
+            for (int i = 0; i < 1000; i++) {
+                var entry = wide.getOrCreateMap("entry-" + i);
+                entry.set("name", "あ" + i);
+                entry.set("values", new IntArray(new int[]{i, i + 1}));
+                entry.getOrCreateList("strings").add("string-" + i);
+            }
+
+            var list = ListNode.create();
+            list.add(nested);
+            list.add(new LongArray(new long[70_000]));
+            list.add(ListNode.create());
+
+            return Stream.of(new IntValue(1), MapNode.create(), ListNode.create(), nested, wide, list);
+        }
+
+        private static Stream<Node<?>> stringNodes() {
+            var stringList = ListNode.create();
+            for (int i = 0; i < 1000; i++) {
+                stringList.add("value-" + i + (i % 2 == 0 ? "" : "あ\uD83D\uDE00"));
+            }
+
+            var mapNode = MapNode.create();
+            mapNode.set("strings", stringList);
+            mapNode.set("あ", "\u0000");
+
+            return Stream.of(
+                    StringValue.fromString(""),
+                    StringValue.fromString("a".repeat(127)),
+                    StringValue.fromString("a".repeat(128)),
+                    StringValue.fromString("\uD83D\uDE00".repeat(10_000)),
+                    stringList,
+                    mapNode
+            );
+        }
+
+        private static Stream<Node<?>> numberNodes() {
+            var random = new Random(0);
+
+            var mapNode = MapNode.create();
+            for (int i = 0; i < 1000; i++) {
+                var entry = mapNode.getOrCreateMap("entry-" + i);
+                entry.set("id", i);
+                entry.set("timestamp", 1_700_000_000_000L + i);
+                entry.set("ids", new IntArray(IntStream.range(i, i + 10).toArray()));
+            }
+
+            return Stream.of(
+                            IntStream.of(Integer.MIN_VALUE, -65, -64, -1, 0, 63, 64, Integer.MAX_VALUE).mapToObj(IntValue::new),
+                            LongStream.of(Long.MIN_VALUE, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE, Long.MAX_VALUE).mapToObj(LongValue::new),
+                            Stream.of(
+                                    new IntArray(new int[0]),
+                                    new LongArray(new long[0]),
+                                    new IntArray(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1}),
+                                    new LongArray(new long[]{Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, 0, -1}),
+                                    new IntArray(IntStream.range(0, NUMBER_LENGTH).toArray()),
+                                    new IntArray(IntStream.range(0, NUMBER_LENGTH).map(i -> -i * 3).toArray()),
+                                    new LongArray(LongStream.range(0, NUMBER_LENGTH).map(i -> 1_700_000_000_000L + i * 1000).toArray()),
+                                    new IntArray(random.ints(NUMBER_LENGTH, -100, 100).toArray()),
+                                    new IntArray(random.ints(NUMBER_LENGTH).toArray()),
+                                    new LongArray(random.longs(NUMBER_LENGTH).toArray()),
+                                    mapNode
+                            )
+                    )
+                    .flatMap(Function.identity())
+                    .map(Node.class::cast);
+        }
+
+        private record TestCase(BinaryFormat format, Node<?> node) {
+        }
+    }
+
+    static class BulkTest {
+
+        private static final int LENGTH = 100_000; // larger than the internal buffer
+
+        @Test
+        void testSameBytesAsDataOutput() throws IOException {
+            var random = new Random(0);
+            var array = random.longs(LENGTH).toArray();
+            var doubles = random.doubles(LENGTH).toArray();
+            doubles[0] = Double.NaN;
+            doubles[1] = Double.longBitsToDouble(0x7ff0000000000123L); // non-canonical NaN
+
+            var expected = new ByteArrayOutputStream();
+            var dataOutput = new DataOutputStream(expected);
+            dataOutput.writeByte((7 << 5) | 0x16); // LongArray with int length
+            dataOutput.writeInt(LENGTH);
+            for (long value : array) dataOutput.writeLong(value);
+            dataOutput.writeByte((7 << 5) | 0x13); // DoubleArray with int length
+            dataOutput.writeInt(LENGTH);
+            for (double value : doubles) dataOutput.writeDouble(value);
+            dataOutput.writeByte(0x08); // StringValue
+            dataOutput.writeUTF("a\u0000あ\uD83D\uDE00");
+
+            var actual = new ByteArrayOutputStream();
+            BinaryFormat.DEFAULT.save(new LongArray(array), actual);
+            BinaryFormat.DEFAULT.save(new DoubleArray(doubles), actual);
+            BinaryFormat.DEFAULT.save(StringValue.fromString("a\u0000あ\uD83D\uDE00"), actual);
+
+            Assertions.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        }
+
+        @Test
+        void testPersistentNode() throws IOException {
+            var mapNode = MapNode.create();
+            mapNode.set("string", "value");
+            mapNode.set("array", new IntArray(new int[]{1, 2, 3}));
+            mapNode.getOrCreateList("list").add("a");
+            mapNode.getOrCreateList("list").addMap().set("b", 1);
+            mapNode.getOrCreateMap("map").set("c", true);
+
+            var persistent = PersistentMapNode.copyOf(mapNode);
+
+            for (var format : List.of(BinaryFormat.DEFAULT, BinaryFormat.builder().compactNumbers(true).utf8Strings(true).build())) {
+                var expected = new ByteArrayOutputStream();
+                format.save(mapNode, expected);
+                var actual = new ByteArrayOutputStream();
+                format.save(persistent, actual);
+
+                Assertions.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+                NodeAssertion.assertEquals(mapNode, format.load(new ByteArrayInputStream(actual.toByteArray())));
+            }
+        }
+
+        @Test
+        void testStringPool() throws IOException {
+            var mapNode = MapNode.create();
+            mapNode.getOrCreateMap("first").set("type", "value");
+            mapNode.getOrCreateMap("second").set("type", "value");
+            mapNode.getOrCreateList("list").add("value");
+
+            for (var builder : List.of(BinaryFormat.builder(), BinaryFormat.builder().lazy(true), BinaryFormat.builder().utf8Strings(true).lazy(true))) {
+                var format = builder.stringPool(StringPool.create()).build();
+                var out = new ByteArrayOutputStream();
+                format.save(mapNode, out);
+
+                var loaded = (MapNode) format.load(new ByteArrayInputStream(out.toByteArray()));
+                var first = loaded.getMap("first");
+                var second = loaded.getMap("second");
+
+                Assertions.assertSame(first.get("type"), second.get("type"));
+                Assertions.assertSame(first.get("type"), loaded.getList("list").get(0));
+                Assertions.assertSame(first.value().keySet().iterator().next(), second.value().keySet().iterator().next());
+            }
+        }
+
+        @Test
+        void testTooLongString() {
+            var str = "あ".repeat(65535 / 3 + 1);
+            Assertions.assertThrows(IOException.class, () -> BinaryFormat.DEFAULT.save(StringValue.fromString(str), new ByteArrayOutputStream()));
+        }
+
+        @Test
+        void testTruncatedData() throws IOException {
+            var out = new ByteArrayOutputStream();
+            BinaryFormat.DEFAULT.save(new IntArray(new int[LENGTH]), out);
+            var bytes = out.toByteArray();
+
+            try (var in = new ByteArrayInputStream(bytes, 0, bytes.length - 1)) {
+                Assertions.assertThrows(IOException.class, () -> BinaryFormat.DEFAULT.load(in));
+            }
+        }
+
+        @Test
+        void testTruncatedFile(@TempDir Path directory) throws IOException {
+            var out = new ByteArrayOutputStream();
+            BinaryFormat.DEFAULT.save(new IntArray(new int[LENGTH]), out);
+            var bytes = out.toByteArray();
+
+            var filepath = directory.resolve("truncated.dat");
+            Files.write(filepath, Arrays.copyOf(bytes, bytes.length - 1));
+
+            Assertions.assertThrows(IOException.class, () -> BinaryFormat.DEFAULT.load(filepath));
+            Assertions.assertThrows(IOException.class, () -> BinaryFormat.MEMORY_MAPPED.load(filepath));
+        }
+
+    }
+
+    static class LazyTest {
+
+        private static final BinaryFormat LAZY = BinaryFormat.builder().lazy(true).build();
+
+        @Test
+        void testFormatHeader() throws IOException {
+            var bytes = save(LAZY, MapNode.create());
+            Assertions.assertArrayEquals(new byte[]{0x0e, 0x01, 0x1f, 0x00, 0x00, 0x00, 0x00}, bytes);
+
+            bytes[1] = (byte) 0x80; // unknown flag
+            Assertions.assertThrows(IOException.class, () -> BinaryFormat.DEFAULT.load(new ByteArrayInputStream(bytes)));
+            Assertions.assertThrows(IOException.class, () -> LAZY.load(new ByteArrayInputStream(bytes)));
+        }
+
+        @Test
+        void testUntouchedSubtreeIsNotDecoded() throws IOException {
+            var mapNode = MapNode.create();
+            mapNode.getOrCreateMap("broken").set("x", 1);
+            mapNode.getOrCreateList("list").add(MapNode.create());
+            mapNode.getOrCreateMap("server").set("port", 25565);
+
+            var bytes = save(LAZY, mapNode);
+            var index = indexOf(bytes, new byte[]{0x08, 0x00, 0x01, 'x'});
+            bytes[index] = 0x0b; // unsupported data type
+
+            Assertions.assertThrows(IOException.class, () -> BinaryFormat.DEFAULT.load(new ByteArrayInputStream(bytes)));
+
+            var loaded = (MapNode) LAZY.load(new ByteArrayInputStream(bytes));
+            Assertions.assertEquals(3, loaded.size());
+            Assertions.assertEquals(25565, loaded.getMap("server").getInteger("port"));
+            Assertions.assertEquals(1, loaded.getList("list").size());
+
+            var broken = loaded.getMap("broken");
+            Assertions.assertThrows(UncheckedIOException.class, () -> broken.get("x"));
+        }
+
+        @Test
+        void testSizeWithDroppedEntries() throws IOException {
+            var out = new ByteArrayOutputStream();
+            try (var writer = LAZY.writer(out)) {
+                writer.beginMap().key("a").value(NullNode.NULL).key("b").value(new IntValue(1)).key("b").value(new IntValue(2)).endMap();
+            }
+
+            var eager = (MapNode) BinaryFormat.DEFAULT.load(new ByteArrayInputStream(out.toByteArray()));
+            var lazy = (MapNode) LAZY.load(new ByteArrayInputStream(out.toByteArray()));
+
+            Assertions.assertEquals(1, eager.size());
+            Assertions.assertEquals(1, lazy.size());
+            Assertions.assertFalse(lazy.value().isEmpty());
+            Assertions.assertEquals(Set.of("b"), lazy.value().keySet());
+            NodeAssertion.assertEquals(eager, lazy);
+        }
+
+        @Test
+        void testModifyLoadedNode() throws IOException {
+            var mapNode = MapNode.create();
+            mapNode.getOrCreateMap("map").set("key", "value");
+            mapNode.getOrCreateList("list").add("element");
+
+            var loaded = (MapNode) LAZY.load(new ByteArrayInputStream(save(LAZY, mapNode)));
+            loaded.getOrCreateMap("map").set("key", "changed");
+            loaded.getOrCreateList("list").add("added");
+            loaded.remove("missing");
+            loaded.set("new", 1);
+
+            var expected = MapNode.create();
+            expected.getOrCreateMap("map").set("key", "changed");
+            var list = expected.getOrCreateList("list");
+            list.add("element");
+            list.add("added");
+            expected.set("new", 1);
+
+            NodeAssertion.assertEquals(expected, loaded);
+            NodeAssertion.assertEquals(expected, LAZY.load(new ByteArrayInputStream(save(LAZY, loaded))));
+        }
+
+        private static int indexOf(byte @NotNull [] bytes, byte @NotNull [] target) {
+            for (int i = 0; i <= bytes.length - target.length; i++) {
+                if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Not found");
+        }
+
+    }
+
+    static class Utf8StringsTest {
+
+        private static final BinaryFormat UTF8 = BinaryFormat.builder().utf8Strings(true).build();
+        private static final BinaryFormat UTF8_LAZY = BinaryFormat.builder().utf8Strings(true).lazy(true).build();
+
+        @Test
+        void testFormatHeader() throws IOException {
+            Assertions.assertArrayEquals(new byte[]{0x0e, 0x02, 0x08, 0x01, 'a'}, save(UTF8, StringValue.fromString("a")));
+            Assertions.assertArrayEquals(new byte[]{0x0e, 0x02, 0x08, 0x00}, save(UTF8, StringValue.fromString("")));
+            Assertions.assertArrayEquals(new byte[]{0x0e, 0x02, 0x08, 0x03, (byte) 0xe3, (byte) 0x81, (byte) 0x82}, save(UTF8, StringValue.fromString("あ")));
+        }
+
+        @Test
+        void testSameBytesAsGetBytes() throws IOException {
+            var str = "a\u0000あ\uD83D\uDE00".repeat(10_000);
+            var expected = str.getBytes(StandardCharsets.UTF_8);
+            var bytes = save(UTF8, StringValue.fromString(str));
+
+            // 0x0e 0x02 0x08 [varint length (3 bytes)]
+            Assertions.assertEquals(6 + expected.length, bytes.length);
+            Assertions.assertArrayEquals(expected, Arrays.copyOfRange(bytes, 6, bytes.length));
+        }
+
+        @Test
+        void testLongString(@TempDir Path directory) throws IOException {
+            // longer than the limit of modified UTF-8
+            var mapNode = MapNode.create();
+            mapNode.set("long", "a".repeat(100_000));
+            mapNode.set("long-multibyte", "あ".repeat(100_000));
+            mapNode.set("surrogate-pairs", "\uD83D\uDE00".repeat(70_000));
+
+            var filepath = directory.resolve("test.dat");
+
+            for (var format : List.of(UTF8, UTF8_LAZY)) {
+                NodeAssertion.assertEquals(mapNode, format.load(new ByteArrayInputStream(save(format, mapNode))));
+                format.save(mapNode, filepath);
+                NodeAssertion.assertEquals(mapNode, BinaryFormat.MEMORY_MAPPED.load(filepath));
+            }
+        }
+
+        @Test
+        void testUnpairedSurrogate() throws IOException {
+            var listNode = ListNode.create();
+            listNode.add("\uD83D");
+            listNode.add("a\uDE00b");
+
+            var expected = ListNode.create();
+            expected.add("?");
+            expected.add("a?b");
+
+            NodeAssertion.assertEquals(expected, UTF8_LAZY.load(new ByteArrayInputStream(save(UTF8_LAZY, listNode))));
+        }
+
+    }
+
+    static class CompactNumbersTest {
+
+        private static final int LENGTH = 10_000;
+        private static final BinaryFormat COMPACT = BinaryFormat.builder().compactNumbers(true).build();
+
+        @Test
+        void testFormatHeader() throws IOException {
+            Assertions.assertArrayEquals(new byte[]{0x0e, 0x04, 0x05, 0x00}, save(COMPACT, new IntValue(0)));
+            Assertions.assertArrayEquals(new byte[]{0x0e, 0x04, 0x05, 0x01}, save(COMPACT, new IntValue(-1)));
+            Assertions.assertArrayEquals(new byte[]{0x0e, 0x04, 0x06, (byte) 0x80, 0x01}, save(COMPACT, new LongValue(64)));
+        }
+
+        @Test
+        void testArrayEncoding() throws IOException {
+            var random = new Random(0);
+            var timestamps = LongStream.iterate(1_700_000_000_000L, value -> value + random.nextInt(1000)).limit(LENGTH).toArray();
+
+            // [0x0e][0x04][header][length (short)][encoding]...
+            Assertions.assertEquals(CompactArrays.DELTA, save(COMPACT, new LongArray(timestamps))[5]);
+            Assertions.assertEquals(CompactArrays.ZIGZAG, save(COMPACT, new IntArray(random.ints(LENGTH, -100, 100).toArray()))[5]);
+            Assertions.assertEquals(CompactArrays.RAW, save(COMPACT, new IntArray(random.ints(LENGTH).toArray()))[5]);
+            Assertions.assertEquals(CompactArrays.RAW, save(COMPACT, new LongArray(random.longs(LENGTH).toArray()))[5]);
+
+            var defaultSize = save(BinaryFormat.DEFAULT, new LongArray(timestamps)).length;
+            var compactSize = save(COMPACT, new LongArray(timestamps)).length;
+            Assertions.assertTrue(compactSize * 4 < defaultSize, () -> compactSize + " bytes is not small enough (default: " + defaultSize + " bytes)");
+        }
+
+        @Test
+        void testUnsupportedArrayEncoding() throws IOException {
+            var bytes = save(COMPACT, new IntArray(new int[]{1, 2, 3}));
+            bytes[3] = 0x03; // [0x0e][0x04][header][encoding]...
+            Assertions.assertThrows(IOException.class, () -> COMPACT.load(new ByteArrayInputStream(bytes)));
+        }
+
+        @Test
+        void testTooLongVarInt() {
+            var bytes = new byte[]{0x0e, 0x04, 0x05, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x00};
+            Assertions.assertThrows(IOException.class, () -> COMPACT.load(new ByteArrayInputStream(bytes)));
+        }
+
+    }
+
+    static class NodeReaderTest {
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testStream(BinaryFormat format) throws IOException {
+            var node = createNode();
+            var bytes = save(format, node);
+
+            try (var reader = format.reader(new ByteArrayInputStream(bytes))) {
+                Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+                NodeAssertion.assertEquals(node, reader.readNode());
+                Assertions.assertEquals(NodeReader.Event.END_DOCUMENT, reader.next());
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testFile(BinaryFormat format, @TempDir Path directory) throws IOException {
+            var node = createNode();
+            var filepath = directory.resolve("test.dat");
+            format.save(node, filepath);
+
+            try (var reader = format.reader(filepath)) {
+                reader.next();
+                NodeAssertion.assertEquals(node, reader.readNode());
+            }
+
+            try (var reader = format.reader(directory.resolve("non-existent-file.dat"))) {
+                Assertions.assertEquals(NodeReader.Event.VALUE, reader.next());
+                Assertions.assertSame(NullNode.NULL, reader.value());
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testSkipChildren(BinaryFormat format) throws IOException {
+            try (var reader = format.reader(new ByteArrayInputStream(save(format, createNode())))) {
+                Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+
+                Assertions.assertEquals(NodeReader.Event.KEY, reader.next());
+                Assertions.assertEquals("list", reader.key());
+                Assertions.assertEquals(NodeReader.Event.START_LIST, reader.next());
+                reader.skipChildren();
+                Assertions.assertEquals(NodeReader.Event.END_LIST, reader.event());
+                Assertions.assertEquals(1, reader.depth());
+
+                Assertions.assertEquals(NodeReader.Event.KEY, reader.next());
+                Assertions.assertEquals("strings", reader.key());
+                Assertions.assertEquals(NodeReader.Event.START_LIST, reader.next());
+                Assertions.assertEquals(NodeReader.Event.VALUE, reader.next());
+                Assertions.assertEquals("a", reader.value().value());
+                Assertions.assertEquals(NodeReader.Event.VALUE, reader.next());
+                Assertions.assertEquals(NodeReader.Event.END_LIST, reader.next());
+
+                Assertions.assertEquals(NodeReader.Event.KEY, reader.next());
+                Assertions.assertEquals("map", reader.key());
+                Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+                reader.skipChildren();
+
+                Assertions.assertEquals(NodeReader.Event.KEY, reader.next());
+                Assertions.assertEquals(1, reader.key());
+                Assertions.assertEquals(NodeReader.Event.VALUE, reader.next());
+                NodeAssertion.assertEquals(new IntArray(new int[]{1, 2, 3}), reader.value());
+
+                Assertions.assertEquals(NodeReader.Event.END_MAP, reader.next());
+                Assertions.assertEquals(NodeReader.Event.END_DOCUMENT, reader.next());
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testDoesNotReadAhead(BinaryFormat format) throws IOException {
+            var out = new ByteArrayOutputStream();
+            format.save(createNode(), out);
+            format.save(StringValue.fromString("next"), out);
+
+            try (var in = new ByteArrayInputStream(out.toByteArray())) {
+                var reader = format.reader(in);
+                reader.next();
+                reader.skipChildren();
+                Assertions.assertEquals(NodeReader.Event.END_DOCUMENT, reader.next());
+                Assertions.assertEquals("next", format.load(in).value());
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testProjectedLoad(BinaryFormat format, @TempDir Path directory) throws IOException {
+            var node = createNode();
+            var paths = Set.of(NodePath.parse("list[1].key"), NodePath.parse("map.key-50"), NodePath.of(1));
+
+            var expected = MapNode.create();
+            var list = expected.createList("list");
+            list.add(NullNode.NULL);
+            list.addMap().set("key", "value");
+            expected.createMap("map").set("key-50", "value-50");
+            expected.set(1, new IntArray(new int[]{1, 2, 3}));
+
+            var out = new ByteArrayOutputStream();
+            format.save(node, out);
+            BinaryFormat.DEFAULT.save(StringValue.fromString("next"), out);
+
+            try (var in = new ByteArrayInputStream(out.toByteArray())) {
+                NodeAssertion.assertEquals(expected, format.load(in, paths));
+                Assertions.assertEquals("next", BinaryFormat.DEFAULT.load(in).value()); // not closed and not read ahead
+            }
+
+            var filepath = directory.resolve("test.dat");
+            format.save(node, filepath);
+            NodeAssertion.assertEquals(expected, format.load(filepath, paths));
+            Assertions.assertSame(NullNode.NULL, format.load(directory.resolve("non-existent-file.dat"), paths));
+        }
+
+        @Test
+        void testBrokenData() {
+            var bytes = new byte[]{0x3f, 0x1f, 0x00}; // a map with a map as the key
+            Assertions.assertThrows(IOException.class, () -> {
+                try (var reader = BinaryFormat.DEFAULT.reader(new ByteArrayInputStream(bytes))) {
+                    reader.next();
+                    reader.next();
+                }
+            });
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> BinaryFormat.DEFAULT.reader(Reader.nullReader()));
+        }
+
+        private static @NotNull MapNode createNode() {
+            var mapNode = MapNode.create();
+
+            var list = mapNode.createList("list");
+            list.add(1);
+            list.addMap().set("key", "value");
+            list.add(NullNode.NULL);
+            list.add(new LongArray(LongStream.range(0, 10_000).toArray()));
+
+            var strings = mapNode.createList("strings");
+            strings.add("a");
+            strings.add("b");
+
+            var map = mapNode.createMap("map");
+            for (int i = 0; i < 100; i++) {
+                map.set("key-" + i, "value-" + i);
+            }
+
+            mapNode.set(1, new IntArray(new int[]{1, 2, 3}));
+            return mapNode;
+        }
+
+        private static Stream<BinaryFormat> formats() {
+            return new BinaryFormatTest().fileFormats();
+        }
+    }
+
+    static class NodeWriterTest {
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testWriteNode(BinaryFormat format) throws IOException {
+            var node = createNode();
+            var out = new ByteArrayOutputStream();
+
+            try (var writer = format.writer(out)) {
+                writer.writeNode(node);
+            }
+
+            Assertions.assertArrayEquals(save(format, node), out.toByteArray());
+        }
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testVisitor(BinaryFormat format) throws IOException {
+            var node = createNode();
+            var out = new ByteArrayOutputStream();
+
+            try (var writer = format.writer(out)) {
+                node.accept(NodeWriter.visitor(writer));
+            }
+
+            NodeAssertion.assertEquals(node, format.load(new ByteArrayInputStream(out.toByteArray())));
+
+            try (var reader = format.reader(new ByteArrayInputStream(out.toByteArray()))) {
+                reader.next();
+                NodeAssertion.assertEquals(node, reader.readNode());
+            }
+        }
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testUnknownSize(BinaryFormat format) throws IOException {
+            var known = new ByteArrayOutputStream();
+            var unknown = new ByteArrayOutputStream();
+
+            try (var writer = format.writer(known)) {
+                writer.beginMap(2).key("list").beginList(300);
+                for (int i = 0; i < 300; i++) writer.value(IntValue.fromInt(i));
+                writer.endList().key("map").beginMap(1).key(1).value(StringValue.fromString("value")).endMap().endMap();
+            }
+
+            try (var writer = format.writer(unknown)) {
+                writer.beginMap().key("list").beginList();
+                for (int i = 0; i < 300; i++) writer.value(IntValue.fromInt(i));
+                writer.endList().key("map").beginMap().key(1).value(StringValue.fromString("value")).endMap().endMap();
+            }
+
+            Assertions.assertArrayEquals(known.toByteArray(), unknown.toByteArray());
+
+            var expected = MapNode.create();
+            var list = expected.createList("list");
+            for (int i = 0; i < 300; i++) list.add(i);
+            expected.createMap("map").set(1, "value");
+
+            NodeAssertion.assertEquals(expected, format.load(new ByteArrayInputStream(unknown.toByteArray())));
+        }
+
+        @ParameterizedTest
+        @MethodSource("formats")
+        void testFile(BinaryFormat format, @TempDir Path directory) throws IOException {
+            var node = createNode();
+            var filepath = directory.resolve("dir").resolve("test.dat");
+
+            try (var writer = format.writer(filepath)) {
+                node.accept(NodeWriter.visitor(writer));
+            }
+
+            NodeAssertion.assertEquals(node, format.load(filepath));
+        }
+
+        @Test
+        void testInvalidUsage() throws IOException {
+            Assertions.assertThrows(IOException.class, () -> {
+                try (var writer = BinaryFormat.DEFAULT.writer(new ByteArrayOutputStream())) {
+                    writer.beginList(2).value(IntValue.fromInt(1)).endList();
+                }
+            });
+
+            Assertions.assertThrows(IOException.class, () -> {
+                try (var writer = BinaryFormat.DEFAULT.writer(new ByteArrayOutputStream())) {
+                    writer.beginMap().key(List.of("a"));
+                }
+            });
+
+            Assertions.assertThrows(IOException.class, () -> {
+                try (var writer = BinaryFormat.DEFAULT.writer(new ByteArrayOutputStream())) {
+                    writer.beginMap();
+                }
+            });
+
+            try (var writer = BinaryFormat.DEFAULT.writer(new ByteArrayOutputStream())) {
+                Assertions.assertThrows(IllegalStateException.class, writer::endMap);
+                Assertions.assertThrows(IllegalStateException.class, () -> writer.key("a"));
+                writer.beginMap();
+                Assertions.assertThrows(IllegalStateException.class, () -> writer.value(NullNode.NULL));
+                Assertions.assertThrows(IllegalStateException.class, writer::endList);
+                writer.endMap();
+                Assertions.assertThrows(IllegalStateException.class, () -> writer.value(NullNode.NULL));
+            }
+
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> BinaryFormat.DEFAULT.writer(Writer.nullWriter()));
+        }
+
+        private static @NotNull MapNode createNode() {
+            return NodeReaderTest.createNode();
+        }
+
+        private static Stream<BinaryFormat> formats() {
+            return new BinaryFormatTest().fileFormats();
+        }
+    }
 }
@@ -0,0 +1,353 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.binary;
+
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.node.BooleanValue;
+import dev.siroshun.configapi.core.node.ByteArray;
+import dev.siroshun.configapi.core.node.CharValue;
+import dev.siroshun.configapi.core.node.CommentableNode;
+import dev.siroshun.configapi.core.node.DoubleValue;
+import dev.siroshun.configapi.core.node.IntArray;
+import dev.siroshun.configapi.core.node.IntValue;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.LongArray;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.NodePath;
+import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.PersistentMapNode;
+import dev.siroshun.configapi.core.node.StringValue;
+import dev.siroshun.configapi.test.shared.file.BasicFileFormatTest;
+import dev.siroshun.configapi.test.shared.util.NodeAssertion;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class IndexedBinaryFormatTest extends BasicFileFormatTest<MapNode, IndexedBinaryFormat> {
+
+    @Override
+    protected Stream<IndexedBinaryFormat> fileFormats() {
+        return Stream.of(IndexedBinaryFormat.DEFAULT);
+    }
+
+    @Override
+    protected @NotNull String extension() {
+        return ".dat";
+    }
+
+    @Override
+    protected @NotNull MapNode emptyNode() {
+        return MapNode.create();
+    }
+
+    @Override
+    protected boolean supportEmptyFile() {
+        return false;
+    }
+
+    @Override
+    protected boolean isSupportedIOType(Class<?> ioType) {
+        return ioType != Reader.class && ioType != Writer.class;
+    }
+
+    @ParameterizedTest
+    @MethodSource("nodes")
+    void testStream(MapNode node) throws IOException {
+        var bytes = save(node);
+
+        try (var in = new ByteArrayInputStream(bytes)) {
+            NodeAssertion.assertEquals(node, IndexedBinaryFormat.DEFAULT.load(in));
+        }
+
+        NodeAssertion.assertEquals(node, IndexedBinaryFormat.DEFAULT.open(bytes).root());
+    }
+
+    @ParameterizedTest
+    @MethodSource("nodes")
+    void testFile(MapNode node, @TempDir Path directory) throws IOException {
+        var filepath = directory.resolve("test.dat");
+        IndexedBinaryFormat.DEFAULT.save(node, filepath);
+
+        NodeAssertion.assertEquals(node, IndexedBinaryFormat.DEFAULT.load(filepath));
+        NodeAssertion.assertEquals(node, IndexedBinaryFormat.DEFAULT.open(filepath).root());
+    }
+
+    @Test
+    void testReader(@TempDir Path directory) throws IOException {
+        var node = listOfMaps(10);
+        var bytes = save(node);
+
+        try (var reader = IndexedBinaryFormat.DEFAULT.reader(new ByteArrayInputStream(bytes))) {
+            Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+            NodeAssertion.assertEquals(node, reader.readNode());
+            Assertions.assertEquals(NodeReader.Event.END_DOCUMENT, reader.next());
+        }
+
+        var filepath = directory.resolve("test.dat");
+        IndexedBinaryFormat.DEFAULT.save(node, filepath);
+
+        try (var reader = IndexedBinaryFormat.DEFAULT.reader(filepath)) {
+            Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+            NodeAssertion.assertEquals(node, reader.readNode());
+        }
+
+        try (var reader = IndexedBinaryFormat.DEFAULT.reader(directory.resolve("missing.dat"))) {
+            Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+            NodeAssertion.assertEquals(MapNode.create(), reader.readNode());
+        }
+    }
+
+    @Test
+    void testWriter(@TempDir Path directory) throws IOException {
+        var node = listOfMaps(10);
+
+        var out = new ByteArrayOutputStream();
+        try (var writer = IndexedBinaryFormat.DEFAULT.writer(out)) {
+            writer.writeNode(node);
+        }
+        Assertions.assertArrayEquals(save(node), out.toByteArray());
+
+        var filepath = directory.resolve("test.dat");
+        try (var writer = IndexedBinaryFormat.DEFAULT.writer(filepath)) {
+            writer.writeNode(node);
+        }
+        NodeAssertion.assertEquals(node, IndexedBinaryFormat.DEFAULT.load(filepath));
+    }
+
+    @Test
+    void testWriterKeepsFileOnFailure(@TempDir Path directory) throws IOException {
+        var node = listOfMaps(10);
+        var filepath = directory.resolve("test.dat");
+        IndexedBinaryFormat.DEFAULT.save(node, filepath);
+
+        Assertions.assertThrows(IOException.class, () -> {
+            try (var writer = IndexedBinaryFormat.DEFAULT.writer(filepath)) {
+                writer.beginMap().key("a");
+            }
+        });
+        NodeAssertion.assertEquals(node, IndexedBinaryFormat.DEFAULT.load(filepath));
+
+        Assertions.assertThrows(IOException.class, () -> {
+            try (var writer = IndexedBinaryFormat.DEFAULT.writer(filepath)) {
+                writer.value(StringValue.fromString("not a map"));
+            }
+        });
+        NodeAssertion.assertEquals(node, IndexedBinaryFormat.DEFAULT.load(filepath));
+    }
+
+    @Test
+    void testProjectedLoad(@TempDir Path directory) throws IOException {
+        var node = listOfMaps(10);
+        var paths = Set.of(NodePath.parse("entries[2].name"), NodePath.parse("enabled"), NodePath.parse("unknown.key"), NodePath.of(0));
+
+        var expected = MapNode.create();
+        var entries = expected.createList("entries");
+        entries.add(NullNode.NULL);
+        entries.add(NullNode.NULL);
+        entries.addMap().set("name", "name-2");
+        expected.set("enabled", true);
+
+        var out = new ByteArrayOutputStream();
+        IndexedBinaryFormat.DEFAULT.save(node, out);
+        out.write(42);
+
+        try (var in = new ByteArrayInputStream(out.toByteArray())) {
+            NodeAssertion.assertEquals(expected, IndexedBinaryFormat.DEFAULT.load(in, paths));
+            Assertions.assertEquals(42, in.read()); // not closed and not read ahead
+        }
+
+        var filepath = directory.resolve("test.dat");
+        IndexedBinaryFormat.DEFAULT.save(node, filepath);
+        NodeAssertion.assertEquals(expected, IndexedBinaryFormat.DEFAULT.load(filepath, paths));
+        NodeAssertion.assertEquals(node, IndexedBinaryFormat.DEFAULT.load(filepath, Set.of(NodePath.root(), NodePath.parse("enabled"))));
+        NodeAssertion.assertEquals(MapNode.create(), IndexedBinaryFormat.DEFAULT.load(directory.resolve("missing.dat"), paths));
+    }
+
+    @Test
+    void testCommentedNode() throws IOException {
+        var mapNode = MapNode.create();
+        mapNode.set("a", CommentableNode.withComment(StringValue.fromString("value"), null));
+
+        var expected = MapNode.create();
+        expected.set("a", "value");
+
+        NodeAssertion.assertEquals(expected, IndexedBinaryFormat.DEFAULT.open(save(mapNode)).root());
+    }
+
+    @Test
+    void testRandomAccess() throws IOException {
+        var file = IndexedBinaryFormat.DEFAULT.open(save(listOfMaps(100)));
+
+        NodeAssertion.assertEquals(StringValue.fromString("name-42"), file.get("entries", 42, "name"));
+        NodeAssertion.assertEquals(new IntValue(42), file.get("entries", 42, "id"));
+        NodeAssertion.assertEquals(createEntry(7), file.get("entries", 7));
+        NodeAssertion.assertEquals(BooleanValue.TRUE, file.get("enabled"));
+        NodeAssertion.assertEquals(listOfMaps(100), file.get());
+
+        Assertions.assertSame(NullNode.NULL, file.get("unknown"));
+        Assertions.assertSame(NullNode.NULL, file.get("entries", 100));
+        Assertions.assertSame(NullNode.NULL, file.get("entries", -1));
+        Assertions.assertSame(NullNode.NULL, file.get("entries", "name"));
+        Assertions.assertSame(NullNode.NULL, file.get("entries", 0, "unknown"));
+        Assertions.assertSame(NullNode.NULL, file.get("enabled", "child"));
+        Assertions.assertSame(NullNode.NULL, file.get("name")); // exists in the dictionary, but not in the root
+    }
+
+    @Test
+    void testPersistentNode() throws IOException {
+        var mapNode = listOfMaps(10);
+        Assertions.assertArrayEquals(save(mapNode), save(PersistentMapNode.copyOf(mapNode)));
+    }
+
+    @Test
+    void testKeyOrder() throws IOException {
+        var mapNode = MapNode.create();
+        mapNode.set("b", 1);
+        mapNode.set("a", 2);
+        mapNode.set(3, 3);
+        mapNode.set("c", 4);
+
+        var nested = mapNode.createMap("nested");
+        nested.set("c", 5);
+        nested.set("z", 6);
+        nested.set("b", 7);
+
+        var loaded = IndexedBinaryFormat.DEFAULT.open(save(mapNode)).root();
+
+        Assertions.assertEquals(List.of("b", "a", 3, "c", "nested"), List.copyOf(loaded.value().keySet()));
+        Assertions.assertEquals(List.of("c", "z", "b"), List.copyOf(loaded.getMap("nested").value().keySet()));
+
+        var file = IndexedBinaryFormat.DEFAULT.open(save(mapNode));
+        Assertions.assertEquals(6, file.keyCount());
+        NodeAssertion.assertEquals(new IntValue(3), file.get(3));
+        NodeAssertion.assertEquals(new IntValue(7), file.get("nested", "b"));
+    }
+
+    @Test
+    void testDictionaryReducesSize() throws IOException {
+        var node = listOfMaps(1000);
+
+        try (var out = new ByteArrayOutputStream()) {
+            BinaryFormat.DEFAULT.save(node, out);
+            Assertions.assertTrue(save(node).length < out.size());
+        }
+
+        Assertions.assertEquals(4, IndexedBinaryFormat.DEFAULT.open(save(node)).keyCount()); // entries, id, name, enabled
+    }
+
+    @Test
+    void testDoesNotReadAhead() throws IOException {
+        assertDoesNotReadAhead(IndexedBinaryFormat.DEFAULT, List.of(listOfMaps(10), MapNode.create(), listOfMaps(3)));
+    }
+
+    @Test
+    void testInvalidData() throws IOException {
+        var bytes = save(listOfMaps(10));
+
+        var wrongMagic = bytes.clone();
+        wrongMagic[0] = 0;
+        Assertions.assertThrows(IOException.class, () -> IndexedBinaryFormat.DEFAULT.open(wrongMagic));
+
+        var wrongVersion = bytes.clone();
+        wrongVersion[4] = 2;
+        Assertions.assertThrows(IOException.class, () -> IndexedBinaryFormat.DEFAULT.open(wrongVersion));
+
+        for (int length = 0; length < bytes.length; length++) {
+            var truncated = Arrays.copyOf(bytes, length);
+            Assertions.assertThrows(IOException.class, () -> IndexedBinaryFormat.DEFAULT.open(truncated).root());
+            Assertions.assertThrows(IOException.class, () -> IndexedBinaryFormat.DEFAULT.load(new ByteArrayInputStream(truncated)));
+        }
+    }
+
+    @Test
+    void testUnsupportedKey() {
+        var mapNode = MapNode.create();
+        mapNode.set(new int[]{1}, 1);
+        Assertions.assertThrows(IOException.class, () -> save(mapNode));
+    }
+
+    private static Stream<MapNode> nodes() {
+        var empty = MapNode.create();
+
+        var values = MapNode.create();
+        values.set("string", "value");
+        values.set("int", 1);
+        values.set("double", new DoubleValue(3.14));
+        values.set("char", new CharValue('c'));
+        values.set("bytes", new ByteArray(new byte[]{1, 2, 3}));
+        values.set("ints", new IntArray(IntStream.range(0, 1000).toArray()));
+        values.set(1, "integer key");
+        values.set(true, "boolean key");
+
+        var nested = MapNode.create();
+        var list = nested.createList("list");
+        list.add(NullNode.NULL);
+        list.add("a");
+        list.add(ListNode.create());
+        list.add(new LongArray(new long[]{Long.MIN_VALUE, Long.MAX_VALUE}));
+        list.addMap().set("key", "value");
+        nested.createMap("a").createMap("b").createMap("c").set("d", "e");
+        nested.createMap("empty");
+
+        var sharedChild = MapNode.create();
+        sharedChild.set("shared", 1);
+        var shared = MapNode.create();
+        shared.set("x", sharedChild);
+        shared.set("y", sharedChild);
+
+        return Stream.of(empty, values, nested, shared, listOfMaps(100));
+    }
+
+    private static MapNode listOfMaps(int size) {
+        var root = MapNode.create();
+        var entries = root.createList("entries");
+        for (int i = 0; i < size; i++) {
+            entries.add(createEntry(i));
+        }
+        root.set("enabled", true);
+        return root;
+    }
+
+    private static MapNode createEntry(int id) {
+        var entry = MapNode.create();
+        entry.set("id", id);
+        entry.set("name", "name-" + id);
+        return entry;
+    }
+
+    private static byte[] save(MapNode node) throws IOException {
+        try (var out = new ByteArrayOutputStream()) {
+            IndexedBinaryFormat.DEFAULT.save(node, out);
+            return out.toByteArray();
+        }
+    }
+}
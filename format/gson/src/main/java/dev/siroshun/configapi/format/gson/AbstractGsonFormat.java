@@ -17,13 +17,19 @@
 package dev.siroshun.configapi.format.gson;
 
 import dev.siroshun.configapi.core.file.FileFormat;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.file.NodeWriter;
 import dev.siroshun.configapi.core.node.Node;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonIOException;
+import com.google.gson.Strictness;
 import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
@@ -31,31 +37,96 @@ import java.io.Writer;
 abstract class AbstractGsonFormat<N extends Node<?>> implements FileFormat<N> {
 
     private final Gson gson;
-    private final Class<N> nodeClass;
+    private final NodeAdapter nodeAdapter;
+    private final TypeAdapter<N> adapter;
 
-    protected AbstractGsonFormat(@NotNull GsonBuilder builder, @NotNull Class<N> nodeClass, @NotNull TypeAdapter<N> adapter) {
-        this.gson = builder.registerTypeAdapter(nodeClass, adapter).create();
-        this.nodeClass = nodeClass;
+    protected AbstractGsonFormat(@NotNull GsonBuilder builder, @NotNull NodeAdapter nodeAdapter, @NotNull TypeAdapter<N> adapter) {
+        this.gson = builder.create();
+        this.nodeAdapter = nodeAdapter;
+        this.adapter = adapter;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The document is read by the {@link TypeAdapter} of this format directly from {@link JsonReader},
+     * without looking up the adapter through {@link Gson#fromJson(Reader, Class)}.
+     * Like {@link Gson#fromJson(Reader, Class)}, the document is parsed leniently unless the strictness is set to the {@link GsonBuilder},
+     * and an empty document is loaded as an empty node.
+     */
     @Override
     public @NotNull N load(@NotNull Reader reader) throws IOException {
+        var in = this.newJsonReader(reader);
+
         try {
-            var node = this.gson.fromJson(reader, this.nodeClass);
-            return node != null ? node : this.createEmptyNode();
-        } catch (JsonIOException e) {
-            throw new IOException(e);
+            in.peek();
+        } catch (EOFException e) {
+            return this.createEmptyNode();
+        }
+
+        var node = this.adapter.read(in);
+
+        if (in.peek() != JsonToken.END_DOCUMENT) {
+            throw new IOException("JSON document was not fully consumed.");
         }
+
+        return node;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeReader} parses the document incrementally using {@link JsonReader}.
+     * An empty document is read as {@link NodeReader.Event#END_DOCUMENT}.
+     */
+    @Override
+    public @NotNull NodeReader reader(@NotNull Reader reader) {
+        return new GsonNodeReader(this.newJsonReader(reader), this.nodeAdapter);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The node is written by the {@link TypeAdapter} of this format directly to {@link JsonWriter}
+     * that is configured by the {@link GsonBuilder} of this format, such as pretty printing.
+     */
     @Override
     public void save(@NotNull N node, @NotNull Writer writer) throws IOException {
-        try {
-            this.gson.toJson(node, this.nodeClass, writer);
-        } catch (JsonIOException e) {
-            throw new IOException(e);
-        }
+        this.adapter.write(this.newJsonWriter(writer), node);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeWriter} writes the document incrementally using {@link JsonWriter}
+     * that is configured by the {@link GsonBuilder} of this format, such as pretty printing.
+     */
+    @Override
+    public @NotNull NodeWriter writer(@NotNull Writer writer) throws IOException {
+        return new GsonNodeWriter(this.newJsonWriter(writer), this.nodeAdapter);
     }
 
     protected abstract @NotNull N createEmptyNode();
+
+    private @NotNull JsonReader newJsonReader(@NotNull Reader reader) {
+        var in = this.gson.newJsonReader(reader);
+
+        // Gson#fromJson reads the document leniently if the strictness is not set to the GsonBuilder
+        if (in.getStrictness() == Strictness.LEGACY_STRICT) {
+            in.setStrictness(Strictness.LENIENT);
+        }
+
+        return in;
+    }
+
+    private @NotNull JsonWriter newJsonWriter(@NotNull Writer writer) throws IOException {
+        var out = this.gson.newJsonWriter(writer);
+
+        // Gson#toJson writes the document leniently (e.g. NaN) if the strictness is not set to the GsonBuilder
+        if (out.getStrictness() == Strictness.LEGACY_STRICT) {
+            out.setStrictness(Strictness.LENIENT);
+        }
+
+        return out;
+    }
 }
@@ -24,12 +24,14 @@ import dev.siroshun.configapi.core.node.ListNode;
 import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
 import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.StringPool;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import dev.siroshun.configapi.core.node.CharArray;
 import dev.siroshun.configapi.core.node.CharValue;
 import dev.siroshun.configapi.core.node.ValueNode;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A {@link FileFormat} implementation that loading/saving {@link ListNode} from/to json files using {@link Gson}.
@@ -49,6 +51,9 @@ import org.jetbrains.annotations.NotNull;
  *     <li>{@link NullNode}</li>
  *     <li>{@link CommentedNode} - The comment will be dropped</li>
  * </ul>
+ * <p>
+ * The {@link GsonBuilder} is used to configure {@link com.google.gson.stream.JsonReader} and {@link com.google.gson.stream.JsonWriter},
+ * such as the strictness and pretty printing. The nodes are read/written directly, without the type adapters of {@link Gson}.
  */
 public final class GsonArrayFormat extends AbstractGsonFormat<ListNode> {
 
@@ -68,7 +73,23 @@ public final class GsonArrayFormat extends AbstractGsonFormat<ListNode> {
      * @param gsonBuilder the {@link GsonBuilder}
      */
     public GsonArrayFormat(@NotNull GsonBuilder gsonBuilder) {
-        super(gsonBuilder, ListNode.class, NodeAdapter.LIST_NODE_ADAPTER);
+        this(gsonBuilder, NodeAdapter.INSTANCE);
+    }
+
+    /**
+     * Creates a new {@link GsonArrayFormat} from the {@link GsonBuilder} and the {@link StringPool}.
+     * <p>
+     * The keys and string values of loaded nodes are deduplicated using the specified {@link StringPool}.
+     *
+     * @param gsonBuilder the {@link GsonBuilder}
+     * @param stringPool  the {@link StringPool} to deduplicate strings, or {@code null} to not deduplicate
+     */
+    public GsonArrayFormat(@NotNull GsonBuilder gsonBuilder, @Nullable StringPool stringPool) {
+        this(gsonBuilder, stringPool != null ? new NodeAdapter(stringPool) : NodeAdapter.INSTANCE);
+    }
+
+    private GsonArrayFormat(@NotNull GsonBuilder gsonBuilder, @NotNull NodeAdapter nodeAdapter) {
+        super(gsonBuilder, nodeAdapter, nodeAdapter.listNodeAdapter);
     }
 
     @Override
@@ -0,0 +1,153 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.gson;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * A {@link NodeReader} implementation that reads a json document from {@link JsonReader}.
+ */
+final class GsonNodeReader implements NodeReader {
+
+    private final JsonReader in;
+    private final NodeAdapter adapter;
+    private @Nullable Event event;
+    private @Nullable Object key;
+    private @Nullable Node<?> value;
+    private int depth;
+
+    GsonNodeReader(@NotNull JsonReader in, @NotNull NodeAdapter adapter) {
+        this.in = in;
+        this.adapter = adapter;
+    }
+
+    @Override
+    public @NotNull Event next() throws IOException {
+        if (this.event == Event.END_DOCUMENT) {
+            return Event.END_DOCUMENT;
+        }
+
+        if (this.event != null && this.depth == 0) { // the root node has been read
+            return this.event = Event.END_DOCUMENT;
+        }
+
+        JsonToken token;
+
+        try {
+            token = this.in.peek();
+        } catch (EOFException e) {
+            if (this.event == null) { // empty document
+                return this.event = Event.END_DOCUMENT;
+            }
+            throw e;
+        }
+
+        return this.event = switch (token) {
+            case BEGIN_OBJECT -> {
+                this.in.beginObject();
+                this.depth++;
+                yield Event.START_MAP;
+            }
+            case END_OBJECT -> {
+                this.in.endObject();
+                this.depth--;
+                yield Event.END_MAP;
+            }
+            case BEGIN_ARRAY -> {
+                this.in.beginArray();
+                this.depth++;
+                yield Event.START_LIST;
+            }
+            case END_ARRAY -> {
+                this.in.endArray();
+                this.depth--;
+                yield Event.END_LIST;
+            }
+            case NAME -> {
+                this.key = this.adapter.readName(this.in);
+                yield Event.KEY;
+            }
+            case END_DOCUMENT -> Event.END_DOCUMENT;
+            default -> {
+                this.value = this.adapter.readValue(this.in, token);
+                yield Event.VALUE;
+            }
+        };
+    }
+
+    @Override
+    public @NotNull Event event() {
+        if (this.event == null) {
+            throw new IllegalStateException("next() has not been called yet.");
+        }
+        return this.event;
+    }
+
+    @Override
+    public @NotNull Object key() {
+        if (this.event != Event.KEY || this.key == null) {
+            throw new IllegalStateException("The current event is not KEY: " + this.event);
+        }
+        return this.key;
+    }
+
+    @Override
+    public @NotNull Node<?> value() {
+        if (this.event != Event.VALUE || this.value == null) {
+            throw new IllegalStateException("The current event is not VALUE: " + this.event);
+        }
+        return this.value;
+    }
+
+    @Override
+    public int depth() {
+        return this.depth;
+    }
+
+    @Override
+    public void skipChildren() throws IOException {
+        if (this.event == Event.START_MAP) {
+            while (this.in.hasNext()) {
+                this.in.nextName();
+                this.in.skipValue();
+            }
+            this.in.endObject();
+            this.depth--;
+            this.event = Event.END_MAP;
+        } else if (this.event == Event.START_LIST) {
+            while (this.in.hasNext()) {
+                this.in.skipValue();
+            }
+            this.in.endArray();
+            this.depth--;
+            this.event = Event.END_LIST;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+}
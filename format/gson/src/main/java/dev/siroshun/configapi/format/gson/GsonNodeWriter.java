@@ -0,0 +1,89 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.gson;
+
+import com.google.gson.stream.JsonWriter;
+import dev.siroshun.configapi.core.file.NodeWriter;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * A {@link NodeWriter} implementation that writes a json document to {@link JsonWriter}.
+ */
+final class GsonNodeWriter implements NodeWriter {
+
+    private final JsonWriter out;
+    private final NodeAdapter adapter;
+
+    GsonNodeWriter(@NotNull JsonWriter out, @NotNull NodeAdapter adapter) {
+        this.out = out;
+        this.adapter = adapter;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginMap(int size) throws IOException {
+        this.out.beginObject();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter key(@NotNull Object key) throws IOException {
+        this.out.name(String.valueOf(key));
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endMap() throws IOException {
+        this.out.endObject();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginList(int size) throws IOException {
+        this.out.beginArray();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endList() throws IOException {
+        this.out.endArray();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter value(@NotNull Node<?> node) throws IOException {
+        this.adapter.write(this.out, node);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter writeNode(@NotNull Node<?> node) throws IOException {
+        return this.value(node);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+}
@@ -40,19 +40,26 @@ import dev.siroshun.configapi.core.node.NullNode;
 import dev.siroshun.configapi.core.node.NumberValue;
 import dev.siroshun.configapi.core.node.ShortArray;
 import dev.siroshun.configapi.core.node.ShortValue;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.core.node.StringValue;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 
 final class NodeAdapter extends TypeAdapter<Node<?>> {
 
-    static final TypeAdapter<Node<?>> INSTANCE = new NodeAdapter();
+    static final NodeAdapter INSTANCE = new NodeAdapter(null);
 
-    static final TypeAdapter<ListNode> LIST_NODE_ADAPTER = new TypeAdapter<>() {
+    static final TypeAdapter<ListNode> LIST_NODE_ADAPTER = INSTANCE.listNodeAdapter;
+
+    static final TypeAdapter<MapNode> MAP_NODE_ADAPTER = INSTANCE.mapNodeAdapter;
+
+    final TypeAdapter<ListNode> listNodeAdapter = new TypeAdapter<>() {
         @Override
         public ListNode read(JsonReader in) throws IOException {
             var listNode = ListNode.create();
@@ -63,7 +70,7 @@ final class NodeAdapter extends TypeAdapter<Node<?>> {
                 in.beginArray();
 
                 while (in.hasNext()) {
-                    listNode.add(NodeAdapter.INSTANCE.read(in));
+                    listNode.addOwned(NodeAdapter.this.read(in));
                 }
 
                 in.endArray();
@@ -79,14 +86,14 @@ final class NodeAdapter extends TypeAdapter<Node<?>> {
             out.beginArray();
 
             for (var element : value.value()) {
-                NodeAdapter.INSTANCE.write(out, element);
+                NodeAdapter.this.write(out, element);
             }
 
             out.endArray();
         }
     };
 
-    static final TypeAdapter<MapNode> MAP_NODE_ADAPTER = new TypeAdapter<>() {
+    final TypeAdapter<MapNode> mapNodeAdapter = new TypeAdapter<>() {
 
         @Override
         public MapNode read(JsonReader in) throws IOException {
@@ -98,7 +105,7 @@ final class NodeAdapter extends TypeAdapter<Node<?>> {
                 in.beginObject();
 
                 while (in.hasNext()) {
-                    mapNode.set(in.nextName(), NodeAdapter.INSTANCE.read(in));
+                    mapNode.setOwned(NodeAdapter.this.readName(in), NodeAdapter.this.read(in));
                 }
 
                 in.endObject();
@@ -115,48 +122,102 @@ final class NodeAdapter extends TypeAdapter<Node<?>> {
 
             for (var entry : value.value().entrySet()) {
                 out.name(String.valueOf(entry.getKey()));
-                NodeAdapter.INSTANCE.write(out, entry.getValue());
+                NodeAdapter.this.write(out, entry.getValue());
             }
 
             out.endObject();
         }
     };
 
-    private NodeAdapter() {
+    private final @Nullable StringPool stringPool;
+
+    NodeAdapter(@Nullable StringPool stringPool) {
+        this.stringPool = stringPool;
     }
 
     @Override
     public Node<?> read(JsonReader in) throws IOException {
         var token = in.peek();
 
+        if (token == JsonToken.BEGIN_ARRAY) {
+            return this.listNodeAdapter.read(in);
+        } else if (token == JsonToken.BEGIN_OBJECT) {
+            return this.mapNodeAdapter.read(in);
+        } else {
+            return this.readValue(in, token);
+        }
+    }
+
+    @NotNull Node<?> readValue(@NotNull JsonReader in, @NotNull JsonToken token) throws IOException {
         if (token == JsonToken.STRING) {
-            return StringValue.fromString(in.nextString());
+            var value = in.nextString();
+            return this.stringPool != null ? this.stringPool.stringValue(value) : StringValue.fromString(value);
         } else if (token == JsonToken.NUMBER) {
             return readNumber(in);
         } else if (token == JsonToken.BOOLEAN) {
             return BooleanValue.fromBoolean(in.nextBoolean());
         } else if (token == JsonToken.NULL) {
+            in.nextNull();
             return NullNode.NULL;
-        } else if (token == JsonToken.BEGIN_ARRAY) {
-            return LIST_NODE_ADAPTER.read(in);
-        } else if (token == JsonToken.BEGIN_OBJECT) {
-            return MAP_NODE_ADAPTER.read(in);
         } else {
             throw new IOException("Unexpected token: " + token);
         }
     }
 
-    private NumberValue readNumber(final JsonReader in) throws IOException {
-        final String number = in.nextString();
+    @NotNull String readName(@NotNull JsonReader in) throws IOException {
+        var name = in.nextName();
+        return this.stringPool != null ? this.stringPool.intern(name) : name;
+    }
+
+    private static @NotNull NumberValue readNumber(@NotNull JsonReader in) throws IOException {
+        // JsonReader does not tell whether the number is an integer, so the literal is needed to keep 1.0 as a double.
+        // The integer is read as IntValue/LongValue, and others (fractions and exponents) as DoubleValue.
+        var number = in.nextString();
+        int length = number.length();
+        boolean negative = 0 < length && number.charAt(0) == '-';
+        int start = negative ? 1 : 0;
+        int position = start;
 
-        if (number.contains(".")) {
-            return new DoubleValue(Double.parseDouble(number));
+        // accumulates the value negatively like Long#parseLong, so that Long.MIN_VALUE can be parsed
+        long limit = Long.MIN_VALUE / 10;
+        long value = 0;
+
+        for (; position < length; position++) {
+            int digit = number.charAt(position) - '0';
+
+            if (digit < 0 || 9 < digit || value < limit || (value == limit && 8 < digit)) {
+                break; // a fraction, an exponent or the overflow of long
+            }
+
+            value = value * 10 - digit;
+        }
+
+        if (position == length && start < length && (negative || value != Long.MIN_VALUE)) {
+            long longValue = negative ? value : -value;
+            int intValue = (int) longValue;
+            return longValue == intValue ? IntValue.fromInt(intValue) : LongValue.fromLong(longValue);
+        }
+
+        if (isInteger(number, position)) {
+            // as with Jackson, the integer that does not fit in long is an error instead of a lossy DoubleValue
+            throw new IOException("Integer out of range of long: " + number);
         }
 
-        long longValue = Long.parseLong(number);
-        int intValue = (int) longValue;
+        try {
+            return new DoubleValue(Double.parseDouble(number));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number: " + number, e);
+        }
+    }
 
-        return longValue == intValue ? new IntValue(intValue) : new LongValue(longValue);
+    private static boolean isInteger(@NotNull String number, int position) {
+        for (int i = position, length = number.length(); i < length; i++) {
+            char c = number.charAt(i);
+            if (c < '0' || '9' < c) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -182,9 +243,9 @@ final class NodeAdapter extends TypeAdapter<Node<?>> {
         } else if (value instanceof NullNode || value == null) {
             out.nullValue();
         } else if (value instanceof ListNode listNode) {
-            LIST_NODE_ADAPTER.write(out, listNode);
+            this.listNodeAdapter.write(out, listNode);
         } else if (value instanceof MapNode mapNode) {
-            MAP_NODE_ADAPTER.write(out, mapNode);
+            this.mapNodeAdapter.write(out, mapNode);
         } else if (value instanceof ArrayNode<?>) {
             out.beginArray();
 
@@ -16,21 +16,31 @@
 
 package dev.siroshun.configapi.format.gson;
 
+import com.google.gson.GsonBuilder;
+import com.google.gson.Strictness;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.node.DoubleValue;
+import dev.siroshun.configapi.core.node.IntValue;
+import dev.siroshun.configapi.core.node.LongValue;
 import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.test.shared.file.JsonFileFormatTest;
+import dev.siroshun.configapi.test.shared.util.NodeAssertion;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.List;
 import java.util.stream.Stream;
 
 class GsonFormatTest extends JsonFileFormatTest<GsonFormat> {
 
     @Override
     protected Stream<GsonFormat> fileFormats() {
-        return Stream.of(GsonFormat.DEFAULT, GsonFormat.PRETTY_PRINTING);
+        return Stream.of(GsonFormat.DEFAULT, GsonFormat.PRETTY_PRINTING, new GsonFormat(new GsonBuilder(), StringPool.create()));
     }
 
     @Override
@@ -58,6 +68,87 @@ class GsonFormatTest extends JsonFileFormatTest<GsonFormat> {
         return GsonFormat.PRETTY_PRINTING;
     }
 
+    @Test
+    void testStringPool() throws IOException {
+        var format = new GsonFormat(new GsonBuilder(), StringPool.create());
+
+        try (var reader = new StringReader("{\"first\": {\"type\": \"value\"}, \"second\": {\"type\": \"value\"}}")) {
+            var loaded = format.load(reader);
+            var first = loaded.getMap("first");
+            var second = loaded.getMap("second");
+
+            Assertions.assertSame(first.get("type"), second.get("type"));
+            Assertions.assertSame(first.value().keySet().iterator().next(), second.value().keySet().iterator().next());
+            Assertions.assertEquals("value", first.getString("type"));
+        }
+    }
+
+    @Test
+    void testNumbers() throws IOException {
+        var json = """
+                {"int": 1, "negative": -1, "negative-zero": -0, "long": 3000000000, "max": 9223372036854775807, "min": -9223372036854775808,
+                "double": 1.5, "whole": 1.0, "exponent": 1e3, "negative-exponent": -2.5E-3, "large-exponent": 9223372036854775808e0}""";
+
+        var expected = MapNode.create();
+        expected.set("int", IntValue.fromInt(1));
+        expected.set("negative", IntValue.fromInt(-1));
+        expected.set("negative-zero", IntValue.fromInt(0));
+        expected.set("long", LongValue.fromLong(3000000000L));
+        expected.set("max", LongValue.fromLong(Long.MAX_VALUE));
+        expected.set("min", LongValue.fromLong(Long.MIN_VALUE));
+        expected.set("double", new DoubleValue(1.5));
+        expected.set("whole", new DoubleValue(1.0));
+        expected.set("exponent", new DoubleValue(1000));
+        expected.set("negative-exponent", new DoubleValue(-0.0025));
+        expected.set("large-exponent", new DoubleValue(9223372036854775808.0));
+
+        NodeAssertion.assertEquals(expected, GsonFormat.DEFAULT.load(new StringReader(json)));
+
+        try (var reader = GsonFormat.DEFAULT.reader(new StringReader(json))) {
+            reader.next();
+            NodeAssertion.assertEquals(expected, reader.readNode());
+        }
+    }
+
+    @Test
+    void testIntegerOutOfRange() throws IOException {
+        for (var json : List.of("{\"key\": 9223372036854775808}", "{\"key\": -9223372036854775809}")) {
+            Assertions.assertThrows(IOException.class, () -> GsonFormat.DEFAULT.load(new StringReader(json)));
+
+            try (var reader = GsonFormat.DEFAULT.reader(new StringReader(json))) {
+                Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+                Assertions.assertEquals(NodeReader.Event.KEY, reader.next());
+                Assertions.assertThrows(IOException.class, reader::next);
+            }
+        }
+    }
+
+    @Test
+    void testStrictness() throws IOException {
+        var lenientJson = "{'key': 'value' /* comment */}";
+
+        Assertions.assertEquals("value", GsonFormat.DEFAULT.load(new StringReader(lenientJson)).getString("key"));
+
+        try (var reader = GsonFormat.DEFAULT.reader(new StringReader(lenientJson))) {
+            Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+            Assertions.assertEquals("value", ((MapNode) reader.readNode()).getString("key"));
+        }
+
+        var strict = new GsonFormat(new GsonBuilder().setStrictness(Strictness.STRICT));
+        Assertions.assertThrows(IOException.class, () -> strict.load(new StringReader(lenientJson)));
+        Assertions.assertThrows(IOException.class, () -> GsonFormat.DEFAULT.load(new StringReader("{} {}")));
+
+        var mapNode = MapNode.create();
+        mapNode.set("nan", Double.NaN);
+
+        try (var writer = new StringWriter()) {
+            GsonFormat.DEFAULT.save(mapNode, writer);
+            Assertions.assertEquals("{\"nan\":NaN}", writer.toString());
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> strict.save(mapNode, new StringWriter()));
+    }
+
     @Test
     void testNotSupportedObject() throws IOException {
         try (var writer = new StringWriter()) {
@@ -22,6 +22,8 @@ import com.fasterxml.jackson.core.util.Separators;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import dev.siroshun.configapi.core.file.FileFormat;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.file.NodeWriter;
 import dev.siroshun.configapi.core.node.CommentedNode;
 import dev.siroshun.configapi.core.node.EnumValue;
 import dev.siroshun.configapi.core.node.ArrayNode;
@@ -29,11 +31,13 @@ import dev.siroshun.configapi.core.node.ListNode;
 import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
 import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.core.node.CharArray;
 import dev.siroshun.configapi.core.node.CharValue;
 import dev.siroshun.configapi.core.node.ValueNode;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -92,6 +96,7 @@ public final class JacksonFormat implements FileFormat<MapNode> {
     }
 
     private final ObjectMapper objectMapper;
+    private final NodeSerialization.NodeDeserializer deserializer;
 
     /**
      * The constructor of {@link JacksonFormat}.
@@ -99,8 +104,19 @@ public final class JacksonFormat implements FileFormat<MapNode> {
      * @param objectMapper an {@link ObjectMapper} that is used for serializing/deserializing json
      */
     public JacksonFormat(@NotNull ObjectMapper objectMapper) {
+        this(objectMapper, null);
+    }
+
+    /**
+     * The constructor of {@link JacksonFormat} that deduplicates strings while loading.
+     *
+     * @param objectMapper an {@link ObjectMapper} that is used for serializing/deserializing json
+     * @param stringPool   a {@link StringPool} to deduplicate the keys and string values, or {@code null} to not deduplicate
+     */
+    public JacksonFormat(@NotNull ObjectMapper objectMapper, @Nullable StringPool stringPool) {
         this.objectMapper = objectMapper;
-        objectMapper.registerModule(NodeSerialization.createModule());
+        this.deserializer = new NodeSerialization.NodeDeserializer(stringPool);
+        objectMapper.registerModule(NodeSerialization.createModule(stringPool));
     }
 
     @Override
@@ -118,8 +134,30 @@ public final class JacksonFormat implements FileFormat<MapNode> {
         return this.objectMapper.readValue(reader, MapNode.class);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeReader} parses the document incrementally using {@link com.fasterxml.jackson.core.JsonParser}.
+     * An empty document is read as {@link NodeReader.Event#END_DOCUMENT}.
+     */
+    @Override
+    public @NotNull NodeReader reader(@NotNull Reader reader) throws IOException {
+        return new JacksonNodeReader(this.objectMapper.createParser(reader), this.deserializer);
+    }
+
     @Override
     public void save(@NotNull MapNode node, @NotNull Writer writer) throws IOException {
         this.objectMapper.writeValue(writer, node);
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeWriter} writes the document incrementally using {@link com.fasterxml.jackson.core.JsonGenerator}
+     * that is configured by the {@link ObjectMapper} of this format, such as pretty printing.
+     */
+    @Override
+    public @NotNull NodeWriter writer(@NotNull Writer writer) throws IOException {
+        return new JacksonNodeWriter(this.objectMapper.writer().createGenerator(writer));
+    }
 }
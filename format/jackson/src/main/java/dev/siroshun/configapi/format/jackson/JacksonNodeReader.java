@@ -0,0 +1,131 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * A {@link NodeReader} implementation that reads a json document from {@link JsonParser}.
+ */
+final class JacksonNodeReader implements NodeReader {
+
+    private final JsonParser parser;
+    private final NodeSerialization.NodeDeserializer deserializer;
+    private @Nullable Event event;
+    private @Nullable Object key;
+    private @Nullable Node<?> value;
+    private int depth;
+
+    JacksonNodeReader(@NotNull JsonParser parser, @NotNull NodeSerialization.NodeDeserializer deserializer) {
+        this.parser = parser;
+        this.deserializer = deserializer;
+    }
+
+    @Override
+    public @NotNull Event next() throws IOException {
+        if (this.event == Event.END_DOCUMENT) {
+            return Event.END_DOCUMENT;
+        }
+
+        if (this.event != null && this.depth == 0) { // the root node has been read
+            return this.event = Event.END_DOCUMENT;
+        }
+
+        var token = this.parser.nextToken();
+
+        if (token == null) {
+            return this.event = Event.END_DOCUMENT;
+        }
+
+        return this.event = switch (token) {
+            case START_OBJECT -> {
+                this.depth++;
+                yield Event.START_MAP;
+            }
+            case END_OBJECT -> {
+                this.depth--;
+                yield Event.END_MAP;
+            }
+            case START_ARRAY -> {
+                this.depth++;
+                yield Event.START_LIST;
+            }
+            case END_ARRAY -> {
+                this.depth--;
+                yield Event.END_LIST;
+            }
+            case FIELD_NAME -> {
+                this.key = this.deserializer.readName(this.parser);
+                yield Event.KEY;
+            }
+            default -> {
+                this.value = this.deserializer.readValue(this.parser, token);
+                yield Event.VALUE;
+            }
+        };
+    }
+
+    @Override
+    public @NotNull Event event() {
+        if (this.event == null) {
+            throw new IllegalStateException("next() has not been called yet.");
+        }
+        return this.event;
+    }
+
+    @Override
+    public @NotNull Object key() {
+        if (this.event != Event.KEY || this.key == null) {
+            throw new IllegalStateException("The current event is not KEY: " + this.event);
+        }
+        return this.key;
+    }
+
+    @Override
+    public @NotNull Node<?> value() {
+        if (this.event != Event.VALUE || this.value == null) {
+            throw new IllegalStateException("The current event is not VALUE: " + this.event);
+        }
+        return this.value;
+    }
+
+    @Override
+    public int depth() {
+        return this.depth;
+    }
+
+    @Override
+    public void skipChildren() throws IOException {
+        if (this.event == Event.START_MAP || this.event == Event.START_LIST) {
+            this.parser.skipChildren();
+            this.depth--;
+            this.event = this.event == Event.START_MAP ? Event.END_MAP : Event.END_LIST;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.parser.close();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import dev.siroshun.configapi.core.file.NodeWriter;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * A {@link NodeWriter} implementation that writes a json document to {@link JsonGenerator}.
+ */
+final class JacksonNodeWriter implements NodeWriter {
+
+    private final JsonGenerator generator;
+
+    JacksonNodeWriter(@NotNull JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginMap(int size) throws IOException {
+        this.generator.writeStartObject();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter key(@NotNull Object key) throws IOException {
+        this.generator.writeFieldName(String.valueOf(key));
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endMap() throws IOException {
+        this.generator.writeEndObject();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginList(int size) throws IOException {
+        this.generator.writeStartArray();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endList() throws IOException {
+        this.generator.writeEndArray();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter value(@NotNull Node<?> node) throws IOException {
+        NodeSerialization.NodeSerializer.INSTANCE.writeNode(this.generator, node);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter writeNode(@NotNull Node<?> node) throws IOException {
+        return this.value(node);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.generator.close();
+    }
+}
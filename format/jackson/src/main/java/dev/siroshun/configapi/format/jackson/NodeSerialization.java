@@ -48,10 +48,13 @@ import dev.siroshun.configapi.core.node.NullNode;
 import dev.siroshun.configapi.core.node.NumberValue;
 import dev.siroshun.configapi.core.node.ShortArray;
 import dev.siroshun.configapi.core.node.ShortValue;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.core.node.StringValue;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.Objects;
 
 /**
  * A class that provides serialization of {@link MapNode} for Jackson.
@@ -61,12 +64,12 @@ public final class NodeSerialization {
     /**
      * A {@link JsonSerializer} for {@link MapNode}.
      */
-    public static final JsonSerializer<MapNode> SERIALIZER = new NodeSerializer();
+    public static final JsonSerializer<MapNode> SERIALIZER = NodeSerializer.INSTANCE;
 
     /**
      * A {@link JsonDeserializer} for {@link MapNode}.
      */
-    public static final JsonDeserializer<MapNode> DESERIALIZER = new NodeDeserializer();
+    public static final JsonDeserializer<MapNode> DESERIALIZER = new NodeDeserializer(null);
 
     /**
      * Creates a new {@link SimpleModule} that has {@link #SERIALIZER} and {@link #DESERIALIZER}.
@@ -74,13 +77,35 @@ public final class NodeSerialization {
      * @return a new {@link SimpleModule} that has {@link #SERIALIZER} and {@link #DESERIALIZER}
      */
     public static @NotNull SimpleModule createModule() {
+        return createModule(null);
+    }
+
+    /**
+     * Creates a new {@link SimpleModule} that has {@link #SERIALIZER} and the {@link JsonDeserializer} that deduplicates strings using the {@link StringPool}.
+     *
+     * @param stringPool the {@link StringPool} to deduplicate the keys and string values, or {@code null} to use {@link #DESERIALIZER}
+     * @return a new {@link SimpleModule}
+     */
+    public static @NotNull SimpleModule createModule(@Nullable StringPool stringPool) {
         var module = new SimpleModule();
         module.addSerializer(SERIALIZER);
-        module.addDeserializer(MapNode.class, DESERIALIZER);
+        module.addDeserializer(MapNode.class, stringPool != null ? createDeserializer(stringPool) : DESERIALIZER);
         return module;
     }
 
-    private static final class NodeSerializer extends JsonSerializer<MapNode> {
+    /**
+     * Creates a new {@link JsonDeserializer} for {@link MapNode} that deduplicates strings using the {@link StringPool}.
+     *
+     * @param stringPool the {@link StringPool} to deduplicate the keys and string values
+     * @return a new {@link JsonDeserializer} for {@link MapNode}
+     */
+    public static @NotNull JsonDeserializer<MapNode> createDeserializer(@NotNull StringPool stringPool) {
+        return new NodeDeserializer(Objects.requireNonNull(stringPool));
+    }
+
+    static final class NodeSerializer extends JsonSerializer<MapNode> {
+
+        static final NodeSerializer INSTANCE = new NodeSerializer();
 
         private NodeSerializer() {
         }
@@ -95,7 +120,7 @@ public final class NodeSerialization {
             this.writeNode(gen, value);
         }
 
-        private void writeNode(JsonGenerator gen, Node<?> value) throws IOException {
+        void writeNode(JsonGenerator gen, Node<?> value) throws IOException {
             if (value instanceof StringValue stringValue) {
                 gen.writeString(stringValue.value());
             } else if (value instanceof EnumValue<?> enumValue) {
@@ -185,9 +210,12 @@ public final class NodeSerialization {
         }
     }
 
-    private static final class NodeDeserializer extends JsonDeserializer<MapNode> {
+    static final class NodeDeserializer extends JsonDeserializer<MapNode> {
 
-        private NodeDeserializer() {
+        private final @Nullable StringPool stringPool;
+
+        NodeDeserializer(@Nullable StringPool stringPool) {
+            this.stringPool = stringPool;
         }
 
         @Override
@@ -201,8 +229,7 @@ public final class NodeSerialization {
 
             if (parser.currentToken() == JsonToken.START_OBJECT) {
                 while (parser.nextToken() == JsonToken.FIELD_NAME) {
-                    var fieldName = parser.currentName();
-                    mapNode.set(parser.currentName(), this.readNode(parser, parser.nextToken()));
+                    mapNode.setOwned(this.readName(parser), this.readNode(parser, parser.nextToken()));
                 }
             } else {
                 throw new IOException("Unexpected token: " + parser.currentToken());
@@ -211,27 +238,17 @@ public final class NodeSerialization {
             return mapNode;
         }
 
-        private Node<?> readNode(JsonParser parser, JsonToken token) throws IOException {
-            if (token == JsonToken.VALUE_STRING) {
-                return StringValue.fromString(parser.getValueAsString());
-            } else if (token == JsonToken.VALUE_NUMBER_INT) {
-                long longValue = parser.getValueAsLong();
-                int intValue = (int) longValue;
+        @NotNull String readName(@NotNull JsonParser parser) throws IOException {
+            var name = parser.currentName();
+            return this.stringPool != null ? this.stringPool.intern(name) : name;
+        }
 
-                return longValue == intValue ? new IntValue(intValue) : new LongValue(longValue);
-            } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
-                return new DoubleValue(parser.getValueAsDouble());
-            } else if (token == JsonToken.VALUE_TRUE) {
-                return BooleanValue.TRUE;
-            } else if (token == JsonToken.VALUE_FALSE) {
-                return BooleanValue.FALSE;
-            } else if (token == JsonToken.VALUE_NULL) {
-                return NullNode.NULL;
-            } else if (token == JsonToken.START_ARRAY) {
+        private Node<?> readNode(JsonParser parser, JsonToken token) throws IOException {
+            if (token == JsonToken.START_ARRAY) {
                 var listNode = ListNode.create();
 
                 while (parser.nextToken() != JsonToken.END_ARRAY) {
-                    listNode.add(this.readNode(parser, parser.currentToken()));
+                    listNode.addOwned(this.readNode(parser, parser.currentToken()));
                 }
 
                 return listNode;
@@ -239,10 +256,32 @@ public final class NodeSerialization {
                 var mapNode = MapNode.create();
 
                 while (parser.nextToken() == JsonToken.FIELD_NAME) {
-                    mapNode.set(parser.currentName(), this.readNode(parser, parser.nextToken()));
+                    mapNode.setOwned(this.readName(parser), this.readNode(parser, parser.nextToken()));
                 }
 
                 return mapNode;
+            } else {
+                return this.readValue(parser, token);
+            }
+        }
+
+        @NotNull Node<?> readValue(@NotNull JsonParser parser, @Nullable JsonToken token) throws IOException {
+            if (token == JsonToken.VALUE_STRING) {
+                var value = parser.getValueAsString();
+                return this.stringPool != null ? this.stringPool.stringValue(value) : StringValue.fromString(value);
+            } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                long longValue = parser.getValueAsLong();
+                int intValue = (int) longValue;
+
+                return longValue == intValue ? IntValue.fromInt(intValue) : LongValue.fromLong(longValue);
+            } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                return new DoubleValue(parser.getValueAsDouble());
+            } else if (token == JsonToken.VALUE_TRUE) {
+                return BooleanValue.TRUE;
+            } else if (token == JsonToken.VALUE_FALSE) {
+                return BooleanValue.FALSE;
+            } else if (token == JsonToken.VALUE_NULL) {
+                return NullNode.NULL;
             } else {
                 throw new IOException("Unexpected token: " + token);
             }
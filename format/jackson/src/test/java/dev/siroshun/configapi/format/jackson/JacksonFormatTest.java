@@ -16,21 +16,26 @@
 
 package dev.siroshun.configapi.format.jackson;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.siroshun.configapi.core.file.NodeReader;
 import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.test.shared.file.JsonFileFormatTest;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.List;
 import java.util.stream.Stream;
 
 class JacksonFormatTest extends JsonFileFormatTest<JacksonFormat> {
 
     @Override
     protected Stream<JacksonFormat> fileFormats() {
-        return Stream.of(JacksonFormat.DEFAULT, JacksonFormat.PRETTY_PRINTING);
+        return Stream.of(JacksonFormat.DEFAULT, JacksonFormat.PRETTY_PRINTING, new JacksonFormat(new ObjectMapper(), StringPool.create()));
     }
 
     @Override
@@ -58,6 +63,34 @@ class JacksonFormatTest extends JsonFileFormatTest<JacksonFormat> {
         return JacksonFormat.PRETTY_PRINTING;
     }
 
+    @Test
+    void testStringPool() throws IOException {
+        var format = new JacksonFormat(new ObjectMapper(), StringPool.create());
+
+        try (var reader = new StringReader("{\"first\": {\"type\": \"value\"}, \"second\": {\"type\": \"value\"}}")) {
+            var loaded = format.load(reader);
+            var first = loaded.getMap("first");
+            var second = loaded.getMap("second");
+
+            Assertions.assertSame(first.get("type"), second.get("type"));
+            Assertions.assertSame(first.value().keySet().iterator().next(), second.value().keySet().iterator().next());
+            Assertions.assertEquals("value", first.getString("type"));
+        }
+    }
+
+    @Test
+    void testIntegerOutOfRange() throws IOException {
+        for (var json : List.of("{\"key\": 9223372036854775808}", "{\"key\": -9223372036854775809}")) {
+            Assertions.assertThrows(IOException.class, () -> JacksonFormat.DEFAULT.load(new StringReader(json)));
+
+            try (var reader = JacksonFormat.DEFAULT.reader(new StringReader(json))) {
+                Assertions.assertEquals(NodeReader.Event.START_MAP, reader.next());
+                Assertions.assertEquals(NodeReader.Event.KEY, reader.next());
+                Assertions.assertThrows(IOException.class, reader::next);
+            }
+        }
+    }
+
     @Test
     void testNotSupportedObject() throws IOException {
         try (var writer = new StringWriter()) {
@@ -25,6 +25,7 @@ import dev.siroshun.configapi.core.node.EnumValue;
 import dev.siroshun.configapi.core.node.ListNode;
 import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
 import dev.siroshun.configapi.core.node.NullNode;
 import dev.siroshun.configapi.format.yaml.comment.YamlBlockComment;
 import dev.siroshun.configapi.format.yaml.comment.YamlInlineComment;
@@ -43,11 +44,30 @@ import org.yaml.snakeyaml.nodes.Tag;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.TreeMap;
 
 final class NodeConverter {
 
     static @NotNull MapNode toMapNode(@Nullable org.yaml.snakeyaml.nodes.Node root, @NotNull YamlHolder yamlHolder) throws IOException {
+        return toMapNode(root, yamlHolder, null);
+    }
+
+    /**
+     * Converts the root {@link MappingNode} to {@link MapNode}.
+     * <p>
+     * If the {@link NodePath}s are specified, only the nodes that they point to are converted,
+     * and the returned {@link MapNode} is sparse in the same way as {@link dev.siroshun.configapi.core.file.NodeReader#readNode(Collection)}.
+     *
+     * @param root       the composed root node
+     * @param yamlHolder the {@link YamlHolder}
+     * @param paths      the {@link NodePath}s to convert, or {@code null} to convert the whole document
+     * @return the converted {@link MapNode}
+     * @throws IOException if the root is not a mapping or the document contains unsupported nodes
+     */
+    static @NotNull MapNode toMapNode(@Nullable org.yaml.snakeyaml.nodes.Node root, @NotNull YamlHolder yamlHolder, @Nullable Collection<NodePath> paths) throws IOException {
         if (root instanceof MappingNode mappingNode) {
             if (mappingNode.getValue().isEmpty()) {
                 return MapNode.create();
@@ -74,7 +94,14 @@ final class NodeConverter {
                 }
             }
 
-            var mapNode = (MapNode) toNode(mappingNode, yamlHolder);
+            MapNode mapNode;
+
+            if (paths == null) {
+                mapNode = (MapNode) toNode(mappingNode, yamlHolder);
+            } else {
+                var projected = toProjectedNode(mappingNode, List.copyOf(paths), 0, yamlHolder);
+                mapNode = projected != null ? (MapNode) projected : MapNode.create();
+            }
 
             if (yamlHolder.parameter().processComment()) {
                 mapNode.setComment(processRootComment(mappingNode));
@@ -90,6 +117,7 @@ final class NodeConverter {
 
     private static @NotNull Node<?> toNode(@NotNull org.yaml.snakeyaml.nodes.Node node, @NotNull YamlHolder yamlHolder) throws IOException {
         var constructor = yamlHolder.constructor();
+        var stringPool = yamlHolder.parameter().stringPool();
 
         if (node instanceof MappingNode mappingNode) {
             var mapNode = MapNode.create();
@@ -97,20 +125,7 @@ final class NodeConverter {
             constructor.flattenMapping(mappingNode);
 
             for (var tuple : mappingNode.getValue()) {
-                var key = constructor.constructObject(tuple.getKeyNode());
-                var value = toNode(tuple.getValueNode(), yamlHolder);
-
-                if (yamlHolder.parameter().processComment()) {
-                    if (value instanceof ListNode || value instanceof MapNode) {
-                        ((CommentableNode<?>) value).setComment(processComment(tuple.getKeyNode(), tuple.getKeyNode()));
-                        mapNode.set(key, value);
-                    } else {
-                        var comment = processComment(tuple.getKeyNode(), tuple.getValueNode());
-                        mapNode.set(key, comment != null ? CommentableNode.withComment(value, comment) : value);
-                    }
-                } else {
-                    mapNode.set(key, value);
-                }
+                putEntry(mapNode, tuple, constructKey(tuple, yamlHolder), toNode(tuple.getValueNode(), yamlHolder), yamlHolder);
             }
 
             return mapNode;
@@ -119,19 +134,13 @@ final class NodeConverter {
             var listNode = ListNode.create(nodes.size());
 
             for (var element : nodes) {
-                var converted = toNode(element, yamlHolder);
-
-                if (yamlHolder.parameter().processComment()) {
-                    var commented = CommentableNode.withComment(converted, processComment(element));
-                    listNode.add(commented.hasComment() ? commented : converted);
-                } else {
-                    listNode.add(converted);
-                }
+                addElement(listNode, element, toNode(element, yamlHolder), yamlHolder);
             }
 
             return listNode;
         } else if (node instanceof ScalarNode) {
-            return Node.fromObject(constructor.constructObject(node));
+            var value = constructor.constructObject(node);
+            return stringPool != null && value instanceof String str ? stringPool.stringValue(str) : Node.fromObject(value);
         } else if (node instanceof AnchorNode anchorNode) {
             return toNode(anchorNode.getRealNode(), yamlHolder);
         } else {
@@ -139,6 +148,114 @@ final class NodeConverter {
         }
     }
 
+    // Converts only the nodes that the paths point to, or returns null if the node contains none of them.
+    // Anchors, aliases and merge keys are resolved by snakeyaml when composing, so they can be projected like other nodes.
+    private static @Nullable Node<?> toProjectedNode(@NotNull org.yaml.snakeyaml.nodes.Node node, @NotNull List<NodePath> paths,
+                                                     int depth, @NotNull YamlHolder yamlHolder) throws IOException {
+        for (var path : paths) {
+            if (path.size() == depth) {
+                return toNode(node, yamlHolder); // the whole subtree is requested
+            }
+        }
+
+        if (node instanceof AnchorNode anchorNode) {
+            return toProjectedNode(anchorNode.getRealNode(), paths, depth, yamlHolder);
+        } else if (node instanceof MappingNode mappingNode) {
+            var keys = new HashMap<Object, List<NodePath>>();
+
+            for (var path : paths) {
+                if (!path.isIndex(depth)) {
+                    keys.computeIfAbsent(path.segment(depth), ignored -> new ArrayList<>()).add(path);
+                }
+            }
+
+            if (keys.isEmpty()) {
+                return null;
+            }
+
+            yamlHolder.constructor().flattenMapping(mappingNode);
+            MapNode mapNode = null;
+
+            for (var tuple : mappingNode.getValue()) {
+                var key = constructKey(tuple, yamlHolder);
+                var childPaths = keys.get(key);
+                var value = childPaths != null ? toProjectedNode(tuple.getValueNode(), childPaths, depth + 1, yamlHolder) : null;
+
+                if (value != null) {
+                    if (mapNode == null) {
+                        mapNode = MapNode.create();
+                    }
+                    putEntry(mapNode, tuple, key, value, yamlHolder);
+                }
+            }
+
+            return mapNode;
+        } else if (node instanceof SequenceNode sequenceNode) {
+            var indexes = new TreeMap<Integer, List<NodePath>>();
+
+            for (var path : paths) {
+                if (path.isIndex(depth)) {
+                    indexes.computeIfAbsent((Integer) path.segment(depth), ignored -> new ArrayList<>()).add(path);
+                }
+            }
+
+            var nodes = sequenceNode.getValue();
+            ListNode listNode = null;
+
+            for (var entry : indexes.subMap(0, nodes.size()).entrySet()) {
+                int index = entry.getKey();
+                var element = nodes.get(index);
+                var value = toProjectedNode(element, entry.getValue(), depth + 1, yamlHolder);
+
+                if (value != null) {
+                    if (listNode == null) {
+                        listNode = ListNode.create();
+                    }
+
+                    // the skipped elements are filled with NullNode.NULL to keep the indexes of the requested elements
+                    while (listNode.size() < index) {
+                        listNode.add(NullNode.NULL);
+                    }
+
+                    addElement(listNode, element, value, yamlHolder);
+                }
+            }
+
+            return listNode;
+        } else {
+            return null; // the requested paths go through a scalar, so they do not exist
+        }
+    }
+
+    private static Object constructKey(@NotNull NodeTuple tuple, @NotNull YamlHolder yamlHolder) {
+        var key = yamlHolder.constructor().constructObject(tuple.getKeyNode());
+        var stringPool = yamlHolder.parameter().stringPool();
+        return stringPool != null && key instanceof String str ? stringPool.intern(str) : key;
+    }
+
+    private static void putEntry(@NotNull MapNode mapNode, @NotNull NodeTuple tuple, @NotNull Object key, @NotNull Node<?> value, @NotNull YamlHolder yamlHolder) {
+        if (yamlHolder.parameter().processComment()) {
+            if (value instanceof ListNode || value instanceof MapNode) {
+                ((CommentableNode<?>) value).setComment(processComment(tuple.getKeyNode(), tuple.getKeyNode()));
+                mapNode.setOwned(key, value);
+            } else {
+                var comment = processComment(tuple.getKeyNode(), tuple.getValueNode());
+                mapNode.setOwned(key, comment != null ? CommentableNode.withComment(value, comment) : value);
+            }
+        } else {
+            mapNode.setOwned(key, value);
+        }
+    }
+
+    private static void addElement(@NotNull ListNode listNode, @NotNull org.yaml.snakeyaml.nodes.Node element, @NotNull Node<?> value, @NotNull YamlHolder yamlHolder) {
+        if (yamlHolder.parameter().processComment()) {
+            var commented = CommentableNode.withComment(value, processComment(element));
+            listNode.addOwned(commented.hasComment() ? commented : value);
+        } else {
+            listNode.addOwned(value);
+        }
+    }
+
     private static @Nullable Comment processRootComment(@NotNull org.yaml.snakeyaml.nodes.Node node) {
         var block = processBlockComment(node.getBlockComments());
         var end = processBlockComment(node.getEndComments());
@@ -217,6 +334,10 @@ final class NodeConverter {
         return mappingNode;
     }
 
+    static @NotNull org.yaml.snakeyaml.nodes.Node toYamlValueNode(@NotNull Node<?> node, @NotNull YamlHolder yamlHolder) {
+        return toNode(node, yamlHolder);
+    }
+
     private static @NotNull org.yaml.snakeyaml.nodes.Node toNode(@NotNull Node<?> node, @NotNull YamlHolder yamlHolder) {
         if (node instanceof MapNode mapNode) {
             var entries = mapNode.value().entrySet();
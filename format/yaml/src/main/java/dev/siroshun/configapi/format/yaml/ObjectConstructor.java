@@ -20,6 +20,7 @@ import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.constructor.SafeConstructor;
 import org.yaml.snakeyaml.nodes.MappingNode;
 import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.ScalarNode;
 
 class ObjectConstructor extends SafeConstructor {
 
@@ -37,6 +38,11 @@ class ObjectConstructor extends SafeConstructor {
         return super.constructObject(node);
     }
 
+    // Unlike constructObject, this does not remember the constructed objects, so the streaming reader can use it for each scalar
+    Object constructStandaloneScalar(ScalarNode node) {
+        return this.getConstructor(node).construct(node);
+    }
+
     @Override
     public void flattenMapping(MappingNode node) {
         super.flattenMapping(node);
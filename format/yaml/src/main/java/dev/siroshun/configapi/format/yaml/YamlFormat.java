@@ -17,15 +17,19 @@
 package dev.siroshun.configapi.format.yaml;
 
 import dev.siroshun.configapi.core.file.FileFormat;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.file.NodeWriter;
 import dev.siroshun.configapi.core.node.EnumValue;
 import dev.siroshun.configapi.core.node.ArrayNode;
 import dev.siroshun.configapi.core.node.ListNode;
 import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
 import dev.siroshun.configapi.core.node.NullNode;
 import dev.siroshun.configapi.core.node.CharArray;
 import dev.siroshun.configapi.core.node.CharValue;
 import dev.siroshun.configapi.core.node.ObjectNode;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.core.node.ValueNode;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -36,6 +40,8 @@ import org.yaml.snakeyaml.error.YAMLException;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.Objects;
 
 /**
  * A {@link FileFormat} implementation that loading/saving {@link MapNode} from/to yaml files.
@@ -82,9 +88,11 @@ public final class YamlFormat implements FileFormat<MapNode> {
         return new Builder();
     }
 
+    private final YamlParameter yamlParameter;
     private final ThreadLocal<YamlHolder> yamlHolder;
 
     private YamlFormat(@NotNull YamlParameter yamlParameter) {
+        this.yamlParameter = yamlParameter;
         this.yamlHolder = ThreadLocal.withInitial(yamlParameter::createYamlHolder);
     }
 
@@ -98,6 +106,36 @@ public final class YamlFormat implements FileFormat<MapNode> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method composes the document in the same way as {@link #load(Reader)}, so anchors, aliases and merge keys ({@code <<}) are supported,
+     * and the comments are processed if this {@link YamlFormat} processes them.
+     * The composed nodes that are not requested are not converted to {@link Node}s.
+     */
+    @Override
+    public @NotNull MapNode load(@NotNull Reader reader, @NotNull Collection<NodePath> paths) throws IOException {
+        Objects.requireNonNull(paths);
+        try {
+            var yamlHolder = this.yamlHolder.get();
+            return NodeConverter.toMapNode(yamlHolder.yaml().compose(reader), yamlHolder, paths);
+        } catch (YAMLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeReader} reads the first document incrementally using the event parser of snakeyaml.
+     * Unlike {@link #load(Reader)}, comments are not read, and aliases to mappings or sequences and merge keys ({@code <<}) are not supported.
+     * An empty document is read as {@link NodeReader.Event#END_DOCUMENT}.
+     */
+    @Override
+    public @NotNull NodeReader reader(@NotNull Reader reader) {
+        return new YamlNodeReader(reader, this.yamlParameter);
+    }
+
     @Override
     public void save(@NotNull MapNode node, @NotNull Writer writer) throws IOException {
         try {
@@ -108,6 +146,17 @@ public final class YamlFormat implements FileFormat<MapNode> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link NodeWriter} writes the document incrementally by emitting the events to the emitter of snakeyaml.
+     * Unlike {@link #save(MapNode, Writer)}, comments are not written.
+     */
+    @Override
+    public @NotNull NodeWriter writer(@NotNull Writer writer) {
+        return new YamlNodeWriter(writer, this.yamlParameter);
+    }
+
     /**
      * A builder of {@link YamlFormat}.
      */
@@ -120,6 +169,7 @@ public final class YamlFormat implements FileFormat<MapNode> {
         private DumperOptions.ScalarStyle scalarStyle = DumperOptions.ScalarStyle.PLAIN;
         private int indent = 2;
         private boolean processComment;
+        private @Nullable StringPool stringPool;
 
         private Builder() {
         }
@@ -228,13 +278,27 @@ public final class YamlFormat implements FileFormat<MapNode> {
             return this;
         }
 
+        /**
+         * Sets the {@link StringPool} to deduplicate the keys and string values of loaded nodes.
+         * <p>
+         * Passing {@code null} to not deduplicate strings (default).
+         *
+         * @param stringPool the {@link StringPool} or null to not deduplicate strings
+         * @return this {@link Builder} instance
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder stringPool(@Nullable StringPool stringPool) {
+            this.stringPool = stringPool;
+            return this;
+        }
+
         /**
          * Builds {@link YamlFormat}.
          *
          * @return a created {@link YamlFormat}
          */
         public @NotNull YamlFormat build() {
-            return new YamlFormat(new YamlParameter(this.flowStyle, this.arrayFlowStyle, this.sequenceFlowStyle, this.mapFlowStyle, this.scalarStyle, this.indent, this.processComment));
+            return new YamlFormat(new YamlParameter(this.flowStyle, this.arrayFlowStyle, this.sequenceFlowStyle, this.mapFlowStyle, this.scalarStyle, this.indent, this.processComment, this.stringPool));
         }
     }
 }
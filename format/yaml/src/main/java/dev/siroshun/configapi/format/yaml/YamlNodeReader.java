@@ -0,0 +1,274 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.yaml;
+
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.StringPool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link NodeReader} implementation that reads the first yaml document using the event parser of snakeyaml.
+ * <p>
+ * Scalars are constructed in the same way as {@link YamlFormat#load(Reader)}.
+ * Aliases to scalars are supported, but aliases to mappings or sequences and merge keys ({@code <<}) are not supported.
+ */
+final class YamlNodeReader implements NodeReader {
+
+    private final Reader reader;
+    private final Parser parser;
+    private final ObjectConstructor constructor;
+    private final Resolver resolver = new Resolver();
+    private final @Nullable StringPool stringPool;
+    private final BitSet mapping = new BitSet(); // whether the collection at the depth is a mapping
+    private final BitSet expectingKey = new BitSet(); // whether the next node in the mapping at the depth is a key
+    private @Nullable Map<String, Node<?>> anchors;
+    private @Nullable Event event;
+    private @Nullable Object key;
+    private @Nullable Node<?> value;
+    private int depth;
+
+    YamlNodeReader(@NotNull Reader reader, @NotNull YamlParameter parameter) {
+        var loaderOptions = parameter.createLoaderOptions();
+        loaderOptions.setProcessComments(false);
+
+        this.reader = reader;
+        this.parser = new ParserImpl(new StreamReader(reader), loaderOptions);
+        this.constructor = parameter.createConstructor();
+        this.stringPool = parameter.stringPool();
+    }
+
+    @Override
+    public @NotNull Event next() throws IOException {
+        if (this.event == Event.END_DOCUMENT) {
+            return Event.END_DOCUMENT;
+        }
+
+        try {
+            return this.event = this.nextEvent();
+        } catch (YAMLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private @NotNull Event nextEvent() throws IOException {
+        while (true) {
+            var event = this.parser.getEvent();
+
+            switch (event.getEventId()) {
+                case StreamStart, DocumentStart, Comment -> {
+                    continue;
+                }
+                case DocumentEnd, StreamEnd -> {
+                    return Event.END_DOCUMENT;
+                }
+                case MappingStart -> {
+                    this.checkCollectionAnchor((CollectionStartEvent) event);
+                    if (this.isKey()) {
+                        throw new IOException("Unsupported key: " + event);
+                    }
+                    this.depth++;
+                    this.mapping.set(this.depth);
+                    this.expectingKey.set(this.depth);
+                    return Event.START_MAP;
+                }
+                case SequenceStart -> {
+                    this.checkCollectionAnchor((CollectionStartEvent) event);
+                    if (this.isKey()) {
+                        throw new IOException("Unsupported key: " + event);
+                    }
+                    this.depth++;
+                    this.mapping.clear(this.depth);
+                    return Event.START_LIST;
+                }
+                case MappingEnd -> {
+                    this.endCollection();
+                    return Event.END_MAP;
+                }
+                case SequenceEnd -> {
+                    this.endCollection();
+                    return Event.END_LIST;
+                }
+                case Scalar -> {
+                    var scalarEvent = (ScalarEvent) event;
+
+                    if (this.isKey()) {
+                        this.key = this.constructKey(scalarEvent);
+                        return Event.KEY;
+                    }
+
+                    this.value = this.constructValue(scalarEvent);
+
+                    if (scalarEvent.getAnchor() != null) {
+                        this.anchors().put(scalarEvent.getAnchor(), this.value);
+                    }
+
+                    this.afterValue();
+                    return Event.VALUE;
+                }
+                case Alias -> {
+                    var anchor = ((AliasEvent) event).getAnchor();
+                    var node = this.anchors == null ? null : this.anchors.get(anchor);
+
+                    if (node == null) {
+                        throw new IOException("Unsupported alias (the anchor is not defined, or it is a mapping or a sequence): " + anchor);
+                    }
+
+                    if (this.isKey()) {
+                        if (!(node.value() instanceof String || node.value() instanceof Number || node.value() instanceof Boolean)) {
+                            throw new IOException("Unsupported key: " + node);
+                        }
+                        this.key = node.value();
+                        return Event.KEY;
+                    }
+
+                    this.value = node;
+                    this.afterValue();
+                    return Event.VALUE;
+                }
+                default -> throw new IOException("Unexpected event: " + event);
+            }
+        }
+    }
+
+    // returns whether the node that starts now is a key of the current mapping
+    private boolean isKey() {
+        if (this.depth == 0 || !this.mapping.get(this.depth) || !this.expectingKey.get(this.depth)) {
+            return false;
+        }
+
+        this.expectingKey.clear(this.depth);
+        return true;
+    }
+
+    // after the value of the entry, the current mapping expects the next key
+    private void afterValue() {
+        if (this.depth != 0 && this.mapping.get(this.depth)) {
+            this.expectingKey.set(this.depth);
+        }
+    }
+
+    private void endCollection() {
+        this.depth--;
+        this.afterValue();
+    }
+
+    private void checkCollectionAnchor(@NotNull CollectionStartEvent event) throws IOException {
+        if (event.getAnchor() != null) {
+            throw new IOException("Anchors of mappings or sequences are not supported: " + event.getAnchor());
+        }
+    }
+
+    private @NotNull Object constructKey(@NotNull ScalarEvent event) throws IOException {
+        var scalar = this.toScalarNode(event);
+
+        if (scalar.getTag().equals(Tag.MERGE)) {
+            throw new IOException("Merge keys are not supported");
+        }
+
+        var key = this.constructor.constructStandaloneScalar(scalar);
+
+        if (key == null) {
+            throw new IOException("Null key is not supported");
+        }
+
+        if (event.getAnchor() != null) {
+            this.anchors().put(event.getAnchor(), Node.fromObject(key));
+        }
+
+        return this.stringPool != null && key instanceof String str ? this.stringPool.intern(str) : key;
+    }
+
+    private @NotNull Node<?> constructValue(@NotNull ScalarEvent event) {
+        var value = this.constructor.constructStandaloneScalar(this.toScalarNode(event));
+        return this.stringPool != null && value instanceof String str ? this.stringPool.stringValue(str) : Node.fromObject(value);
+    }
+
+    private @NotNull ScalarNode toScalarNode(@NotNull ScalarEvent event) {
+        Tag tag;
+        boolean resolved;
+
+        if (event.getTag() == null || event.getTag().equals("!")) {
+            tag = this.resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+            resolved = true;
+        } else {
+            tag = new Tag(event.getTag());
+            resolved = false;
+        }
+
+        return new ScalarNode(tag, resolved, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle());
+    }
+
+    private @NotNull Map<String, Node<?>> anchors() {
+        if (this.anchors == null) {
+            this.anchors = new HashMap<>();
+        }
+        return this.anchors;
+    }
+
+    @Override
+    public @NotNull Event event() {
+        if (this.event == null) {
+            throw new IllegalStateException("next() has not been called yet.");
+        }
+        return this.event;
+    }
+
+    @Override
+    public @NotNull Object key() {
+        if (this.event != Event.KEY || this.key == null) {
+            throw new IllegalStateException("The current event is not KEY: " + this.event);
+        }
+        return this.key;
+    }
+
+    @Override
+    public @NotNull Node<?> value() {
+        if (this.event != Event.VALUE || this.value == null) {
+            throw new IllegalStateException("The current event is not VALUE: " + this.event);
+        }
+        return this.value;
+    }
+
+    @Override
+    public int depth() {
+        return this.depth;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.format.yaml;
+
+import dev.siroshun.configapi.core.file.NodeWriter;
+import dev.siroshun.configapi.core.node.CommentedNode;
+import dev.siroshun.configapi.core.node.ListNode;
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.Node;
+import org.jetbrains.annotations.NotNull;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.BitSet;
+
+/**
+ * A {@link NodeWriter} implementation that writes a yaml document by emitting the events to the emitter of snakeyaml.
+ * <p>
+ * The nodes are written in the same way as {@link YamlFormat#save(MapNode, Writer)}, except that comments are not written.
+ */
+final class YamlNodeWriter implements NodeWriter {
+
+    private final Writer writer;
+    private final Emitter emitter;
+    private final DumperOptions dumperOptions;
+    private final YamlHolder yamlHolder;
+    private final Resolver resolver = new Resolver();
+    private final BitSet mapping = new BitSet(); // whether the collection at the depth is a mapping
+    private final BitSet expectingKey = new BitSet(); // whether the next node in the mapping at the depth is a key
+    private int depth;
+    private boolean started;
+    private boolean finished;
+
+    YamlNodeWriter(@NotNull Writer writer, @NotNull YamlParameter parameter) {
+        this.writer = writer;
+        this.dumperOptions = parameter.createDumperOptions();
+        this.emitter = new Emitter(writer, this.dumperOptions);
+        this.yamlHolder = parameter.createYamlHolder();
+    }
+
+    @Override
+    public @NotNull NodeWriter beginMap(int size) throws IOException {
+        this.beforeNode();
+        var flowStyle = this.depth == 0 ? this.yamlHolder.parameter().defaultFlowStyle() : this.yamlHolder.parameter().mapFlowStyle();
+        this.emit(new MappingStartEvent(null, Tag.MAP.getValue(), true, null, null, flowStyle));
+        this.depth++;
+        this.mapping.set(this.depth);
+        this.expectingKey.set(this.depth);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter key(@NotNull Object key) throws IOException {
+        if (this.depth == 0 || !this.mapping.get(this.depth) || !this.expectingKey.get(this.depth)) {
+            throw new IllegalStateException("Cannot write a key here.");
+        }
+
+        this.emitNode(this.yamlHolder.representer().represent(key));
+        this.expectingKey.clear(this.depth);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endMap() throws IOException {
+        if (this.depth == 0 || !this.mapping.get(this.depth) || !this.expectingKey.get(this.depth)) {
+            throw new IllegalStateException("Cannot end a map here.");
+        }
+
+        this.emit(new MappingEndEvent(null, null));
+        this.depth--;
+        this.afterNode();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter beginList(int size) throws IOException {
+        this.beforeNode();
+        this.emit(new SequenceStartEvent(null, Tag.SEQ.getValue(), true, null, null, this.yamlHolder.parameter().sequenceFlowStyle()));
+        this.depth++;
+        this.mapping.clear(this.depth);
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter endList() throws IOException {
+        if (this.depth == 0 || this.mapping.get(this.depth)) {
+            throw new IllegalStateException("Cannot end a list here.");
+        }
+
+        this.emit(new SequenceEndEvent(null, null));
+        this.depth--;
+        this.afterNode();
+        return this;
+    }
+
+    @Override
+    public @NotNull NodeWriter value(@NotNull Node<?> node) throws IOException {
+        if (node instanceof MapNode || node instanceof ListNode || node instanceof CommentedNode<?>) {
+            return this.writeNode(node);
+        }
+
+        this.beforeNode();
+        this.emitNode(NodeConverter.toYamlValueNode(node, this.yamlHolder));
+        this.afterNode();
+        return this;
+    }
+
+    private void beforeNode() throws IOException {
+        if (this.finished) {
+            throw new IllegalStateException("The root node has already been written.");
+        }
+
+        if (this.depth != 0 && this.mapping.get(this.depth) && this.expectingKey.get(this.depth)) {
+            throw new IllegalStateException("key(Object) must be called before writing the value.");
+        }
+
+        if (!this.started) {
+            this.started = true;
+            this.emit(new StreamStartEvent(null, null));
+            this.emit(new DocumentStartEvent(null, null, this.dumperOptions.isExplicitStart(), this.dumperOptions.getVersion(), this.dumperOptions.getTags()));
+        }
+    }
+
+    private void afterNode() throws IOException {
+        if (this.depth == 0) {
+            this.finished = true;
+            this.emit(new DocumentEndEvent(null, null, this.dumperOptions.isExplicitEnd()));
+            this.emit(new StreamEndEvent(null, null));
+        } else if (this.mapping.get(this.depth)) {
+            this.expectingKey.set(this.depth);
+        }
+    }
+
+    // the same as Serializer#serializeNode of snakeyaml, without anchors and comments
+    private void emitNode(@NotNull org.yaml.snakeyaml.nodes.Node node) throws IOException {
+        var tag = node.getTag();
+
+        if (node instanceof ScalarNode scalarNode) {
+            var detectedTag = this.resolver.resolve(NodeId.scalar, scalarNode.getValue(), true);
+            var defaultTag = this.resolver.resolve(NodeId.scalar, scalarNode.getValue(), false);
+            var implicit = new ImplicitTuple(tag.equals(detectedTag), tag.equals(defaultTag));
+            this.emit(new ScalarEvent(null, tag.getValue(), implicit, scalarNode.getValue(), null, null, scalarNode.getScalarStyle()));
+        } else if (node instanceof SequenceNode sequenceNode) {
+            var implicit = tag.equals(this.resolver.resolve(NodeId.sequence, null, true));
+            this.emit(new SequenceStartEvent(null, tag.getValue(), implicit, null, null, sequenceNode.getFlowStyle()));
+            for (var element : sequenceNode.getValue()) {
+                this.emitNode(element);
+            }
+            this.emit(new SequenceEndEvent(null, null));
+        } else if (node instanceof MappingNode mappingNode) {
+            var implicit = tag.equals(this.resolver.resolve(NodeId.mapping, null, true));
+            this.emit(new MappingStartEvent(null, tag.getValue(), implicit, null, null, mappingNode.getFlowStyle()));
+            for (var tuple : mappingNode.getValue()) {
+                this.emitNode(tuple.getKeyNode());
+                this.emitNode(tuple.getValueNode());
+            }
+            this.emit(new MappingEndEvent(null, null));
+        } else {
+            throw new IOException("Unsupported node: " + node);
+        }
+    }
+
+    private void emit(@NotNull Event event) throws IOException {
+        try {
+            this.emitter.emit(event);
+        } catch (YAMLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (this.writer) {
+            if (this.started && !this.finished) {
+                throw new IOException("The document is incomplete.");
+            }
+        }
+    }
+}
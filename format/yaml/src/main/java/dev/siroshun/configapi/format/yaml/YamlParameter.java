@@ -16,7 +16,9 @@
 
 package dev.siroshun.configapi.format.yaml;
 
+import dev.siroshun.configapi.core.node.StringPool;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -32,7 +34,8 @@ record YamlParameter(
         @NotNull DumperOptions.FlowStyle mapFlowStyle,
         @NotNull DumperOptions.ScalarStyle scalarStyle,
         int indent,
-        boolean processComment
+        boolean processComment,
+        @Nullable StringPool stringPool
 ) {
 
     @Override
@@ -59,7 +62,7 @@ record YamlParameter(
         return new YamlHolder(new Yaml(constructor, representer, dumperOptions, loaderOptions), constructor, representer, this);
     }
 
-    private @NotNull LoaderOptions createLoaderOptions() {
+    @NotNull LoaderOptions createLoaderOptions() {
         var loaderOptions = new LoaderOptions();
 
         loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
@@ -69,7 +72,7 @@ record YamlParameter(
         return loaderOptions;
     }
 
-    private @NotNull DumperOptions createDumperOptions() {
+    @NotNull DumperOptions createDumperOptions() {
         var dumperOptions = new DumperOptions();
 
         dumperOptions.setDefaultFlowStyle(this.defaultFlowStyle);
@@ -80,7 +83,7 @@ record YamlParameter(
         return dumperOptions;
     }
 
-    private @NotNull ObjectConstructor createConstructor() {
+    @NotNull ObjectConstructor createConstructor() {
         return this.createConstructor(this.createLoaderOptions());
     }
 
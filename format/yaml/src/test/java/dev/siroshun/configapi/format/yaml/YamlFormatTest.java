@@ -27,21 +27,29 @@ import dev.siroshun.configapi.core.node.FloatValue;
 import dev.siroshun.configapi.core.node.IntValue;
 import dev.siroshun.configapi.core.node.LongValue;
 import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.NodePath;
 import dev.siroshun.configapi.core.node.ShortValue;
+import dev.siroshun.configapi.core.node.StringPool;
 import dev.siroshun.configapi.core.node.StringValue;
 import dev.siroshun.configapi.format.yaml.comment.YamlBlockComment;
 import dev.siroshun.configapi.format.yaml.comment.YamlInlineComment;
 import dev.siroshun.configapi.format.yaml.comment.YamlNodeComment;
 import dev.siroshun.configapi.format.yaml.comment.YamlRootComment;
 import dev.siroshun.configapi.test.shared.file.TextFileFormatTest;
+import dev.siroshun.configapi.test.shared.util.NodeAssertion;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.yaml.snakeyaml.DumperOptions;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -53,7 +61,7 @@ class YamlFormatTest extends TextFileFormatTest<MapNode, YamlFormat> {
 
     @Override
     protected Stream<YamlFormat> fileFormats() {
-        return Stream.of(YamlFormat.DEFAULT, YamlFormat.COMMENT_PROCESSING);
+        return Stream.of(YamlFormat.DEFAULT, YamlFormat.COMMENT_PROCESSING, YamlFormat.builder().stringPool(StringPool.create()).build());
     }
 
     @Override
@@ -284,6 +292,59 @@ class YamlFormatTest extends TextFileFormatTest<MapNode, YamlFormat> {
         ).flatMap(Function.identity());
     }
 
+    @Test
+    void testStringPool() throws IOException {
+        var format = YamlFormat.builder().stringPool(StringPool.create()).build();
+
+        try (var reader = new StringReader("first:\n  type: value\nsecond:\n  type: value\n")) {
+            var loaded = format.load(reader);
+            var first = loaded.getMap("first");
+            var second = loaded.getMap("second");
+
+            Assertions.assertSame(first.get("type"), second.get("type"));
+            Assertions.assertSame(first.value().keySet().iterator().next(), second.value().keySet().iterator().next());
+            Assertions.assertEquals("value", first.getString("type"));
+        }
+    }
+
+    @Test
+    void testProjectedLoadWithAnchors(@TempDir Path directory) throws IOException {
+        var text = """
+                base: &base
+                  host: localhost
+                  port: 8080
+                servers:
+                  - name: first
+                    <<: *base
+                  - &second
+                    name: second
+                    <<: *base
+                    port: 9090
+                alias: *second
+                ignored:
+                  key: value
+                """;
+        var paths = List.of(NodePath.parse("servers[1].port"), NodePath.parse("servers[0].host"), NodePath.parse("alias"), NodePath.parse("base.unknown"));
+
+        var expected = MapNode.create();
+        var servers = expected.createList("servers");
+        servers.addMap().set("host", "localhost");
+        servers.addMap().set("port", 9090);
+        var alias = expected.createMap("alias");
+        alias.set("name", "second");
+        alias.set("host", "localhost");
+        alias.set("port", 9090);
+
+        NodeAssertion.assertEquals(expected, YamlFormat.DEFAULT.load(new StringReader(text), paths));
+        NodeAssertion.assertEqualsIgnoringComments(expected, YamlFormat.COMMENT_PROCESSING.load(new StringReader(text), paths));
+
+        var filepath = directory.resolve("test.yml");
+        Files.writeString(filepath, text);
+        NodeAssertion.assertEquals(expected, YamlFormat.DEFAULT.load(filepath, paths));
+        NodeAssertion.assertEquals(expected, YamlFormat.DEFAULT.load(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), paths));
+        NodeAssertion.assertEquals(MapNode.create(), YamlFormat.DEFAULT.load(directory.resolve("missing.yml"), paths));
+    }
+
     @Test
     void testNotSupportedObject() throws IOException {
         try (var writer = new StringWriter()) {
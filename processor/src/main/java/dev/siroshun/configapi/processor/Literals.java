@@ -0,0 +1,101 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.processor;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.lang.model.type.TypeKind;
+
+/**
+ * A utility class to create literals of the generated source.
+ */
+final class Literals {
+
+    static @NotNull String string(@NotNull String value) {
+        var builder = new StringBuilder(value.length() + 2).append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            escape(value.charAt(i), '"', builder);
+        }
+
+        return builder.append('"').toString();
+    }
+
+    static @NotNull String character(char value) {
+        var builder = new StringBuilder(8).append('\'');
+        escape(value, '\'', builder);
+        return builder.append('\'').toString();
+    }
+
+    static @NotNull String floatValue(float value) {
+        if (Float.isNaN(value)) {
+            return "Float.NaN";
+        } else if (Float.isInfinite(value)) {
+            return value > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY";
+        } else {
+            return value + "f";
+        }
+    }
+
+    static @NotNull String doubleValue(double value) {
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        } else {
+            return Double.toString(value);
+        }
+    }
+
+    static @NotNull String zero(@NotNull TypeKind kind) {
+        return switch (kind) {
+            case BOOLEAN -> "false";
+            case BYTE -> "(byte) 0";
+            case CHAR -> "'\\u0000'";
+            case DOUBLE -> "0.0";
+            case FLOAT -> "0.0f";
+            case INT -> "0";
+            case LONG -> "0L";
+            case SHORT -> "(short) 0";
+            default -> throw new IllegalArgumentException("Not a primitive type: " + kind);
+        };
+    }
+
+    private static void escape(char c, char quote, @NotNull StringBuilder builder) {
+        switch (c) {
+            case '\\' -> builder.append("\\\\");
+            case '\n' -> builder.append("\\n");
+            case '\r' -> builder.append("\\r");
+            case '\t' -> builder.append("\\t");
+            case '\b' -> builder.append("\\b");
+            case '\f' -> builder.append("\\f");
+            default -> {
+                if (c == quote) {
+                    builder.append('\\').append(c);
+                } else if (c < 0x20 || c > 0x7e) {
+                    builder.append(String.format("\\u%04x", (int) c));
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+    }
+
+    private Literals() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,569 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.processor;
+
+import dev.siroshun.configapi.core.serialization.annotation.CollectionType;
+import dev.siroshun.configapi.core.serialization.annotation.Comment;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultBoolean;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultByte;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultChar;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultDouble;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultEnum;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultField;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultFloat;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultInt;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultLong;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultMapKey;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultMethod;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultNull;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultShort;
+import dev.siroshun.configapi.core.serialization.annotation.DefaultString;
+import dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization;
+import dev.siroshun.configapi.core.serialization.annotation.Inline;
+import dev.siroshun.configapi.core.serialization.annotation.MapType;
+import dev.siroshun.configapi.core.serialization.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.Serial;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * A class to analyze the records annotated with {@link GenerateSerialization}.
+ */
+final class RecordAnalyzer {
+
+    private static final String SUPPORT = "dev.siroshun.configapi.core.serialization.record.GeneratedSerializationSupport";
+
+    private final Elements elements;
+    private final Types types;
+    private final Predicate<TypeElement> generated;
+
+    RecordAnalyzer(@NotNull ProcessingEnvironment env, @NotNull Predicate<TypeElement> generated) {
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.generated = generated;
+    }
+
+    static @NotNull String getGeneratedClassName(@NotNull TypeElement record) {
+        var builder = new StringBuilder(record.getSimpleName());
+        var enclosing = record.getEnclosingElement();
+
+        while (enclosing instanceof TypeElement type) {
+            builder.insert(0, type.getSimpleName() + "_");
+            enclosing = type.getEnclosingElement();
+        }
+
+        return builder.append("_Serialization").toString();
+    }
+
+    @NotNull RecordModel analyze(@NotNull TypeElement record) throws AnalysisException {
+        if (record.getKind() != ElementKind.RECORD) {
+            throw new AnalysisException(Diagnostic.Kind.ERROR, "@GenerateSerialization can only be applied to records", record);
+        }
+
+        var packageName = this.elements.getPackageOf(record).getQualifiedName().toString();
+
+        if (record.getNestingKind() == NestingKind.LOCAL || record.getNestingKind() == NestingKind.ANONYMOUS) {
+            throw cannotGenerate("local records are not supported", record);
+        }
+
+        if (!this.isAccessible(record, packageName)) {
+            throw cannotGenerate("the record must not be private", record);
+        }
+
+        if (!record.getTypeParameters().isEmpty()) {
+            throw cannotGenerate("generic records are not supported", record);
+        }
+
+        var components = new ArrayList<RecordModel.Component>();
+
+        for (var component : record.getRecordComponents()) {
+            components.add(this.analyzeComponent(component, packageName));
+        }
+
+        return new RecordModel(record, packageName, record.getQualifiedName().toString(), getGeneratedClassName(record), List.copyOf(components));
+    }
+
+    private @NotNull RecordModel.Component analyzeComponent(@NotNull RecordComponentElement component, @NotNull String packageName) throws AnalysisException {
+        var type = component.asType();
+        var name = component.getSimpleName().toString();
+
+        var keyAnnotation = find(component, Key.class);
+        String key = null;
+
+        if (keyAnnotation != null) {
+            var value = (String) this.value(keyAnnotation, "value");
+            key = value.isEmpty() ? null : value;
+        }
+
+        var commentAnnotation = find(component, Comment.class);
+        var comment = commentAnnotation != null ? (String) this.value(commentAnnotation, "value") : null;
+        var commentType = commentAnnotation != null ? (String) this.value(commentAnnotation, "type") : "";
+        var inline = find(component, Inline.class) != null;
+
+        RecordModel.Kind kind;
+        String numberMethod = null;
+        List<String> classLiterals = List.of();
+        String defaultMapKey = null;
+        String defaultRecord = null;
+        String generatedRecord = null;
+
+        this.checkAccessible(type, packageName, component);
+
+        if (this.isRecord(type)) {
+            kind = RecordModel.Kind.RECORD;
+            classLiterals = List.of(this.classLiteral(type));
+            var recordElement = (TypeElement) this.types.asElement(type);
+
+            if (this.generated.test(recordElement)) {
+                generatedRecord = this.getGeneratedClassReference(recordElement);
+            }
+
+            var byField = find(component, DefaultField.class);
+            var byMethod = byField == null ? find(component, DefaultMethod.class) : null;
+
+            if (byField != null) {
+                defaultRecord = "() -> " + this.defaultField(component, byField, packageName);
+            } else if (byMethod != null) {
+                defaultRecord = "() -> " + this.defaultMethod(component, byMethod, packageName);
+            }
+        } else if (this.isErasureOf(type, "java.util.List") || this.isErasureOf(type, "java.util.Set") || this.isErasureOf(type, "java.util.Collection")) {
+            kind = RecordModel.Kind.COLLECTION;
+            var collectionType = find(component, CollectionType.class);
+
+            if (collectionType == null) {
+                throw cannotGenerate("@CollectionType is not declared for " + name, component);
+            }
+
+            var elementType = (TypeMirror) this.value(collectionType, "value");
+            this.checkAccessible(elementType, packageName, component);
+            classLiterals = List.of(this.classLiteral(type), this.classLiteral(elementType));
+        } else if (this.isErasureOf(type, "java.util.Map")) {
+            kind = RecordModel.Kind.MAP;
+            var mapType = find(component, MapType.class);
+
+            if (mapType == null) {
+                throw cannotGenerate("@MapType is not declared for " + name, component);
+            }
+
+            var keyType = (TypeMirror) this.value(mapType, "key");
+            var valueType = (TypeMirror) this.value(mapType, "value");
+            this.checkAccessible(keyType, packageName, component);
+            this.checkAccessible(valueType, packageName, component);
+            classLiterals = List.of(this.classLiteral(keyType), this.classLiteral(valueType));
+
+            var defaultMapKeyAnnotation = find(component, DefaultMapKey.class);
+            defaultMapKey = defaultMapKeyAnnotation != null ? (String) this.value(defaultMapKeyAnnotation, "value") : null;
+        } else if (type.getKind() == TypeKind.ARRAY) {
+            kind = RecordModel.Kind.ARRAY;
+
+            if (((ArrayType) type).getComponentType() instanceof DeclaredType declared && !declared.getTypeArguments().isEmpty()) {
+                throw cannotGenerate("arrays of generic types are not supported", component);
+            }
+
+            classLiterals = List.of(this.classLiteral(type));
+        } else if (this.isType(type, TypeKind.BOOLEAN, "java.lang.Boolean")) {
+            kind = RecordModel.Kind.BOOLEAN;
+        } else if (this.isType(type, TypeKind.CHAR, "java.lang.Character")) {
+            kind = RecordModel.Kind.CHAR;
+        } else if (this.isErasureOf(type, "java.lang.String")) {
+            kind = RecordModel.Kind.STRING;
+        } else if (this.isEnum(type)) {
+            kind = RecordModel.Kind.ENUM;
+            classLiterals = List.of(this.classLiteral(type));
+        } else if ((numberMethod = this.getNumberMethod(type)) != null) {
+            kind = RecordModel.Kind.NUMBER;
+        } else {
+            throw cannotGenerate(TypeNames.render(type) + " (" + name + ") requires the custom serializer", component);
+        }
+
+        return new RecordModel.Component(
+                name, TypeNames.render(type), kind, type.getKind().isPrimitive(),
+                key, inline, comment, commentType,
+                numberMethod, classLiterals, defaultMapKey,
+                this.defaultValue(component, packageName), defaultRecord, generatedRecord
+        );
+    }
+
+    private @NotNull String defaultValue(@NotNull RecordComponentElement component, @NotNull String packageName) throws AnalysisException {
+        var type = component.asType();
+
+        var byField = find(component, DefaultField.class);
+
+        if (byField != null) {
+            return this.defaultField(component, byField, packageName);
+        }
+
+        var byMethod = find(component, DefaultMethod.class);
+
+        if (byMethod != null) {
+            return this.defaultMethod(component, byMethod, packageName);
+        }
+
+        boolean defaultNull = find(component, DefaultNull.class) != null;
+
+        if (this.isErasureOf(type, "java.util.Map")) {
+            return this.defaultMap(component, defaultNull);
+        }
+
+        var byAnnotation = this.defaultValueByAnnotation(component, type);
+        return byAnnotation != null ? byAnnotation : this.createDefaultValue(type, defaultNull);
+    }
+
+    private @Nullable String defaultValueByAnnotation(@NotNull RecordComponentElement component, @NotNull TypeMirror type) throws AnalysisException {
+        if (this.isErasureOf(type, "java.lang.String")) {
+            var annotation = find(component, DefaultString.class);
+            return annotation != null ? Literals.string((String) this.value(annotation, "value")) : null;
+        } else if (this.isType(type, TypeKind.BOOLEAN, "java.lang.Boolean")) {
+            var annotation = find(component, DefaultBoolean.class);
+            return annotation != null ? String.valueOf(this.value(annotation, "value")) : null;
+        } else if (this.isType(type, TypeKind.CHAR, "java.lang.Character")) {
+            var annotation = find(component, DefaultChar.class);
+            return annotation != null ? Literals.character((Character) this.value(annotation, "value")) : null;
+        } else if (this.isType(type, TypeKind.BYTE, "java.lang.Byte")) {
+            var annotation = find(component, DefaultByte.class);
+            return annotation != null ? "(byte) " + this.value(annotation, "value") : null;
+        } else if (this.isType(type, TypeKind.DOUBLE, "java.lang.Double")) {
+            var annotation = find(component, DefaultDouble.class);
+            return annotation != null ? Literals.doubleValue((Double) this.value(annotation, "value")) : null;
+        } else if (this.isType(type, TypeKind.FLOAT, "java.lang.Float")) {
+            var annotation = find(component, DefaultFloat.class);
+            return annotation != null ? Literals.floatValue((Float) this.value(annotation, "value")) : null;
+        } else if (this.isType(type, TypeKind.INT, "java.lang.Integer")) {
+            var annotation = find(component, DefaultInt.class);
+            return annotation != null ? String.valueOf(this.value(annotation, "value")) : null;
+        } else if (this.isType(type, TypeKind.LONG, "java.lang.Long")) {
+            var annotation = find(component, DefaultLong.class);
+            return annotation != null ? this.value(annotation, "value") + "L" : null;
+        } else if (this.isType(type, TypeKind.SHORT, "java.lang.Short")) {
+            var annotation = find(component, DefaultShort.class);
+            return annotation != null ? "(short) " + this.value(annotation, "value") : null;
+        } else if (this.isEnum(type)) {
+            var annotation = find(component, DefaultEnum.class);
+
+            if (annotation == null) {
+                return null;
+            }
+
+            var constant = (String) this.value(annotation, "value");
+            var enumElement = (TypeElement) this.types.asElement(type);
+            var exists = ElementFilter.fieldsIn(enumElement.getEnclosedElements()).stream()
+                    .anyMatch(field -> field.getKind() == ElementKind.ENUM_CONSTANT && field.getSimpleName().contentEquals(constant));
+
+            if (!exists) {
+                throw new AnalysisException(Diagnostic.Kind.ERROR, constant + " is not a constant of " + enumElement.getQualifiedName(), component);
+            }
+
+            return TypeNames.render(this.types.erasure(type)) + "." + constant;
+        } else {
+            return null;
+        }
+    }
+
+    private @NotNull String createDefaultValue(@NotNull TypeMirror type, boolean defaultNull) {
+        if (type.getKind().isPrimitive()) {
+            return Literals.zero(type.getKind());
+        }
+
+        if (defaultNull) {
+            return "null";
+        }
+
+        if (this.isErasureOf(type, "java.lang.String")) {
+            return "\"\"";
+        } else if (this.isType(type, TypeKind.BOOLEAN, "java.lang.Boolean")) {
+            return "false";
+        } else if (this.isType(type, TypeKind.CHAR, "java.lang.Character")) {
+            return Literals.zero(TypeKind.CHAR);
+        } else if (this.getNumberMethod(type) != null) {
+            return Literals.zero(this.types.unboxedType(type).getKind());
+        } else if (this.isErasureOf(type, "java.util.List") || this.isErasureOf(type, "java.util.Collection")) {
+            return "java.util.Collections.emptyList()";
+        } else if (this.isErasureOf(type, "java.util.Set")) {
+            return "java.util.Collections.emptySet()";
+        } else if (this.isErasureOf(type, "java.util.Map")) {
+            return "java.util.Collections.emptyMap()";
+        } else if (type instanceof ArrayType arrayType) {
+            return "new " + TypeNames.render(this.types.erasure(arrayType.getComponentType())) + "[0]";
+        } else if (this.isRecord(type)) {
+            var recordElement = (TypeElement) this.types.asElement(type);
+
+            if (this.generated.test(recordElement)) {
+                return this.getGeneratedClassReference(recordElement) + ".createDefault()";
+            } else {
+                return SUPPORT + ".createDefaultRecord(" + this.classLiteral(type) + ")";
+            }
+        } else {
+            return "null";
+        }
+    }
+
+    private @NotNull String defaultMap(@NotNull RecordComponentElement component, boolean defaultNull) {
+        if (defaultNull) {
+            return "null";
+        }
+
+        var mapType = find(component, MapType.class);
+        var defaultMapKey = find(component, DefaultMapKey.class);
+
+        if (mapType == null || defaultMapKey == null || !this.isErasureOf((TypeMirror) this.value(mapType, "key"), "java.lang.String")) {
+            return "java.util.Collections.emptyMap()";
+        }
+
+        var defaultValue = this.createDefaultValue((TypeMirror) this.value(mapType, "value"), false);
+
+        if (defaultValue.equals("null")) {
+            return "java.util.Collections.emptyMap()";
+        }
+
+        // The value type of @MapType is not checked against the declared type, like RecordDeserializer.
+        return "(java.util.Map) java.util.Map.of(" + Literals.string((String) this.value(defaultMapKey, "value")) + ", " + defaultValue + ")";
+    }
+
+    private @NotNull String defaultField(@NotNull RecordComponentElement component, @NotNull AnnotationMirror annotation,
+                                         @NotNull String packageName) throws AnalysisException {
+        var holder = (TypeElement) this.types.asElement((TypeMirror) this.value(annotation, "clazz"));
+        var name = (String) this.value(annotation, "name");
+
+        VariableElement field = null;
+
+        for (var candidate : ElementFilter.fieldsIn(holder.getEnclosedElements())) {
+            if (candidate.getSimpleName().contentEquals(name)) {
+                field = candidate;
+                break;
+            }
+        }
+
+        if (field == null) {
+            throw new AnalysisException(Diagnostic.Kind.ERROR, "Field " + holder.getQualifiedName() + "#" + name + " is not found", component);
+        }
+
+        if (!field.getModifiers().contains(Modifier.STATIC)) {
+            throw new AnalysisException(Diagnostic.Kind.ERROR, "@DefaultField must refer to the static field", component);
+        }
+
+        if (!this.types.isAssignable(field.asType(), component.asType())) {
+            throw new AnalysisException(Diagnostic.Kind.ERROR, "Type mismatch of @DefaultField: expected " + component.asType() + " but got " + field.asType(), component);
+        }
+
+        if (!this.isAccessible(field, packageName) || !this.isAccessible(holder, packageName)) {
+            throw cannotGenerate("the field of @DefaultField is not accessible from the generated class", component);
+        }
+
+        return TypeNames.render(this.types.erasure(holder.asType())) + "." + name;
+    }
+
+    private @NotNull String defaultMethod(@NotNull RecordComponentElement component, @NotNull AnnotationMirror annotation,
+                                          @NotNull String packageName) throws AnalysisException {
+        var holder = (TypeElement) this.types.asElement((TypeMirror) this.value(annotation, "clazz"));
+        var name = (String) this.value(annotation, "name");
+
+        ExecutableElement method = null;
+
+        for (var candidate : ElementFilter.methodsIn(holder.getEnclosedElements())) {
+            if (candidate.getSimpleName().contentEquals(name) && candidate.getParameters().isEmpty()) {
+                method = candidate;
+                break;
+            }
+        }
+
+        if (method == null) {
+            throw new AnalysisException(Diagnostic.Kind.ERROR, "Method " + holder.getQualifiedName() + "#" + name + "() is not found", component);
+        }
+
+        if (!method.getModifiers().contains(Modifier.STATIC)) {
+            throw new AnalysisException(Diagnostic.Kind.ERROR, "@DefaultMethod must refer to the static method", component);
+        }
+
+        if (!this.types.isAssignable(method.getReturnType(), component.asType())) {
+            throw new AnalysisException(Diagnostic.Kind.ERROR, "Type mismatch of @DefaultMethod: expected " + component.asType() + " but got " + method.getReturnType(), component);
+        }
+
+        if (!this.isAccessible(method, packageName) || !this.isAccessible(holder, packageName)) {
+            throw cannotGenerate("the method of @DefaultMethod is not accessible from the generated class", component);
+        }
+
+        return TypeNames.render(this.types.erasure(holder.asType())) + "." + name + "()";
+    }
+
+    private @NotNull String getGeneratedClassReference(@NotNull TypeElement record) {
+        var packageName = this.elements.getPackageOf(record).getQualifiedName().toString();
+        var simpleName = getGeneratedClassName(record);
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private @NotNull String classLiteral(@NotNull TypeMirror type) {
+        return TypeNames.render(this.types.erasure(type)) + ".class";
+    }
+
+    private @Nullable String getNumberMethod(@NotNull TypeMirror type) {
+        TypeKind kind;
+
+        if (type.getKind().isPrimitive()) {
+            kind = type.getKind();
+        } else {
+            try {
+                kind = this.types.unboxedType(type).getKind();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        return switch (kind) {
+            case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> "as" + (kind == TypeKind.INT ? "Int" : capitalize(kind.name()));
+            default -> null;
+        };
+    }
+
+    private boolean isType(@NotNull TypeMirror type, @NotNull TypeKind primitive, @NotNull String boxed) {
+        return type.getKind() == primitive || this.isErasureOf(type, boxed);
+    }
+
+    private boolean isErasureOf(@NotNull TypeMirror type, @NotNull String className) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+
+        var element = (TypeElement) this.types.asElement(type);
+        return element.getQualifiedName().contentEquals(className);
+    }
+
+    private boolean isRecord(@NotNull TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && this.types.asElement(type).getKind() == ElementKind.RECORD;
+    }
+
+    private boolean isEnum(@NotNull TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && this.types.asElement(type).getKind() == ElementKind.ENUM;
+    }
+
+    private void checkAccessible(@NotNull TypeMirror type, @NotNull String packageName, @NotNull Element component) throws AnalysisException {
+        if (type instanceof ArrayType arrayType) {
+            this.checkAccessible(arrayType.getComponentType(), packageName, component);
+        } else if (type instanceof WildcardType wildcardType) {
+            if (wildcardType.getExtendsBound() != null) {
+                this.checkAccessible(wildcardType.getExtendsBound(), packageName, component);
+            }
+            if (wildcardType.getSuperBound() != null) {
+                this.checkAccessible(wildcardType.getSuperBound(), packageName, component);
+            }
+        } else if (type instanceof DeclaredType declaredType) {
+            if (!this.isAccessible(declaredType.asElement(), packageName)) {
+                throw cannotGenerate(TypeNames.render(this.types.erasure(type)) + " is not accessible from the generated class", component);
+            }
+
+            for (var argument : declaredType.getTypeArguments()) {
+                this.checkAccessible(argument, packageName, component);
+            }
+        } else if (type.getKind() == TypeKind.TYPEVAR) {
+            throw cannotGenerate("type variables are not supported", component);
+        }
+    }
+
+    private boolean isAccessible(@NotNull Element element, @NotNull String packageName) {
+        boolean samePackage = this.elements.getPackageOf(element).getQualifiedName().contentEquals(packageName);
+        Element current = element;
+
+        while (current != null && current.getKind() != ElementKind.PACKAGE) {
+            var modifiers = current.getModifiers();
+
+            if (modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+                return false;
+            }
+
+            current = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    private @NotNull Object value(@NotNull AnnotationMirror annotation, @NotNull String name) {
+        for (var entry : this.elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalArgumentException(name + " is not found in " + annotation);
+    }
+
+    private static @Nullable AnnotationMirror find(@NotNull Element element, @NotNull Class<? extends Annotation> annotationClass) {
+        for (var mirror : element.getAnnotationMirrors()) {
+            var annotationElement = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationElement.getQualifiedName().contentEquals(annotationClass.getCanonicalName())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static @NotNull String capitalize(@NotNull String name) {
+        return name.charAt(0) + name.substring(1).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static @NotNull AnalysisException cannotGenerate(@NotNull String reason, @NotNull Element element) {
+        return new AnalysisException(Diagnostic.Kind.WARNING, "Cannot generate the serialization class (" + reason + "); reflection will be used instead", element);
+    }
+
+    /**
+     * An exception thrown when the record cannot be processed.
+     */
+    static final class AnalysisException extends Exception {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Diagnostic.Kind kind;
+        private final transient Element element;
+
+        AnalysisException(@NotNull Diagnostic.Kind kind, @NotNull String message, @NotNull Element element) {
+            super(message);
+            this.kind = kind;
+            this.element = element;
+        }
+
+        @NotNull Diagnostic.Kind kind() {
+            return this.kind;
+        }
+
+        @NotNull Element element() {
+            return this.element;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.lang.model.element.TypeElement;
+import java.util.List;
+
+/**
+ * The information of the record to generate the serialization class.
+ *
+ * @param element            the {@link TypeElement} of the record
+ * @param packageName        the package name of the record
+ * @param recordName         the canonical name of the record
+ * @param generatedClassName the simple name of the class to generate
+ * @param components         the components of the record
+ */
+record RecordModel(@NotNull TypeElement element, @NotNull String packageName, @NotNull String recordName,
+                   @NotNull String generatedClassName, @NotNull List<Component> components) {
+
+    /**
+     * The kinds of the record components.
+     */
+    enum Kind {
+        BOOLEAN,
+        CHAR,
+        STRING,
+        NUMBER,
+        ENUM,
+        RECORD,
+        COLLECTION,
+        MAP,
+        ARRAY
+    }
+
+    /**
+     * The information of the record component.
+     *
+     * @param name              the name of the component
+     * @param type              the source representation of the component type
+     * @param kind              the {@link Kind} of the component
+     * @param primitive         whether the component type is primitive
+     * @param key               the key specified by {@code @Key}, or {@code null}
+     * @param inline            whether the component is annotated with {@code @Inline}
+     * @param comment           the content of {@code @Comment}, or {@code null}
+     * @param commentType       the type of {@code @Comment}
+     * @param numberMethod      the method of {@code NumberValue} to get the value if the kind is {@link Kind#NUMBER}
+     * @param classLiterals     the class literals passed to the support methods (collection/element, key/value, or array type)
+     * @param defaultMapKey     the key specified by {@code @DefaultMapKey}, or {@code null}
+     * @param defaultValue      the expression to create the default value
+     * @param defaultRecord     the expression of the default record supplier if the default record is given by {@code @DefaultField} or {@code @DefaultMethod}
+     * @param generatedRecord   the name of the generated class of the nested record, or {@code null}
+     */
+    record Component(@NotNull String name, @NotNull String type, @NotNull Kind kind, boolean primitive,
+                     @Nullable String key, boolean inline, @Nullable String comment, @NotNull String commentType,
+                     @Nullable String numberMethod, @NotNull List<String> classLiterals, @Nullable String defaultMapKey,
+                     @NotNull String defaultValue, @Nullable String defaultRecord, @Nullable String generatedRecord) {
+    }
+}
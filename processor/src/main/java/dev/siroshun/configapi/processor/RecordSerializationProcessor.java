@@ -0,0 +1,156 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.processor;
+
+import dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An annotation processor that generates the serialization classes for the records annotated with {@link GenerateSerialization}.
+ * <p>
+ * The generated class is named {@code <RecordName>_Serialization} and placed in the same package of the record.
+ * It implements {@link dev.siroshun.configapi.core.serialization.record.GeneratedRecordSerialization} and is used by
+ * {@link dev.siroshun.configapi.core.serialization.record.RecordSerialization#create(Class)} and others automatically.
+ * <p>
+ * If the record cannot be generated (for example, it has a component that requires the custom serializer),
+ * this processor reports a warning and the record is serialized through reflection.
+ */
+public final class RecordSerializationProcessor extends AbstractProcessor {
+
+    private final Set<String> generatedRecords = new HashSet<>();
+
+    /**
+     * The constructor of {@link RecordSerializationProcessor}.
+     */
+    public RecordSerializationProcessor() {
+    }
+
+    @Override
+    public @NotNull Set<String> getSupportedAnnotationTypes() {
+        return Set.of(GenerateSerialization.class.getCanonicalName());
+    }
+
+    @Override
+    public @NotNull SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull RoundEnvironment roundEnv) {
+        var records = new ArrayList<TypeElement>();
+
+        for (var element : roundEnv.getElementsAnnotatedWith(GenerateSerialization.class)) {
+            if (element.getKind() == ElementKind.RECORD) {
+                records.add((TypeElement) element);
+            } else {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@GenerateSerialization can only be applied to records", element);
+            }
+        }
+
+        if (records.isEmpty()) {
+            return false;
+        }
+
+        // Analyzes all records first, so that nested records that cannot be generated are not referred to.
+        var models = this.analyze(records);
+
+        for (var model : models) {
+            this.write(model);
+        }
+
+        return false;
+    }
+
+    private @NotNull List<RecordModel> analyze(@NotNull List<TypeElement> records) {
+        var candidates = new HashSet<String>();
+
+        for (var record : records) {
+            candidates.add(record.getQualifiedName().toString());
+        }
+
+        while (true) {
+            var analyzer = new RecordAnalyzer(this.processingEnv, record -> this.isGenerated(record, candidates));
+            var models = new ArrayList<RecordModel>();
+            var failed = new ArrayList<RecordAnalyzer.AnalysisException>();
+
+            for (var record : records) {
+                if (!candidates.contains(record.getQualifiedName().toString())) {
+                    continue;
+                }
+
+                try {
+                    models.add(analyzer.analyze(record));
+                } catch (RecordAnalyzer.AnalysisException e) {
+                    candidates.remove(record.getQualifiedName().toString());
+                    failed.add(e);
+                }
+            }
+
+            if (failed.isEmpty()) {
+                return models;
+            }
+
+            for (var exception : failed) {
+                this.processingEnv.getMessager().printMessage(exception.kind(), exception.getMessage(), exception.element());
+            }
+            // Some records are excluded, so analyzes the remaining records again.
+        }
+    }
+
+    private boolean isGenerated(@NotNull TypeElement record, @NotNull Set<String> candidates) {
+        var name = record.getQualifiedName().toString();
+
+        if (candidates.contains(name) || this.generatedRecords.contains(name)) {
+            return true;
+        }
+
+        if (record.getAnnotation(GenerateSerialization.class) == null) {
+            return false;
+        }
+
+        // The record is compiled previously, so checks if the generated class exists.
+        var packageName = this.processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+        var generatedName = (packageName.isEmpty() ? "" : packageName + ".") + RecordAnalyzer.getGeneratedClassName(record);
+        return this.processingEnv.getElementUtils().getTypeElement(generatedName) != null;
+    }
+
+    private void write(@NotNull RecordModel model) {
+        var name = model.packageName().isEmpty() ? model.generatedClassName() : model.packageName() + "." + model.generatedClassName();
+
+        try (var writer = this.processingEnv.getFiler().createSourceFile(name, model.element()).openWriter()) {
+            writer.write(new SerializationClassWriter(model).write());
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + name + ": " + e.getMessage(), model.element());
+            return;
+        }
+
+        // keyed by the qualified name as #isGenerated, so that records with the same simple name in different packages do not clash
+        this.generatedRecords.add(model.element().getQualifiedName().toString());
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.processor;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.StringJoiner;
+
+/**
+ * A class to write the source code of the serialization class from {@link RecordModel}.
+ */
+final class SerializationClassWriter {
+
+    private static final String CORE = "dev.siroshun.configapi.core";
+    private static final String NODE = CORE + ".node.";
+    private static final String SUPPORT = CORE + ".serialization.record.GeneratedSerializationSupport";
+    private static final String KEY_GENERATOR = CORE + ".serialization.key.KeyGenerator";
+    private static final String SIMPLE_COMMENT = CORE + ".comment.SimpleComment";
+
+    private final RecordModel model;
+    private final StringBuilder builder = new StringBuilder(4096);
+    private int indent;
+
+    SerializationClassWriter(@NotNull RecordModel model) {
+        this.model = model;
+    }
+
+    @NotNull String write() {
+        if (!this.model.packageName().isEmpty()) {
+            this.line("package " + this.model.packageName() + ";").line("");
+        }
+
+        this.line("/**")
+                .line(" * The generated serialization class of {@link " + this.model.recordName() + "}.")
+                .line(" */")
+                .line("@javax.annotation.processing.Generated(\"" + RecordSerializationProcessor.class.getName() + "\")")
+                .open("public final class " + this.model.generatedClassName() + " implements " +
+                        CORE + ".serialization.record.GeneratedRecordSerialization<" + this.model.recordName() + ">");
+
+        this.writeComments();
+        this.writeCreateDefault();
+        this.writeFields();
+        this.writeConstructor();
+        this.writeSerialize();
+        this.writeDeserialize();
+        this.writeNestedGetters();
+
+        this.close();
+        return this.builder.toString();
+    }
+
+    private void writeComments() {
+        var components = this.model.components();
+
+        for (int i = 0; i < components.size(); i++) {
+            var component = components.get(i);
+
+            if (component.comment() != null) {
+                this.line("private static final " + SIMPLE_COMMENT + " COMMENT_" + i + " = " + SIMPLE_COMMENT + ".create(" +
+                        Literals.string(component.comment()) + ", " + Literals.string(component.commentType()) + ");");
+            }
+        }
+
+        this.line("");
+    }
+
+    private void writeCreateDefault() {
+        var args = new StringJoiner(", ");
+
+        for (var component : this.model.components()) {
+            args.add(component.defaultValue());
+        }
+
+        this.line("/**")
+                .line(" * Creates the default {@link " + this.model.recordName() + "}.")
+                .line(" *")
+                .line(" * @return the default {@link " + this.model.recordName() + "}")
+                .line(" */")
+                .line("@SuppressWarnings({\"unchecked\", \"rawtypes\"})")
+                .open("public static " + this.model.recordName() + " createDefault()")
+                .line("return new " + this.model.recordName() + "(" + args + ");")
+                .close()
+                .line("");
+    }
+
+    private void writeFields() {
+        this.line("private final " + KEY_GENERATOR + " keyGenerator;");
+        this.line("private final " + SUPPORT + " support;");
+
+        var components = this.model.components();
+
+        for (int i = 0; i < components.size(); i++) {
+            this.line("private final String key" + i + ";");
+        }
+
+        for (int i = 0; i < components.size(); i++) {
+            var component = components.get(i);
+
+            if (component.generatedRecord() != null) {
+                this.line("private " + component.generatedRecord() + " nested" + i + ";");
+            }
+        }
+
+        this.line("");
+    }
+
+    private void writeConstructor() {
+        this.line("/**")
+                .line(" * Creates a new {@link " + this.model.generatedClassName() + "}.")
+                .line(" *")
+                .line(" * @param keyGenerator the {@link " + KEY_GENERATOR + "} to generate keys")
+                .line(" */")
+                .open("public " + this.model.generatedClassName() + "(" + KEY_GENERATOR + " keyGenerator)")
+                .line("this.keyGenerator = java.util.Objects.requireNonNull(keyGenerator);")
+                .line("this.support = " + SUPPORT + ".create(keyGenerator);");
+
+        var components = this.model.components();
+
+        for (int i = 0; i < components.size(); i++) {
+            var component = components.get(i);
+            var key = component.key() != null ? Literals.string(component.key()) : "keyGenerator.generate(" + Literals.string(component.name()) + ")";
+            this.line("this.key" + i + " = " + key + ";");
+        }
+
+        this.close().line("");
+    }
+
+    private void writeSerialize() {
+        this.line("@Override")
+                .open("public void serialize(" + this.model.recordName() + " input, " + NODE + "MapNode target)");
+
+        var components = this.model.components();
+
+        for (int i = 0; i < components.size(); i++) {
+            var component = components.get(i);
+            var value = "value" + i;
+            var comment = component.comment() != null ? "COMMENT_" + i : null;
+
+            this.open("");
+            this.line("var " + value + " = input." + component.name() + "();");
+
+            if (!component.primitive()) {
+                this.open("if (" + value + " != null)");
+            }
+
+            if (component.kind() == RecordModel.Kind.RECORD) {
+                if (component.inline()) {
+                    this.line(this.nestedSerialize(component, i, value, "target"));
+                } else {
+                    var mapNode = "mapNode" + i;
+                    this.line("var " + mapNode + " = " + NODE + "MapNode.create();");
+                    if (comment != null) {
+                        this.line(mapNode + ".setComment(" + comment + ");");
+                    }
+                    this.line(this.nestedSerialize(component, i, value, mapNode));
+                    this.line("target.set(this.key" + i + ", " + mapNode + ");");
+                }
+            } else {
+                var serialized = "serialized" + i;
+                var node = comment != null ? NODE + "CommentableNode.withComment(" + serialized + ", " + comment + ")" : serialized;
+                this.line(NODE + "Node<?> " + serialized + " = " + this.serializeExpression(component, value) + ";");
+
+                if (this.usesSupport(component)) {
+                    this.open("if (" + serialized + " != null && " + serialized + " != " + NODE + "NullNode.NULL)")
+                            .line("target.set(this.key" + i + ", " + node + ");")
+                            .close();
+                } else {
+                    this.line("target.set(this.key" + i + ", " + node + ");");
+                }
+            }
+
+            if (!component.primitive()) {
+                this.close();
+            }
+
+            this.close();
+        }
+
+        this.close().line("");
+    }
+
+    private @NotNull String nestedSerialize(@NotNull RecordModel.Component component, int index, @NotNull String value, @NotNull String target) {
+        if (component.generatedRecord() != null) {
+            return "this.nested" + index + "().serialize(" + value + ", " + target + ");";
+        } else {
+            return "this.support.serializeRecord(" + value + ", " + target + ");";
+        }
+    }
+
+    private @NotNull String serializeExpression(@NotNull RecordModel.Component component, @NotNull String value) {
+        return switch (component.kind()) {
+            case BOOLEAN -> NODE + "BooleanValue.fromBoolean(" + value + ")";
+            case CHAR -> NODE + "CharValue.fromChar(" + value + ")";
+            case STRING -> NODE + "StringValue.fromString(" + value + ")";
+            case NUMBER -> NODE + "NumberValue.fromNumber(" + value + ")";
+            case ENUM -> "new " + NODE + "EnumValue<>(" + value + ")";
+            default -> "this.support.serializeValue(" + value + ")";
+        };
+    }
+
+    private boolean usesSupport(@NotNull RecordModel.Component component) {
+        return switch (component.kind()) {
+            case BOOLEAN, CHAR, STRING, NUMBER, ENUM -> false;
+            default -> true;
+        };
+    }
+
+    private void writeDeserialize() {
+        this.line("@Override")
+                .line("@SuppressWarnings({\"unchecked\", \"rawtypes\"})")
+                .open("public " + this.model.recordName() + " deserialize(" + NODE + "MapNode input)");
+
+        var components = this.model.components();
+        var args = new StringJoiner(", ");
+
+        for (int i = 0; i < components.size(); i++) {
+            var component = components.get(i);
+            var value = "value" + i;
+            var key = "this.key" + i;
+            var type = component.type();
+            var literals = component.classLiterals();
+
+            args.add(value);
+
+            switch (component.kind()) {
+                case BOOLEAN -> this.deserializeValue(component, i, "BooleanValue", "booleanValue", "java.lang.Boolean");
+                case CHAR -> this.deserializeValue(component, i, "CharValue", "charValue", "java.lang.Character");
+                case STRING -> this.deserializeValue(component, i, "StringValue", "asString", null);
+                case NUMBER -> this.deserializeValue(component, i, "NumberValue", component.numberMethod(), this.boxedType(component));
+                case ENUM -> {
+                    var deserialized = "enum" + i;
+                    this.line("var " + deserialized + " = " + SUPPORT + ".deserializeEnum(" + SUPPORT + ".unwrap(input.get(" + key + ")), " + literals.get(0) + ");");
+                    this.line(type + " " + value + " = " + deserialized + " != null ? " + deserialized + " : " + component.defaultValue() + ";");
+                }
+                case RECORD -> {
+                    var source = component.inline() ? "input" : "input.getMap(" + key + ")";
+                    String expression;
+
+                    if (component.defaultRecord() != null) {
+                        expression = "this.support.deserializeRecord(" + source + ", " + literals.get(0) + ", " + component.defaultRecord() + ")";
+                    } else if (component.generatedRecord() != null) {
+                        expression = "this.nested" + i + "().deserialize(" + source + ")";
+                    } else {
+                        expression = "this.support.deserializeRecord(" + source + ", " + literals.get(0) + ", null)";
+                    }
+
+                    this.line(type + " " + value + " = " + expression + ";");
+                }
+                case COLLECTION -> this.deserializeBySupport(component, i, "deserializeCollection(input.get(" + key + "), " + literals.get(0) + ", " + literals.get(1) + ")");
+                case MAP -> this.deserializeBySupport(component, i, "deserializeMap(input.get(" + key + "), " + literals.get(0) + ", " + literals.get(1) + ", " +
+                        (component.defaultMapKey() != null ? Literals.string(component.defaultMapKey()) : "null") + ")");
+                case ARRAY -> this.deserializeBySupport(component, i, "deserializeArray(input.get(" + key + "), " + literals.get(0) + ")");
+            }
+        }
+
+        this.line("return new " + this.model.recordName() + "(" + args + ");")
+                .close()
+                .line("");
+    }
+
+    private void deserializeValue(@NotNull RecordModel.Component component, int index, @NotNull String nodeClass,
+                                  @NotNull String method, String boxedType) {
+        var node = "node" + index;
+        var casted = "v" + index;
+        var getter = casted + "." + method + "()";
+
+        if (!component.primitive() && boxedType != null) {
+            // Prevents unboxing the default value (it may be null) in the conditional expression.
+            getter = "(" + boxedType + ") " + getter;
+        }
+
+        this.line("var " + node + " = " + SUPPORT + ".unwrap(input.get(this.key" + index + "));");
+        this.line(component.type() + " value" + index + " = " + node + " instanceof " + NODE + nodeClass + " " + casted + " ? " + getter + " : " + component.defaultValue() + ";");
+    }
+
+    private void deserializeBySupport(@NotNull RecordModel.Component component, int index, @NotNull String call) {
+        var raw = "raw" + index;
+        this.line("var " + raw + " = this.support." + call + ";");
+        this.line(component.type() + " value" + index + " = " + raw + " != null ? (" + component.type() + ") " + raw + " : " + component.defaultValue() + ";");
+    }
+
+    private @NotNull String boxedType(@NotNull RecordModel.Component component) {
+        return switch (component.numberMethod()) {
+            case "asByte" -> "java.lang.Byte";
+            case "asShort" -> "java.lang.Short";
+            case "asInt" -> "java.lang.Integer";
+            case "asLong" -> "java.lang.Long";
+            case "asFloat" -> "java.lang.Float";
+            case "asDouble" -> "java.lang.Double";
+            default -> throw new IllegalStateException("Unexpected method: " + component.numberMethod());
+        };
+    }
+
+    private void writeNestedGetters() {
+        var components = this.model.components();
+
+        for (int i = 0; i < components.size(); i++) {
+            var component = components.get(i);
+            var generated = component.generatedRecord();
+
+            if (generated == null) {
+                continue;
+            }
+
+            // Created lazily to support records that refer to each other.
+            this.line("")
+                    .open("private " + generated + " nested" + i + "()")
+                    .line("var nested = this.nested" + i + ";")
+                    .open("if (nested == null)")
+                    .line("nested = new " + generated + "(this.keyGenerator);")
+                    .line("this.nested" + i + " = nested;")
+                    .close()
+                    .line("return nested;")
+                    .close();
+        }
+    }
+
+    private @NotNull SerializationClassWriter open(@NotNull String declaration) {
+        this.line(declaration.isEmpty() ? "{" : declaration + " {");
+        this.indent++;
+        return this;
+    }
+
+    private @NotNull SerializationClassWriter close() {
+        this.indent--;
+        return this.line("}");
+    }
+
+    private @NotNull SerializationClassWriter line(@NotNull String line) {
+        if (!line.isEmpty()) {
+            this.builder.append("    ".repeat(this.indent)).append(line);
+        }
+        this.builder.append('\n');
+        return this;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.processor;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * A utility class to render {@link TypeMirror}s as source code.
+ * <p>
+ * Unlike {@link TypeMirror#toString()}, this does not include type annotations such as {@code @NotNull}.
+ */
+final class TypeNames {
+
+    static @NotNull String render(@NotNull TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ENGLISH);
+        } else if (type instanceof ArrayType arrayType) {
+            return render(arrayType.getComponentType()) + "[]";
+        } else if (type instanceof WildcardType wildcardType) {
+            if (wildcardType.getExtendsBound() != null) {
+                return "? extends " + render(wildcardType.getExtendsBound());
+            } else if (wildcardType.getSuperBound() != null) {
+                return "? super " + render(wildcardType.getSuperBound());
+            } else {
+                return "?";
+            }
+        } else if (type instanceof DeclaredType declaredType) {
+            var name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+
+            if (declaredType.getTypeArguments().isEmpty()) {
+                return name;
+            }
+
+            var joiner = new StringJoiner(", ", name + "<", ">");
+
+            for (var argument : declaredType.getTypeArguments()) {
+                joiner.add(render(argument));
+            }
+
+            return joiner.toString();
+        } else {
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    private TypeNames() {
+        throw new UnsupportedOperationException();
+    }
+}
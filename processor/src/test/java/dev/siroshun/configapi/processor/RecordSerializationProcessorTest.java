@@ -0,0 +1,271 @@
+/*
+ *     Copyright 2024 Siroshun09
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package dev.siroshun.configapi.processor;
+
+import dev.siroshun.configapi.core.node.MapNode;
+import dev.siroshun.configapi.core.node.NullNode;
+import dev.siroshun.configapi.core.serialization.key.KeyGenerator;
+import dev.siroshun.configapi.core.serialization.record.RecordDeserializer;
+import dev.siroshun.configapi.core.serialization.record.RecordSerialization;
+import dev.siroshun.configapi.core.serialization.record.RecordSerializer;
+import dev.siroshun.configapi.test.shared.util.NodeAssertion;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+class RecordSerializationProcessorTest {
+
+    private static final String SAMPLE = """
+            package test;
+
+            import dev.siroshun.configapi.core.serialization.annotation.*;
+            import dev.siroshun.configapi.core.serialization.key.Key;
+            import java.util.List;
+            import java.util.Map;
+            import java.util.Set;
+
+            @GenerateSerialization
+            public record Sample(
+                    @DefaultBoolean(true) boolean enabled,
+                    @DefaultInt(10) int count,
+                    @DefaultLong(100L) Long wrappedLong,
+                    @DefaultNull Integer nullableInt,
+                    @DefaultChar('c') char character,
+                    @DefaultDouble(0.5) double ratio,
+                    @DefaultFloat(1.5f) Float wrappedFloat,
+                    @DefaultString("default \\"name\\"") @Comment("The name") String name,
+                    @DefaultEnum("B") Type type,
+                    @Key("custom-key") String customKey,
+                    @CollectionType(String.class) List<String> list,
+                    @CollectionType(Type.class) Set<Type> types,
+                    @MapType(key = String.class, value = Nested.class) @DefaultMapKey("default") Map<String, Nested> nestedMap,
+                    int[] numbers,
+                    String[] strings,
+                    @Comment(value = "nested", type = "block") Nested nested,
+                    @Inline Inlined inlined,
+                    NotGenerated notGenerated,
+                    @DefaultMethod(clazz = Sample.class, name = "defaultNested") Nested nestedByMethod,
+                    @DefaultField(clazz = Sample.class, name = "DEFAULT_LIST") @CollectionType(String.class) List<String> listByField
+            ) {
+
+                static final List<String> DEFAULT_LIST = List.of("a", "b");
+
+                static Nested defaultNested() {
+                    return new Nested("by-method", (short) 5);
+                }
+
+                public enum Type {
+                    A, B, C
+                }
+
+                @GenerateSerialization
+                public record Nested(@DefaultString("nested") String value, @DefaultShort(3) short number) {
+                }
+
+                @GenerateSerialization
+                record Inlined(@DefaultString("left") String left, @DefaultString("right") String right) {
+                }
+
+                record NotGenerated(@DefaultByte(7) byte value) {
+                }
+            }
+            """;
+
+    @Test
+    void testGeneratedClass(@TempDir Path dir) throws Exception {
+        var result = compile(dir, source("test.Sample", SAMPLE));
+        Assertions.assertTrue(result.success(), result::toString);
+
+        try (var loader = new URLClassLoader(new java.net.URL[]{dir.toUri().toURL()}, getClass().getClassLoader())) {
+            Assertions.assertNotNull(loader.loadClass("test.Sample_Serialization"));
+            Assertions.assertNotNull(loader.loadClass("test.Sample_Nested_Serialization"));
+            Assertions.assertNotNull(loader.loadClass("test.Sample_Inlined_Serialization"));
+
+            var recordClass = loader.loadClass("test.Sample").asSubclass(Record.class);
+
+            for (var keyGenerator : List.of(KeyGenerator.AS_IS, KeyGenerator.CAMEL_TO_SNAKE)) {
+                testSerialization(recordClass, keyGenerator);
+            }
+        }
+    }
+
+    private static <R extends Record> void testSerialization(@NotNull Class<R> recordClass, @NotNull KeyGenerator keyGenerator) {
+        var generated = RecordSerialization.create(recordClass, keyGenerator);
+
+        // Registering a serializer/deserializer disables the generated class.
+        var reflectiveSerializer = RecordSerializer.<R>builder().keyGenerator(keyGenerator).addSerializer(Void.class, ignored -> NullNode.NULL).build();
+        var reflectiveDeserializer = RecordDeserializer.builder(recordClass).keyGenerator(keyGenerator).addDeserializer(Void.class, ignored -> null).build();
+
+        var defaultRecord = reflectiveDeserializer.deserialize(MapNode.empty());
+        var deserializedDefault = generated.deserializer().deserialize(MapNode.empty());
+        NodeAssertion.assertEquals(reflectiveSerializer.serialize(defaultRecord), reflectiveSerializer.serialize(deserializedDefault));
+        NodeAssertion.assertEquals(reflectiveSerializer.serialize(defaultRecord), generated.serializer().serialize(defaultRecord));
+
+        var mapNode = reflectiveSerializer.serialize(defaultRecord);
+        mapNode.set(keyGenerator.generate("count"), 42);
+        mapNode.set(keyGenerator.generate("type"), "c");
+        mapNode.set("custom-key", "custom");
+        mapNode.getOrCreateList(keyGenerator.generate("list")).add("value");
+        mapNode.getOrCreateMap(keyGenerator.generate("nested")).set(keyGenerator.generate("value"), "changed");
+        mapNode.set(keyGenerator.generate("left"), "inlined");
+
+        var expected = reflectiveDeserializer.deserialize(mapNode);
+        var actual = generated.deserializer().deserialize(mapNode);
+        NodeAssertion.assertEquals(reflectiveSerializer.serialize(expected), reflectiveSerializer.serialize(actual));
+        NodeAssertion.assertEquals(reflectiveSerializer.serialize(expected), generated.serializer().serialize(actual));
+    }
+
+    @Test
+    void testUnsupportedComponent(@TempDir Path dir) throws Exception {
+        var result = compile(dir, source("test.Unsupported", """
+                package test;
+
+                @dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization
+                public record Unsupported(Object value) {
+                }
+                """));
+
+        Assertions.assertTrue(result.success(), result::toString);
+        Assertions.assertTrue(result.hasDiagnostic(Diagnostic.Kind.WARNING, "requires the custom serializer"), result::toString);
+        Assertions.assertFalse(Files.exists(dir.resolve("test").resolve("Unsupported_Serialization.class")));
+    }
+
+    @Test
+    void testNestedRecordThatCannotBeGenerated(@TempDir Path dir) throws Exception {
+        var result = compile(dir, source("test.Parent", """
+                package test;
+
+                import dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization;
+
+                @GenerateSerialization
+                public record Parent(Child child) {
+
+                    @GenerateSerialization
+                    public record Child(Object value) {
+                    }
+                }
+                """));
+
+        Assertions.assertTrue(result.success(), result::toString);
+        Assertions.assertTrue(Files.exists(dir.resolve("test").resolve("Parent_Serialization.class")));
+        Assertions.assertFalse(Files.exists(dir.resolve("test").resolve("Parent_Child_Serialization.class")));
+    }
+
+    @Test
+    void testSameSimpleNames(@TempDir Path dir) throws Exception {
+        var result = compile(dir,
+                source("first.Config", """
+                        package first;
+
+                        @dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization
+                        public record Config(String value) {
+                        }
+                        """),
+                source("second.Config", """
+                        package second;
+
+                        @dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization
+                        public record Config(Object value) {
+                        }
+                        """),
+                source("second.Holder", """
+                        package second;
+
+                        @dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization
+                        public record Holder(first.Config first, Config second) {
+                        }
+                        """));
+
+        Assertions.assertTrue(result.success(), result::toString);
+        Assertions.assertTrue(Files.exists(dir.resolve("first").resolve("Config_Serialization.class")));
+        Assertions.assertFalse(Files.exists(dir.resolve("second").resolve("Config_Serialization.class")));
+        Assertions.assertTrue(Files.exists(dir.resolve("second").resolve("Holder_Serialization.class")));
+    }
+
+    @Test
+    void testMissingDefaultField(@TempDir Path dir) throws Exception {
+        var result = compile(dir, source("test.MissingDefault", """
+                package test;
+
+                import dev.siroshun.configapi.core.serialization.annotation.DefaultField;
+
+                @dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization
+                public record MissingDefault(@DefaultField(clazz = MissingDefault.class, name = "MISSING") String value) {
+                }
+                """));
+
+        Assertions.assertFalse(result.success());
+        Assertions.assertTrue(result.hasDiagnostic(Diagnostic.Kind.ERROR, "is not found"), result::toString);
+    }
+
+    @Test
+    void testNotRecord(@TempDir Path dir) throws Exception {
+        var result = compile(dir, source("test.NotRecord", """
+                package test;
+
+                @dev.siroshun.configapi.core.serialization.annotation.GenerateSerialization
+                public class NotRecord {
+                }
+                """));
+
+        Assertions.assertFalse(result.success());
+        Assertions.assertTrue(result.hasDiagnostic(Diagnostic.Kind.ERROR, "can only be applied to records"), result::toString);
+    }
+
+    private static @NotNull CompilationResult compile(@NotNull Path outputDir, @NotNull JavaFileObject @NotNull ... sources) throws IOException {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        try (var fileManager = compiler.getStandardFileManager(diagnostics, Locale.ENGLISH, null)) {
+            var options = List.of("-d", outputDir.toString(), "-classpath", System.getProperty("java.class.path"), "-s", outputDir.toString());
+            var task = compiler.getTask(null, fileManager, diagnostics, options, null, List.of(sources));
+            task.setProcessors(List.of(new RecordSerializationProcessor()));
+            return new CompilationResult(task.call(), diagnostics.getDiagnostics());
+        }
+    }
+
+    private static @NotNull JavaFileObject source(@NotNull String className, @NotNull String content) {
+        var uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+
+    private record CompilationResult(boolean success, @NotNull List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+
+        boolean hasDiagnostic(@NotNull Diagnostic.Kind kind, @NotNull String message) {
+            return this.diagnostics.stream().anyMatch(diagnostic -> diagnostic.getKind() == kind && diagnostic.getMessage(Locale.ENGLISH).contains(message));
+        }
+    }
+}
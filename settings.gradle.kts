@@ -35,6 +35,9 @@ project(":$prefix-core").projectDir = file("core")
 include("$prefix-test-shared-classes")
 project(":$prefix-test-shared-classes").projectDir = file("test-shared-classes")
 
+include("$prefix-processor")
+project(":$prefix-processor").projectDir = file("processor")
+
 // file formats
 sequenceOf(
     "binary",
@@ -47,5 +50,8 @@ sequenceOf(
     project(":$prefix-format-$it").projectDir = file("./format/$it")
 }
 
+include("$prefix-benchmarks")
+project(":$prefix-benchmarks").projectDir = file("benchmarks")
+
 include("$prefix-bom")
 project(":$prefix-bom").projectDir = file("bom")
@@ -27,6 +27,8 @@ import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -35,6 +37,7 @@ import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -172,6 +175,31 @@ public abstract class BasicFileFormatTest<N extends Node<?>, F extends FileForma
         }
     }
 
+    /**
+     * Asserts that the {@link FileFormat} does not read the {@link InputStream} beyond the loaded node.
+     * <p>
+     * The {@link Node}s are saved to one stream in order, and loaded from it one by one.
+     *
+     * @param fileFormat the {@link FileFormat} to test
+     * @param nodes      the {@link Node}s to save and load
+     * @param <N>        a {@link Node} type
+     * @throws IOException if I/O error occurred
+     */
+    protected static <N extends Node<?>> void assertDoesNotReadAhead(@NotNull FileFormat<N> fileFormat, @NotNull List<? extends N> nodes) throws IOException {
+        var out = new ByteArrayOutputStream();
+
+        for (var node : nodes) {
+            fileFormat.save(node, out);
+        }
+
+        try (var in = new ByteArrayInputStream(out.toByteArray())) {
+            for (var node : nodes) {
+                NodeAssertion.assertEquals(node, fileFormat.load(in));
+            }
+            Assertions.assertEquals(-1, in.read());
+        }
+    }
+
     /**
      * Gets the {@link FileFormat}s to test.
      *
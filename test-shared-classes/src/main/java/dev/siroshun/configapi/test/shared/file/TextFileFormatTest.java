@@ -17,7 +17,11 @@
 package dev.siroshun.configapi.test.shared.file;
 
 import dev.siroshun.configapi.core.file.FileFormat;
+import dev.siroshun.configapi.core.file.NodeReader;
+import dev.siroshun.configapi.core.file.NodeWriter;
+import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.NodePath;
 import dev.siroshun.configapi.test.shared.util.NodeAssertion;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.TestInstance;
@@ -36,7 +40,9 @@ import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -79,6 +85,8 @@ public abstract class TextFileFormatTest<N extends Node<?>, F extends FileFormat
             try (var reader = new StringReader(testCase.text())) {
                 testCase.checkNode(testCase.fileFormat().load(reader));
             }
+
+            this.checkNodeReader(testCase.fileFormat(), testCase.text());
         }
     }
 
@@ -100,6 +108,7 @@ public abstract class TextFileFormatTest<N extends Node<?>, F extends FileFormat
             try (var writer = new StringWriter()) {
                 testCase.fileFormat().save(testCase.node(), writer);
                 testCase.checkText(writer.toString());
+                this.checkNodeWriter(testCase.fileFormat(), testCase.node(), writer.toString());
             }
         }
     }
@@ -134,8 +143,85 @@ public abstract class TextFileFormatTest<N extends Node<?>, F extends FileFormat
                     try (var reader = new StringReader(writer.toString())) {
                         testCase.checkNode(testCase.fileFormat().load(reader));
                     }
+
+                    this.checkNodeReader(testCase.fileFormat(), writer.toString());
+                    this.checkNodeWriter(testCase.fileFormat(), testCase.node(), writer.toString());
+                }
+            }
+        }
+    }
+
+    private void checkNodeWriter(F fileFormat, N node, String savedText) throws IOException {
+        N expected;
+
+        try (var reader = new StringReader(savedText)) {
+            expected = fileFormat.load(reader);
+        }
+
+        var output = new StringWriter();
+
+        try (var writer = fileFormat.writer(output)) {
+            writer.writeNode(node);
+        }
+
+        try (var reader = new StringReader(output.toString())) {
+            NodeAssertion.assertEqualsIgnoringComments(expected, fileFormat.load(reader));
+        }
+
+        output = new StringWriter();
+
+        try (var writer = fileFormat.writer(output)) {
+            node.accept(NodeWriter.visitor(writer));
+        }
+
+        try (var reader = new StringReader(output.toString())) {
+            NodeAssertion.assertEqualsIgnoringComments(expected, fileFormat.load(reader));
+        }
+    }
+
+    private void checkNodeReader(F fileFormat, String text) throws IOException {
+        N expected;
+
+        try (var reader = new StringReader(text)) {
+            expected = fileFormat.load(reader);
+        }
+
+        try (var reader = fileFormat.reader(new StringReader(text))) {
+            var actual = reader.next() == NodeReader.Event.END_DOCUMENT ? this.emptyNode() : reader.readNode();
+            Assertions.assertEquals(NodeReader.Event.END_DOCUMENT, reader.next());
+            Assertions.assertEquals(0, reader.depth());
+            NodeAssertion.assertEqualsIgnoringComments(expected, actual);
+        }
+
+        try (var reader = fileFormat.reader(new StringReader(text))) {
+            var event = reader.next();
+
+            if (event == NodeReader.Event.START_MAP || event == NodeReader.Event.START_LIST) {
+                while ((event = reader.next()) != NodeReader.Event.END_MAP && event != NodeReader.Event.END_LIST) {
+                    if (event == NodeReader.Event.KEY) {
+                        reader.next();
+                    }
+                    reader.skipChildren();
+                    Assertions.assertEquals(1, reader.depth());
                 }
             }
+
+            Assertions.assertEquals(0, reader.depth());
+            Assertions.assertEquals(NodeReader.Event.END_DOCUMENT, reader.next());
+        }
+
+        if (expected instanceof MapNode mapNode) {
+            var paths = new ArrayList<NodePath>();
+
+            for (var key : mapNode.value().keySet()) {
+                paths.add(NodePath.of(key));
+                var projected = fileFormat.load(new StringReader(text), paths);
+                var expectedProjection = MapNode.create();
+                paths.forEach(path -> expectedProjection.set(path, mapNode.get(path)));
+                NodeAssertion.assertEqualsIgnoringComments(expectedProjection, projected);
+            }
+
+            NodeAssertion.assertEqualsIgnoringComments(MapNode.create(), fileFormat.load(new StringReader(text), List.of()));
         }
     }
 
@@ -16,6 +16,7 @@
 
 package dev.siroshun.configapi.test.shared.util;
 
+import dev.siroshun.configapi.core.node.CommentedNode;
 import dev.siroshun.configapi.core.node.ListNode;
 import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
@@ -37,10 +38,29 @@ public final class NodeAssertion {
      * @param b a second {@link Node}
      */
     public static void assertEquals(@NotNull Node<?> a, @NotNull Node<?> b) {
+        assertEquals(a, b, true);
+    }
+
+    /**
+     * Asserts that {@code a} and {@code b} {@link Node}s are equal without comparing their comments.
+     *
+     * @param a a first {@link Node}
+     * @param b a second {@link Node}
+     */
+    public static void assertEqualsIgnoringComments(@NotNull Node<?> a, @NotNull Node<?> b) {
+        assertEquals(a, b, false);
+    }
+
+    private static void assertEquals(@NotNull Node<?> a, @NotNull Node<?> b, boolean comments) {
+        if (!comments) {
+            a = a instanceof CommentedNode<?> commentedA ? commentedA.node() : a;
+            b = b instanceof CommentedNode<?> commentedB ? commentedB.node() : b;
+        }
+
         if (a instanceof ListNode listNodeA && b instanceof ListNode listNodeB) {
-            assertEquals(listNodeA, listNodeB);
+            assertEquals(listNodeA, listNodeB, comments);
         } else if (a instanceof MapNode mapNodeA && b instanceof MapNode mapNodeB) {
-            assertEquals(mapNodeA, mapNodeB);
+            assertEquals(mapNodeA, mapNodeB, comments);
         } else if (a instanceof NumberValue numberA && b instanceof NumberValue numberB) {
             if (numberA.compareTo(numberB) != 0) {
                 fail(a, b);
@@ -63,6 +83,10 @@ public final class NodeAssertion {
      * @param b a second {@link ListNode}
      */
     public static void assertEquals(@NotNull ListNode a, @NotNull ListNode b) {
+        assertEquals(a, b, true);
+    }
+
+    private static void assertEquals(@NotNull ListNode a, @NotNull ListNode b, boolean comments) {
         var listA = a.value();
         var listB = b.value();
 
@@ -71,10 +95,12 @@ public final class NodeAssertion {
         }
 
         for (int i = 0, mapASize = listA.size(); i < mapASize; i++) {
-            assertEquals(listA.get(i), listB.get(i));
+            assertEquals(listA.get(i), listB.get(i), comments);
         }
 
-        Assertions.assertEquals(a.getCommentOrNull(), b.getCommentOrNull());
+        if (comments) {
+            Assertions.assertEquals(a.getCommentOrNull(), b.getCommentOrNull());
+        }
     }
 
     /**
@@ -84,6 +110,10 @@ public final class NodeAssertion {
      * @param b a second {@link MapNode}
      */
     public static void assertEquals(@NotNull MapNode a, @NotNull MapNode b) {
+        assertEquals(a, b, true);
+    }
+
+    private static void assertEquals(@NotNull MapNode a, @NotNull MapNode b, boolean comments) {
         var mapA = a.value();
         var mapB = b.value();
 
@@ -99,10 +129,12 @@ public final class NodeAssertion {
             var nodeA = mapA.get(key);
             var nodeB = mapB.get(key);
 
-            assertEquals(nodeA, nodeB);
+            assertEquals(nodeA, nodeB, comments);
         }
 
-        Assertions.assertEquals(a.getCommentOrNull(), b.getCommentOrNull());
+        if (comments) {
+            Assertions.assertEquals(a.getCommentOrNull(), b.getCommentOrNull());
+        }
     }
 
     private static void fail(@NotNull Node<?> a, @NotNull Node<?> b) {
@@ -16,8 +16,11 @@
 
 package dev.siroshun.configapi.test.shared.util;
 
+import dev.siroshun.configapi.core.comment.SimpleComment;
+import dev.siroshun.configapi.core.node.CommentableNode;
 import dev.siroshun.configapi.core.node.MapNode;
 import dev.siroshun.configapi.core.node.Node;
+import dev.siroshun.configapi.core.node.StringValue;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.function.Consumer;
@@ -39,6 +42,25 @@ public final class NodeFactory {
         return mapNode;
     }
 
+    /**
+     * Creates a {@link MapNode} that contains a value, a list of mixed nodes, a commented value, and a nested map.
+     *
+     * @return a created {@link MapNode}
+     */
+    public static @NotNull MapNode nestedMapNode() {
+        var mapNode = MapNode.create();
+        mapNode.set("a", "b");
+
+        var list = mapNode.createList("list");
+        list.add(1);
+        list.addMap().set("c", true);
+        list.addList();
+
+        mapNode.set("commented", CommentableNode.withComment(StringValue.fromString("value"), SimpleComment.create("comment")));
+        mapNode.createMap("map").set("d", 2.5);
+        return mapNode;
+    }
+
     private NodeFactory() {
         throw new UnsupportedOperationException();
     }